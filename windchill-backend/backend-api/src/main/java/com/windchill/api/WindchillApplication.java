@@ -5,11 +5,13 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.autoconfigure.domain.EntityScan;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
 @ComponentScan(basePackages = {"com.windchill"})
 @EntityScan(basePackages = {"com.windchill.domain.entity"})
 @EnableJpaRepositories(basePackages = {"com.windchill.repository"})
+@EnableScheduling
 public class WindchillApplication {
 
     public static void main(String[] args) {
@@ -0,0 +1,73 @@
+package com.windchill.api.controller;
+
+import com.windchill.common.constants.APIConstants;
+import com.windchill.common.dto.ApiResponse;
+import com.windchill.domain.entity.AttributeDefinition;
+import com.windchill.service.attribute.AttributeColumnReport;
+import com.windchill.service.attribute.IAttributeDefinitionService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Custom product attributes. Values are set through the {@code attributes} object of a
+ * product. A searchable attribute can be used as {@code attributes.<name>} in product queries
+ * once an administrator has applied the search columns, which adds its indexed column.
+ */
+@RestController
+@RequestMapping(APIConstants.API_ATTRIBUTES)
+@RequiredArgsConstructor
+@Slf4j
+public class AttributeDefinitionController {
+    private final IAttributeDefinitionService attributeDefinitionService;
+
+    @GetMapping
+    public ResponseEntity<ApiResponse<List<AttributeDefinition>>> getDefinitions() {
+        log.info("Fetching attribute definitions");
+        return ResponseEntity.ok(ApiResponse.success(attributeDefinitionService.getDefinitions(), APIConstants.SUCCESS));
+    }
+
+    @GetMapping("/{name}")
+    public ResponseEntity<ApiResponse<AttributeDefinition>> getDefinition(@PathVariable String name) {
+        log.info("Fetching attribute definition: {}", name);
+        return ResponseEntity.ok(ApiResponse.success(attributeDefinitionService.getDefinition(name), APIConstants.SUCCESS));
+    }
+
+    @PostMapping
+    public ResponseEntity<ApiResponse<AttributeDefinition>> createDefinition(@RequestBody AttributeDefinition definition) {
+        log.info("Creating attribute definition: {}", definition.getName());
+        AttributeDefinition created = attributeDefinitionService.createDefinition(definition);
+        return ResponseEntity.status(HttpStatus.CREATED).body(ApiResponse.success(created, APIConstants.CREATED));
+    }
+
+    @PutMapping("/{name}")
+    public ResponseEntity<ApiResponse<AttributeDefinition>> updateDefinition(@PathVariable String name,
+                                                                             @RequestBody AttributeDefinition details) {
+        log.info("Updating attribute definition: {}", name);
+        AttributeDefinition updated = attributeDefinitionService.updateDefinition(name, details);
+        return ResponseEntity.ok(ApiResponse.success(updated, APIConstants.UPDATED));
+    }
+
+    @DeleteMapping("/{name}")
+    public ResponseEntity<ApiResponse<Void>> deleteDefinition(@PathVariable String name) {
+        log.info("Deleting attribute definition: {}", name);
+        attributeDefinitionService.deleteDefinition(name);
+        return ResponseEntity.ok(ApiResponse.success(null, APIConstants.DELETED));
+    }
+
+    @GetMapping("/search-columns")
+    public ResponseEntity<ApiResponse<AttributeColumnReport>> getSearchColumns() {
+        log.info("Fetching attribute search columns");
+        return ResponseEntity.ok(ApiResponse.success(attributeDefinitionService.getSearchColumns(), APIConstants.SUCCESS));
+    }
+
+    @PostMapping("/search-columns")
+    public ResponseEntity<ApiResponse<AttributeColumnReport>> applySearchColumns() {
+        log.info("Applying attribute search columns");
+        return ResponseEntity.ok(ApiResponse.success(attributeDefinitionService.applySearchColumns(), APIConstants.UPDATED));
+    }
+}
@@ -0,0 +1,82 @@
+package com.windchill.api.controller;
+
+import com.windchill.api.dto.ProductUsageLinkRequest;
+import com.windchill.common.constants.APIConstants;
+import com.windchill.common.dto.ApiResponse;
+import com.windchill.common.exceptions.BusinessException;
+import com.windchill.domain.entity.ProductUsageLink;
+import com.windchill.service.bom.BomLine;
+import com.windchill.service.bom.IBomService;
+import com.windchill.service.bom.WhereUsedReport;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@RestController
+@RequestMapping(APIConstants.API_PRODUCTS + "/{productId}")
+@RequiredArgsConstructor
+@Slf4j
+public class BomController {
+    private final IBomService bomService;
+
+    @GetMapping("/bom")
+    public ResponseEntity<ApiResponse<List<BomLine>>> explode(@PathVariable Long productId,
+                                                              @RequestParam(required = false) Integer maxDepth) {
+        log.info("Exploding BOM of product: {}", productId);
+        List<BomLine> lines = bomService.explode(productId, maxDepth);
+        return ResponseEntity.ok(ApiResponse.success(lines, APIConstants.SUCCESS));
+    }
+
+    @GetMapping("/where-used")
+    public ResponseEntity<StreamingResponseBody> whereUsed(@PathVariable Long productId,
+                                                           @RequestParam(required = false) Integer maxDepth) {
+        log.info("Fetching where-used of product: {}", productId);
+        WhereUsedReport report = bomService.whereUsed(productId, maxDepth);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(output -> bomService.writeWhereUsed(report, output));
+    }
+
+    @GetMapping("/bom/links")
+    public ResponseEntity<ApiResponse<List<ProductUsageLink>>> getLinks(@PathVariable Long productId) {
+        log.info("Fetching usage links of product: {}", productId);
+        return ResponseEntity.ok(ApiResponse.success(bomService.getChildLinks(productId), APIConstants.SUCCESS));
+    }
+
+    @PostMapping("/bom/links")
+    public ResponseEntity<ApiResponse<ProductUsageLink>> addLink(@PathVariable Long productId,
+                                                                 @Valid @RequestBody ProductUsageLinkRequest request) {
+        log.info("Adding product {} to assembly {}", request.getChildProductId(), productId);
+        if (request.getChildProductId() == null) {
+            throw new BusinessException("Child product is required");
+        }
+        BigDecimal quantity = request.getQuantity() != null ? request.getQuantity() : BigDecimal.ONE;
+        ProductUsageLink link = bomService.addLink(productId, request.getChildProductId(), quantity,
+                request.getFindNumber());
+        return ResponseEntity.status(HttpStatus.CREATED).body(ApiResponse.success(link, APIConstants.CREATED));
+    }
+
+    @PutMapping("/bom/links/{linkId}")
+    public ResponseEntity<ApiResponse<ProductUsageLink>> updateLink(@PathVariable Long productId,
+                                                                    @PathVariable Long linkId,
+                                                                    @Valid @RequestBody ProductUsageLinkRequest request) {
+        log.info("Updating usage link {} of assembly {}", linkId, productId);
+        ProductUsageLink link = bomService.updateLink(productId, linkId, request.getQuantity(), request.getFindNumber());
+        return ResponseEntity.ok(ApiResponse.success(link, APIConstants.UPDATED));
+    }
+
+    @DeleteMapping("/bom/links/{linkId}")
+    public ResponseEntity<ApiResponse<Void>> removeLink(@PathVariable Long productId, @PathVariable Long linkId) {
+        log.info("Removing usage link {} from assembly {}", linkId, productId);
+        bomService.removeLink(productId, linkId);
+        return ResponseEntity.ok(ApiResponse.success(null, APIConstants.DELETED));
+    }
+}
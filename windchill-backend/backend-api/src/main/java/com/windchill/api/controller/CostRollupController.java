@@ -0,0 +1,31 @@
+package com.windchill.api.controller;
+
+import com.windchill.common.constants.APIConstants;
+import com.windchill.common.dto.ApiResponse;
+import com.windchill.service.bom.CostReconciliation;
+import com.windchill.service.bom.CostRollup;
+import com.windchill.service.bom.ICostRollupService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping(APIConstants.API_PRODUCTS)
+@RequiredArgsConstructor
+@Slf4j
+public class CostRollupController {
+    private final ICostRollupService costRollupService;
+
+    @GetMapping("/{id}/cost-rollup")
+    public ResponseEntity<ApiResponse<CostRollup>> getCostRollup(@PathVariable Long id) {
+        log.info("Fetching rolled-up cost of product: {}", id);
+        return ResponseEntity.ok(ApiResponse.success(costRollupService.getCostRollup(id), APIConstants.SUCCESS));
+    }
+
+    @PostMapping("/cost-rollup/recompute")
+    public ResponseEntity<ApiResponse<CostReconciliation>> recompute() {
+        log.info("Recomputing rolled-up cost of all assemblies");
+        return ResponseEntity.ok(ApiResponse.success(costRollupService.recomputeAll(), APIConstants.UPDATED));
+    }
+}
@@ -5,6 +5,9 @@ import com.windchill.common.dto.ApiResponse;
 import com.windchill.common.enums.StatusEnum;
 import com.windchill.domain.entity.Document;
 import com.windchill.service.document.IDocumentService;
+import com.windchill.service.expand.IRelationExpansionService;
+import com.windchill.service.query.FilterQuery;
+import com.windchill.service.query.KeysetPage;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
@@ -19,68 +22,101 @@ import java.util.List;
 @Slf4j
 public class DocumentController {
     private final IDocumentService documentService;
+    private final IRelationExpansionService relationExpansionService;
 
     @PostMapping
     public ResponseEntity<ApiResponse<Document>> createDocument(@RequestBody Document document) {
         log.info("Creating new document: {}", document.getDocumentNumber());
         Document createdDocument = documentService.createDocument(document);
         return ResponseEntity.status(HttpStatus.CREATED)
-                .body(new ApiResponse<>(APIConstants.CREATED, createdDocument, true));
+                .body(ApiResponse.success(createdDocument, APIConstants.CREATED));
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<ApiResponse<Document>> getDocumentById(@PathVariable Long id) {
+    public ResponseEntity<ApiResponse<Document>> getDocumentById(
+            @PathVariable Long id,
+            @RequestParam(required = false) List<String> expand) {
         log.info("Fetching document by id: {}", id);
         Document document = documentService.getDocumentById(id);
-        return ResponseEntity.ok(new ApiResponse<>(APIConstants.SUCCESS, document, true));
+        return ResponseEntity.ok(ApiResponse.success(document, APIConstants.SUCCESS)
+                .withIncluded(relationExpansionService.expand(Document.class, List.of(document), expand)));
     }
 
     @GetMapping
-    public ResponseEntity<ApiResponse<List<Document>>> getAllDocuments() {
+    public ResponseEntity<ApiResponse<List<Document>>> getAllDocuments(
+            @RequestParam(required = false) List<String> expand) {
         log.info("Fetching all documents");
         List<Document> documents = documentService.getAllDocuments();
-        return ResponseEntity.ok(new ApiResponse<>(APIConstants.SUCCESS, documents, true));
+        return ResponseEntity.ok(ApiResponse.success(documents, APIConstants.SUCCESS)
+                .withIncluded(relationExpansionService.expand(Document.class, documents, expand)));
     }
 
     @GetMapping("/number/{documentNumber}")
-    public ResponseEntity<ApiResponse<Document>> getDocumentByNumber(@PathVariable String documentNumber) {
+    public ResponseEntity<ApiResponse<Document>> getDocumentByNumber(
+            @PathVariable String documentNumber,
+            @RequestParam(required = false) List<String> expand) {
         log.info("Fetching document by number: {}", documentNumber);
         Document document = documentService.getDocumentByNumber(documentNumber);
-        return ResponseEntity.ok(new ApiResponse<>(APIConstants.SUCCESS, document, true));
+        return ResponseEntity.ok(ApiResponse.success(document, APIConstants.SUCCESS)
+                .withIncluded(relationExpansionService.expand(Document.class, List.of(document), expand)));
     }
 
     @GetMapping("/project/{projectId}")
-    public ResponseEntity<ApiResponse<List<Document>>> getDocumentsByProject(@PathVariable Long projectId) {
+    public ResponseEntity<ApiResponse<List<Document>>> getDocumentsByProject(
+            @PathVariable Long projectId,
+            @RequestParam(required = false) List<String> expand) {
         log.info("Fetching documents for project: {}", projectId);
         List<Document> documents = documentService.getDocumentsByProject(projectId);
-        return ResponseEntity.ok(new ApiResponse<>(APIConstants.SUCCESS, documents, true));
+        return ResponseEntity.ok(ApiResponse.success(documents, APIConstants.SUCCESS)
+                .withIncluded(relationExpansionService.expand(Document.class, documents, expand)));
+    }
+
+    /**
+     * Filters and sorts on whitelisted attributes; see QuerySchemas.DOCUMENTS. Pass the returned
+     * cursor as {@code after} to read the next page.
+     * {@code fields} limits the columns read as well as the response; an expanded relation
+     * needs its id among them.
+     */
+    @PostMapping("/query")
+    public ResponseEntity<ApiResponse<KeysetPage<Document>>> queryDocuments(
+            @RequestBody FilterQuery query,
+            @RequestParam(required = false) List<String> expand,
+            @RequestParam(required = false) List<String> fields) {
+        log.info("Querying documents sorted by {}", query.getSort());
+        query.setFields(fields);
+        KeysetPage<Document> result = documentService.queryDocuments(query);
+        return ResponseEntity.ok(ApiResponse.success(result, APIConstants.SUCCESS)
+                .withIncluded(relationExpansionService.expand(Document.class, result.getContent(), expand)));
     }
 
     @GetMapping("/search")
-    public ResponseEntity<ApiResponse<List<Document>>> searchDocuments(@RequestParam String keyword) {
+    public ResponseEntity<ApiResponse<List<Document>>> searchDocuments(
+            @RequestParam String keyword,
+            @RequestParam(required = false) List<String> expand) {
         log.info("Searching documents with keyword: {}", keyword);
         List<Document> documents = documentService.searchDocuments(keyword);
-        return ResponseEntity.ok(new ApiResponse<>(APIConstants.SUCCESS, documents, true));
+        return ResponseEntity.ok(ApiResponse.success(documents, APIConstants.SUCCESS)
+                .withIncluded(relationExpansionService.expand(Document.class, documents, expand)));
     }
 
     @PutMapping("/{id}")
     public ResponseEntity<ApiResponse<Document>> updateDocument(@PathVariable Long id, @RequestBody Document documentDetails) {
         log.info("Updating document: {}", id);
         Document updatedDocument = documentService.updateDocument(id, documentDetails);
-        return ResponseEntity.ok(new ApiResponse<>(APIConstants.UPDATED, updatedDocument, true));
+        return ResponseEntity.ok(ApiResponse.success(updatedDocument, APIConstants.UPDATED));
     }
 
     @PutMapping("/{id}/status")
     public ResponseEntity<ApiResponse<Document>> updateDocumentStatus(@PathVariable Long id, @RequestParam StatusEnum status) {
         log.info("Updating document status: {} to {}", id, status);
         Document updatedDocument = documentService.updateDocumentStatus(id, status);
-        return ResponseEntity.ok(new ApiResponse<>(APIConstants.UPDATED, updatedDocument, true));
+        return ResponseEntity.ok(ApiResponse.success(updatedDocument, APIConstants.UPDATED));
     }
 
     @DeleteMapping("/{id}")
     public ResponseEntity<ApiResponse<Void>> deleteDocument(@PathVariable Long id) {
         log.info("Deleting document: {}", id);
         documentService.deleteDocument(id);
-        return ResponseEntity.ok(new ApiResponse<>(APIConstants.DELETED, null, true));
+        return ResponseEntity.ok(ApiResponse.success(null, APIConstants.DELETED));
     }
 }
@@ -0,0 +1,81 @@
+package com.windchill.api.controller;
+
+import com.windchill.common.constants.APIConstants;
+import com.windchill.common.dto.ApiResponse;
+import com.windchill.domain.entity.Document;
+import com.windchill.domain.entity.DocumentRevision;
+import com.windchill.service.document.IDocumentService;
+import com.windchill.service.revision.IDocumentRevisionService;
+import com.windchill.service.revision.RevisionStorageStats;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.List;
+
+@RestController
+@RequestMapping(APIConstants.API_DOCUMENTS)
+@RequiredArgsConstructor
+@Slf4j
+public class DocumentRevisionController {
+    private final IDocumentService documentService;
+    private final IDocumentRevisionService revisionService;
+
+    @GetMapping("/{id}/content")
+    public ResponseEntity<StreamingResponseBody> downloadContent(@PathVariable Long id) {
+        log.info("Downloading content of document: {}", id);
+        Document document = documentService.getDocumentById(id);
+        return attachment(document, document.getFileName(), document.getFileSize(),
+                output -> revisionService.streamLatest(id, output));
+    }
+
+    @GetMapping("/{id}/revisions")
+    public ResponseEntity<ApiResponse<List<DocumentRevision>>> getRevisions(@PathVariable Long id) {
+        log.info("Fetching revisions for document: {}", id);
+        documentService.getDocumentById(id);
+        List<DocumentRevision> revisions = revisionService.getRevisions(id);
+        return ResponseEntity.ok(ApiResponse.success(revisions, APIConstants.SUCCESS));
+    }
+
+    @GetMapping("/{id}/revisions/{revision}/content")
+    public ResponseEntity<StreamingResponseBody> downloadRevision(@PathVariable Long id, @PathVariable Integer revision) {
+        log.info("Downloading revision {} of document: {}", revision, id);
+        Document document = documentService.getDocumentById(id);
+        DocumentRevision documentRevision = revisionService.getRevision(id, revision);
+        return attachment(document, documentRevision.getFileName(), documentRevision.getContentSize(),
+                output -> revisionService.streamRevision(id, revision, output));
+    }
+
+    @GetMapping("/{id}/revisions/stats")
+    public ResponseEntity<ApiResponse<RevisionStorageStats>> getRevisionStats(@PathVariable Long id) {
+        log.info("Fetching revision storage stats for document: {}", id);
+        documentService.getDocumentById(id);
+        return ResponseEntity.ok(ApiResponse.success(revisionService.getStorageStats(id), APIConstants.SUCCESS));
+    }
+
+    @GetMapping("/revisions/stats")
+    public ResponseEntity<ApiResponse<RevisionStorageStats>> getAllRevisionStats() {
+        log.info("Fetching revision storage stats for all documents");
+        return ResponseEntity.ok(ApiResponse.success(revisionService.getStorageStats(null), APIConstants.SUCCESS));
+    }
+
+    private ResponseEntity<StreamingResponseBody> attachment(Document document, String fileName, Long size,
+                                                             StreamingResponseBody body) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentDisposition(ContentDisposition.attachment()
+                .filename(fileName != null ? fileName : document.getDocumentNumber())
+                .build());
+        if (size != null) {
+            headers.setContentLength(size);
+        }
+        MediaType mediaType = document.getMimeType() != null
+                ? MediaType.parseMediaType(document.getMimeType())
+                : MediaType.APPLICATION_OCTET_STREAM;
+        return ResponseEntity.ok().headers(headers).contentType(mediaType).body(body);
+    }
+}
@@ -0,0 +1,87 @@
+package com.windchill.api.controller;
+
+import com.windchill.api.dto.CreateUploadSessionRequest;
+import com.windchill.api.dto.UploadSessionResponse;
+import com.windchill.common.constants.APIConstants;
+import com.windchill.common.dto.ApiResponse;
+import com.windchill.domain.entity.Document;
+import com.windchill.domain.entity.UploadChunk;
+import com.windchill.domain.entity.UploadSession;
+import com.windchill.service.upload.IUploadSessionService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Resumable chunked uploads: create a session, PUT chunks in any order (concurrently if
+ * desired), ask which chunks are still missing, then commit.
+ */
+@RestController
+@RequestMapping(APIConstants.API_DOCUMENTS + "/{documentId}/uploads")
+@RequiredArgsConstructor
+@Slf4j
+public class DocumentUploadController {
+    public static final String CHUNK_CHECKSUM_HEADER = "X-Chunk-CRC32C";
+
+    private final IUploadSessionService uploadSessionService;
+
+    @PostMapping
+    public ResponseEntity<ApiResponse<UploadSessionResponse>> createSession(
+            @PathVariable Long documentId,
+            @Valid @RequestBody CreateUploadSessionRequest request) {
+        log.info("Creating upload session for document: {}", documentId);
+        UploadSession session = uploadSessionService.createSession(documentId, request.getFileName(),
+                request.getMimeType(), request.getTotalSize(), request.getChunkSize());
+        List<Integer> missing = uploadSessionService.getMissingChunks(documentId, session.getId());
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(ApiResponse.success(UploadSessionResponse.of(session, missing), APIConstants.CREATED));
+    }
+
+    @GetMapping("/{sessionId}")
+    public ResponseEntity<ApiResponse<UploadSessionResponse>> getSession(
+            @PathVariable Long documentId,
+            @PathVariable Long sessionId) {
+        log.info("Fetching upload session: {}", sessionId);
+        UploadSession session = uploadSessionService.getSession(documentId, sessionId);
+        List<Integer> missing = uploadSessionService.getMissingChunks(documentId, sessionId);
+        return ResponseEntity.ok(ApiResponse.success(UploadSessionResponse.of(session, missing), APIConstants.SUCCESS));
+    }
+
+    @PutMapping("/{sessionId}/chunks/{chunkIndex}")
+    public ResponseEntity<ApiResponse<UploadChunk>> uploadChunk(
+            @PathVariable Long documentId,
+            @PathVariable Long sessionId,
+            @PathVariable int chunkIndex,
+            @RequestHeader(CHUNK_CHECKSUM_HEADER) String checksum,
+            HttpServletRequest request) throws IOException {
+        log.debug("Receiving chunk {} for upload session: {}", chunkIndex, sessionId);
+        UploadChunk chunk = uploadSessionService.writeChunk(documentId, sessionId, chunkIndex, checksum,
+                request.getInputStream());
+        return ResponseEntity.ok(ApiResponse.success(chunk, APIConstants.SUCCESS));
+    }
+
+    @PostMapping("/{sessionId}/commit")
+    public ResponseEntity<ApiResponse<Document>> commitSession(
+            @PathVariable Long documentId,
+            @PathVariable Long sessionId) {
+        log.info("Committing upload session: {}", sessionId);
+        Document document = uploadSessionService.commitSession(documentId, sessionId);
+        return ResponseEntity.ok(ApiResponse.success(document, APIConstants.UPDATED));
+    }
+
+    @DeleteMapping("/{sessionId}")
+    public ResponseEntity<ApiResponse<Void>> abortSession(
+            @PathVariable Long documentId,
+            @PathVariable Long sessionId) {
+        log.info("Aborting upload session: {}", sessionId);
+        uploadSessionService.abortSession(documentId, sessionId);
+        return ResponseEntity.ok(ApiResponse.success(null, APIConstants.DELETED));
+    }
+}
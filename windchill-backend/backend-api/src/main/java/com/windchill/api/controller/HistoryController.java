@@ -0,0 +1,85 @@
+package com.windchill.api.controller;
+
+import com.windchill.api.dto.PaginatedResponse;
+import com.windchill.common.constants.APIConstants;
+import com.windchill.common.dto.ApiResponse;
+import com.windchill.common.enums.HistoryEntityTypeEnum;
+import com.windchill.service.history.HistoricalState;
+import com.windchill.service.history.HistoryEntry;
+import com.windchill.service.history.IEntityHistoryService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+
+@RestController
+@RequestMapping(APIConstants.API_V1)
+@RequiredArgsConstructor
+@Slf4j
+public class HistoryController {
+    private final IEntityHistoryService historyService;
+
+    @GetMapping("/products/{id}/history")
+    public ResponseEntity<ApiResponse<PaginatedResponse<HistoryEntry>>> getProductHistory(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        log.info("Fetching history of product: {}", id);
+        return history(HistoryEntityTypeEnum.PRODUCT, id, page, size);
+    }
+
+    @GetMapping("/products/{id}/history/as-of")
+    public ResponseEntity<ApiResponse<HistoricalState>> getProductAsOf(
+            @PathVariable Long id,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime at) {
+        log.info("Fetching product {} as of {}", id, at);
+        return ResponseEntity.ok(ApiResponse.success(historyService.getAsOf(HistoryEntityTypeEnum.PRODUCT, id, at),
+                APIConstants.SUCCESS));
+    }
+
+    @GetMapping("/products/{id}/history/{iteration}")
+    public ResponseEntity<ApiResponse<HistoricalState>> getProductIteration(@PathVariable Long id,
+                                                                            @PathVariable Integer iteration) {
+        log.info("Fetching iteration {} of product {}", iteration, id);
+        return ResponseEntity.ok(ApiResponse.success(
+                historyService.getIteration(HistoryEntityTypeEnum.PRODUCT, id, iteration), APIConstants.SUCCESS));
+    }
+
+    @GetMapping("/projects/{id}/history")
+    public ResponseEntity<ApiResponse<PaginatedResponse<HistoryEntry>>> getProjectHistory(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        log.info("Fetching history of project: {}", id);
+        return history(HistoryEntityTypeEnum.PROJECT, id, page, size);
+    }
+
+    @GetMapping("/projects/{id}/history/as-of")
+    public ResponseEntity<ApiResponse<HistoricalState>> getProjectAsOf(
+            @PathVariable Long id,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime at) {
+        log.info("Fetching project {} as of {}", id, at);
+        return ResponseEntity.ok(ApiResponse.success(historyService.getAsOf(HistoryEntityTypeEnum.PROJECT, id, at),
+                APIConstants.SUCCESS));
+    }
+
+    @GetMapping("/projects/{id}/history/{iteration}")
+    public ResponseEntity<ApiResponse<HistoricalState>> getProjectIteration(@PathVariable Long id,
+                                                                            @PathVariable Integer iteration) {
+        log.info("Fetching iteration {} of project {}", iteration, id);
+        return ResponseEntity.ok(ApiResponse.success(
+                historyService.getIteration(HistoryEntityTypeEnum.PROJECT, id, iteration), APIConstants.SUCCESS));
+    }
+
+    private ResponseEntity<ApiResponse<PaginatedResponse<HistoryEntry>>> history(HistoryEntityTypeEnum entityType,
+                                                                                  Long id, int page, int size) {
+        Page<HistoryEntry> entries = historyService.getHistory(entityType, id, page, size);
+        PaginatedResponse<HistoryEntry> response = PaginatedResponse.of(entries.getContent(), page, size,
+                entries.getTotalElements());
+        return ResponseEntity.ok(ApiResponse.success(response, APIConstants.SUCCESS));
+    }
+}
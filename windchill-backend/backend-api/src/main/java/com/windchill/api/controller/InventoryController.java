@@ -0,0 +1,51 @@
+package com.windchill.api.controller;
+
+import com.windchill.api.dto.InventoryMovementRequest;
+import com.windchill.api.dto.PaginatedResponse;
+import com.windchill.common.constants.APIConstants;
+import com.windchill.common.dto.ApiResponse;
+import com.windchill.domain.entity.InventoryMovement;
+import com.windchill.service.inventory.IInventoryService;
+import com.windchill.service.inventory.StockLevel;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping(APIConstants.API_PRODUCTS + "/{productId}/inventory")
+@RequiredArgsConstructor
+@Slf4j
+public class InventoryController {
+    private final IInventoryService inventoryService;
+
+    @GetMapping
+    public ResponseEntity<ApiResponse<StockLevel>> getStockLevel(@PathVariable Long productId) {
+        log.info("Fetching stock level of product: {}", productId);
+        return ResponseEntity.ok(ApiResponse.success(inventoryService.getStockLevel(productId), APIConstants.SUCCESS));
+    }
+
+    @PostMapping("/movements")
+    public ResponseEntity<ApiResponse<InventoryMovement>> recordMovement(@PathVariable Long productId,
+                                                                         @Valid @RequestBody InventoryMovementRequest request) {
+        log.info("Recording {} of {} for product: {}", request.getType(), request.getQuantity(), productId);
+        InventoryMovement movement = inventoryService.recordMovement(productId, request.getType(),
+                request.getQuantity(), request.getReference());
+        return ResponseEntity.status(HttpStatus.CREATED).body(ApiResponse.success(movement, APIConstants.CREATED));
+    }
+
+    @GetMapping("/movements")
+    public ResponseEntity<ApiResponse<PaginatedResponse<InventoryMovement>>> getMovements(
+            @PathVariable Long productId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        log.info("Fetching stock movements of product: {}", productId);
+        Page<InventoryMovement> movements = inventoryService.getMovements(productId, page, size);
+        PaginatedResponse<InventoryMovement> response = PaginatedResponse.of(movements.getContent(), page, size,
+                movements.getTotalElements());
+        return ResponseEntity.ok(ApiResponse.success(response, APIConstants.SUCCESS));
+    }
+}
@@ -0,0 +1,38 @@
+package com.windchill.api.controller;
+
+import com.windchill.api.dto.LifecyclePromotionRequest;
+import com.windchill.common.constants.APIConstants;
+import com.windchill.common.dto.ApiResponse;
+import com.windchill.service.lifecycle.ILifecycleService;
+import com.windchill.service.lifecycle.LifecycleModel;
+import com.windchill.service.lifecycle.PromotionReport;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping(APIConstants.API_PRODUCTS)
+@RequiredArgsConstructor
+@Slf4j
+public class LifecycleController {
+    private final ILifecycleService lifecycleService;
+
+    @GetMapping("/lifecycle/transitions")
+    public ResponseEntity<ApiResponse<List<LifecycleModel.Transition>>> getTransitions() {
+        log.info("Fetching lifecycle transitions");
+        return ResponseEntity.ok(ApiResponse.success(lifecycleService.getTransitions(), APIConstants.SUCCESS));
+    }
+
+    @PostMapping("/{id}/lifecycle/promote")
+    public ResponseEntity<ApiResponse<PromotionReport>> promote(@PathVariable Long id,
+                                                                @Valid @RequestBody LifecyclePromotionRequest request) {
+        log.info("Promoting product {} to {}", id, request.getTargetState());
+        PromotionReport report = lifecycleService.promote(id, request.getTargetState(), request.isIncludeStructure(),
+                request.isDryRun());
+        return ResponseEntity.ok(ApiResponse.success(report, request.isDryRun() ? APIConstants.SUCCESS : APIConstants.UPDATED));
+    }
+}
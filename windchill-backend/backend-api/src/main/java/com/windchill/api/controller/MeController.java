@@ -0,0 +1,34 @@
+package com.windchill.api.controller;
+
+import com.windchill.common.constants.APIConstants;
+import com.windchill.common.dto.ApiResponse;
+import com.windchill.service.access.AuthenticatedUser;
+import com.windchill.service.query.KeysetPage;
+import com.windchill.service.work.IWorkInboxService;
+import com.windchill.service.work.WorkItem;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping(APIConstants.API_ME)
+@RequiredArgsConstructor
+@Slf4j
+public class MeController {
+    private final IWorkInboxService workInboxService;
+
+    /**
+     * The caller's owned products and documents, pending reviews and managed projects, newest
+     * first. Pass the returned cursor as {@code after} to read the next page.
+     */
+    @GetMapping("/work")
+    public ResponseEntity<ApiResponse<KeysetPage<WorkItem>>> getWork(@AuthenticationPrincipal AuthenticatedUser user,
+                                                                     @RequestParam(required = false) String after,
+                                                                     @RequestParam(defaultValue = "20") int size) {
+        log.info("Fetching work inbox of user {}", user.userId());
+        KeysetPage<WorkItem> work = workInboxService.getWork(user.userId(), after, size);
+        return ResponseEntity.ok(ApiResponse.success(work, APIConstants.SUCCESS));
+    }
+}
@@ -0,0 +1,34 @@
+package com.windchill.api.controller;
+
+import com.windchill.api.dto.NumberReservationRequest;
+import com.windchill.common.constants.APIConstants;
+import com.windchill.common.dto.ApiResponse;
+import com.windchill.common.enums.NumberingSchemeEnum;
+import com.windchill.service.numbering.INumberingService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping(APIConstants.API_NUMBERING)
+@RequiredArgsConstructor
+@Slf4j
+public class NumberingController {
+    private final INumberingService numberingService;
+
+    /**
+     * Reserves numbers for a bulk import, which then creates its items with them. Creating an
+     * item without a number assigns one the same way.
+     */
+    @PostMapping("/{scheme}/reserve")
+    public ResponseEntity<ApiResponse<List<String>>> reserve(@PathVariable NumberingSchemeEnum scheme,
+                                                             @Valid @RequestBody NumberReservationRequest request) {
+        log.info("Reserving {} {} numbers", request.getCount(), scheme);
+        List<String> numbers = numberingService.reserve(scheme, request.getVariables(), request.getCount());
+        return ResponseEntity.ok(ApiResponse.success(numbers, APIConstants.CREATED));
+    }
+}
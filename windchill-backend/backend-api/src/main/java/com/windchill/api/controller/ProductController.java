@@ -4,7 +4,14 @@ import com.windchill.common.constants.APIConstants;
 import com.windchill.common.dto.ApiResponse;
 import com.windchill.common.enums.StatusEnum;
 import com.windchill.domain.entity.Product;
+import com.windchill.service.expand.IRelationExpansionService;
+import com.windchill.service.product.FacetSearchResult;
 import com.windchill.service.product.IProductService;
+import com.windchill.service.query.FilterQuery;
+import com.windchill.service.query.KeysetPage;
+import com.windchill.service.similarity.DuplicateCandidate;
+import com.windchill.service.similarity.DuplicateReport;
+import com.windchill.service.similarity.IProductSimilarityService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
@@ -12,75 +19,150 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping(APIConstants.API_PRODUCTS)
 @RequiredArgsConstructor
 @Slf4j
 public class ProductController {
+    private static final String POSSIBLE_DUPLICATES_HEADER = "X-Possible-Duplicates";
+
     private final IProductService productService;
+    private final IProductSimilarityService similarityService;
+    private final IRelationExpansionService relationExpansionService;
 
     @PostMapping
     public ResponseEntity<ApiResponse<Product>> createProduct(@RequestBody Product product) {
         log.info("Creating new product: {}", product.getProductCode());
         Product createdProduct = productService.createProduct(product);
-        return ResponseEntity.status(HttpStatus.CREATED)
-                .body(new ApiResponse<>(APIConstants.CREATED, createdProduct, true));
+        List<DuplicateCandidate> duplicates = similarityService.findDuplicates(createdProduct);
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(HttpStatus.CREATED);
+        if (!duplicates.isEmpty()) {
+            response.header(POSSIBLE_DUPLICATES_HEADER,
+                    duplicates.stream().map(DuplicateCandidate::getProductCode).collect(Collectors.joining(",")));
+        }
+        return response.body(ApiResponse.success(createdProduct, APIConstants.CREATED));
+    }
+
+    /**
+     * Lists existing products resembling a product about to be created, without creating it.
+     */
+    @PostMapping("/duplicates")
+    public ResponseEntity<ApiResponse<List<DuplicateCandidate>>> findDuplicates(@RequestBody Product product) {
+        log.info("Checking for duplicates of: {}", product.getProductName());
+        List<DuplicateCandidate> duplicates = similarityService.findDuplicates(product);
+        return ResponseEntity.ok(ApiResponse.success(duplicates, APIConstants.SUCCESS));
+    }
+
+    @GetMapping("/duplicates/report")
+    public ResponseEntity<ApiResponse<DuplicateReport>> getDuplicateReport() {
+        log.info("Building duplicate product report");
+        DuplicateReport report = similarityService.getDuplicateReport();
+        return ResponseEntity.ok(ApiResponse.success(report, APIConstants.SUCCESS));
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<ApiResponse<Product>> getProductById(@PathVariable Long id) {
+    public ResponseEntity<ApiResponse<Product>> getProductById(
+            @PathVariable Long id,
+            @RequestParam(required = false) List<String> expand) {
         log.info("Fetching product by id: {}", id);
         Product product = productService.getProductById(id);
-        return ResponseEntity.ok(new ApiResponse<>(APIConstants.SUCCESS, product, true));
+        return ResponseEntity.ok(ApiResponse.success(product, APIConstants.SUCCESS)
+                .withIncluded(relationExpansionService.expand(Product.class, List.of(product), expand)));
     }
 
     @GetMapping
-    public ResponseEntity<ApiResponse<List<Product>>> getAllProducts() {
+    public ResponseEntity<ApiResponse<List<Product>>> getAllProducts(
+            @RequestParam(required = false) List<String> expand) {
         log.info("Fetching all products");
         List<Product> products = productService.getAllProducts();
-        return ResponseEntity.ok(new ApiResponse<>(APIConstants.SUCCESS, products, true));
+        return ResponseEntity.ok(ApiResponse.success(products, APIConstants.SUCCESS)
+                .withIncluded(relationExpansionService.expand(Product.class, products, expand)));
     }
 
     @GetMapping("/code/{code}")
-    public ResponseEntity<ApiResponse<Product>> getProductByCode(@PathVariable String code) {
+    public ResponseEntity<ApiResponse<Product>> getProductByCode(
+            @PathVariable String code,
+            @RequestParam(required = false) List<String> expand) {
         log.info("Fetching product by code: {}", code);
         Product product = productService.getProductByCode(code);
-        return ResponseEntity.ok(new ApiResponse<>(APIConstants.SUCCESS, product, true));
+        return ResponseEntity.ok(ApiResponse.success(product, APIConstants.SUCCESS)
+                .withIncluded(relationExpansionService.expand(Product.class, List.of(product), expand)));
     }
 
     @GetMapping("/project/{projectId}")
-    public ResponseEntity<ApiResponse<List<Product>>> getProductsByProject(@PathVariable Long projectId) {
+    public ResponseEntity<ApiResponse<List<Product>>> getProductsByProject(
+            @PathVariable Long projectId,
+            @RequestParam(required = false) List<String> expand) {
         log.info("Fetching products for project: {}", projectId);
         List<Product> products = productService.getProductsByProject(projectId);
-        return ResponseEntity.ok(new ApiResponse<>(APIConstants.SUCCESS, products, true));
+        return ResponseEntity.ok(ApiResponse.success(products, APIConstants.SUCCESS)
+                .withIncluded(relationExpansionService.expand(Product.class, products, expand)));
+    }
+
+    /**
+     * Filters and sorts on whitelisted attributes; see QuerySchemas.PRODUCTS. Searchable custom
+     * attributes filter as {@code attributes.<name>}. Pass the returned cursor as {@code after}
+     * to read the next page.
+     * {@code fields} limits the columns read as well as the response; an expanded relation
+     * needs its id among them.
+     */
+    @PostMapping("/query")
+    public ResponseEntity<ApiResponse<KeysetPage<Product>>> queryProducts(
+            @RequestBody FilterQuery query,
+            @RequestParam(required = false) List<String> expand,
+            @RequestParam(required = false) List<String> fields) {
+        log.info("Querying products sorted by {}", query.getSort());
+        query.setFields(fields);
+        KeysetPage<Product> result = productService.queryProducts(query);
+        return ResponseEntity.ok(ApiResponse.success(result, APIConstants.SUCCESS)
+                .withIncluded(relationExpansionService.expand(Product.class, result.getContent(), expand)));
+    }
+
+    /**
+     * Each {@code filter} parameter is an OR of comma-separated {@code facet:value} terms, and
+     * all parameters must hold, e.g. {@code ?filter=category:Valves,category:Pumps&filter=status:ACTIVE}.
+     * Facets: category, manufacturer, status, lifecycleState, maturityLevel, project.
+     */
+    @GetMapping("/facets")
+    public ResponseEntity<ApiResponse<FacetSearchResult>> searchFacets(
+            @RequestParam(required = false) List<String> filter,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        log.info("Searching product facets: {}", filter);
+        FacetSearchResult result = productService.searchFacets(filter, page, size);
+        return ResponseEntity.ok(ApiResponse.success(result, APIConstants.SUCCESS));
     }
 
     @GetMapping("/search")
-    public ResponseEntity<ApiResponse<List<Product>>> searchProducts(@RequestParam String keyword) {
+    public ResponseEntity<ApiResponse<List<Product>>> searchProducts(
+            @RequestParam String keyword,
+            @RequestParam(required = false) List<String> expand) {
         log.info("Searching products with keyword: {}", keyword);
         List<Product> products = productService.searchProducts(keyword);
-        return ResponseEntity.ok(new ApiResponse<>(APIConstants.SUCCESS, products, true));
+        return ResponseEntity.ok(ApiResponse.success(products, APIConstants.SUCCESS)
+                .withIncluded(relationExpansionService.expand(Product.class, products, expand)));
     }
 
     @PutMapping("/{id}")
     public ResponseEntity<ApiResponse<Product>> updateProduct(@PathVariable Long id, @RequestBody Product productDetails) {
         log.info("Updating product: {}", id);
         Product updatedProduct = productService.updateProduct(id, productDetails);
-        return ResponseEntity.ok(new ApiResponse<>(APIConstants.UPDATED, updatedProduct, true));
+        return ResponseEntity.ok(ApiResponse.success(updatedProduct, APIConstants.UPDATED));
     }
 
     @PutMapping("/{id}/status")
     public ResponseEntity<ApiResponse<Product>> updateProductStatus(@PathVariable Long id, @RequestParam StatusEnum status) {
         log.info("Updating product status: {} to {}", id, status);
         Product updatedProduct = productService.updateProductStatus(id, status);
-        return ResponseEntity.ok(new ApiResponse<>(APIConstants.UPDATED, updatedProduct, true));
+        return ResponseEntity.ok(ApiResponse.success(updatedProduct, APIConstants.UPDATED));
     }
 
     @DeleteMapping("/{id}")
     public ResponseEntity<ApiResponse<Void>> deleteProduct(@PathVariable Long id) {
         log.info("Deleting product: {}", id);
         productService.deleteProduct(id);
-        return ResponseEntity.ok(new ApiResponse<>(APIConstants.DELETED, null, true));
+        return ResponseEntity.ok(ApiResponse.success(null, APIConstants.DELETED));
     }
 }
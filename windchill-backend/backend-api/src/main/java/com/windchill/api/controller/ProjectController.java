@@ -1,15 +1,37 @@
 package com.windchill.api.controller;
 
+import com.windchill.api.dto.CreateBaselineRequest;
+import com.windchill.api.dto.PaginatedResponse;
 import com.windchill.common.constants.APIConstants;
 import com.windchill.common.dto.ApiResponse;
+import com.windchill.common.enums.BaselineItemTypeEnum;
 import com.windchill.common.enums.StatusEnum;
+import com.windchill.domain.entity.BaselineItem;
+import com.windchill.domain.entity.Document;
 import com.windchill.domain.entity.Project;
+import com.windchill.domain.entity.ProjectBaseline;
+import com.windchill.domain.entity.ProjectMember;
+import com.windchill.service.access.IProjectAccessService;
+import com.windchill.service.baseline.BaselineComparison;
+import com.windchill.service.baseline.IBaselineService;
+import com.windchill.service.document.IDocumentBundleService;
+import com.windchill.service.expand.IRelationExpansionService;
+import com.windchill.service.project.IProjectOverviewService;
 import com.windchill.service.project.IProjectService;
+import com.windchill.service.project.ProjectOverview;
+import com.windchill.service.query.FilterQuery;
+import com.windchill.service.query.KeysetPage;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -19,75 +41,216 @@ import java.util.List;
 @Slf4j
 public class ProjectController {
     private final IProjectService projectService;
+    private final IProjectOverviewService projectOverviewService;
+    private final IDocumentBundleService documentBundleService;
+    private final IBaselineService baselineService;
+    private final IProjectAccessService projectAccessService;
+    private final IRelationExpansionService relationExpansionService;
 
     @PostMapping
     public ResponseEntity<ApiResponse<Project>> createProject(@RequestBody Project project) {
         log.info("Creating new project: {}", project.getProjectCode());
         Project createdProject = projectService.createProject(project);
         return ResponseEntity.status(HttpStatus.CREATED)
-                .body(new ApiResponse<>(APIConstants.CREATED, createdProject, true));
+                .body(ApiResponse.success(createdProject, APIConstants.CREATED));
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<ApiResponse<Project>> getProjectById(@PathVariable Long id) {
+    public ResponseEntity<ApiResponse<Project>> getProjectById(
+            @PathVariable Long id,
+            @RequestParam(required = false) List<String> expand) {
         log.info("Fetching project by id: {}", id);
         Project project = projectService.getProjectById(id);
-        return ResponseEntity.ok(new ApiResponse<>(APIConstants.SUCCESS, project, true));
+        return ResponseEntity.ok(ApiResponse.success(project, APIConstants.SUCCESS)
+                .withIncluded(relationExpansionService.expand(Project.class, List.of(project), expand)));
+    }
+
+    @GetMapping("/{id}/overview")
+    public ResponseEntity<ApiResponse<ProjectOverview>> getProjectOverview(@PathVariable Long id) {
+        log.info("Fetching overview of project: {}", id);
+        ProjectOverview overview = projectOverviewService.getProjectOverview(id);
+        return ResponseEntity.ok(ApiResponse.success(overview, APIConstants.SUCCESS));
     }
 
     @GetMapping
-    public ResponseEntity<ApiResponse<List<Project>>> getAllProjects() {
+    public ResponseEntity<ApiResponse<List<Project>>> getAllProjects(
+            @RequestParam(required = false) List<String> expand) {
         log.info("Fetching all projects");
         List<Project> projects = projectService.getAllProjects();
-        return ResponseEntity.ok(new ApiResponse<>(APIConstants.SUCCESS, projects, true));
+        return ResponseEntity.ok(ApiResponse.success(projects, APIConstants.SUCCESS)
+                .withIncluded(relationExpansionService.expand(Project.class, projects, expand)));
     }
 
     @GetMapping("/code/{code}")
-    public ResponseEntity<ApiResponse<Project>> getProjectByCode(@PathVariable String code) {
+    public ResponseEntity<ApiResponse<Project>> getProjectByCode(
+            @PathVariable String code,
+            @RequestParam(required = false) List<String> expand) {
         log.info("Fetching project by code: {}", code);
         Project project = projectService.getProjectByCode(code);
-        return ResponseEntity.ok(new ApiResponse<>(APIConstants.SUCCESS, project, true));
+        return ResponseEntity.ok(ApiResponse.success(project, APIConstants.SUCCESS)
+                .withIncluded(relationExpansionService.expand(Project.class, List.of(project), expand)));
     }
 
     @GetMapping("/manager/{managerId}")
-    public ResponseEntity<ApiResponse<List<Project>>> getProjectsByManager(@PathVariable Long managerId) {
+    public ResponseEntity<ApiResponse<List<Project>>> getProjectsByManager(
+            @PathVariable Long managerId,
+            @RequestParam(required = false) List<String> expand) {
         log.info("Fetching projects for manager: {}", managerId);
         List<Project> projects = projectService.getProjectsByManager(managerId);
-        return ResponseEntity.ok(new ApiResponse<>(APIConstants.SUCCESS, projects, true));
+        return ResponseEntity.ok(ApiResponse.success(projects, APIConstants.SUCCESS)
+                .withIncluded(relationExpansionService.expand(Project.class, projects, expand)));
+    }
+
+    /**
+     * Filters and sorts on whitelisted attributes; see QuerySchemas.PROJECTS. Pass the returned
+     * cursor as {@code after} to read the next page.
+     * {@code fields} limits the columns read as well as the response; an expanded relation
+     * needs its id among them.
+     */
+    @PostMapping("/query")
+    public ResponseEntity<ApiResponse<KeysetPage<Project>>> queryProjects(
+            @RequestBody FilterQuery query,
+            @RequestParam(required = false) List<String> expand,
+            @RequestParam(required = false) List<String> fields) {
+        log.info("Querying projects sorted by {}", query.getSort());
+        query.setFields(fields);
+        KeysetPage<Project> result = projectService.queryProjects(query);
+        return ResponseEntity.ok(ApiResponse.success(result, APIConstants.SUCCESS)
+                .withIncluded(relationExpansionService.expand(Project.class, result.getContent(), expand)));
     }
 
     @GetMapping("/search")
-    public ResponseEntity<ApiResponse<List<Project>>> searchProjects(@RequestParam String keyword) {
+    public ResponseEntity<ApiResponse<List<Project>>> searchProjects(
+            @RequestParam String keyword,
+            @RequestParam(required = false) List<String> expand) {
         log.info("Searching projects with keyword: {}", keyword);
         List<Project> projects = projectService.searchProjects(keyword);
-        return ResponseEntity.ok(new ApiResponse<>(APIConstants.SUCCESS, projects, true));
+        return ResponseEntity.ok(ApiResponse.success(projects, APIConstants.SUCCESS)
+                .withIncluded(relationExpansionService.expand(Project.class, projects, expand)));
+    }
+
+    @GetMapping("/{id}/documents/bundle")
+    public ResponseEntity<StreamingResponseBody> downloadDocumentBundle(@PathVariable Long id,
+                                                                        @RequestParam(required = false) StatusEnum status,
+                                                                        @RequestParam(required = false) String documentType) {
+        log.info("Downloading document bundle for project: {}", id);
+        List<Document> documents = documentBundleService.getBundleDocuments(id, status, documentType);
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentDisposition(ContentDisposition.attachment()
+                .filename("project-" + id + "-documents.zip")
+                .build());
+        return ResponseEntity.ok().headers(headers)
+                .contentType(MediaType.parseMediaType("application/zip"))
+                .body(output -> documentBundleService.writeBundle(documents, output));
+    }
+
+    @PostMapping("/{id}/baselines")
+    public ResponseEntity<ApiResponse<ProjectBaseline>> createBaseline(@PathVariable Long id,
+                                                                       @Valid @RequestBody CreateBaselineRequest request) {
+        log.info("Creating baseline '{}' of project: {}", request.getName(), id);
+        ProjectBaseline baseline = baselineService.createBaseline(id, request.getName(), request.getDescription());
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(ApiResponse.success(baseline, APIConstants.CREATED));
+    }
+
+    @GetMapping("/{id}/baselines")
+    public ResponseEntity<ApiResponse<List<ProjectBaseline>>> getBaselines(@PathVariable Long id) {
+        log.info("Fetching baselines of project: {}", id);
+        List<ProjectBaseline> baselines = baselineService.getBaselines(id);
+        return ResponseEntity.ok(ApiResponse.success(baselines, APIConstants.SUCCESS));
+    }
+
+    @GetMapping("/{id}/baselines/{baselineId}")
+    public ResponseEntity<ApiResponse<ProjectBaseline>> getBaseline(@PathVariable Long id, @PathVariable Long baselineId) {
+        log.info("Fetching baseline {} of project: {}", baselineId, id);
+        ProjectBaseline baseline = baselineService.getBaseline(id, baselineId);
+        return ResponseEntity.ok(ApiResponse.success(baseline, APIConstants.SUCCESS));
+    }
+
+    @GetMapping("/{id}/baselines/{baselineId}/items")
+    public ResponseEntity<ApiResponse<PaginatedResponse<BaselineItem>>> getBaselineItems(
+            @PathVariable Long id,
+            @PathVariable Long baselineId,
+            @RequestParam(defaultValue = "PRODUCT") BaselineItemTypeEnum type,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        log.info("Fetching {} items of baseline {} of project: {}", type, baselineId, id);
+        Page<BaselineItem> items = baselineService.getItems(id, baselineId, type, page, size);
+        PaginatedResponse<BaselineItem> response = PaginatedResponse.of(items.getContent(), page, size,
+                items.getTotalElements());
+        return ResponseEntity.ok(ApiResponse.success(response, APIConstants.SUCCESS));
+    }
+
+    /**
+     * Diffs a baseline against another baseline of the project, or against the project's
+     * current products and documents when {@code against} is omitted.
+     */
+    @GetMapping("/{id}/baselines/{baselineId}/diff")
+    public ResponseEntity<StreamingResponseBody> diffBaseline(@PathVariable Long id,
+                                                              @PathVariable Long baselineId,
+                                                              @RequestParam(required = false) Long against) {
+        log.info("Diffing baseline {} of project {} against {}", baselineId, id, against != null ? against : "current");
+        BaselineComparison comparison = baselineService.compare(id, baselineId, against);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(output -> baselineService.writeDiff(comparison, output));
+    }
+
+    @GetMapping("/{id}/members")
+    public ResponseEntity<ApiResponse<List<ProjectMember>>> getMembers(@PathVariable Long id) {
+        log.info("Fetching members of project {}", id);
+        List<ProjectMember> members = projectAccessService.getMembers(id);
+        return ResponseEntity.ok(ApiResponse.success(members, APIConstants.SUCCESS));
+    }
+
+    @PostMapping("/{id}/members/{userId}")
+    public ResponseEntity<ApiResponse<ProjectMember>> addMember(@PathVariable Long id, @PathVariable Long userId) {
+        log.info("Adding user {} to project {}", userId, id);
+        ProjectMember member = projectAccessService.addMember(id, userId);
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(ApiResponse.success(member, APIConstants.CREATED));
+    }
+
+    @DeleteMapping("/{id}/members/{userId}")
+    public ResponseEntity<ApiResponse<Void>> removeMember(@PathVariable Long id, @PathVariable Long userId) {
+        log.info("Removing user {} from project {}", userId, id);
+        projectAccessService.removeMember(id, userId);
+        return ResponseEntity.ok(ApiResponse.success(null, APIConstants.DELETED));
+    }
+
+    @PutMapping("/{id}/confidential")
+    public ResponseEntity<ApiResponse<Project>> updateProjectConfidentiality(@PathVariable Long id,
+                                                                            @RequestParam boolean confidential) {
+        log.info("Marking project {} as {}", id, confidential ? "confidential" : "not confidential");
+        Project updatedProject = projectService.updateProjectConfidentiality(id, confidential);
+        return ResponseEntity.ok(ApiResponse.success(updatedProject, APIConstants.UPDATED));
     }
 
     @PutMapping("/{id}")
     public ResponseEntity<ApiResponse<Project>> updateProject(@PathVariable Long id, @RequestBody Project projectDetails) {
         log.info("Updating project: {}", id);
         Project updatedProject = projectService.updateProject(id, projectDetails);
-        return ResponseEntity.ok(new ApiResponse<>(APIConstants.UPDATED, updatedProject, true));
+        return ResponseEntity.ok(ApiResponse.success(updatedProject, APIConstants.UPDATED));
     }
 
     @PutMapping("/{id}/status")
     public ResponseEntity<ApiResponse<Project>> updateProjectStatus(@PathVariable Long id, @RequestParam StatusEnum status) {
         log.info("Updating project status: {} to {}", id, status);
         Project updatedProject = projectService.updateProjectStatus(id, status);
-        return ResponseEntity.ok(new ApiResponse<>(APIConstants.UPDATED, updatedProject, true));
+        return ResponseEntity.ok(ApiResponse.success(updatedProject, APIConstants.UPDATED));
     }
 
     @PutMapping("/{id}/progress")
     public ResponseEntity<ApiResponse<Project>> updateProjectProgress(@PathVariable Long id, @RequestParam Integer progress) {
         log.info("Updating project progress: {} to {}%", id, progress);
         Project updatedProject = projectService.updateProjectProgress(id, progress);
-        return ResponseEntity.ok(new ApiResponse<>(APIConstants.UPDATED, updatedProject, true));
+        return ResponseEntity.ok(ApiResponse.success(updatedProject, APIConstants.UPDATED));
     }
 
     @DeleteMapping("/{id}")
     public ResponseEntity<ApiResponse<Void>> deleteProject(@PathVariable Long id) {
         log.info("Deleting project: {}", id);
         projectService.deleteProject(id);
-        return ResponseEntity.ok(new ApiResponse<>(APIConstants.DELETED, null, true));
+        return ResponseEntity.ok(ApiResponse.success(null, APIConstants.DELETED));
     }
 }
@@ -0,0 +1,31 @@
+package com.windchill.api.controller;
+
+import com.windchill.api.dto.PaginatedResponse;
+import com.windchill.common.constants.APIConstants;
+import com.windchill.common.dto.ApiResponse;
+import com.windchill.service.inventory.IReorderService;
+import com.windchill.service.inventory.ReorderItem;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping(APIConstants.API_PRODUCTS)
+@RequiredArgsConstructor
+@Slf4j
+public class ReorderController {
+    private final IReorderService reorderService;
+
+    @GetMapping("/reorder")
+    public ResponseEntity<ApiResponse<PaginatedResponse<ReorderItem>>> getReorderItems(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        log.info("Fetching products at or below reorder level");
+        Page<ReorderItem> items = reorderService.getReorderItems(page, size);
+        PaginatedResponse<ReorderItem> response = PaginatedResponse.of(items.getContent(), page, size,
+                items.getTotalElements());
+        return ResponseEntity.ok(ApiResponse.success(response, APIConstants.SUCCESS));
+    }
+}
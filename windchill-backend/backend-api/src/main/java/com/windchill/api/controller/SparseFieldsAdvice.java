@@ -0,0 +1,75 @@
+package com.windchill.api.controller;
+
+import com.windchill.common.dto.ApiResponse;
+import com.windchill.domain.entity.BaseEntity;
+import com.windchill.service.fields.FieldSet;
+import com.windchill.service.fields.FieldSets;
+import com.windchill.service.query.KeysetPage;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Hibernate;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Applies {@code ?fields=id,productCode,status} to any entity endpoint: an entity, a list of
+ * entities or a keyset page of them in {@link ApiResponse#getData()} is written with only the
+ * named attributes, through a precompiled {@link FieldSet}. Other payloads are left alone.
+ * Only the {@code /query} endpoints also pass the names to SQL, so only those columns are
+ * read; every other endpoint still loads whole entities and saves response bytes and
+ * serialization time alone. {@link SparseFieldsApiDocs} states which is which in the API docs.
+ */
+@RestControllerAdvice
+@RequiredArgsConstructor
+public class SparseFieldsAdvice implements ResponseBodyAdvice<Object> {
+    static final String FIELDS_PARAMETER = "fields";
+
+    private final FieldSets fieldSets;
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (!(body instanceof ApiResponse apiResponse) || apiResponse.getData() == null
+                || !(request instanceof ServletServerHttpRequest servletRequest)) {
+            return body;
+        }
+        String[] fields = servletRequest.getServletRequest().getParameterValues(FIELDS_PARAMETER);
+        if (fields == null) {
+            return body;
+        }
+        Object data = apiResponse.getData();
+        if (data instanceof BaseEntity entity) {
+            FieldSet fieldSet = fieldSets.get(Hibernate.getClass(entity), Arrays.asList(fields));
+            apiResponse.setData(fieldSet != null ? fieldSet.view(entity) : entity);
+        } else if (data instanceof KeysetPage page) {
+            page.setContent(sparse(page.getContent(), fields));
+        } else if (data instanceof List list) {
+            apiResponse.setData(sparse(list, fields));
+        }
+        return body;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private List<?> sparse(List<?> rows, String[] fields) {
+        if (rows.isEmpty() || !(rows.get(0) instanceof BaseEntity first)) {
+            return rows;
+        }
+        FieldSet fieldSet = fieldSets.get(Hibernate.getClass(first), Arrays.asList(fields));
+        return fieldSet != null ? fieldSet.view((List) rows) : rows;
+    }
+}
@@ -0,0 +1,73 @@
+package com.windchill.api.controller;
+
+import com.windchill.common.dto.ApiResponse;
+import com.windchill.domain.entity.BaseEntity;
+import com.windchill.service.query.KeysetPage;
+import io.swagger.v3.oas.models.Operation;
+import io.swagger.v3.oas.models.media.ArraySchema;
+import io.swagger.v3.oas.models.media.StringSchema;
+import io.swagger.v3.oas.models.parameters.Parameter;
+import io.swagger.v3.oas.models.parameters.QueryParameter;
+import org.springdoc.core.customizers.OperationCustomizer;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+
+import java.util.List;
+
+/**
+ * Documents {@code ?fields=} in the API docs of every endpoint {@link SparseFieldsAdvice}
+ * narrows, and says which of them also narrow the SQL: those that declare the parameter
+ * themselves, the {@code /query} endpoints, read only the named columns. The others read
+ * whole entities and only leave attributes out of the response.
+ */
+@Component
+public class SparseFieldsApiDocs implements OperationCustomizer {
+    static final String NARROWS_QUERY = "Comma-separated attributes to return. Only these columns are read "
+            + "from the database; an expanded relation needs its id among them.";
+    static final String NARROWS_RESPONSE = "Comma-separated attributes to return. The entities are still read "
+            + "whole; only the response leaves the other attributes out.";
+
+    @Override
+    public Operation customize(Operation operation, HandlerMethod handlerMethod) {
+        if (operation.getParameters() != null) {
+            for (Parameter parameter : operation.getParameters()) {
+                if (SparseFieldsAdvice.FIELDS_PARAMETER.equals(parameter.getName())
+                        && "query".equals(parameter.getIn())) {
+                    parameter.setDescription(NARROWS_QUERY);
+                    return operation;
+                }
+            }
+        }
+        if (returnsEntities(handlerMethod)) {
+            operation.addParametersItem(new QueryParameter()
+                    .name(SparseFieldsAdvice.FIELDS_PARAMETER)
+                    .required(false)
+                    .description(NARROWS_RESPONSE)
+                    .explode(false)
+                    .schema(new ArraySchema().items(new StringSchema())));
+        }
+        return operation;
+    }
+
+    /**
+     * Whether the response data is what the advice narrows: an entity, or a list or keyset
+     * page of entities.
+     */
+    private static boolean returnsEntities(HandlerMethod handlerMethod) {
+        ResolvableType body = ResolvableType.forMethodReturnType(handlerMethod.getMethod());
+        if (ResponseEntity.class.equals(body.resolve())) {
+            body = body.getGeneric(0);
+        }
+        if (!ApiResponse.class.equals(body.resolve())) {
+            return false;
+        }
+        ResolvableType data = body.getGeneric(0);
+        Class<?> type = data.resolve(Object.class);
+        if (List.class.isAssignableFrom(type) || KeysetPage.class.isAssignableFrom(type)) {
+            type = data.getGeneric(0).resolve(Object.class);
+        }
+        return BaseEntity.class.isAssignableFrom(type);
+    }
+}
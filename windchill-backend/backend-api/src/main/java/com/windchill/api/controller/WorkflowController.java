@@ -0,0 +1,97 @@
+package com.windchill.api.controller;
+
+import com.windchill.api.dto.CompleteTasksRequest;
+import com.windchill.api.dto.PaginatedResponse;
+import com.windchill.api.dto.StartWorkflowRequest;
+import com.windchill.common.constants.APIConstants;
+import com.windchill.common.dto.ApiResponse;
+import com.windchill.domain.entity.WorkflowInstance;
+import com.windchill.domain.entity.WorkflowTask;
+import com.windchill.service.access.AuthenticatedUser;
+import com.windchill.service.workflow.IWorkflowService;
+import com.windchill.service.workflow.TaskCompletionResult;
+import com.windchill.service.workflow.TaskDecision;
+import com.windchill.service.workflow.WorkflowDefinitions;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping(APIConstants.API_WORKFLOW)
+@RequiredArgsConstructor
+@Slf4j
+public class WorkflowController {
+    private final IWorkflowService workflowService;
+
+    @GetMapping("/definitions")
+    public ResponseEntity<ApiResponse<Map<String, WorkflowDefinitions.Definition>>> getDefinitions() {
+        log.info("Fetching workflow definitions");
+        return ResponseEntity.ok(ApiResponse.success(workflowService.getDefinitions(), APIConstants.SUCCESS));
+    }
+
+    @PostMapping("/instances")
+    public ResponseEntity<ApiResponse<WorkflowInstance>> startWorkflow(@AuthenticationPrincipal AuthenticatedUser user,
+                                                                       @Valid @RequestBody StartWorkflowRequest request) {
+        log.info("Starting workflow for document: {}", request.getDocumentId());
+        WorkflowInstance instance = workflowService.startWorkflow(request.getDocumentId(), request.getReviewers(),
+                user.userId());
+        return ResponseEntity.status(HttpStatus.CREATED).body(ApiResponse.success(instance, APIConstants.CREATED));
+    }
+
+    @GetMapping("/instances/{id}")
+    public ResponseEntity<ApiResponse<WorkflowInstance>> getInstance(@PathVariable Long id) {
+        log.info("Fetching workflow: {}", id);
+        return ResponseEntity.ok(ApiResponse.success(workflowService.getInstance(id), APIConstants.SUCCESS));
+    }
+
+    @GetMapping("/instances/{id}/tasks")
+    public ResponseEntity<ApiResponse<List<WorkflowTask>>> getTasks(@PathVariable Long id) {
+        log.info("Fetching tasks of workflow: {}", id);
+        return ResponseEntity.ok(ApiResponse.success(workflowService.getTasks(id), APIConstants.SUCCESS));
+    }
+
+    @PostMapping("/instances/{id}/cancel")
+    public ResponseEntity<ApiResponse<WorkflowInstance>> cancelWorkflow(@AuthenticationPrincipal AuthenticatedUser user,
+                                                                        @PathVariable Long id) {
+        log.info("Cancelling workflow: {}", id);
+        return ResponseEntity.ok(ApiResponse.success(workflowService.cancelWorkflow(id, user), APIConstants.UPDATED));
+    }
+
+    @GetMapping("/documents/{documentId}/instances")
+    public ResponseEntity<ApiResponse<List<WorkflowInstance>>> getInstancesForDocument(@PathVariable Long documentId) {
+        log.info("Fetching workflows of document: {}", documentId);
+        return ResponseEntity.ok(ApiResponse.success(workflowService.getInstancesForDocument(documentId),
+                APIConstants.SUCCESS));
+    }
+
+    @GetMapping("/tasks")
+    public ResponseEntity<ApiResponse<PaginatedResponse<WorkflowTask>>> getOpenTasks(
+            @AuthenticationPrincipal AuthenticatedUser user,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        log.info("Fetching open review tasks of user: {}", user.userId());
+        Page<WorkflowTask> tasks = workflowService.getOpenTasks(user.userId(), page, size);
+        PaginatedResponse<WorkflowTask> response = PaginatedResponse.of(tasks.getContent(), page, size,
+                tasks.getTotalElements());
+        return ResponseEntity.ok(ApiResponse.success(response, APIConstants.SUCCESS));
+    }
+
+    @PostMapping("/tasks/complete")
+    public ResponseEntity<ApiResponse<TaskCompletionResult>> completeTasks(@AuthenticationPrincipal AuthenticatedUser user,
+                                                                           @Valid @RequestBody CompleteTasksRequest request) {
+        log.info("Completing {} review task(s) for user: {}", request.getDecisions().size(), user.userId());
+        List<TaskDecision> decisions = request.getDecisions().stream()
+                .map(decision -> new TaskDecision(decision.getTaskId(), decision.getApproved(), decision.getComment()))
+                .toList();
+        TaskCompletionResult result = workflowService.completeTasks(user.userId(), decisions);
+        return ResponseEntity.ok(ApiResponse.success(result, APIConstants.UPDATED));
+    }
+}
@@ -0,0 +1,36 @@
+package com.windchill.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CompleteTasksRequest {
+    @NotEmpty(message = "At least one decision is required")
+    @Size(max = 500, message = "At most 500 decisions per request")
+    @Valid
+    private List<Decision> decisions;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Decision {
+        @NotNull(message = "Task is required")
+        private Long taskId;
+
+        @NotNull(message = "Decision is required")
+        private Boolean approved;
+
+        @Size(max = 1000, message = "Comment must be at most 1000 characters")
+        private String comment;
+    }
+}
@@ -0,0 +1,19 @@
+package com.windchill.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CreateBaselineRequest {
+    @NotBlank(message = "Baseline name is required")
+    @Size(max = 100, message = "Baseline name must be at most 100 characters")
+    private String name;
+
+    private String description;
+}
@@ -0,0 +1,25 @@
+package com.windchill.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CreateUploadSessionRequest {
+    @NotBlank(message = "File name is required")
+    private String fileName;
+
+    private String mimeType;
+
+    @NotNull(message = "Total size is required")
+    @Min(value = 1, message = "Total size must be greater than 0")
+    private Long totalSize;
+
+    private Integer chunkSize;  // defaults to app.upload.default-chunk-size
+}
@@ -0,0 +1,23 @@
+package com.windchill.api.dto;
+
+import com.windchill.common.enums.MovementTypeEnum;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class InventoryMovementRequest {
+    @NotNull(message = "Movement type is required")
+    private MovementTypeEnum type;
+
+    @NotNull(message = "Quantity is required")
+    private Integer quantity;  // signed for ADJUST, positive otherwise
+
+    @Size(max = 100, message = "Reference must be at most 100 characters")
+    private String reference;
+}
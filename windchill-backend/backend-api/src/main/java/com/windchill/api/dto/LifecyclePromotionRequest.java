@@ -0,0 +1,20 @@
+package com.windchill.api.dto;
+
+import com.windchill.common.enums.LifecycleStateEnum;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import jakarta.validation.constraints.NotNull;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LifecyclePromotionRequest {
+    @NotNull(message = "Target state is required")
+    private LifecycleStateEnum targetState;
+
+    private boolean includeStructure = true;
+
+    private boolean dryRun;
+}
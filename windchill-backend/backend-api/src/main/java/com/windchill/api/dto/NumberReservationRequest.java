@@ -0,0 +1,21 @@
+package com.windchill.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import java.util.HashMap;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NumberReservationRequest {
+    @NotNull(message = "Count is required")
+    @Min(value = 1, message = "Count must be positive")
+    private Integer count;
+
+    private Map<String, String> variables = new HashMap<>();  // values for the pattern's placeholders, e.g. type
+}
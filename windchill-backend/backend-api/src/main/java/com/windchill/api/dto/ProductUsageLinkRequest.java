@@ -0,0 +1,23 @@
+package com.windchill.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Size;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductUsageLinkRequest {
+    private Long childProductId;  // required when adding, ignored on update
+
+    @DecimalMin(value = "0.0001", message = "Quantity must be greater than 0")
+    private BigDecimal quantity;
+
+    @Size(max = 20, message = "Find number must be at most 20 characters")
+    private String findNumber;
+}
@@ -0,0 +1,20 @@
+package com.windchill.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import jakarta.validation.constraints.NotNull;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StartWorkflowRequest {
+    @NotNull(message = "Document is required")
+    private Long documentId;
+
+    private Map<String, List<Long>> reviewers;  // step name -> reviewer user ids; defaults from the definition
+}
@@ -0,0 +1,41 @@
+package com.windchill.api.dto;
+
+import com.windchill.common.enums.UploadStatusEnum;
+import com.windchill.domain.entity.UploadSession;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UploadSessionResponse {
+    private Long sessionId;
+    private Long documentId;
+    private String fileName;
+    private Long totalSize;
+    private Integer chunkSize;
+    private Integer chunkCount;
+    private UploadStatusEnum status;
+    private LocalDateTime expiresAt;
+    private List<Integer> missingChunks;
+
+    public static UploadSessionResponse of(UploadSession session, List<Integer> missingChunks) {
+        return UploadSessionResponse.builder()
+                .sessionId(session.getId())
+                .documentId(session.getDocumentId())
+                .fileName(session.getFileName())
+                .totalSize(session.getTotalSize())
+                .chunkSize(session.getChunkSize())
+                .chunkCount(session.getChunkCount())
+                .status(session.getStatus())
+                .expiresAt(session.getExpiresAt())
+                .missingChunks(missingChunks)
+                .build();
+    }
+}
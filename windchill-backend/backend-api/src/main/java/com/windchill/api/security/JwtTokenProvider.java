@@ -1,6 +1,8 @@
 package com.windchill.api.security;
 
+import com.windchill.common.enums.RoleEnum;
 import com.windchill.domain.entity.User;
+import com.windchill.service.access.AuthenticatedUser;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
 import lombok.extern.slf4j.Slf4j;
@@ -46,6 +48,18 @@ public class JwtTokenProvider {
         return Long.parseLong(claims.getSubject());
     }
 
+    public AuthenticatedUser getAuthenticatedUser(String token) {
+        SecretKey key = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+        Claims claims = Jwts.parser()
+                .verifyWith(key)
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+        String role = claims.get("role", String.class);
+        return new AuthenticatedUser(Long.parseLong(claims.getSubject()), claims.get("username", String.class),
+                role != null ? RoleEnum.valueOf(role) : RoleEnum.VIEWER);
+    }
+
     public boolean validateToken(String token) {
         try {
             SecretKey key = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
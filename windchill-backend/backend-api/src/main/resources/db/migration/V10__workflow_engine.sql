@@ -0,0 +1,52 @@
+-- Approval workflow engine: instances, review tasks and the engine's own job queue
+CREATE TABLE IF NOT EXISTS workflow_instances (
+    id BIGINT PRIMARY KEY AUTO_INCREMENT,
+    document_id BIGINT NOT NULL,
+    definition_key VARCHAR(50) NOT NULL,
+    status VARCHAR(10) NOT NULL,
+    current_step INT NOT NULL DEFAULT 0,
+    step_count INT NOT NULL,
+    started_by BIGINT,
+    completed_at TIMESTAMP NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    created_by VARCHAR(255),
+    updated_by VARCHAR(255),
+    is_deleted BOOLEAN NOT NULL DEFAULT false,
+    version BIGINT DEFAULT 0,
+    INDEX idx_workflow_document (document_id, status),
+    CONSTRAINT fk_workflow_document FOREIGN KEY (document_id) REFERENCES documents(id)
+);
+
+CREATE TABLE IF NOT EXISTS workflow_tasks (
+    id BIGINT PRIMARY KEY AUTO_INCREMENT,
+    instance_id BIGINT NOT NULL,
+    step_index INT NOT NULL,
+    step_name VARCHAR(50) NOT NULL,
+    review_mode VARCHAR(10) NOT NULL,
+    sequence INT NOT NULL,
+    assignee_id BIGINT NOT NULL,
+    status VARCHAR(10) NOT NULL,
+    comment VARCHAR(1000),
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    opened_at TIMESTAMP NULL,
+    completed_at TIMESTAMP NULL,
+    INDEX idx_workflow_task_instance (instance_id, step_index, sequence),
+    INDEX idx_workflow_task_assignee (assignee_id, status, id),
+    CONSTRAINT fk_workflow_task_instance FOREIGN KEY (instance_id) REFERENCES workflow_instances(id),
+    CONSTRAINT fk_workflow_task_assignee FOREIGN KEY (assignee_id) REFERENCES users(id)
+);
+
+CREATE TABLE IF NOT EXISTS workflow_jobs (
+    id BIGINT PRIMARY KEY AUTO_INCREMENT,
+    instance_id BIGINT NOT NULL,
+    status VARCHAR(10) NOT NULL,
+    attempts INT NOT NULL DEFAULT 0,
+    available_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    locked_by VARCHAR(100),
+    locked_at TIMESTAMP NULL,
+    completed_at TIMESTAMP NULL,
+    last_error VARCHAR(1000),
+    INDEX idx_workflow_job_due (status, available_at, id),
+    CONSTRAINT fk_workflow_job_instance FOREIGN KEY (instance_id) REFERENCES workflow_instances(id)
+);
@@ -0,0 +1,5 @@
+-- Reminder and escalation state of review tasks, rebuilt into the deadline scheduler on startup
+ALTER TABLE workflow_tasks
+    ADD COLUMN reminded_at TIMESTAMP NULL,
+    ADD COLUMN escalated_at TIMESTAMP NULL,
+    ADD INDEX idx_workflow_task_opened (opened_at);
@@ -0,0 +1,45 @@
+-- Lifecycle state becomes a controlled value with a derived maturity level.
+-- Every product whose stored state is not exactly one of the states is recorded here with
+-- its old value before the state is rewritten, so nothing free-text is lost.
+CREATE TABLE IF NOT EXISTS product_lifecycle_state_audit (
+    product_id BIGINT NOT NULL PRIMARY KEY,
+    old_lifecycle_state VARCHAR(50),
+    new_lifecycle_state VARCHAR(50) NOT NULL,
+    mapped BOOLEAN NOT NULL,
+    migrated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Case, spacing and spelling variants of a state map to it; anything else becomes DRAFT
+-- with mapped = FALSE, for review against the old value
+INSERT INTO product_lifecycle_state_audit (product_id, old_lifecycle_state, new_lifecycle_state, mapped)
+SELECT id, lifecycle_state, COALESCE(state, 'DRAFT'), state IS NOT NULL
+FROM (
+    SELECT id, lifecycle_state,
+           CASE REPLACE(REPLACE(UPPER(TRIM(lifecycle_state)), ' ', '_'), '-', '_')
+               WHEN 'DRAFT' THEN 'DRAFT'
+               WHEN 'IN_WORK' THEN 'IN_WORK'
+               WHEN 'INWORK' THEN 'IN_WORK'
+               WHEN 'RELEASED' THEN 'RELEASED'
+               WHEN 'RELEASE' THEN 'RELEASED'
+               WHEN 'OBSOLETE' THEN 'OBSOLETE'
+               WHEN 'OBSOLETED' THEN 'OBSOLETE'
+           END AS state
+    FROM products
+    WHERE lifecycle_state IS NULL
+       OR CAST(lifecycle_state AS BINARY) NOT IN ('DRAFT', 'IN_WORK', 'RELEASED', 'OBSOLETE')
+) AS normalized;
+
+UPDATE products p
+JOIN product_lifecycle_state_audit a ON a.product_id = p.id
+SET p.lifecycle_state = a.new_lifecycle_state;
+
+-- An existing maturity level is kept; only missing ones are derived from the state
+UPDATE products SET maturity_level = CASE lifecycle_state
+    WHEN 'IN_WORK' THEN 'DEVELOPMENT'
+    WHEN 'RELEASED' THEN 'PRODUCTION'
+    WHEN 'OBSOLETE' THEN 'RETIRED'
+    ELSE 'NEW'
+END
+WHERE maturity_level IS NULL;
+
+ALTER TABLE products MODIFY lifecycle_state VARCHAR(50) NOT NULL DEFAULT 'DRAFT';
@@ -0,0 +1,73 @@
+-- Immutable iteration history of products and projects, range-partitioned by year so old
+-- history can be archived or dropped a partition at a time. MySQL requires the partitioning
+-- column in every unique key, hence the composite primary key.
+CREATE TABLE IF NOT EXISTS entity_history (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    entity_type VARCHAR(20) NOT NULL,
+    entity_id BIGINT NOT NULL,
+    iteration INT NOT NULL,
+    storage_kind VARCHAR(10) NOT NULL,
+    fields JSON NOT NULL,
+    recorded_at DATETIME(3) NOT NULL,
+    recorded_by VARCHAR(255),
+    PRIMARY KEY (id, recorded_at),
+    INDEX idx_history_iteration (entity_type, entity_id, iteration),
+    INDEX idx_history_snapshot (entity_type, entity_id, storage_kind, iteration),
+    INDEX idx_history_recorded (entity_type, entity_id, recorded_at, iteration)
+)
+PARTITION BY RANGE COLUMNS (recorded_at) (
+    PARTITION p2024 VALUES LESS THAN ('2025-01-01'),
+    PARTITION p2025 VALUES LESS THAN ('2026-01-01'),
+    PARTITION p2026 VALUES LESS THAN ('2027-01-01'),
+    PARTITION p2027 VALUES LESS THAN ('2028-01-01'),
+    PARTITION pmax VALUES LESS THAN (MAXVALUE)
+);
+
+-- The current state of every existing row becomes its first iteration, field names and
+-- formats matching the JSON the application writes
+INSERT INTO entity_history (entity_type, entity_id, iteration, storage_kind, fields, recorded_at, recorded_by)
+SELECT 'PRODUCT', id, 1, 'FULL',
+       JSON_OBJECT(
+           'id', id,
+           'createdBy', created_by,
+           'updatedBy', updated_by,
+           'isDeleted', IF(is_deleted, CAST('true' AS JSON), CAST('false' AS JSON)),
+           'productCode', product_code,
+           'productName', product_name,
+           'description', description,
+           'status', status,
+           'versionNumber', version_number,
+           'category', category,
+           'manufacturer', manufacturer,
+           'cost', cost,
+           'sellingPrice', selling_price,
+           'unitOfMeasure', unit_of_measure,
+           'reorderLevel', reorder_level,
+           'ownerId', owner_id,
+           'projectId', project_id,
+           'maturityLevel', maturity_level,
+           'lifecycleState', lifecycle_state),
+       COALESCE(updated_at, created_at), COALESCE(updated_by, created_by)
+FROM products;
+
+INSERT INTO entity_history (entity_type, entity_id, iteration, storage_kind, fields, recorded_at, recorded_by)
+SELECT 'PROJECT', id, 1, 'FULL',
+       JSON_OBJECT(
+           'id', id,
+           'createdBy', created_by,
+           'updatedBy', updated_by,
+           'isDeleted', IF(is_deleted, CAST('true' AS JSON), CAST('false' AS JSON)),
+           'projectCode', project_code,
+           'projectName', project_name,
+           'description', description,
+           'status', status,
+           'managerId', manager_id,
+           'startDate', DATE_FORMAT(start_date, '%Y-%m-%d'),
+           'endDate', DATE_FORMAT(end_date, '%Y-%m-%d'),
+           'budget', budget,
+           'department', department,
+           'priority', priority,
+           'progressPercentage', progress_percentage,
+           'isConfidential', IF(is_confidential, CAST('true' AS JSON), CAST('false' AS JSON))),
+       COALESCE(updated_at, created_at), COALESCE(updated_by, created_by)
+FROM projects;
@@ -0,0 +1,31 @@
+-- Project baselines: frozen copies of a project's products and documents with their versions
+CREATE TABLE IF NOT EXISTS project_baselines (
+    id BIGINT PRIMARY KEY AUTO_INCREMENT,
+    project_id BIGINT NOT NULL,
+    name VARCHAR(100) NOT NULL,
+    description TEXT,
+    product_count INT NOT NULL,
+    document_count INT NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    INDEX idx_baseline_project (project_id, id),
+    CONSTRAINT uk_baseline_name UNIQUE (project_id, name),
+    CONSTRAINT fk_baseline_project FOREIGN KEY (project_id) REFERENCES projects(id)
+);
+
+-- Clustered on (baseline, type, id) so a baseline reads back in the order the diff merges in
+CREATE TABLE IF NOT EXISTS baseline_items (
+    baseline_id BIGINT NOT NULL,
+    item_type VARCHAR(10) NOT NULL,
+    item_id BIGINT NOT NULL,
+    item_number VARCHAR(50) NOT NULL,
+    item_name VARCHAR(255),
+    entity_version BIGINT,
+    version_number VARCHAR(20),
+    status VARCHAR(50) NOT NULL,
+    PRIMARY KEY (baseline_id, item_type, item_id),
+    CONSTRAINT fk_baseline_item_baseline FOREIGN KEY (baseline_id) REFERENCES project_baselines(id) ON DELETE CASCADE
+);
+
+-- Capture and diff read a project's products and documents in id order
+ALTER TABLE products ADD INDEX idx_product_project (project_id, id);
+ALTER TABLE documents ADD INDEX idx_doc_project (project_id, id);
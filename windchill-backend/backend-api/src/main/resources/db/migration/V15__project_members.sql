@@ -0,0 +1,12 @@
+-- Project membership, which decides who can see confidential projects
+CREATE TABLE IF NOT EXISTS project_members (
+    project_id BIGINT NOT NULL,
+    user_id BIGINT NOT NULL,
+    added_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (project_id, user_id),
+    INDEX idx_member_user (user_id, project_id),
+    CONSTRAINT fk_member_project FOREIGN KEY (project_id) REFERENCES projects(id),
+    CONSTRAINT fk_member_user FOREIGN KEY (user_id) REFERENCES users(id)
+);
+
+UPDATE projects SET is_confidential = FALSE WHERE is_confidential IS NULL;
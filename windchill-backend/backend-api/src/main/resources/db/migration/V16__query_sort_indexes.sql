@@ -0,0 +1,13 @@
+-- Indexes led by each sort key of the filter query endpoints (QuerySchemas), so a keyset
+-- page is a range scan from the cursor instead of a sort of every matching row
+ALTER TABLE products
+    ADD INDEX idx_product_created (created_at, id),
+    ADD INDEX idx_product_cost (cost, id);
+
+ALTER TABLE documents
+    ADD INDEX idx_doc_created (created_at, id);
+
+ALTER TABLE projects
+    ADD INDEX idx_project_created (created_at, id),
+    ADD INDEX idx_project_budget (budget, id),
+    ADD INDEX idx_project_end_date (end_date, id);
@@ -0,0 +1,25 @@
+-- Site-specific product attributes: typed definitions, with the values of each product in
+-- one JSON document. Searchable attributes get a generated column and index on products,
+-- added at runtime when the definition becomes searchable (AttributeColumns).
+CREATE TABLE IF NOT EXISTS attribute_definitions (
+    id BIGINT PRIMARY KEY AUTO_INCREMENT,
+    name VARCHAR(40) NOT NULL,
+    label VARCHAR(255) NOT NULL,
+    data_type VARCHAR(20) NOT NULL,
+    required BOOLEAN NOT NULL DEFAULT FALSE,
+    searchable BOOLEAN NOT NULL DEFAULT FALSE,
+    allowed_values JSON,
+    max_length INT,
+    min_value DECIMAL(19, 4),
+    max_value DECIMAL(19, 4),
+    unit VARCHAR(20),
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    created_by VARCHAR(100),
+    updated_by VARCHAR(100),
+    is_deleted BOOLEAN NOT NULL DEFAULT FALSE,
+    version BIGINT DEFAULT 0,
+    CONSTRAINT uk_attribute_name UNIQUE (name)
+);
+
+ALTER TABLE products ADD COLUMN attributes JSON;
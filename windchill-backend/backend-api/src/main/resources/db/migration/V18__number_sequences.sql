@@ -0,0 +1,6 @@
+-- Counters behind server-generated product codes, document numbers and project codes.
+-- Each row is advanced by a whole block of values at a time (NumberingServiceImpl).
+CREATE TABLE IF NOT EXISTS number_sequences (
+    sequence_key VARCHAR(200) PRIMARY KEY,
+    next_value BIGINT NOT NULL
+);
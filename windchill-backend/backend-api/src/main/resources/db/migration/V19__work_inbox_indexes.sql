@@ -0,0 +1,10 @@
+-- Per-user lookups of the work inbox, each read newest first as an index range scan
+ALTER TABLE products
+    ADD INDEX idx_product_owner_updated (owner_id, updated_at, id);
+
+ALTER TABLE documents
+    ADD INDEX idx_doc_owner_updated (owner_id, updated_at, id),
+    ADD INDEX idx_doc_review (reviewer_id, approval_status, updated_at, id);
+
+ALTER TABLE projects
+    ADD INDEX idx_project_manager_updated (manager_id, updated_at, id);
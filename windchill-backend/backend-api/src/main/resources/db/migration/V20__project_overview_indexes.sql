@@ -0,0 +1,4 @@
+-- Status counts of a project's products and documents for the project overview, read from
+-- the index alone
+ALTER TABLE products ADD INDEX idx_product_project_status (project_id, is_deleted, status);
+ALTER TABLE documents ADD INDEX idx_doc_project_status (project_id, is_deleted, status);
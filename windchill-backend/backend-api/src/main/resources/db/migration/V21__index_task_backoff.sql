@@ -0,0 +1,9 @@
+-- Failed extraction tasks wait out an exponential backoff before they are claimed again
+ALTER TABLE document_index_tasks ADD COLUMN next_attempt_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP;
+UPDATE document_index_tasks SET next_attempt_at = enqueued_at;
+
+-- Tasks that used up their attempts are parked as DEAD instead of FAILED
+UPDATE document_index_tasks SET status = 'DEAD' WHERE status = 'FAILED';
+
+ALTER TABLE document_index_tasks DROP INDEX idx_index_task_status;
+CREATE INDEX idx_index_task_status ON document_index_tasks (status, next_attempt_at, id);
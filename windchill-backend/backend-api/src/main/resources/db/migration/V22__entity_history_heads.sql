@@ -0,0 +1,15 @@
+-- The latest iteration of every entity with history. entity_history is partitioned by
+-- recorded_at, so MySQL cannot hold a unique key on (entity_type, entity_id, iteration)
+-- there; the primary key here is that guard instead. Recorders lock an entity's head row,
+-- number the new iteration from it and advance it in the same transaction.
+CREATE TABLE IF NOT EXISTS entity_history_heads (
+    entity_type VARCHAR(20) NOT NULL,
+    entity_id BIGINT NOT NULL,
+    iteration INT NOT NULL,
+    PRIMARY KEY (entity_type, entity_id)
+);
+
+INSERT INTO entity_history_heads (entity_type, entity_id, iteration)
+SELECT entity_type, entity_id, MAX(iteration)
+FROM entity_history
+GROUP BY entity_type, entity_id;
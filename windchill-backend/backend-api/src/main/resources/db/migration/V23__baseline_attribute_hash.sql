@@ -0,0 +1,6 @@
+-- Baseline items keep a digest of the attributes they froze, so the diff sees every change
+-- to them rather than only those that bumped the entity version. Items captured before this
+-- have no digest and are still compared by version.
+ALTER TABLE baseline_items
+    ADD COLUMN lifecycle_state VARCHAR(50),
+    ADD COLUMN attributes_hash BINARY(32);
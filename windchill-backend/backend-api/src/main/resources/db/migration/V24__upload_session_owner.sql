@@ -0,0 +1,4 @@
+-- The user who opened an upload session; only they can add chunks to it, commit or abort it.
+-- Sessions opened before this column existed have no owner and can only be finished by an
+-- administrator.
+ALTER TABLE upload_sessions ADD COLUMN owner_id BIGINT;
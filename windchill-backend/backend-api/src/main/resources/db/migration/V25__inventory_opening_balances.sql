@@ -0,0 +1,12 @@
+-- Stock entered with a product before it was recorded in the ledger gets the opening ADJUST
+-- movement it would get today, so every product's movements sum to its quantity on hand.
+INSERT INTO inventory_movements (product_id, movement_type, quantity, on_hand_delta, reserved_delta, reference)
+SELECT p.id, 'ADJUST', p.quantity_on_hand - COALESCE(m.on_hand, 0), p.quantity_on_hand - COALESCE(m.on_hand, 0), 0,
+       'Opening balance'
+FROM products p
+LEFT JOIN (
+    SELECT product_id, SUM(on_hand_delta) AS on_hand
+    FROM inventory_movements
+    GROUP BY product_id
+) AS m ON m.product_id = p.id
+WHERE p.quantity_on_hand <> COALESCE(m.on_hand, 0);
@@ -0,0 +1,34 @@
+-- Resumable chunked upload sessions
+CREATE TABLE IF NOT EXISTS upload_sessions (
+    id BIGINT PRIMARY KEY AUTO_INCREMENT,
+    document_id BIGINT NOT NULL,
+    file_name VARCHAR(255) NOT NULL,
+    mime_type VARCHAR(100),
+    total_size BIGINT NOT NULL,
+    chunk_size INT NOT NULL,
+    chunk_count INT NOT NULL,
+    status VARCHAR(20) NOT NULL DEFAULT 'OPEN',
+    staging_path VARCHAR(500) NOT NULL,
+    expires_at TIMESTAMP NOT NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    created_by VARCHAR(100),
+    updated_by VARCHAR(100),
+    is_deleted BOOLEAN DEFAULT false,
+    version BIGINT DEFAULT 0,
+    INDEX idx_upload_document (document_id),
+    INDEX idx_upload_status_expiry (status, expires_at),
+    CONSTRAINT fk_upload_document FOREIGN KEY (document_id) REFERENCES documents(id)
+);
+
+-- Verified chunks per session (insert-only, one row per chunk)
+CREATE TABLE IF NOT EXISTS upload_chunks (
+    id BIGINT PRIMARY KEY AUTO_INCREMENT,
+    session_id BIGINT NOT NULL,
+    chunk_index INT NOT NULL,
+    chunk_size INT NOT NULL,
+    checksum VARCHAR(16) NOT NULL,
+    received_at TIMESTAMP NOT NULL,
+    CONSTRAINT uk_upload_chunk UNIQUE (session_id, chunk_index),
+    CONSTRAINT fk_chunk_session FOREIGN KEY (session_id) REFERENCES upload_sessions(id) ON DELETE CASCADE
+);
@@ -0,0 +1,15 @@
+-- Revision history of document binaries (full keyframes + forward binary deltas)
+CREATE TABLE IF NOT EXISTS document_revisions (
+    id BIGINT PRIMARY KEY AUTO_INCREMENT,
+    document_id BIGINT NOT NULL,
+    revision_number INT NOT NULL,
+    storage_kind VARCHAR(10) NOT NULL,
+    blob_path VARCHAR(500) NOT NULL,
+    file_name VARCHAR(255),
+    content_size BIGINT NOT NULL,
+    stored_size BIGINT NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    created_by VARCHAR(100),
+    CONSTRAINT uk_doc_revision UNIQUE (document_id, revision_number),
+    CONSTRAINT fk_revision_document FOREIGN KEY (document_id) REFERENCES documents(id)
+);
@@ -0,0 +1,5 @@
+-- Hot/cold storage tier of document content
+ALTER TABLE documents
+    ADD COLUMN storage_tier VARCHAR(10) NOT NULL DEFAULT 'HOT',
+    ADD COLUMN last_accessed_at TIMESTAMP NULL,
+    ADD INDEX idx_doc_tier_access (storage_tier, last_accessed_at);
@@ -0,0 +1,25 @@
+-- Persistent queue of content extraction work
+CREATE TABLE IF NOT EXISTS document_index_tasks (
+    id BIGINT PRIMARY KEY AUTO_INCREMENT,
+    document_id BIGINT NOT NULL,
+    status VARCHAR(10) NOT NULL,
+    attempts INT NOT NULL DEFAULT 0,
+    enqueued_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    started_at TIMESTAMP NULL,
+    completed_at TIMESTAMP NULL,
+    last_error VARCHAR(1000),
+    INDEX idx_index_task_status (status, id),
+    INDEX idx_index_task_document (document_id),
+    CONSTRAINT fk_index_task_document FOREIGN KEY (document_id) REFERENCES documents(id)
+);
+
+-- Extracted, normalized document text for content search
+CREATE TABLE IF NOT EXISTS document_contents (
+    document_id BIGINT PRIMARY KEY,
+    content_text LONGTEXT NOT NULL,
+    token_count INT NOT NULL,
+    truncated BOOLEAN NOT NULL DEFAULT FALSE,
+    indexed_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    FULLTEXT INDEX ft_document_content (content_text),
+    CONSTRAINT fk_content_document FOREIGN KEY (document_id) REFERENCES documents(id)
+);
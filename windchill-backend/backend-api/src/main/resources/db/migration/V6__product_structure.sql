@@ -0,0 +1,18 @@
+-- Product structure: one row per usage of a child product in a parent assembly
+CREATE TABLE IF NOT EXISTS product_usage_links (
+    id BIGINT PRIMARY KEY AUTO_INCREMENT,
+    parent_product_id BIGINT NOT NULL,
+    child_product_id BIGINT NOT NULL,
+    quantity DECIMAL(12, 4) NOT NULL DEFAULT 1,
+    find_number VARCHAR(20),
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    created_by VARCHAR(100),
+    updated_by VARCHAR(100),
+    is_deleted BOOLEAN DEFAULT FALSE,
+    version BIGINT DEFAULT 0,
+    INDEX idx_usage_parent (parent_product_id),
+    INDEX idx_usage_child (child_product_id),
+    CONSTRAINT fk_usage_parent FOREIGN KEY (parent_product_id) REFERENCES products(id),
+    CONSTRAINT fk_usage_child FOREIGN KEY (child_product_id) REFERENCES products(id)
+);
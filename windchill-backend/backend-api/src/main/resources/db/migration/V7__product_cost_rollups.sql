@@ -0,0 +1,7 @@
+-- Rolled-up assembly cost, maintained incrementally from product costs and the BOM
+CREATE TABLE IF NOT EXISTS product_cost_rollups (
+    product_id BIGINT PRIMARY KEY,
+    rolled_up_cost DECIMAL(19, 4) NOT NULL,
+    computed_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT fk_cost_rollup_product FOREIGN KEY (product_id) REFERENCES products(id)
+);
@@ -0,0 +1,18 @@
+-- Stock counters are only ever changed by atomic deltas from the inventory ledger
+UPDATE products SET quantity_on_hand = 0 WHERE quantity_on_hand IS NULL;
+ALTER TABLE products
+    MODIFY quantity_on_hand INT NOT NULL DEFAULT 0,
+    ADD COLUMN quantity_reserved INT NOT NULL DEFAULT 0;
+
+CREATE TABLE IF NOT EXISTS inventory_movements (
+    id BIGINT PRIMARY KEY AUTO_INCREMENT,
+    product_id BIGINT NOT NULL,
+    movement_type VARCHAR(10) NOT NULL,
+    quantity INT NOT NULL,
+    on_hand_delta INT NOT NULL,
+    reserved_delta INT NOT NULL,
+    reference VARCHAR(100),
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    INDEX idx_movement_product (product_id, id),
+    CONSTRAINT fk_movement_product FOREIGN KEY (product_id) REFERENCES products(id)
+);
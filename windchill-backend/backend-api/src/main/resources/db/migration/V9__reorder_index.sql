@@ -0,0 +1,9 @@
+-- Low-stock products are found through an index on a generated flag instead of a table scan.
+-- Must match ReorderThreshold.isBelow.
+ALTER TABLE products
+    ADD COLUMN needs_reorder BOOLEAN AS (
+        COALESCE(is_deleted, FALSE) = FALSE
+        AND reorder_level IS NOT NULL
+        AND quantity_on_hand <= reorder_level
+    ) STORED,
+    ADD INDEX idx_product_needs_reorder (needs_reorder, id);
@@ -8,6 +8,9 @@ public class APIConstants {
     public static final String API_PROJECTS = API_V1 + "/projects";
     public static final String API_AUTH = API_V1 + "/auth";
     public static final String API_WORKFLOW = API_V1 + "/workflow";
+    public static final String API_ATTRIBUTES = API_V1 + "/attributes";
+    public static final String API_NUMBERING = API_V1 + "/numbering";
+    public static final String API_ME = API_V1 + "/me";
 
     // JWT
     public static final String BEARER = "Bearer ";
@@ -7,6 +7,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.io.Serializable;
+import java.util.Map;
 
 /**
  * Generic API Response wrapper for all API endpoints.
@@ -45,6 +46,19 @@ public class ApiResponse<T> implements Serializable {
      */
     private Long timestamp;
 
+    /**
+ * Summaries of related entities requested with {@code expand}, by type and then id
+     */
+    private Map<String, Map<Long, Object>> included;
+
+    /**
+ * Attach expanded relations; null leaves the response as it was
+     */
+    public ApiResponse<T> withIncluded(Map<String, Map<Long, Object>> included) {
+        this.included = included;
+        return this;
+    }
+
     /**
  * Create a successful response
      */
@@ -0,0 +1,8 @@
+package com.windchill.common.enums;
+
+public enum AttributeTypeEnum {
+    STRING,
+    NUMBER,
+    BOOLEAN,
+    ENUM
+}
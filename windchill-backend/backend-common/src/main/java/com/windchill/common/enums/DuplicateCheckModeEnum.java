@@ -0,0 +1,7 @@
+package com.windchill.common.enums;
+
+public enum DuplicateCheckModeEnum {
+    OFF,
+    WARN,
+    BLOCK
+}
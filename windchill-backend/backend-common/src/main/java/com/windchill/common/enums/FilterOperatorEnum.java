@@ -0,0 +1,10 @@
+package com.windchill.common.enums;
+
+public enum FilterOperatorEnum {
+    EQ,
+    IN,
+    GT,
+    GTE,
+    LT,
+    LTE
+}
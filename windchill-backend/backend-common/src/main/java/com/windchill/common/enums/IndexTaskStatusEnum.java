@@ -0,0 +1,8 @@
+package com.windchill.common.enums;
+
+public enum IndexTaskStatusEnum {
+    PENDING,
+    RUNNING,
+    DONE,
+    DEAD
+}
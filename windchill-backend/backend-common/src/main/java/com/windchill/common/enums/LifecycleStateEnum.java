@@ -0,0 +1,21 @@
+package com.windchill.common.enums;
+
+/**
+ * Product lifecycle states. Each state implies the maturity level stored alongside it.
+ */
+public enum LifecycleStateEnum {
+    DRAFT("NEW"),
+    IN_WORK("DEVELOPMENT"),
+    RELEASED("PRODUCTION"),
+    OBSOLETE("RETIRED");
+
+    private final String maturityLevel;
+
+    LifecycleStateEnum(String maturityLevel) {
+        this.maturityLevel = maturityLevel;
+    }
+
+    public String getMaturityLevel() {
+        return maturityLevel;
+    }
+}
@@ -0,0 +1,9 @@
+package com.windchill.common.enums;
+
+public enum MovementTypeEnum {
+    RECEIVE,
+    ISSUE,
+    ADJUST,
+    RESERVE,
+    RELEASE
+}
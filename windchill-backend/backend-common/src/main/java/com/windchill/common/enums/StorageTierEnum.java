@@ -0,0 +1,6 @@
+package com.windchill.common.enums;
+
+public enum StorageTierEnum {
+    HOT,
+    COLD
+}
@@ -0,0 +1,8 @@
+package com.windchill.common.enums;
+
+public enum UploadStatusEnum {
+    OPEN,
+    COMMITTED,
+    ABORTED,
+    EXPIRED
+}
@@ -0,0 +1,8 @@
+package com.windchill.common.enums;
+
+public enum WorkItemKindEnum {
+    OWNED_PRODUCT,
+    OWNED_DOCUMENT,
+    DOCUMENT_REVIEW,
+    MANAGED_PROJECT
+}
@@ -0,0 +1,9 @@
+package com.windchill.common.enums;
+
+public enum WorkflowTaskStatusEnum {
+    WAITING,
+    OPEN,
+    APPROVED,
+    REJECTED,
+    CANCELLED
+}
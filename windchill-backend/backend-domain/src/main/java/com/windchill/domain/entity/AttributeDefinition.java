@@ -0,0 +1,61 @@
+package com.windchill.domain.entity;
+
+import com.windchill.common.enums.AttributeTypeEnum;
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+/**
+ * A site-specific product attribute such as material or RoHS compliance. Values live in
+ * {@link Product#getAttributes()} under {@code name}; a searchable attribute additionally
+ * gets an indexed column generated from the JSON value, named after it.
+ */
+@Entity
+@Table(name = "attribute_definitions", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_attribute_name", columnNames = "name")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(callSuper = true)
+public class AttributeDefinition extends BaseEntity {
+    // Becomes part of a column name, so it is restricted to lower-case letters, digits and '_'
+    @Column(name = "name", nullable = false, length = 40, updatable = false)
+    private String name;
+
+    @Column(name = "label", nullable = false)
+    private String label;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "data_type", nullable = false, updatable = false, columnDefinition = "VARCHAR(20)")
+    private AttributeTypeEnum dataType;
+
+    @Column(name = "required", nullable = false)
+    private Boolean required = false;
+
+    @Column(name = "searchable", nullable = false)
+    private Boolean searchable = false;
+
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "allowed_values", columnDefinition = "JSON")
+    private List<String> allowedValues = new ArrayList<>();
+
+    @Column(name = "max_length")
+    private Integer maxLength;
+
+    @Column(name = "min_value", precision = 19, scale = 4)
+    private BigDecimal minValue;
+
+    @Column(name = "max_value", precision = 19, scale = 4)
+    private BigDecimal maxValue;
+
+    @Column(name = "unit", length = 20)
+    private String unit;
+}
@@ -0,0 +1,69 @@
+package com.windchill.domain.entity;
+
+import com.windchill.common.enums.BaselineItemTypeEnum;
+import com.windchill.common.enums.StatusEnum;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import java.io.Serializable;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One product or document as it was when its baseline was captured. Rows are written only
+ * by the set-based capture and never change; the key orders them by type and id, which the
+ * baseline diff relies on.
+ */
+@Entity
+@Table(name = "baseline_items")
+@IdClass(BaselineItem.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BaselineItem {
+    @Id
+    @Column(name = "baseline_id", nullable = false)
+    private Long baselineId;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(name = "item_type", nullable = false, columnDefinition = "VARCHAR(10)")
+    private BaselineItemTypeEnum itemType;
+
+    @Id
+    @Column(name = "item_id", nullable = false)
+    private Long itemId;
+
+    @Column(name = "item_number", nullable = false, length = 50)
+    private String itemNumber;
+
+    @Column(name = "item_name")
+    private String itemName;
+
+    @Column(name = "entity_version")
+    private Long entityVersion;
+
+    @Column(name = "version_number", length = 20)
+    private String versionNumber;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, columnDefinition = "VARCHAR(50)")
+    private StatusEnum status;
+
+    @Column(name = "lifecycle_state", columnDefinition = "VARCHAR(50)")
+    private String lifecycleState;
+
+    // SHA-256 of the frozen attributes, compared by the baseline diff; null on older baselines
+    @JsonIgnore
+    @Column(name = "attributes_hash", columnDefinition = "BINARY(32)")
+    private byte[] attributesHash;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long baselineId;
+        private BaselineItemTypeEnum itemType;
+        private Long itemId;
+    }
+}
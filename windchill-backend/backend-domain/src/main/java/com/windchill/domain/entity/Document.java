@@ -1,7 +1,9 @@
 package com.windchill.domain.entity;
 
 import com.windchill.common.enums.StatusEnum;
+import com.windchill.common.enums.StorageTierEnum;
 import jakarta.persistence.*;
+import java.time.LocalDateTime;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
@@ -10,7 +12,13 @@ import lombok.NoArgsConstructor;
 @Entity
 @Table(name = "documents", indexes = {
     @Index(name = "idx_doc_number", columnList = "document_number", unique = true),
-    @Index(name = "idx_doc_status", columnList = "status")
+    @Index(name = "idx_doc_status", columnList = "status"),
+    @Index(name = "idx_doc_tier_access", columnList = "storage_tier, last_accessed_at"),
+    @Index(name = "idx_doc_project", columnList = "project_id, id"),
+    @Index(name = "idx_doc_created", columnList = "created_at, id"),
+    @Index(name = "idx_doc_owner_updated", columnList = "owner_id, updated_at, id"),
+    @Index(name = "idx_doc_review", columnList = "reviewer_id, approval_status, updated_at, id"),
+    @Index(name = "idx_doc_project_status", columnList = "project_id, is_deleted, status")
 })
 @Data
 @NoArgsConstructor
@@ -62,4 +70,12 @@ public class Document extends BaseEntity {
 
     @Column(name = "reviewer_id")
     private Long reviewerId;
+
+    // Maintained by the storage tiering service through targeted updates only
+    @Enumerated(EnumType.STRING)
+    @Column(name = "storage_tier", nullable = false, updatable = false, columnDefinition = "VARCHAR(10)")
+    private StorageTierEnum storageTier = StorageTierEnum.HOT;
+
+    @Column(name = "last_accessed_at", updatable = false)
+    private LocalDateTime lastAccessedAt;
 }
@@ -0,0 +1,35 @@
+package com.windchill.domain.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Normalized plain text extracted from a document's current file, backing the FULLTEXT
+ * content search. One row per document, replaced whenever the file changes.
+ */
+@Entity
+@Table(name = "document_contents")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DocumentContent {
+    @Id
+    @Column(name = "document_id")
+    private Long documentId;
+
+    @Lob
+    @Column(name = "content_text", nullable = false, columnDefinition = "LONGTEXT")
+    private String contentText;
+
+    @Column(name = "token_count", nullable = false)
+    private Integer tokenCount;
+
+    @Column(name = "truncated", nullable = false)
+    private Boolean truncated = false;
+
+    @Column(name = "indexed_at", nullable = false)
+    private LocalDateTime indexedAt;
+}
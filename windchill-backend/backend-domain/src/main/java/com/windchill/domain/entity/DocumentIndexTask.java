@@ -0,0 +1,53 @@
+package com.windchill.domain.entity;
+
+import com.windchill.common.enums.IndexTaskStatusEnum;
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Persistent queue entry asking for a document's content to be (re)extracted and indexed.
+ * Workers claim PENDING rows with a conditional update, so a task runs at most once at a time
+ * even with several application nodes polling the same table. A failed task is not claimable
+ * again before {@code nextAttemptAt}; one that has used up its attempts is parked as DEAD.
+ */
+@Entity
+@Table(name = "document_index_tasks", indexes = {
+    @Index(name = "idx_index_task_status", columnList = "status, next_attempt_at, id"),
+    @Index(name = "idx_index_task_document", columnList = "document_id")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DocumentIndexTask {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "document_id", nullable = false)
+    private Long documentId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, columnDefinition = "VARCHAR(10)")
+    private IndexTaskStatusEnum status = IndexTaskStatusEnum.PENDING;
+
+    @Column(name = "attempts", nullable = false)
+    private Integer attempts = 0;
+
+    @Column(name = "enqueued_at", nullable = false)
+    private LocalDateTime enqueuedAt;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+}
@@ -0,0 +1,53 @@
+package com.windchill.domain.entity;
+
+import com.windchill.common.enums.RevisionStorageEnum;
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One immutable revision of a document binary. FULL revisions are keyframes holding the
+ * complete content; DELTA revisions hold a binary delta against the previous revision.
+ */
+@Entity
+@Table(name = "document_revisions", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_doc_revision", columnNames = {"document_id", "revision_number"})
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DocumentRevision {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "document_id", nullable = false)
+    private Long documentId;
+
+    @Column(name = "revision_number", nullable = false)
+    private Integer revisionNumber;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "storage_kind", nullable = false, columnDefinition = "VARCHAR(10)")
+    private RevisionStorageEnum storageKind;
+
+    @Column(name = "blob_path", nullable = false)
+    private String blobPath;
+
+    @Column(name = "file_name")
+    private String fileName;
+
+    @Column(name = "content_size", nullable = false)
+    private Long contentSize;
+
+    @Column(name = "stored_size", nullable = false)
+    private Long storedSize;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "created_by")
+    private String createdBy;
+}
@@ -0,0 +1,53 @@
+package com.windchill.domain.entity;
+
+import com.windchill.common.enums.HistoryEntityTypeEnum;
+import com.windchill.common.enums.RevisionStorageEnum;
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One immutable iteration of a product or project. FULL iterations hold every tracked field;
+ * DELTA iterations hold only the fields that changed since the previous iteration, with null
+ * for a field that was cleared.
+ */
+@Entity
+@Table(name = "entity_history", indexes = {
+    @Index(name = "idx_history_iteration", columnList = "entity_type, entity_id, iteration"),
+    @Index(name = "idx_history_snapshot", columnList = "entity_type, entity_id, storage_kind, iteration"),
+    @Index(name = "idx_history_recorded", columnList = "entity_type, entity_id, recorded_at, iteration")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EntityHistory {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "entity_type", nullable = false, columnDefinition = "VARCHAR(20)")
+    private HistoryEntityTypeEnum entityType;
+
+    @Column(name = "entity_id", nullable = false)
+    private Long entityId;
+
+    @Column(name = "iteration", nullable = false)
+    private Integer iteration;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "storage_kind", nullable = false, columnDefinition = "VARCHAR(10)")
+    private RevisionStorageEnum storageKind;
+
+    @Column(name = "fields", nullable = false, columnDefinition = "JSON")
+    private String fields;
+
+    // Part of the primary key: the table is range-partitioned on it
+    @Column(name = "recorded_at", nullable = false)
+    private LocalDateTime recordedAt;
+
+    @Column(name = "recorded_by")
+    private String recordedBy;
+}
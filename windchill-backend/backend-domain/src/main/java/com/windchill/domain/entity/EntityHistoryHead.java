@@ -0,0 +1,40 @@
+package com.windchill.domain.entity;
+
+import com.windchill.common.enums.HistoryEntityTypeEnum;
+import jakarta.persistence.*;
+import java.io.Serializable;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * The latest recorded iteration of a product or project. Its primary key keeps iteration
+ * numbers unique per entity, which the partitioned history table cannot enforce itself.
+ */
+@Entity
+@Table(name = "entity_history_heads")
+@IdClass(EntityHistoryHead.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EntityHistoryHead {
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(name = "entity_type", nullable = false, columnDefinition = "VARCHAR(20)")
+    private HistoryEntityTypeEnum entityType;
+
+    @Id
+    @Column(name = "entity_id", nullable = false)
+    private Long entityId;
+
+    @Column(name = "iteration", nullable = false)
+    private Integer iteration;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private HistoryEntityTypeEnum entityType;
+        private Long entityId;
+    }
+}
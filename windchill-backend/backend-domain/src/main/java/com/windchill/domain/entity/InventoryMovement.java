@@ -0,0 +1,47 @@
+package com.windchill.domain.entity;
+
+import com.windchill.common.enums.MovementTypeEnum;
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Append-only stock ledger entry. The product's on-hand and reserved counters always equal
+ * the sum of the deltas recorded here (plus whatever stock existed before the ledger).
+ */
+@Entity
+@Table(name = "inventory_movements", indexes = {
+    @Index(name = "idx_movement_product", columnList = "product_id, id")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class InventoryMovement {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "product_id", nullable = false)
+    private Long productId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "movement_type", nullable = false, columnDefinition = "VARCHAR(10)")
+    private MovementTypeEnum movementType;
+
+    @Column(name = "quantity", nullable = false)
+    private Integer quantity;
+
+    @Column(name = "on_hand_delta", nullable = false)
+    private Integer onHandDelta;
+
+    @Column(name = "reserved_delta", nullable = false)
+    private Integer reservedDelta;
+
+    @Column(name = "reference", length = 100)
+    private String reference;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
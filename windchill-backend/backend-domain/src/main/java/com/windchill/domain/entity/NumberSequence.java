@@ -0,0 +1,25 @@
+package com.windchill.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * The next unreserved value of one numbering sequence. Nodes reserve blocks of values by
+ * advancing it, so it is written once per block rather than once per number.
+ */
+@Entity
+@Table(name = "number_sequences")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NumberSequence {
+    // Scheme and the resolved pattern around the sequence, e.g. DOCUMENT:DOC-DRAWING-2026-#
+    @Id
+    @Column(name = "sequence_key", length = 200)
+    private String sequenceKey;
+
+    @Column(name = "next_value", nullable = false)
+    private Long nextValue;
+}
@@ -1,17 +1,26 @@
 package com.windchill.domain.entity;
 
+import com.windchill.common.enums.LifecycleStateEnum;
 import com.windchill.common.enums.StatusEnum;
 import jakarta.persistence.*;
 import java.math.BigDecimal;
+import java.util.Map;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 
 @Entity
 @Table(name = "products", indexes = {
     @Index(name = "idx_product_code", columnList = "product_code", unique = true),
-    @Index(name = "idx_product_status", columnList = "status")
+    @Index(name = "idx_product_status", columnList = "status"),
+    @Index(name = "idx_product_project", columnList = "project_id, id"),
+    @Index(name = "idx_product_created", columnList = "created_at, id"),
+    @Index(name = "idx_product_cost", columnList = "cost, id"),
+    @Index(name = "idx_product_owner_updated", columnList = "owner_id, updated_at, id"),
+    @Index(name = "idx_product_project_status", columnList = "project_id, is_deleted, status")
 })
 @Data
 @NoArgsConstructor
@@ -49,21 +58,37 @@ public class Product extends BaseEntity {
     @Column(name = "unit_of_measure")
     private String unitOfMeasure = "EA";
 
-    @Column(name = "quantity_on_hand")
+    // Stock counters are changed only through atomic ledger deltas, never by saving the entity
+    @Column(name = "quantity_on_hand", nullable = false, updatable = false)
     private Integer quantityOnHand = 0;
 
+    @Column(name = "quantity_reserved", nullable = false, updatable = false)
+    private Integer quantityReserved = 0;
+
     @Column(name = "reorder_level")
     private Integer reorderLevel = 10;
 
+    // Generated by the database from stock and reorder level; indexed for the reorder report
+    @Column(name = "needs_reorder", insertable = false, updatable = false)
+    private Boolean needsReorder;
+
     @Column(name = "owner_id")
     private Long ownerId;
 
     @Column(name = "project_id")
     private Long projectId;
 
-    @Column(name = "maturity_level")
-    private String maturityLevel = "NEW";
+    // Lifecycle state and maturity change only through promotion; a product update naming
+    // either is rejected. No defaults, so a request body that leaves them out reads as null.
+    @Column(name = "maturity_level", updatable = false)
+    private String maturityLevel;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "lifecycle_state", nullable = false, updatable = false, columnDefinition = "VARCHAR(50)")
+    private LifecycleStateEnum lifecycleState;
 
-    @Column(name = "lifecycle_state")
-    private String lifecycleState = "DRAFT";
+    // Values of the site's attribute definitions by name, validated by AttributeRegistry
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "attributes", columnDefinition = "JSON")
+    private Map<String, Object> attributes;
 }
@@ -0,0 +1,29 @@
+package com.windchill.domain.entity;
+
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Rolled-up cost of an assembly: its own cost plus the quantity-weighted rolled-up cost of
+ * every component. Leaf products have no row; their rolled-up cost is their own cost.
+ */
+@Entity
+@Table(name = "product_cost_rollups")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductCostRollup {
+    @Id
+    @Column(name = "product_id")
+    private Long productId;
+
+    @Column(name = "rolled_up_cost", nullable = false, precision = 19, scale = 4)
+    private BigDecimal rolledUpCost;
+
+    @Column(name = "computed_at", nullable = false)
+    private LocalDateTime computedAt;
+}
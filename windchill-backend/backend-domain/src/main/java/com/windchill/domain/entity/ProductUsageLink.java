@@ -0,0 +1,35 @@
+package com.windchill.domain.entity;
+
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+/**
+ * One usage of a child product inside a parent assembly: a single line of the parent's
+ * single-level BOM.
+ */
+@Entity
+@Table(name = "product_usage_links", indexes = {
+    @Index(name = "idx_usage_parent", columnList = "parent_product_id"),
+    @Index(name = "idx_usage_child", columnList = "child_product_id")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(callSuper = true)
+public class ProductUsageLink extends BaseEntity {
+    @Column(name = "parent_product_id", nullable = false)
+    private Long parentProductId;
+
+    @Column(name = "child_product_id", nullable = false)
+    private Long childProductId;
+
+    @Column(name = "quantity", nullable = false, precision = 12, scale = 4)
+    private BigDecimal quantity = BigDecimal.ONE;
+
+    @Column(name = "find_number", length = 20)
+    private String findNumber;
+}
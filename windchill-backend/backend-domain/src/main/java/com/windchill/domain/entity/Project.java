@@ -12,7 +12,11 @@ import lombok.NoArgsConstructor;
 @Entity
 @Table(name = "projects", indexes = {
     @Index(name = "idx_project_code", columnList = "project_code", unique = true),
-    @Index(name = "idx_project_status", columnList = "status")
+    @Index(name = "idx_project_status", columnList = "status"),
+    @Index(name = "idx_project_created", columnList = "created_at, id"),
+    @Index(name = "idx_project_budget", columnList = "budget, id"),
+    @Index(name = "idx_project_end_date", columnList = "end_date, id"),
+    @Index(name = "idx_project_manager_updated", columnList = "manager_id, updated_at, id")
 })
 @Data
 @NoArgsConstructor
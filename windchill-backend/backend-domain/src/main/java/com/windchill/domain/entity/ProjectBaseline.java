@@ -0,0 +1,44 @@
+package com.windchill.domain.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A frozen set of a project's products and documents, with their versions, as captured at
+ * one point in time. Its items live in {@link BaselineItem}.
+ */
+@Entity
+@Table(name = "project_baselines", indexes = {
+    @Index(name = "idx_baseline_project", columnList = "project_id, id")
+}, uniqueConstraints = {
+    @UniqueConstraint(name = "uk_baseline_name", columnNames = {"project_id", "name"})
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProjectBaseline {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "project_id", nullable = false)
+    private Long projectId;
+
+    @Column(name = "name", nullable = false, length = 100)
+    private String name;
+
+    @Column(name = "description", columnDefinition = "TEXT")
+    private String description;
+
+    @Column(name = "product_count", nullable = false)
+    private Integer productCount = 0;
+
+    @Column(name = "document_count", nullable = false)
+    private Integer documentCount = 0;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
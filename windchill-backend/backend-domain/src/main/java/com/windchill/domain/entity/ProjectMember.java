@@ -0,0 +1,41 @@
+package com.windchill.domain.entity;
+
+import jakarta.persistence.*;
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Membership of a user in a project. Members, the project manager and administrators are
+ * the only users who can see a confidential project and its products and documents.
+ */
+@Entity
+@Table(name = "project_members", indexes = {
+    @Index(name = "idx_member_user", columnList = "user_id, project_id")
+})
+@IdClass(ProjectMember.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProjectMember {
+    @Id
+    @Column(name = "project_id", nullable = false)
+    private Long projectId;
+
+    @Id
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "added_at", nullable = false)
+    private LocalDateTime addedAt;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long projectId;
+        private Long userId;
+    }
+}
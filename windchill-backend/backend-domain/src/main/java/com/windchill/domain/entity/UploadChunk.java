@@ -0,0 +1,39 @@
+package com.windchill.domain.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Receipt for a verified chunk of an {@link UploadSession}. Rows are insert-only so that
+ * concurrent chunk uploads never contend on the session row.
+ */
+@Entity
+@Table(name = "upload_chunks", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_upload_chunk", columnNames = {"session_id", "chunk_index"})
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UploadChunk {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "session_id", nullable = false)
+    private Long sessionId;
+
+    @Column(name = "chunk_index", nullable = false)
+    private Integer chunkIndex;
+
+    @Column(name = "chunk_size", nullable = false)
+    private Integer chunkSize;
+
+    @Column(name = "checksum", nullable = false, length = 16)
+    private String checksum;
+
+    @Column(name = "received_at", nullable = false)
+    private LocalDateTime receivedAt;
+}
@@ -0,0 +1,64 @@
+package com.windchill.domain.entity;
+
+import com.windchill.common.enums.UploadStatusEnum;
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+/**
+ * A resumable, chunked upload of a document binary. Chunks are written straight into a
+ * preallocated staging file, which is moved into place when the session is committed.
+ */
+@Entity
+@Table(name = "upload_sessions", indexes = {
+    @Index(name = "idx_upload_document", columnList = "document_id"),
+    @Index(name = "idx_upload_status_expiry", columnList = "status, expires_at")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(callSuper = true)
+public class UploadSession extends BaseEntity {
+    @Column(name = "document_id", nullable = false)
+    private Long documentId;
+
+    @Column(name = "file_name", nullable = false)
+    private String fileName;
+
+    @Column(name = "mime_type")
+    private String mimeType;
+
+    @Column(name = "total_size", nullable = false)
+    private Long totalSize;
+
+    @Column(name = "chunk_size", nullable = false)
+    private Integer chunkSize;
+
+    @Column(name = "chunk_count", nullable = false)
+    private Integer chunkCount;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, columnDefinition = "VARCHAR(20)")
+    private UploadStatusEnum status = UploadStatusEnum.OPEN;
+
+    @Column(name = "staging_path", nullable = false)
+    private String stagingPath;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    // the user who opened the session; chunks, commit and abort are accepted from them only
+    @Column(name = "owner_id")
+    private Long ownerId;
+
+    /**
+     * Length in bytes of the given chunk; only the last chunk may be shorter than chunkSize.
+     */
+    public int chunkLength(int chunkIndex) {
+        long offset = (long) chunkIndex * chunkSize;
+        return (int) Math.min(chunkSize, totalSize - offset);
+    }
+}
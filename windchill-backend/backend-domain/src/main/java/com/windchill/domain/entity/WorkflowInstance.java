@@ -0,0 +1,46 @@
+package com.windchill.domain.entity;
+
+import com.windchill.common.enums.WorkflowStatusEnum;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * One run of an approval workflow over a document. Only the workflow engine changes it, and
+ * always while holding the row lock, so concurrent task completions advance it one at a time.
+ */
+@Entity
+@Table(name = "workflow_instances", indexes = {
+    @Index(name = "idx_workflow_document", columnList = "document_id, status")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(callSuper = true)
+public class WorkflowInstance extends BaseEntity {
+    @Column(name = "document_id", nullable = false)
+    private Long documentId;
+
+    @Column(name = "definition_key", nullable = false, length = 50)
+    private String definitionKey;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, columnDefinition = "VARCHAR(10)")
+    private WorkflowStatusEnum status = WorkflowStatusEnum.RUNNING;
+
+    @Column(name = "current_step", nullable = false)
+    private Integer currentStep = 0;
+
+    @Column(name = "step_count", nullable = false)
+    private Integer stepCount;
+
+    @Column(name = "started_by")
+    private Long startedBy;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+}
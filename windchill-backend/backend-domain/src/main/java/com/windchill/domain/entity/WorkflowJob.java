@@ -0,0 +1,52 @@
+package com.windchill.domain.entity;
+
+import com.windchill.common.enums.WorkflowJobStatusEnum;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Persistent request for the workflow engine to re-evaluate an instance. Nodes claim due
+ * rows with {@code SELECT ... FOR UPDATE SKIP LOCKED}, so concurrent pollers split the
+ * queue between them instead of contending for the same rows.
+ */
+@Entity
+@Table(name = "workflow_jobs", indexes = {
+    @Index(name = "idx_workflow_job_due", columnList = "status, available_at, id")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class WorkflowJob {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "instance_id", nullable = false)
+    private Long instanceId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, columnDefinition = "VARCHAR(10)")
+    private WorkflowJobStatusEnum status = WorkflowJobStatusEnum.PENDING;
+
+    @Column(name = "attempts", nullable = false)
+    private Integer attempts = 0;
+
+    @Column(name = "available_at", nullable = false)
+    private LocalDateTime availableAt;
+
+    @Column(name = "locked_by", length = 100)
+    private String lockedBy;
+
+    @Column(name = "locked_at")
+    private LocalDateTime lockedAt;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+}
@@ -0,0 +1,71 @@
+package com.windchill.domain.entity;
+
+import com.windchill.common.enums.ReviewModeEnum;
+import com.windchill.common.enums.WorkflowTaskStatusEnum;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A review assigned to one user within one workflow step. All tasks of an instance are
+ * created WAITING when it starts; the engine opens them step by step, and reviewers close
+ * them with a conditional update so a task is decided exactly once.
+ */
+@Entity
+@Table(name = "workflow_tasks", indexes = {
+    @Index(name = "idx_workflow_task_instance", columnList = "instance_id, step_index, sequence"),
+    @Index(name = "idx_workflow_task_assignee", columnList = "assignee_id, status, id"),
+    @Index(name = "idx_workflow_task_opened", columnList = "opened_at")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class WorkflowTask {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "instance_id", nullable = false)
+    private Long instanceId;
+
+    @Column(name = "step_index", nullable = false)
+    private Integer stepIndex;
+
+    @Column(name = "step_name", nullable = false, length = 50)
+    private String stepName;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "review_mode", nullable = false, columnDefinition = "VARCHAR(10)")
+    private ReviewModeEnum reviewMode;
+
+    @Column(name = "sequence", nullable = false)
+    private Integer sequence;
+
+    @Column(name = "assignee_id", nullable = false)
+    private Long assigneeId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, columnDefinition = "VARCHAR(10)")
+    private WorkflowTaskStatusEnum status = WorkflowTaskStatusEnum.WAITING;
+
+    @Column(name = "comment", length = 1000)
+    private String comment;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "opened_at")
+    private LocalDateTime openedAt;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+
+    @Column(name = "reminded_at")
+    private LocalDateTime remindedAt;
+
+    @Column(name = "escalated_at")
+    private LocalDateTime escalatedAt;
+}
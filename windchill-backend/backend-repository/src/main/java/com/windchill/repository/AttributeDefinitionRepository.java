@@ -0,0 +1,15 @@
+package com.windchill.repository;
+
+import com.windchill.domain.entity.AttributeDefinition;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface AttributeDefinitionRepository extends JpaRepository<AttributeDefinition, Long> {
+    List<AttributeDefinition> findByIsDeletedFalseOrderByName();
+
+    Optional<AttributeDefinition> findByName(String name);
+}
@@ -0,0 +1,50 @@
+package com.windchill.repository;
+
+import com.windchill.common.enums.BaselineItemTypeEnum;
+import com.windchill.domain.entity.BaselineItem;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface BaselineItemRepository extends JpaRepository<BaselineItem, BaselineItem.Key> {
+    Page<BaselineItem> findByBaselineIdAndItemTypeOrderByItemId(Long baselineId, BaselineItemTypeEnum itemType,
+                                                                Pageable pageable);
+
+    @Modifying
+    @Query(value = "INSERT INTO baseline_items (baseline_id, item_type, item_id, item_number, item_name, " +
+                   "entity_version, version_number, status, lifecycle_state, attributes_hash) " +
+                   "SELECT :baselineId, 'PRODUCT', p.id, p.product_code, p.product_name, p.version, p.version_number, p.status, " +
+                   "p.lifecycle_state, " + ProductRepository.BASELINE_HASH + " " +
+                   "FROM products p WHERE p.project_id = :projectId AND p.is_deleted = FALSE",
+           nativeQuery = true)
+    int captureProducts(@Param("baselineId") Long baselineId, @Param("projectId") Long projectId);
+
+    @Modifying
+    @Query(value = "INSERT INTO baseline_items (baseline_id, item_type, item_id, item_number, item_name, " +
+                   "entity_version, version_number, status, lifecycle_state, attributes_hash) " +
+                   "SELECT :baselineId, 'DOCUMENT', d.id, d.document_number, d.title, d.version, d.version_number, d.status, " +
+                   "NULL, " + DocumentRepository.BASELINE_HASH + " " +
+                   "FROM documents d WHERE d.project_id = :projectId AND d.is_deleted = FALSE",
+           nativeQuery = true)
+    int captureDocuments(@Param("baselineId") Long baselineId, @Param("projectId") Long projectId);
+
+    /**
+     * One keyset page of a baseline's items of one type in id order, in the same column
+     * layout as the live rows they are compared with. Native like the live queries, so both
+     * sides come back with the same column types.
+     */
+    @Query(value = "SELECT i.item_id, i.item_number, i.item_name, i.entity_version, i.version_number, i.status, " +
+                   "i.lifecycle_state, i.attributes_hash FROM baseline_items i " +
+                   "WHERE i.baseline_id = :baselineId AND i.item_type = :itemType AND i.item_id > :afterId " +
+                   "ORDER BY i.item_id",
+           nativeQuery = true)
+    List<Object[]> findRowsAfter(@Param("baselineId") Long baselineId, @Param("itemType") String itemType,
+                                 @Param("afterId") Long afterId, Pageable pageable);
+}
@@ -0,0 +1,20 @@
+package com.windchill.repository;
+
+import com.windchill.domain.entity.DocumentContent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface DocumentContentRepository extends JpaRepository<DocumentContent, Long> {
+    /**
+     * Document ids whose extracted text matches {@code query}, best match first.
+     */
+    @Query(value = "SELECT document_id FROM document_contents " +
+                   "WHERE MATCH(content_text) AGAINST (:query IN NATURAL LANGUAGE MODE) LIMIT :limit",
+           nativeQuery = true)
+    List<Long> searchDocumentIds(@Param("query") String query, @Param("limit") int limit);
+}
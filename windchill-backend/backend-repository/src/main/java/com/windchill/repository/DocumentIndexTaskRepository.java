@@ -0,0 +1,57 @@
+package com.windchill.repository;
+
+import com.windchill.common.enums.IndexTaskStatusEnum;
+import com.windchill.domain.entity.DocumentIndexTask;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface DocumentIndexTaskRepository extends JpaRepository<DocumentIndexTask, Long> {
+    Optional<DocumentIndexTask> findFirstByDocumentIdAndStatus(Long documentId, IndexTaskStatusEnum status);
+
+    /**
+     * Pending tasks whose backoff has elapsed, oldest due first.
+     */
+    @Query("SELECT t.id FROM DocumentIndexTask t WHERE t.status = :status AND t.nextAttemptAt <= :now " +
+           "ORDER BY t.nextAttemptAt, t.id")
+    List<Long> findDueIds(@Param("status") IndexTaskStatusEnum status, @Param("now") LocalDateTime now,
+                          Pageable pageable);
+
+    long countByStatus(IndexTaskStatusEnum status);
+
+    @Query("SELECT MIN(t.enqueuedAt) FROM DocumentIndexTask t WHERE t.status = :status")
+    Optional<LocalDateTime> findOldestEnqueuedAt(@Param("status") IndexTaskStatusEnum status);
+
+    /**
+     * Claims a pending task; returns 0 when another worker got there first.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE DocumentIndexTask t SET t.status = com.windchill.common.enums.IndexTaskStatusEnum.RUNNING, " +
+           "t.startedAt = :now, t.attempts = t.attempts + 1 " +
+           "WHERE t.id = :id AND t.status = com.windchill.common.enums.IndexTaskStatusEnum.PENDING")
+    int claim(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    /**
+     * Returns tasks left RUNNING by a node that died mid-extraction to the queue, unless they
+     * have no attempts left, in which case they are parked as DEAD.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE DocumentIndexTask t SET t.status = CASE WHEN t.attempts < :maxAttempts " +
+           "THEN com.windchill.common.enums.IndexTaskStatusEnum.PENDING " +
+           "ELSE com.windchill.common.enums.IndexTaskStatusEnum.DEAD END, " +
+           "t.nextAttemptAt = :now, t.lastError = COALESCE(t.lastError, 'Abandoned while running') " +
+           "WHERE t.status = com.windchill.common.enums.IndexTaskStatusEnum.RUNNING AND t.startedAt < :cutoff")
+    int requeueStale(@Param("cutoff") LocalDateTime cutoff, @Param("maxAttempts") int maxAttempts,
+                     @Param("now") LocalDateTime now);
+}
@@ -1,26 +1,141 @@
 package com.windchill.repository;
 
 import com.windchill.common.enums.StatusEnum;
+import com.windchill.common.enums.StorageTierEnum;
 import com.windchill.domain.entity.Document;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface DocumentRepository extends JpaRepository<Document, Long> {
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT d FROM Document d WHERE d.id = :id")
+    Optional<Document> findByIdForUpdate(@Param("id") Long id);
+
     Optional<Document> findByDocumentNumber(String documentNumber);
 
     List<Document> findByProjectIdAndIsDeletedFalse(Long projectId);
 
     List<Document> findByStatusAndIsDeletedFalse(StatusEnum status);
 
+    /**
+     * A project's active documents that have content, optionally narrowed by status and type.
+     * The document type is matched through the column's case-insensitive collation.
+     */
+    @Query("SELECT d FROM Document d WHERE d.projectId = :projectId AND d.isDeleted = false " +
+           "AND d.filePath IS NOT NULL AND (:status IS NULL OR d.status = :status) " +
+           "AND (:documentType IS NULL OR d.documentType = :documentType) ORDER BY d.id")
+    List<Document> findBundleDocuments(@Param("projectId") Long projectId, @Param("status") StatusEnum status,
+                                       @Param("documentType") String documentType);
+
     @Query("SELECT d FROM Document d WHERE d.isDeleted = false ORDER BY d.createdAt DESC")
     List<Document> findAllActive();
 
     @Query("SELECT d FROM Document d WHERE d.title LIKE %:title% AND d.isDeleted = false")
     List<Document> findByTitleContaining(@Param("title") String title);
+
+    @Query("SELECT d FROM Document d WHERE d.storageTier = :tier AND d.filePath IS NOT NULL AND d.isDeleted = false " +
+           "AND (d.status IN :statuses OR COALESCE(d.lastAccessedAt, d.updatedAt) < :cutoff) ORDER BY d.id")
+    List<Document> findTieringCandidates(@Param("tier") StorageTierEnum tier,
+                                         @Param("statuses") Collection<StatusEnum> statuses,
+                                         @Param("cutoff") LocalDateTime cutoff,
+                                         Pageable pageable);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE Document d SET d.storageTier = :tier WHERE d.id = :id")
+    int updateStorageTier(@Param("id") Long id, @Param("tier") StorageTierEnum tier);
+
+    /**
+     * Workflow outcome written without loading the document, so it does not race with
+     * concurrent edits for the entity version.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE Document d SET d.approvalStatus = :approvalStatus, d.status = :status, " +
+           "d.reviewerId = COALESCE(:reviewerId, d.reviewerId) WHERE d.id = :id")
+    int updateApproval(@Param("id") Long id, @Param("approvalStatus") String approvalStatus,
+                       @Param("status") StatusEnum status, @Param("reviewerId") Long reviewerId);
+
+    /**
+     * Hands the review of a document over to {@code to} when an overdue task is escalated,
+     * unless the document already names a reviewer other than {@code from}.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE Document d SET d.reviewerId = :to WHERE d.id = :id " +
+           "AND (d.reviewerId IS NULL OR d.reviewerId = :from)")
+    int reassignReviewer(@Param("id") Long id, @Param("from") Long from, @Param("to") Long to);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE Document d SET d.lastAccessedAt = :accessedAt WHERE d.id IN :ids")
+    int updateLastAccessedAt(@Param("ids") Collection<Long> ids, @Param("accessedAt") LocalDateTime accessedAt);
+
+    /**
+     * Digest of the attributes a baseline freezes, over the {@code documents d} row; storage
+     * tier and access times are housekeeping and left out. See
+     * {@link ProductRepository#BASELINE_HASH}.
+     */
+    String BASELINE_HASH = "UNHEX(SHA2(JSON_ARRAY(d.document_number, d.title, d.description, d.document_type, " +
+            "d.status, d.version_number, d.file_name, d.file_size, d.mime_type, d.owner_id, d.related_product_id, " +
+            "d.approval_status, d.reviewer_id), 256))";
+
+    /**
+     * One keyset page of a project's active documents in id order, in the column layout of
+     * baseline items: id, number, title, entity version, version number, status, lifecycle
+     * state (always null), attribute digest.
+     */
+    @Query(value = "SELECT d.id, d.document_number, d.title, d.version, d.version_number, d.status, " +
+                   "NULL, " + BASELINE_HASH + " FROM documents d " +
+                   "WHERE d.project_id = :projectId AND d.is_deleted = FALSE AND d.id > :afterId ORDER BY d.id",
+           nativeQuery = true)
+    List<Object[]> findBaselineRowsAfter(@Param("projectId") Long projectId, @Param("afterId") Long afterId,
+                                         Pageable pageable);
+
+    @Query("SELECT d.status, COUNT(d) FROM Document d WHERE d.projectId = :projectId AND d.isDeleted = false " +
+           "GROUP BY d.status")
+    List<Object[]> countByStatusForProject(@Param("projectId") Long projectId);
+
+    /**
+     * A project's active documents, newest first: id, number, title, status, updated at.
+     */
+    @Query("SELECT d.id, d.documentNumber, d.title, d.status, d.updatedAt FROM Document d " +
+           "WHERE d.projectId = :projectId AND d.isDeleted = false ORDER BY d.id DESC")
+    List<Object[]> findSummaryRowsByProjectId(@Param("projectId") Long projectId, Pageable pageable);
+
+    /**
+     * One page of the active documents owned by {@code userId}, newest first, after the work
+     * inbox position ({@code before}, {@code beforeId}): id, number, title, status, updated
+     * at, project id.
+     */
+    @Query("SELECT d.id, d.documentNumber, d.title, d.status, d.updatedAt, d.projectId FROM Document d " +
+           "WHERE d.ownerId = :userId AND d.isDeleted = false AND d.updatedAt <= :before " +
+           "AND (d.updatedAt < :before OR d.id < :beforeId) ORDER BY d.updatedAt DESC, d.id DESC")
+    List<Object[]> findOwnedWorkRows(@Param("userId") Long userId, @Param("before") LocalDateTime before,
+                                     @Param("beforeId") Long beforeId, Pageable pageable);
+
+    /**
+     * As {@link #findOwnedWorkRows} for documents whose review by {@code userId} is in the
+     * given approval status, which takes the place of the status column.
+     */
+    @Query("SELECT d.id, d.documentNumber, d.title, d.approvalStatus, d.updatedAt, d.projectId FROM Document d " +
+           "WHERE d.reviewerId = :userId AND d.approvalStatus = :approvalStatus AND d.isDeleted = false " +
+           "AND d.updatedAt <= :before AND (d.updatedAt < :before OR d.id < :beforeId) " +
+           "ORDER BY d.updatedAt DESC, d.id DESC")
+    List<Object[]> findReviewWorkRows(@Param("userId") Long userId, @Param("approvalStatus") String approvalStatus,
+                                      @Param("before") LocalDateTime before, @Param("beforeId") Long beforeId,
+                                      Pageable pageable);
 }
@@ -0,0 +1,36 @@
+package com.windchill.repository;
+
+import com.windchill.common.enums.RevisionStorageEnum;
+import com.windchill.domain.entity.DocumentRevision;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface DocumentRevisionRepository extends JpaRepository<DocumentRevision, Long> {
+    List<DocumentRevision> findByDocumentIdOrderByRevisionNumberDesc(Long documentId);
+
+    Optional<DocumentRevision> findByDocumentIdAndRevisionNumber(Long documentId, Integer revisionNumber);
+
+    Optional<DocumentRevision> findTopByDocumentIdOrderByRevisionNumberDesc(Long documentId);
+
+    Optional<DocumentRevision> findTopByDocumentIdAndStorageKindAndRevisionNumberLessThanEqualOrderByRevisionNumberDesc(
+            Long documentId, RevisionStorageEnum storageKind, Integer revisionNumber);
+
+    @Query("SELECT r FROM DocumentRevision r WHERE r.documentId = :documentId " +
+           "AND r.revisionNumber > :fromRevision AND r.revisionNumber <= :toRevision ORDER BY r.revisionNumber ASC")
+    List<DocumentRevision> findChain(@Param("documentId") Long documentId,
+                                     @Param("fromRevision") Integer fromRevision,
+                                     @Param("toRevision") Integer toRevision);
+
+    /**
+     * Returns {revisions, logical bytes, stored bytes}, optionally restricted to one document.
+     */
+    @Query("SELECT COUNT(r), COALESCE(SUM(r.contentSize), 0), COALESCE(SUM(r.storedSize), 0) FROM DocumentRevision r " +
+           "WHERE (:documentId IS NULL OR r.documentId = :documentId)")
+    List<Object[]> summarizeStorage(@Param("documentId") Long documentId);
+}
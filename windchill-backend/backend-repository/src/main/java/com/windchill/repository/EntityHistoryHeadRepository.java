@@ -0,0 +1,24 @@
+package com.windchill.repository;
+
+import com.windchill.common.enums.HistoryEntityTypeEnum;
+import com.windchill.domain.entity.EntityHistoryHead;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface EntityHistoryHeadRepository extends JpaRepository<EntityHistoryHead, EntityHistoryHead.Key> {
+    /**
+     * Locks the heads of the given entities, in primary key order so that two recorders with
+     * overlapping batches cannot deadlock.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT h FROM EntityHistoryHead h WHERE h.entityType = :type AND h.entityId IN :ids ORDER BY h.entityId")
+    List<EntityHistoryHead> findForUpdate(@Param("type") HistoryEntityTypeEnum type, @Param("ids") Collection<Long> ids);
+}
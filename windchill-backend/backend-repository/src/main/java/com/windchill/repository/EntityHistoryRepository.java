@@ -0,0 +1,57 @@
+package com.windchill.repository;
+
+import com.windchill.common.enums.HistoryEntityTypeEnum;
+import com.windchill.common.enums.RevisionStorageEnum;
+import com.windchill.domain.entity.EntityHistory;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface EntityHistoryRepository extends JpaRepository<EntityHistory, Long> {
+    Page<EntityHistory> findByEntityTypeAndEntityIdOrderByIterationDesc(HistoryEntityTypeEnum entityType,
+                                                                        Long entityId, Pageable pageable);
+
+    Optional<EntityHistory> findByEntityTypeAndEntityIdAndIteration(HistoryEntityTypeEnum entityType, Long entityId,
+                                                                    Integer iteration);
+
+    Optional<EntityHistory> findTopByEntityTypeAndEntityIdAndRecordedAtLessThanEqualOrderByRecordedAtDescIterationDesc(
+            HistoryEntityTypeEnum entityType, Long entityId, LocalDateTime recordedAt);
+
+    Optional<EntityHistory> findTopByEntityTypeAndEntityIdAndStorageKindAndIterationLessThanEqualOrderByIterationDesc(
+            HistoryEntityTypeEnum entityType, Long entityId, RevisionStorageEnum storageKind, Integer iteration);
+
+    List<EntityHistory> findByEntityTypeAndEntityIdAndIterationBetweenOrderByIteration(
+            HistoryEntityTypeEnum entityType, Long entityId, Integer fromIteration, Integer toIteration);
+
+    String CURRENT_CHAINS = "SELECT h FROM EntityHistory h WHERE h.entityType = :type AND h.entityId IN :ids " +
+            "AND h.iteration >= (SELECT MAX(f.iteration) FROM EntityHistory f WHERE f.entityType = h.entityType " +
+            "AND f.entityId = h.entityId AND f.storageKind = com.windchill.common.enums.RevisionStorageEnum.FULL) " +
+            "ORDER BY h.entityId, h.iteration";
+
+    /**
+     * The latest full snapshot of each entity and every iteration after it, i.e. what is
+     * needed to rebuild their current state.
+     */
+    @Query(CURRENT_CHAINS)
+    List<EntityHistory> findCurrentChains(@Param("type") HistoryEntityTypeEnum type, @Param("ids") Collection<Long> ids);
+
+    /**
+     * As {@link #findCurrentChains}, but as a locking read, which sees iterations committed
+     * after the transaction's snapshot was taken.
+     */
+    @Lock(LockModeType.PESSIMISTIC_READ)
+    @Query(CURRENT_CHAINS)
+    List<EntityHistory> findCurrentChainsForShare(@Param("type") HistoryEntityTypeEnum type,
+                                                  @Param("ids") Collection<Long> ids);
+}
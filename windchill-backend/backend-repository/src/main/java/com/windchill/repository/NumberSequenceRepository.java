@@ -0,0 +1,28 @@
+package com.windchill.repository;
+
+import com.windchill.domain.entity.NumberSequence;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface NumberSequenceRepository extends JpaRepository<NumberSequence, String> {
+    /**
+     * Moves the sequence past a block of {@code size} values, locking its row until commit.
+     * Returns 0 when the sequence does not exist yet.
+     */
+    @Modifying
+    @Query(value = "UPDATE number_sequences SET next_value = next_value + :size WHERE sequence_key = :key",
+           nativeQuery = true)
+    int advance(@Param("key") String key, @Param("size") long size);
+
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO number_sequences (sequence_key, next_value) VALUES (:key, 1)",
+           nativeQuery = true)
+    int createIfAbsent(@Param("key") String key);
+
+    @Query(value = "SELECT next_value FROM number_sequences WHERE sequence_key = :key", nativeQuery = true)
+    long findNextValue(@Param("key") String key);
+}
@@ -0,0 +1,34 @@
+package com.windchill.repository;
+
+import com.windchill.domain.entity.ProductCostRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ProductCostRollupRepository extends JpaRepository<ProductCostRollup, Long> {
+    @Query("SELECT r.productId, r.rolledUpCost FROM ProductCostRollup r WHERE r.productId IN :ids")
+    List<Object[]> findValuesByProductIdIn(@Param("ids") Collection<Long> productIds);
+
+    @Query("SELECT r.productId, r.rolledUpCost FROM ProductCostRollup r")
+    List<Object[]> findAllValues();
+
+    @Modifying
+    @Query(value = "INSERT INTO product_cost_rollups (product_id, rolled_up_cost, computed_at) " +
+                   "VALUES (:productId, :cost, :computedAt) " +
+                   "ON DUPLICATE KEY UPDATE rolled_up_cost = VALUES(rolled_up_cost), computed_at = VALUES(computed_at)",
+           nativeQuery = true)
+    int upsert(@Param("productId") Long productId, @Param("cost") BigDecimal cost,
+               @Param("computedAt") LocalDateTime computedAt);
+
+    @Modifying
+    @Query("DELETE FROM ProductCostRollup r WHERE r.productId IN :ids")
+    int deleteByProductIdIn(@Param("ids") Collection<Long> productIds);
+}
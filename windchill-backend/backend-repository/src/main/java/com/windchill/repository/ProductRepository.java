@@ -1,12 +1,18 @@
 package com.windchill.repository;
 
+import com.windchill.common.enums.LifecycleStateEnum;
 import com.windchill.common.enums.StatusEnum;
 import com.windchill.domain.entity.Product;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -18,9 +24,136 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
 
     List<Product> findByStatusAndIsDeletedFalse(StatusEnum status);
 
+    List<Product> findByCategoryAndIsDeletedFalse(String category);
+
     @Query("SELECT p FROM Product p WHERE p.isDeleted = false ORDER BY p.createdAt DESC")
     List<Product> findAllActive();
 
     @Query("SELECT p FROM Product p WHERE p.productName LIKE %:name% AND p.isDeleted = false")
     List<Product> findByProductNameContaining(@Param("name") String name);
+
+    /**
+     * Facet rows of all active products in id order: id, category, manufacturer, status,
+     * lifecycle state, maturity level, project id.
+     */
+    @Query("SELECT p.id, p.category, p.manufacturer, p.status, p.lifecycleState, p.maturityLevel, p.projectId " +
+           "FROM Product p WHERE p.isDeleted = false ORDER BY p.id")
+    List<Object[]> findFacetRows();
+
+    @Query("SELECT p.id, p.category, p.manufacturer, p.status, p.lifecycleState, p.maturityLevel, p.projectId " +
+           "FROM Product p WHERE p.id IN :ids AND p.isDeleted = false ORDER BY p.id")
+    List<Object[]> findFacetRowsByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Text compared by near-duplicate detection, for all active products: id, name,
+     * description, manufacturer.
+     */
+    @Query("SELECT p.id, p.productName, p.description, p.manufacturer FROM Product p WHERE p.isDeleted = false " +
+           "ORDER BY p.id")
+    List<Object[]> findSimilarityRows();
+
+    @Query("SELECT p.id, p.productName, p.description, p.manufacturer FROM Product p " +
+           "WHERE p.id IN :ids AND p.isDeleted = false")
+    List<Object[]> findSimilarityRowsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT p.id, p.productCode, p.productName, p.projectId FROM Product p WHERE p.id IN :ids")
+    List<Object[]> findLabelsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT p.status, COUNT(p) FROM Product p WHERE p.projectId = :projectId AND p.isDeleted = false " +
+           "GROUP BY p.status")
+    List<Object[]> countByStatusForProject(@Param("projectId") Long projectId);
+
+    /**
+     * A project's active products, newest first: id, code, name, status, updated at.
+     */
+    @Query("SELECT p.id, p.productCode, p.productName, p.status, p.updatedAt FROM Product p " +
+           "WHERE p.projectId = :projectId AND p.isDeleted = false ORDER BY p.id DESC")
+    List<Object[]> findSummaryRowsByProjectId(@Param("projectId") Long projectId, Pageable pageable);
+
+    /**
+     * One page of the active products owned by {@code userId}, newest first, after the work
+     * inbox position ({@code before}, {@code beforeId}): id, code, name, status, updated at,
+     * project id.
+     */
+    @Query("SELECT p.id, p.productCode, p.productName, p.status, p.updatedAt, p.projectId FROM Product p " +
+           "WHERE p.ownerId = :userId AND p.isDeleted = false AND p.updatedAt <= :before " +
+           "AND (p.updatedAt < :before OR p.id < :beforeId) ORDER BY p.updatedAt DESC, p.id DESC")
+    List<Object[]> findOwnedWorkRows(@Param("userId") Long userId, @Param("before") LocalDateTime before,
+                                     @Param("beforeId") Long beforeId, Pageable pageable);
+
+    /**
+     * Applies stock deltas in place, leaving {@code version} alone so concurrent movements do
+     * not conflict. Returns 0 when the product is missing or the result would leave negative
+     * stock or more reserved than on hand.
+     */
+    @Modifying
+    @Query("UPDATE Product p SET p.quantityOnHand = p.quantityOnHand + :onHand, " +
+           "p.quantityReserved = p.quantityReserved + :reserved " +
+           "WHERE p.id = :id AND p.isDeleted = false AND p.quantityOnHand + :onHand >= 0 " +
+           "AND p.quantityReserved + :reserved >= 0 AND p.quantityReserved + :reserved <= p.quantityOnHand + :onHand")
+    int applyStockDelta(@Param("id") Long id, @Param("onHand") int onHandDelta, @Param("reserved") int reservedDelta);
+
+    @Query("SELECT p.quantityOnHand, p.quantityReserved FROM Product p WHERE p.id = :id AND p.isDeleted = false")
+    List<Object[]> findStockLevel(@Param("id") Long id);
+
+    /**
+     * As {@link #findStockLevel}, as a locking read: the counters are current even inside a
+     * transaction that has already read the row, and stay so until it ends.
+     */
+    @Query(value = "SELECT quantity_on_hand, quantity_reserved FROM products WHERE id = :id " +
+                   "AND COALESCE(is_deleted, FALSE) = FALSE FOR UPDATE", nativeQuery = true)
+    List<Object[]> lockStockLevel(@Param("id") Long id);
+
+    @Query("SELECT p.id, p.quantityOnHand, p.reorderLevel, p.isDeleted FROM Product p WHERE p.id IN :ids")
+    List<Object[]> findReorderStatesByIdIn(@Param("ids") Collection<Long> ids);
+
+    Page<Product> findByNeedsReorderTrue(Pageable pageable);
+
+    /**
+     * As {@link #findByNeedsReorderTrue}, leaving out products of the given projects, so that
+     * pages and totals count only what the caller may see.
+     */
+    @Query("SELECT p FROM Product p WHERE p.needsReorder = true " +
+           "AND (p.projectId IS NULL OR p.projectId NOT IN :hiddenProjectIds)")
+    Page<Product> findByNeedsReorderTrueOutsideProjects(@Param("hiddenProjectIds") Collection<Long> hiddenProjectIds,
+                                                        Pageable pageable);
+
+    @Query("SELECT p.id, p.productCode, p.lifecycleState FROM Product p WHERE p.id IN :ids AND p.isDeleted = false")
+    List<Object[]> findLifecycleRowsByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Moves products still in {@code from} to {@code to}; the caller compares the count with
+     * the number of ids to detect concurrent changes.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Product p SET p.lifecycleState = :to, p.maturityLevel = :maturity, p.updatedAt = :now " +
+           "WHERE p.id IN :ids AND p.lifecycleState = :from AND p.isDeleted = false")
+    int transitionLifecycle(@Param("ids") Collection<Long> ids, @Param("from") LifecycleStateEnum from,
+                            @Param("to") LifecycleStateEnum to, @Param("maturity") String maturity,
+                            @Param("now") LocalDateTime now);
+
+    @Query("SELECT p.id, p.cost FROM Product p WHERE p.id IN :ids")
+    List<Object[]> findCostsByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Digest of the attributes a baseline freezes, over the {@code products p} row: everything
+     * but the stock counters, which have their own ledger, and bookkeeping columns. Baseline
+     * capture stores it and the diff compares it, so a change counts however it was written,
+     * including by bulk updates that leave the entity version alone.
+     */
+    String BASELINE_HASH = "UNHEX(SHA2(JSON_ARRAY(p.product_code, p.product_name, p.description, p.status, " +
+            "p.version_number, p.category, p.manufacturer, p.cost, p.selling_price, p.unit_of_measure, " +
+            "p.reorder_level, p.owner_id, p.lifecycle_state, p.maturity_level, p.attributes), 256))";
+
+    /**
+     * One keyset page of a project's active products in id order, in the column layout of
+     * baseline items: id, number, name, entity version, version number, status, lifecycle
+     * state, attribute digest.
+     */
+    @Query(value = "SELECT p.id, p.product_code, p.product_name, p.version, p.version_number, p.status, " +
+                   "p.lifecycle_state, " + BASELINE_HASH + " FROM products p " +
+                   "WHERE p.project_id = :projectId AND p.is_deleted = FALSE AND p.id > :afterId ORDER BY p.id",
+           nativeQuery = true)
+    List<Object[]> findBaselineRowsAfter(@Param("projectId") Long projectId, @Param("afterId") Long afterId,
+                                         Pageable pageable);
 }
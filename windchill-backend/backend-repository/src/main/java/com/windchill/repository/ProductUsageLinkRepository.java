@@ -0,0 +1,28 @@
+package com.windchill.repository;
+
+import com.windchill.domain.entity.ProductUsageLink;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ProductUsageLinkRepository extends JpaRepository<ProductUsageLink, Long> {
+    @Query("SELECT l FROM ProductUsageLink l WHERE l.parentProductId = :parentId AND l.isDeleted = false " +
+           "ORDER BY l.findNumber, l.id")
+    List<ProductUsageLink> findActiveByParent(@Param("parentId") Long parentProductId);
+
+    /**
+     * Flat rows of (id, parentProductId, childProductId, quantity, findNumber) for building
+     * the in-memory BOM graph without materializing entities.
+     */
+    @Query("SELECT l.id, l.parentProductId, l.childProductId, l.quantity, l.findNumber FROM ProductUsageLink l " +
+           "WHERE l.isDeleted = false ORDER BY l.parentProductId, l.findNumber, l.id")
+    List<Object[]> findAllActiveRows();
+
+    @Query("SELECT l.id, l.parentProductId, l.childProductId, l.quantity, l.findNumber FROM ProductUsageLink l " +
+           "WHERE l.parentProductId = :parentId AND l.isDeleted = false ORDER BY l.findNumber, l.id")
+    List<Object[]> findActiveRowsByParent(@Param("parentId") Long parentProductId);
+}
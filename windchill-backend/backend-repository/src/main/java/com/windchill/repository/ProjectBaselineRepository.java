@@ -0,0 +1,14 @@
+package com.windchill.repository;
+
+import com.windchill.domain.entity.ProjectBaseline;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ProjectBaselineRepository extends JpaRepository<ProjectBaseline, Long> {
+    List<ProjectBaseline> findByProjectIdOrderByIdDesc(Long projectId);
+
+    boolean existsByProjectIdAndName(Long projectId, String name);
+}
@@ -0,0 +1,17 @@
+package com.windchill.repository;
+
+import com.windchill.domain.entity.ProjectMember;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ProjectMemberRepository extends JpaRepository<ProjectMember, ProjectMember.Key> {
+    List<ProjectMember> findByProjectIdOrderByUserId(Long projectId);
+
+    @Query("SELECT m.projectId FROM ProjectMember m WHERE m.userId = :userId")
+    List<Long> findProjectIdsByUserId(@Param("userId") Long userId);
+}
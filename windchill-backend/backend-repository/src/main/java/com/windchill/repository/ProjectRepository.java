@@ -2,11 +2,14 @@ package com.windchill.repository;
 
 import com.windchill.common.enums.StatusEnum;
 import com.windchill.domain.entity.Project;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -23,4 +26,32 @@ public interface ProjectRepository extends JpaRepository<Project, Long> {
 
     @Query("SELECT p FROM Project p WHERE p.projectName LIKE %:name% AND p.isDeleted = false")
     List<Project> findByProjectNameContaining(@Param("name") String name);
+
+    @Query("SELECT p.id FROM Project p WHERE p.isConfidential = true AND p.isDeleted = false")
+    List<Long> findConfidentialIds();
+
+    @Query("SELECT p.id FROM Project p WHERE p.managerId = :managerId AND p.isDeleted = false")
+    List<Long> findIdsByManagerId(@Param("managerId") Long managerId);
+
+    /**
+     * The active project with its manager's id, username, first name, last name and email,
+     * all null when it has no manager; empty when the project does not exist.
+     */
+    @Query("SELECT p, u.id, u.username, u.firstName, u.lastName, u.email FROM Project p " +
+           "LEFT JOIN User u ON u.id = p.managerId WHERE p.id = :id AND p.isDeleted = false")
+    List<Object[]> findWithManager(@Param("id") Long id);
+
+    @Query("SELECT p.id, p.projectCode, p.projectName, p.status FROM Project p WHERE p.id IN :ids")
+    List<Object[]> findLabelsByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * One page of the active projects managed by {@code userId}, newest first, after the work
+     * inbox position ({@code before}, {@code beforeId}): id, code, name, status, updated at,
+     * project id.
+     */
+    @Query("SELECT p.id, p.projectCode, p.projectName, p.status, p.updatedAt, p.id FROM Project p " +
+           "WHERE p.managerId = :userId AND p.isDeleted = false AND p.updatedAt <= :before " +
+           "AND (p.updatedAt < :before OR p.id < :beforeId) ORDER BY p.updatedAt DESC, p.id DESC")
+    List<Object[]> findManagedWorkRows(@Param("userId") Long userId, @Param("before") LocalDateTime before,
+                                       @Param("beforeId") Long beforeId, Pageable pageable);
 }
@@ -0,0 +1,42 @@
+package com.windchill.repository;
+
+import com.windchill.common.enums.UploadStatusEnum;
+import com.windchill.domain.entity.UploadSession;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface UploadSessionRepository extends JpaRepository<UploadSession, Long> {
+    List<UploadSession> findByDocumentIdAndStatus(Long documentId, UploadStatusEnum status);
+
+    List<UploadSession> findTop100ByStatusAndExpiresAtBefore(UploadStatusEnum status, LocalDateTime cutoff);
+
+    /**
+     * Held by chunk writers, which may run side by side; commit, abort and expiry take the row
+     * exclusively and so wait for writes in flight.
+     */
+    @Lock(LockModeType.PESSIMISTIC_READ)
+    @Query("SELECT s FROM UploadSession s WHERE s.id = :id")
+    Optional<UploadSession> findByIdForShare(@Param("id") Long id);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM UploadSession s WHERE s.id = :id")
+    Optional<UploadSession> findByIdForUpdate(@Param("id") Long id);
+
+    /**
+     * Slides the expiry forward without bumping the optimistic lock version, so parallel
+     * chunk uploads to the same session do not conflict with each other.
+     */
+    @Modifying
+    @Query("UPDATE UploadSession s SET s.expiresAt = :expiresAt WHERE s.id = :id AND s.status = :status")
+    int touch(@Param("id") Long id, @Param("status") UploadStatusEnum status, @Param("expiresAt") LocalDateTime expiresAt);
+}
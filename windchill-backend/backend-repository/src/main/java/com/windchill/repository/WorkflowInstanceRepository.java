@@ -0,0 +1,24 @@
+package com.windchill.repository;
+
+import com.windchill.common.enums.WorkflowStatusEnum;
+import com.windchill.domain.entity.WorkflowInstance;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface WorkflowInstanceRepository extends JpaRepository<WorkflowInstance, Long> {
+    boolean existsByDocumentIdAndStatus(Long documentId, WorkflowStatusEnum status);
+
+    List<WorkflowInstance> findByDocumentIdOrderByIdDesc(Long documentId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT i FROM WorkflowInstance i WHERE i.id = :id")
+    Optional<WorkflowInstance> findByIdForUpdate(@Param("id") Long id);
+}
@@ -0,0 +1,74 @@
+package com.windchill.repository;
+
+import com.windchill.common.enums.WorkflowJobStatusEnum;
+import com.windchill.domain.entity.WorkflowJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface WorkflowJobRepository extends JpaRepository<WorkflowJob, Long> {
+    /**
+     * Locks up to {@code limit} due jobs, skipping rows another node has already locked.
+     * Must run in the same transaction as {@link #markRunning}.
+     */
+    @Query(value = "SELECT id FROM workflow_jobs WHERE status = 'PENDING' AND available_at <= :now " +
+                   "ORDER BY available_at, id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<Long> lockDueIds(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    @Modifying
+    @Query("UPDATE WorkflowJob j SET j.status = com.windchill.common.enums.WorkflowJobStatusEnum.RUNNING, " +
+           "j.lockedBy = :node, j.lockedAt = :now, j.attempts = j.attempts + 1 WHERE j.id IN :ids")
+    int markRunning(@Param("ids") Collection<Long> ids, @Param("node") String node, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE WorkflowJob j SET j.status = :status, j.completedAt = :now, j.lastError = :error, " +
+           "j.availableAt = :availableAt WHERE j.id = :id AND j.lockedBy = :node " +
+           "AND j.status = com.windchill.common.enums.WorkflowJobStatusEnum.RUNNING")
+    int finish(@Param("id") Long id, @Param("node") String node, @Param("status") WorkflowJobStatusEnum status,
+               @Param("now") LocalDateTime now, @Param("error") String error,
+               @Param("availableAt") LocalDateTime availableAt);
+
+    long countByStatus(WorkflowJobStatusEnum status);
+
+    /**
+     * Returns jobs left RUNNING by a node that died mid-evaluation to the queue, as long as
+     * they have attempts left.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE WorkflowJob j SET j.status = com.windchill.common.enums.WorkflowJobStatusEnum.PENDING, " +
+           "j.lockedBy = null WHERE j.status = com.windchill.common.enums.WorkflowJobStatusEnum.RUNNING " +
+           "AND j.lockedAt < :cutoff AND j.attempts < :maxAttempts")
+    int requeueStale(@Param("cutoff") LocalDateTime cutoff, @Param("maxAttempts") int maxAttempts);
+
+    /**
+     * Marks jobs left RUNNING by a dead node FAILED once they have used up their attempts.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE WorkflowJob j SET j.status = com.windchill.common.enums.WorkflowJobStatusEnum.FAILED, " +
+           "j.lockedBy = null, j.completedAt = :now, j.lastError = :error " +
+           "WHERE j.status = com.windchill.common.enums.WorkflowJobStatusEnum.RUNNING " +
+           "AND j.lockedAt < :cutoff AND j.attempts >= :maxAttempts")
+    int failStale(@Param("cutoff") LocalDateTime cutoff, @Param("maxAttempts") int maxAttempts,
+                  @Param("now") LocalDateTime now, @Param("error") String error);
+
+    /**
+     * Deletes up to {@code limit} DONE jobs that finished before {@code cutoff}. A job never
+     * finishes before it became available, so the range on {@code available_at} can use the
+     * due-job index and the {@code completed_at} check only filters it.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "DELETE FROM workflow_jobs WHERE status = 'DONE' AND available_at < :cutoff " +
+                   "AND completed_at < :cutoff ORDER BY available_at, id LIMIT :limit", nativeQuery = true)
+    int deleteDoneBefore(@Param("cutoff") LocalDateTime cutoff, @Param("limit") int limit);
+}
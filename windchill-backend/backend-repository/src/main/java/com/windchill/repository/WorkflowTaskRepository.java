@@ -0,0 +1,77 @@
+package com.windchill.repository;
+
+import com.windchill.common.enums.WorkflowTaskStatusEnum;
+import com.windchill.domain.entity.WorkflowTask;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface WorkflowTaskRepository extends JpaRepository<WorkflowTask, Long> {
+    List<WorkflowTask> findByInstanceIdOrderByStepIndexAscSequenceAsc(Long instanceId);
+
+    List<WorkflowTask> findByInstanceIdAndStepIndexOrderBySequence(Long instanceId, Integer stepIndex);
+
+    Page<WorkflowTask> findByAssigneeIdAndStatusOrderById(Long assigneeId, WorkflowTaskStatusEnum status,
+                                                         Pageable pageable);
+
+    /**
+     * Records a reviewer's decision; returns 0 unless the task is open and assigned to them.
+     */
+    @Modifying
+    @Query("UPDATE WorkflowTask t SET t.status = :decision, t.comment = :comment, t.completedAt = :now " +
+           "WHERE t.id = :id AND t.assigneeId = :assigneeId " +
+           "AND t.status = com.windchill.common.enums.WorkflowTaskStatusEnum.OPEN")
+    int complete(@Param("id") Long id, @Param("assigneeId") Long assigneeId,
+                 @Param("decision") WorkflowTaskStatusEnum decision, @Param("comment") String comment,
+                 @Param("now") LocalDateTime now);
+
+    @Query("SELECT t.id, t.instanceId FROM WorkflowTask t WHERE t.id IN :ids")
+    List<Object[]> findInstanceIdsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("UPDATE WorkflowTask t SET t.status = com.windchill.common.enums.WorkflowTaskStatusEnum.OPEN, " +
+           "t.openedAt = :now WHERE t.id IN :ids " +
+           "AND t.status = com.windchill.common.enums.WorkflowTaskStatusEnum.WAITING")
+    int open(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE WorkflowTask t SET t.status = com.windchill.common.enums.WorkflowTaskStatusEnum.CANCELLED, " +
+           "t.completedAt = :now WHERE t.instanceId = :instanceId " +
+           "AND t.status IN (com.windchill.common.enums.WorkflowTaskStatusEnum.WAITING, " +
+           "com.windchill.common.enums.WorkflowTaskStatusEnum.OPEN)")
+    int cancelUndecided(@Param("instanceId") Long instanceId, @Param("now") LocalDateTime now);
+
+    @Query("SELECT t.id FROM WorkflowTask t WHERE t.instanceId = :instanceId " +
+           "AND t.status = com.windchill.common.enums.WorkflowTaskStatusEnum.OPEN")
+    List<Long> findOpenIdsByInstanceId(@Param("instanceId") Long instanceId);
+
+    /**
+     * Deadline inputs (id, openedAt, remindedAt, escalatedAt) of open tasks opened at or after
+     * {@code since}; pass the epoch to load all of them.
+     */
+    @Query("SELECT t.id, t.openedAt, t.remindedAt, t.escalatedAt FROM WorkflowTask t " +
+           "WHERE t.openedAt >= :since AND t.status = com.windchill.common.enums.WorkflowTaskStatusEnum.OPEN")
+    List<Object[]> findOpenDeadlinesSince(@Param("since") LocalDateTime since);
+
+    /**
+     * Claims the reminder for a still-open task; 0 if it was closed or already reminded.
+     */
+    @Modifying
+    @Query("UPDATE WorkflowTask t SET t.remindedAt = :now WHERE t.id = :id AND t.remindedAt IS NULL " +
+           "AND t.status = com.windchill.common.enums.WorkflowTaskStatusEnum.OPEN")
+    int markReminded(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE WorkflowTask t SET t.assigneeId = :assigneeId, t.escalatedAt = :now WHERE t.id = :id " +
+           "AND t.escalatedAt IS NULL AND t.status = com.windchill.common.enums.WorkflowTaskStatusEnum.OPEN")
+    int escalate(@Param("id") Long id, @Param("assigneeId") Long assigneeId, @Param("now") LocalDateTime now);
+}
@@ -0,0 +1,15 @@
+package com.windchill.service.access;
+
+import com.windchill.common.enums.RoleEnum;
+
+import java.security.Principal;
+
+/**
+ * Principal of an authenticated request, taken from the claims of its token.
+ */
+public record AuthenticatedUser(Long userId, String username, RoleEnum role) implements Principal {
+    @Override
+    public String getName() {
+        return username;
+    }
+}
@@ -0,0 +1,20 @@
+package com.windchill.service.access;
+
+import com.windchill.domain.entity.Project;
+import com.windchill.domain.entity.ProjectMember;
+
+import java.util.List;
+
+public interface IProjectAccessService {
+    ProjectAccess current();
+
+    AuthenticatedUser currentUser();
+
+    void requireManager(Project project);
+
+    List<ProjectMember> getMembers(Long projectId);
+
+    ProjectMember addMember(Long projectId, Long userId);
+
+    void removeMember(Long projectId, Long userId);
+}
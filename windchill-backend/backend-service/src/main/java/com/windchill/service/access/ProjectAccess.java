@@ -0,0 +1,86 @@
+package com.windchill.service.access;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.LongConsumer;
+
+/**
+ * What one user may see, as two sets of project ids: the confidential projects, and the
+ * projects the user is a member or manager of. Anything outside a confidential project is
+ * visible; a check is two bit lookups and needs no query. Instances are shared snapshots and
+ * must not be modified.
+ */
+public final class ProjectAccess {
+    private static final ProjectAccess UNRESTRICTED = new ProjectAccess(ProjectIdSet.EMPTY, ProjectIdSet.EMPTY);
+
+    private final ProjectIdSet confidential;
+    private final ProjectIdSet visible;
+
+    private ProjectAccess(ProjectIdSet confidential, ProjectIdSet visible) {
+        this.confidential = confidential;
+        this.visible = visible;
+    }
+
+    static ProjectAccess unrestricted() {
+        return UNRESTRICTED;
+    }
+
+    static ProjectAccess of(ProjectIdSet confidential, ProjectIdSet visible) {
+        return confidential.isEmpty() ? UNRESTRICTED
+                : new ProjectAccess(confidential, visible != null ? visible : ProjectIdSet.EMPTY);
+    }
+
+    /**
+     * True unless the project is confidential and the user is not on it. Items that belong
+     * to no project are visible.
+     */
+    public boolean canSee(Long projectId) {
+        return projectId == null || !confidential.contains(projectId) || visible.contains(projectId);
+    }
+
+    /**
+     * Whether any project at all is hidden from this user; when not, callers can skip
+     * filtering altogether.
+     */
+    public boolean hidesAny() {
+        return !confidential.isEmpty();
+    }
+
+    /**
+     * Passes the id of every project hidden from this user to {@code action}.
+     */
+    public void forEachHidden(LongConsumer action) {
+        confidential.forEach(projectId -> {
+            if (!visible.contains(projectId)) {
+                action.accept(projectId);
+            }
+        });
+    }
+
+    /**
+     * The ids of every project hidden from this user, for a {@code NOT IN} predicate.
+     */
+    public List<Long> hiddenProjectIds() {
+        List<Long> hidden = new ArrayList<>();
+        forEachHidden(hidden::add);
+        return hidden;
+    }
+
+    /**
+     * Returns the items whose project is visible, in their original order. The list itself
+     * is returned when nothing can be hidden.
+     */
+    public <T> List<T> filter(List<T> items, Function<T, Long> projectOf) {
+        if (confidential.isEmpty()) {
+            return items;
+        }
+        List<T> visibleItems = new ArrayList<>(items.size());
+        for (T item : items) {
+            if (canSee(projectOf.apply(item))) {
+                visibleItems.add(item);
+            }
+        }
+        return visibleItems.size() == items.size() ? items : visibleItems;
+    }
+}
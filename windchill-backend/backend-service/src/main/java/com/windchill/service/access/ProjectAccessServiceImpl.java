@@ -0,0 +1,181 @@
+package com.windchill.service.access;
+
+import com.windchill.common.enums.RoleEnum;
+import com.windchill.common.exceptions.ResourceNotFoundException;
+import com.windchill.common.exceptions.UnauthorizedException;
+import com.windchill.domain.entity.Project;
+import com.windchill.domain.entity.ProjectMember;
+import com.windchill.repository.ProjectMemberRepository;
+import com.windchill.repository.ProjectRepository;
+import com.windchill.repository.UserRepository;
+import com.windchill.service.event.ProjectAccessChangedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Visibility of confidential projects. The set of confidential project ids and, per user,
+ * the set of projects they belong to or manage are cached as {@link ProjectIdSet}s, so list and search
+ * paths filter their results in memory instead of joining membership into every query.
+ *
+ * <p>Entries are dropped after a committed change to confidentiality, managers or members,
+ * and everything is dropped every {@code refresh-interval-ms} to pick up changes made on
+ * other nodes. A generation counter keeps a load that raced with a change from caching
+ * what it read before that change.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class ProjectAccessServiceImpl implements IProjectAccessService {
+    private final ProjectRepository projectRepository;
+    private final ProjectMemberRepository memberRepository;
+    private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final Map<Long, ProjectIdSet> visibleByUser = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+    private volatile ProjectIdSet confidential;
+
+    /**
+     * Access of the current request's user. Administrators see everything; without an
+     * authenticated user only non-confidential projects are visible.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public ProjectAccess current() {
+        AuthenticatedUser user = currentUser();
+        if (user != null && user.role() == RoleEnum.ADMIN) {
+            return ProjectAccess.unrestricted();
+        }
+        ProjectIdSet confidentialIds = confidentialProjects();
+        if (confidentialIds.isEmpty()) {
+            return ProjectAccess.unrestricted();
+        }
+        return ProjectAccess.of(confidentialIds, user != null ? visibleProjects(user.userId()) : null);
+    }
+
+    @Override
+    public AuthenticatedUser currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.getPrincipal() instanceof AuthenticatedUser user ? user : null;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ProjectMember> getMembers(Long projectId) {
+        log.debug("Fetching members of project: {}", projectId);
+        requireVisible(projectId);
+        return memberRepository.findByProjectIdOrderByUserId(projectId);
+    }
+
+    @Override
+    public ProjectMember addMember(Long projectId, Long userId) {
+        log.info("Adding user {} to project {}", userId, projectId);
+        requireManager(requireVisible(projectId));
+        userRepository.findById(userId)
+                .filter(user -> !user.getIsDeleted())
+                .orElseThrow(() -> new ResourceNotFoundException("User", "id", userId));
+        ProjectMember.Key key = new ProjectMember.Key(projectId, userId);
+        ProjectMember existing = memberRepository.findById(key).orElse(null);
+        if (existing != null) {
+            return existing;
+        }
+        ProjectMember member = memberRepository.save(new ProjectMember(projectId, userId, LocalDateTime.now()));
+        eventPublisher.publishEvent(new ProjectAccessChangedEvent(projectId, List.of(userId)));
+        return member;
+    }
+
+    @Override
+    public void removeMember(Long projectId, Long userId) {
+        log.info("Removing user {} from project {}", userId, projectId);
+        requireManager(requireVisible(projectId));
+        ProjectMember.Key key = new ProjectMember.Key(projectId, userId);
+        if (!memberRepository.existsById(key)) {
+            throw new ResourceNotFoundException("ProjectMember", "userId", userId);
+        }
+        memberRepository.deleteById(key);
+        eventPublisher.publishEvent(new ProjectAccessChangedEvent(projectId, List.of(userId)));
+    }
+
+    /**
+     * Membership and confidentiality of a project are changed only by its manager or an
+     * administrator.
+     */
+    @Override
+    public void requireManager(Project project) {
+        AuthenticatedUser user = currentUser();
+        if (user == null || (user.role() != RoleEnum.ADMIN && !user.userId().equals(project.getManagerId()))) {
+            throw new UnauthorizedException("Only the manager of project " + project.getProjectCode()
+                    + " or an administrator can change who sees it");
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAccessChanged(ProjectAccessChangedEvent event) {
+        dropConfidentialProjects();
+        if (event.userIds() != null) {
+            event.userIds().forEach(visibleByUser::remove);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.access.refresh-interval-ms:60000}")
+    public void refresh() {
+        dropConfidentialProjects();
+        visibleByUser.clear();
+    }
+
+    private ProjectIdSet confidentialProjects() {
+        ProjectIdSet cached = confidential;
+        if (cached != null) {
+            return cached;
+        }
+        long loadedAt = generation.get();
+        ProjectIdSet loaded = ProjectIdSet.of(projectRepository.findConfidentialIds());
+        synchronized (this) {
+            if (generation.get() == loadedAt) {
+                confidential = loaded;
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * Bumps the generation before anything is dropped, which is what the loaders check.
+     */
+    private synchronized void dropConfidentialProjects() {
+        generation.incrementAndGet();
+        confidential = null;
+    }
+
+    private ProjectIdSet visibleProjects(Long userId) {
+        ProjectIdSet cached = visibleByUser.get(userId);
+        if (cached != null) {
+            return cached;
+        }
+        long loadedAt = generation.get();
+        ProjectIdSet loaded = ProjectIdSet.of(memberRepository.findProjectIdsByUserId(userId))
+                .union(ProjectIdSet.of(projectRepository.findIdsByManagerId(userId)));
+        // either this sees the bumped generation or the removal runs after this put
+        visibleByUser.compute(userId, (id, current) -> generation.get() == loadedAt ? loaded : current);
+        return loaded;
+    }
+
+    private Project requireVisible(Long projectId) {
+        return projectRepository.findById(projectId)
+                .filter(project -> !project.getIsDeleted() && current().canSee(project.getId()))
+                .orElseThrow(() -> new ResourceNotFoundException("Project", "id", projectId));
+    }
+}
@@ -0,0 +1,68 @@
+package com.windchill.service.access;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.LongConsumer;
+
+/**
+ * An immutable set of project ids: a bitset for ids that fit an int index, which is every id
+ * in practice, and a sorted array for any that do not, so no id is ever dropped or assumed
+ * absent.
+ */
+final class ProjectIdSet {
+    static final ProjectIdSet EMPTY = new ProjectIdSet(new BitSet(), new long[0]);
+
+    private final BitSet bits;
+    private final long[] beyond;
+
+    private ProjectIdSet(BitSet bits, long[] beyond) {
+        this.bits = bits;
+        this.beyond = beyond;
+    }
+
+    static ProjectIdSet of(Collection<Long> ids) {
+        BitSet bits = new BitSet();
+        List<Long> beyond = new ArrayList<>(0);
+        for (Long id : ids) {
+            if (fitsIndex(id)) {
+                bits.set(id.intValue());
+            } else {
+                beyond.add(id);
+            }
+        }
+        return new ProjectIdSet(bits, beyond.stream().mapToLong(Long::longValue).sorted().toArray());
+    }
+
+    ProjectIdSet union(ProjectIdSet other) {
+        BitSet unionBits = (BitSet) bits.clone();
+        unionBits.or(other.bits);
+        long[] unionBeyond = Arrays.copyOf(beyond, beyond.length + other.beyond.length);
+        System.arraycopy(other.beyond, 0, unionBeyond, beyond.length, other.beyond.length);
+        Arrays.sort(unionBeyond);
+        return new ProjectIdSet(unionBits, unionBeyond);
+    }
+
+    boolean contains(long id) {
+        return fitsIndex(id) ? bits.get((int) id) : Arrays.binarySearch(beyond, id) >= 0;
+    }
+
+    boolean isEmpty() {
+        return bits.isEmpty() && beyond.length == 0;
+    }
+
+    void forEach(LongConsumer action) {
+        for (int index = bits.nextSetBit(0); index >= 0; index = bits.nextSetBit(index + 1)) {
+            action.accept(index);
+        }
+        for (long id : beyond) {
+            action.accept(id);
+        }
+    }
+
+    private static boolean fitsIndex(long id) {
+        return id >= 0 && id <= Integer.MAX_VALUE;
+    }
+}
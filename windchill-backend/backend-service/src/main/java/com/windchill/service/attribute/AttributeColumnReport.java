@@ -0,0 +1,13 @@
+package com.windchill.service.attribute;
+
+import java.util.List;
+
+/**
+ * Generated attribute columns on the products table compared with the searchable
+ * definitions: {@code present} columns serve filters, {@code missing} ones wait for an
+ * administrator to apply them and {@code unused} ones belong to attributes that are no longer
+ * searchable. Unused columns are never dropped by the application; remove them with a
+ * migration once no definition will want them back.
+ */
+public record AttributeColumnReport(List<String> present, List<String> missing, List<String> unused) {
+}
@@ -0,0 +1,114 @@
+package com.windchill.service.attribute;
+
+import com.windchill.common.exceptions.BusinessException;
+import com.windchill.domain.entity.AttributeDefinition;
+import com.windchill.repository.AttributeDefinitionRepository;
+import com.windchill.service.event.AttributeDefinitionsChangedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Generated columns with an index on the products table, one per searchable attribute, so
+ * filters on it are index lookups instead of JSON scans. The columns are virtual: adding one
+ * rewrites nothing, only the index is built. Saving a definition never changes the schema;
+ * an administrator adds the missing columns with {@link #apply()}, which needs ALTER and
+ * INDEX privileges on products for the application's database user. Columns are only ever
+ * added: one no longer wanted is reported as unused and left for a migration to drop.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+class AttributeColumns {
+    private static final String INDEX_PREFIX = "idx_product_";
+
+    private final AttributeDefinitionRepository definitionRepository;
+    private final AttributeRegistry registry;
+    private final JdbcTemplate jdbcTemplate;
+
+    @EventListener(ApplicationReadyEvent.class)
+    void onStartup() {
+        AttributeColumnReport report = check();
+        if (!report.missing().isEmpty()) {
+            log.warn("Searchable attributes without a column cannot be filtered until an administrator applies "
+                    + "them: {}", report.missing());
+        }
+        if (!report.unused().isEmpty()) {
+            log.info("Attribute columns no longer searchable, to be dropped by a migration: {}", report.unused());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    void onDefinitionsChanged(AttributeDefinitionsChangedEvent event) {
+        registry.reload();
+    }
+
+    AttributeColumnReport check() {
+        Map<String, CompiledAttribute> wanted = wanted();
+        Set<String> existing = new TreeSet<>(registry.searchColumns());
+        List<String> present = new ArrayList<>();
+        List<String> missing = new ArrayList<>();
+        for (String column : wanted.keySet()) {
+            if (existing.contains(column)) {
+                present.add(column);
+            } else {
+                missing.add(column);
+            }
+        }
+        List<String> unused = existing.stream().filter(column -> !wanted.containsKey(column)).toList();
+        return new AttributeColumnReport(present, missing, unused);
+    }
+
+    /**
+     * Adds the columns of searchable attributes that have none. DDL commits implicitly in
+     * MySQL, so this must not run inside a transaction. Stops at the first column that cannot
+     * be added and reports it; columns added before stay and serve filters.
+     */
+    synchronized AttributeColumnReport apply() {
+        Map<String, CompiledAttribute> wanted = wanted();
+        try {
+            for (String column : check().missing()) {
+                // column and index names derive from validated attribute names, never from raw input
+                String ddl = "ALTER TABLE products ADD COLUMN " + column + " " + wanted.get(column).columnDefinition()
+                        + ", ADD INDEX " + INDEX_PREFIX + column + " (" + column + ", id)";
+                try {
+                    jdbcTemplate.execute(ddl);
+                    log.info("Added attribute column {}: {}", column, ddl);
+                } catch (DataAccessException ex) {
+                    // another node may have added the same column first
+                    if (!registry.searchColumns().contains(column)) {
+                        log.error("Could not add attribute column {}: {}", column, ex.getMessage());
+                        throw new BusinessException("Could not add the column of attribute "
+                                + column.substring(AttributeRegistry.COLUMN_PREFIX.length()) + ": "
+                                + ex.getMostSpecificCause().getMessage(), ex);
+                    }
+                }
+            }
+        } finally {
+            registry.reload();
+        }
+        return check();
+    }
+
+    private Map<String, CompiledAttribute> wanted() {
+        Map<String, CompiledAttribute> wanted = new LinkedHashMap<>();
+        for (AttributeDefinition definition : definitionRepository.findByIsDeletedFalseOrderByName()) {
+            if (Boolean.TRUE.equals(definition.getSearchable())) {
+                wanted.put(AttributeRegistry.columnName(definition.getName()), CompiledAttribute.of(definition));
+            }
+        }
+        return wanted;
+    }
+}
@@ -0,0 +1,218 @@
+package com.windchill.service.attribute;
+
+import com.windchill.common.enums.AttributeTypeEnum;
+import com.windchill.common.enums.RoleEnum;
+import com.windchill.common.exceptions.BusinessException;
+import com.windchill.common.exceptions.ResourceNotFoundException;
+import com.windchill.common.exceptions.UnauthorizedException;
+import com.windchill.domain.entity.AttributeDefinition;
+import com.windchill.repository.AttributeDefinitionRepository;
+import com.windchill.service.access.AuthenticatedUser;
+import com.windchill.service.access.IProjectAccessService;
+import com.windchill.service.event.AttributeDefinitionsChangedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Maintains custom attribute definitions. Changes to allowed values, ranges or the required
+ * flag apply to product writes from then on; stored values are not revisited. The type of a
+ * definition is fixed, since stored values and its generated column depend on it. Making an
+ * attribute searchable does not change the schema; its column is added when an administrator
+ * applies the search columns.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class AttributeDefinitionServiceImpl implements IAttributeDefinitionService {
+    private static final Pattern NAME = Pattern.compile("[a-z][a-z0-9_]{0,39}");
+    private static final int MAX_UNSEARCHABLE_LENGTH = 4000;
+
+    private final AttributeDefinitionRepository definitionRepository;
+    private final AttributeRegistry attributeRegistry;
+    private final AttributeColumns attributeColumns;
+    private final IProjectAccessService projectAccessService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<AttributeDefinition> getDefinitions() {
+        return attributeRegistry.getDefinitions();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public AttributeDefinition getDefinition(String name) {
+        return attributeRegistry.getDefinitions().stream()
+                .filter(definition -> definition.getName().equals(name))
+                .findFirst()
+                .orElseThrow(() -> new ResourceNotFoundException("AttributeDefinition", "name", name));
+    }
+
+    @Override
+    public AttributeDefinition createDefinition(AttributeDefinition definition) {
+        log.info("Creating attribute definition: {}", definition.getName());
+        if (definition.getName() == null || !NAME.matcher(definition.getName()).matches()) {
+            throw new BusinessException("Attribute names are 1 to 40 lower-case letters, digits or '_', "
+                    + "starting with a letter");
+        }
+        if (definition.getDataType() == null) {
+            throw new BusinessException("Attribute data type is required");
+        }
+        AttributeDefinition target = definitionRepository.findByName(definition.getName()).orElse(null);
+        if (target != null && !target.getIsDeleted()) {
+            throw new BusinessException("Attribute already exists: " + definition.getName());
+        }
+        if (target != null && target.getDataType() != definition.getDataType()) {
+            // products may still hold values of the deleted definition
+            throw new BusinessException("Attribute " + definition.getName() + " was used before with type "
+                    + target.getDataType());
+        }
+        if (target == null) {
+            target = new AttributeDefinition();
+            target.setName(definition.getName());
+            target.setDataType(definition.getDataType());
+        }
+        target.setIsDeleted(false);
+        target.setLabel(definition.getLabel() != null ? definition.getLabel() : definition.getName());
+        target.setRequired(Boolean.TRUE.equals(definition.getRequired()));
+        target.setSearchable(Boolean.TRUE.equals(definition.getSearchable()));
+        target.setAllowedValues(definition.getAllowedValues() != null ? definition.getAllowedValues() : new ArrayList<>());
+        target.setMaxLength(definition.getMaxLength());
+        target.setMinValue(definition.getMinValue());
+        target.setMaxValue(definition.getMaxValue());
+        target.setUnit(definition.getUnit());
+        validate(target);
+
+        AttributeDefinition saved = definitionRepository.save(target);
+        eventPublisher.publishEvent(new AttributeDefinitionsChangedEvent(saved.getName()));
+        log.info("Attribute definition created: {}", saved.getName());
+        return saved;
+    }
+
+    @Override
+    public AttributeDefinition updateDefinition(String name, AttributeDefinition details) {
+        log.info("Updating attribute definition: {}", name);
+        AttributeDefinition definition = findActive(name);
+        if (details.getDataType() != null && details.getDataType() != definition.getDataType()) {
+            throw new BusinessException("The type of attribute " + name + " cannot change");
+        }
+        if (details.getLabel() != null) {
+            definition.setLabel(details.getLabel());
+        }
+        if (details.getRequired() != null) {
+            definition.setRequired(details.getRequired());
+        }
+        if (details.getSearchable() != null) {
+            definition.setSearchable(details.getSearchable());
+        }
+        if (details.getAllowedValues() != null) {
+            definition.setAllowedValues(details.getAllowedValues());
+        }
+        if (details.getMaxLength() != null) {
+            definition.setMaxLength(details.getMaxLength());
+        }
+        if (details.getMinValue() != null) {
+            definition.setMinValue(details.getMinValue());
+        }
+        if (details.getMaxValue() != null) {
+            definition.setMaxValue(details.getMaxValue());
+        }
+        if (details.getUnit() != null) {
+            definition.setUnit(details.getUnit());
+        }
+        validate(definition);
+
+        AttributeDefinition saved = definitionRepository.save(definition);
+        eventPublisher.publishEvent(new AttributeDefinitionsChangedEvent(name));
+        log.info("Attribute definition updated: {}", name);
+        return saved;
+    }
+
+    /**
+     * Soft-deletes the definition. Its generated column stays, reported as unused, and is
+     * reused if the attribute is defined again. Product values stay in the JSON until the
+     * product's attributes are next written.
+     */
+    @Override
+    public void deleteDefinition(String name) {
+        log.info("Deleting attribute definition: {}", name);
+        AttributeDefinition definition = findActive(name);
+        definition.setIsDeleted(true);
+        definitionRepository.save(definition);
+        eventPublisher.publishEvent(new AttributeDefinitionsChangedEvent(name));
+        log.info("Attribute definition deleted: {}", name);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public AttributeColumnReport getSearchColumns() {
+        return attributeColumns.check();
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public AttributeColumnReport applySearchColumns() {
+        AuthenticatedUser user = projectAccessService.currentUser();
+        if (user == null || user.role() != RoleEnum.ADMIN) {
+            throw new UnauthorizedException("Only an administrator can change the products table");
+        }
+        log.info("Applying attribute search columns for user: {}", user.username());
+        return attributeColumns.apply();
+    }
+
+    private AttributeDefinition findActive(String name) {
+        return definitionRepository.findByName(name)
+                .filter(definition -> !definition.getIsDeleted())
+                .orElseThrow(() -> new ResourceNotFoundException("AttributeDefinition", "name", name));
+    }
+
+    private void validate(AttributeDefinition definition) {
+        boolean searchable = Boolean.TRUE.equals(definition.getSearchable());
+        List<String> allowedValues = definition.getAllowedValues();
+        if (definition.getDataType() == AttributeTypeEnum.ENUM) {
+            if (allowedValues.isEmpty() || new HashSet<>(allowedValues).size() != allowedValues.size()) {
+                throw new BusinessException("Enumerated attribute " + definition.getName()
+                        + " needs a list of distinct allowed values");
+            }
+            for (String value : allowedValues) {
+                if (value == null || value.isBlank() || value.length() > CompiledAttribute.DEFAULT_MAX_LENGTH) {
+                    throw new BusinessException("Allowed values are 1 to " + CompiledAttribute.DEFAULT_MAX_LENGTH
+                            + " characters");
+                }
+            }
+        } else if (!allowedValues.isEmpty()) {
+            throw new BusinessException("Only enumerated attributes have allowed values");
+        }
+        if (definition.getDataType() == AttributeTypeEnum.STRING) {
+            // a searchable value must fit its generated column
+            int limit = searchable ? CompiledAttribute.DEFAULT_MAX_LENGTH : MAX_UNSEARCHABLE_LENGTH;
+            if (definition.getMaxLength() == null) {
+                definition.setMaxLength(CompiledAttribute.DEFAULT_MAX_LENGTH);
+            }
+            if (definition.getMaxLength() < 1 || definition.getMaxLength() > limit) {
+                throw new BusinessException("Maximum length of attribute " + definition.getName()
+                        + " must be between 1 and " + limit);
+            }
+        } else if (definition.getMaxLength() != null) {
+            throw new BusinessException("Only text attributes have a maximum length");
+        }
+        if (definition.getDataType() != AttributeTypeEnum.NUMBER
+                && (definition.getMinValue() != null || definition.getMaxValue() != null)) {
+            throw new BusinessException("Only numeric attributes have a range");
+        }
+        if (definition.getMinValue() != null && definition.getMaxValue() != null
+                && definition.getMinValue().compareTo(definition.getMaxValue()) > 0) {
+            throw new BusinessException("Minimum of attribute " + definition.getName() + " exceeds its maximum");
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.windchill.service.attribute;
+
+import com.windchill.common.exceptions.BusinessException;
+import com.windchill.domain.entity.AttributeDefinition;
+import com.windchill.repository.AttributeDefinitionRepository;
+import com.windchill.service.query.QuerySchema;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * The active custom attribute definitions, compiled and cached. Product writes validate
+ * against the cache; it is reloaded after a definition changes on this node and periodically
+ * to pick up changes made on other nodes.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AttributeRegistry {
+    static final String COLUMN_PREFIX = "attr_";
+    static final String FILTER_PREFIX = "attributes.";
+
+    private final AttributeDefinitionRepository definitionRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final Object loadLock = new Object();
+    private volatile Snapshot snapshot;
+
+    public List<AttributeDefinition> getDefinitions() {
+        return current().definitions();
+    }
+
+    /**
+     * Query filters over searchable attributes, named {@code attributes.<name>}. An attribute
+     * appears only once its generated column exists, so a filter never falls back to a scan.
+     */
+    public Map<String, QuerySchema.Field> queryFields() {
+        return current().queryFields();
+    }
+
+    /**
+     * Applies {@code changes} to a product's stored attributes and returns the validated
+     * result, or null when nothing is left. A null value removes the attribute. Values of
+     * attributes no longer defined are dropped; unknown names in {@code changes} are rejected,
+     * as is a result missing a required attribute.
+     */
+    public Map<String, Object> apply(Map<String, Object> stored, Map<String, Object> changes) {
+        Map<String, CompiledAttribute> attributes = current().attributes();
+        Map<String, Object> result = new TreeMap<>();
+        if (stored != null) {
+            stored.forEach((name, value) -> {
+                if (value != null && attributes.containsKey(name)) {
+                    result.put(name, value);
+                }
+            });
+        }
+        if (changes != null) {
+            for (Map.Entry<String, Object> change : changes.entrySet()) {
+                CompiledAttribute attribute = attributes.get(change.getKey());
+                if (attribute == null) {
+                    throw new BusinessException("Unknown product attribute " + change.getKey() + "; defined: "
+                            + attributes.keySet());
+                }
+                if (change.getValue() == null) {
+                    result.remove(change.getKey());
+                } else {
+                    result.put(change.getKey(), attribute.normalize(change.getValue()));
+                }
+            }
+        }
+        for (CompiledAttribute attribute : attributes.values()) {
+            if (attribute.required() && !result.containsKey(attribute.definition().getName())) {
+                throw new BusinessException("Product attribute " + attribute.definition().getName() + " is required");
+            }
+        }
+        return result.isEmpty() ? null : result;
+    }
+
+    @Scheduled(initialDelayString = "${app.attributes.refresh-interval-ms:60000}",
+               fixedDelayString = "${app.attributes.refresh-interval-ms:60000}")
+    void reload() {
+        synchronized (loadLock) {
+            snapshot = load();
+        }
+    }
+
+    /**
+     * Generated attribute columns currently on the products table.
+     */
+    Set<String> searchColumns() {
+        return new HashSet<>(jdbcTemplate.queryForList(
+                "SELECT column_name FROM information_schema.columns WHERE table_schema = DATABASE() "
+                        + "AND table_name = 'products' AND column_name LIKE 'attr!_%' ESCAPE '!'", String.class));
+    }
+
+    static String columnName(String attributeName) {
+        return COLUMN_PREFIX + attributeName;
+    }
+
+    private Snapshot current() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            synchronized (loadLock) {
+                if (snapshot == null) {
+                    snapshot = load();
+                }
+                current = snapshot;
+            }
+        }
+        return current;
+    }
+
+    private Snapshot load() {
+        List<AttributeDefinition> definitions = definitionRepository.findByIsDeletedFalseOrderByName();
+        Set<String> columns = searchColumns();
+        Map<String, CompiledAttribute> attributes = new LinkedHashMap<>();
+        Map<String, QuerySchema.Field> queryFields = new LinkedHashMap<>();
+        for (AttributeDefinition definition : definitions) {
+            CompiledAttribute attribute = CompiledAttribute.of(definition);
+            attributes.put(definition.getName(), attribute);
+            String column = columnName(definition.getName());
+            if (Boolean.TRUE.equals(definition.getSearchable()) && columns.contains(column)) {
+                queryFields.put(FILTER_PREFIX + definition.getName(), attribute.queryField(column));
+            }
+        }
+        log.debug("Loaded {} attribute definitions, {} searchable", attributes.size(), queryFields.size());
+        return new Snapshot(List.copyOf(definitions), Collections.unmodifiableMap(attributes),
+                Collections.unmodifiableMap(queryFields));
+    }
+
+    private record Snapshot(List<AttributeDefinition> definitions, Map<String, CompiledAttribute> attributes,
+                            Map<String, QuerySchema.Field> queryFields) {
+    }
+}
@@ -0,0 +1,166 @@
+package com.windchill.service.attribute;
+
+import com.windchill.common.enums.FilterOperatorEnum;
+import com.windchill.common.exceptions.BusinessException;
+import com.windchill.domain.entity.AttributeDefinition;
+import com.windchill.service.query.QuerySchema;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.UnaryOperator;
+
+/**
+ * An attribute definition turned into a value check. The check is chosen once per definition
+ * when the registry loads, so validating a product costs a map lookup and a type test per
+ * value rather than anything driven by reflection.
+ */
+final class CompiledAttribute {
+    static final int DEFAULT_MAX_LENGTH = 255;
+    static final int MAX_SCALE = 4;
+    static final int MAX_INTEGER_DIGITS = 15;
+
+    private final AttributeDefinition definition;
+    private final UnaryOperator<Object> normalizer;
+
+    private CompiledAttribute(AttributeDefinition definition, UnaryOperator<Object> normalizer) {
+        this.definition = definition;
+        this.normalizer = normalizer;
+    }
+
+    static CompiledAttribute of(AttributeDefinition definition) {
+        String name = definition.getName();
+        UnaryOperator<Object> normalizer = switch (definition.getDataType()) {
+            case STRING -> {
+                int maxLength = definition.getMaxLength() != null ? definition.getMaxLength() : DEFAULT_MAX_LENGTH;
+                yield value -> {
+                    if (!(value instanceof String text) || text.isBlank()) {
+                        throw invalid(name, value, "a non-empty text");
+                    }
+                    String trimmed = text.trim();
+                    if (trimmed.length() > maxLength) {
+                        throw new BusinessException("Product attribute " + name + " is limited to " + maxLength
+                                + " characters");
+                    }
+                    return trimmed;
+                };
+            }
+            case ENUM -> {
+                List<String> values = List.copyOf(definition.getAllowedValues());
+                Set<String> allowed = Set.copyOf(values);
+                yield value -> {
+                    if (!(value instanceof String text) || !allowed.contains(text)) {
+                        throw invalid(name, value, "one of " + values);
+                    }
+                    return text;
+                };
+            }
+            case NUMBER -> {
+                BigDecimal min = definition.getMinValue();
+                BigDecimal max = definition.getMaxValue();
+                yield value -> {
+                    BigDecimal number = toDecimal(value);
+                    if (number == null) {
+                        throw invalid(name, value, "a number");
+                    }
+                    if (number.scale() > MAX_SCALE || number.precision() - number.scale() > MAX_INTEGER_DIGITS) {
+                        throw invalid(name, value, "a number with at most " + MAX_INTEGER_DIGITS + " digits before and "
+                                + MAX_SCALE + " after the decimal point");
+                    }
+                    if (min != null && number.compareTo(min) < 0) {
+                        throw invalid(name, value, "at least " + min.toPlainString());
+                    }
+                    if (max != null && number.compareTo(max) > 0) {
+                        throw invalid(name, value, "at most " + max.toPlainString());
+                    }
+                    return number;
+                };
+            }
+            case BOOLEAN -> value -> {
+                if (value instanceof Boolean) {
+                    return value;
+                }
+                if ("true".equals(value) || "false".equals(value)) {
+                    return Boolean.valueOf((String) value);
+                }
+                throw invalid(name, value, "true or false");
+            };
+        };
+        return new CompiledAttribute(definition, normalizer);
+    }
+
+    AttributeDefinition definition() {
+        return definition;
+    }
+
+    boolean required() {
+        return Boolean.TRUE.equals(definition.getRequired());
+    }
+
+    /**
+     * The value in its stored form: trimmed text, a {@link BigDecimal} without trailing zeros,
+     * or a {@link Boolean}. Throws a {@link BusinessException} naming the attribute otherwise.
+     */
+    Object normalize(Object value) {
+        return normalizer.apply(value);
+    }
+
+    /**
+     * The query filter over this attribute's generated column.
+     */
+    QuerySchema.Field queryField(String column) {
+        return switch (definition.getDataType()) {
+            case STRING, ENUM -> new QuerySchema.Field(definition.getName(), String.class, QuerySchema.EQUALITY, column);
+            case NUMBER -> new QuerySchema.Field(definition.getName(), BigDecimal.class, QuerySchema.RANGE, column);
+            case BOOLEAN -> new QuerySchema.Field(definition.getName(), Boolean.class, EnumSet.of(FilterOperatorEnum.EQ),
+                    column);
+        };
+    }
+
+    /**
+     * SQL type and expression of the generated column, read from the JSON value. Names are
+     * restricted to {@code [a-z0-9_]}, so they can be spliced into the JSON path.
+     */
+    String columnDefinition() {
+        String value = "JSON_EXTRACT(attributes, '$." + definition.getName() + "')";
+        String generated = switch (definition.getDataType()) {
+            case STRING, ENUM -> "VARCHAR(" + DEFAULT_MAX_LENGTH + ") AS (JSON_UNQUOTE(" + value + "))";
+            case NUMBER -> "DECIMAL(19, 4) AS (CAST(" + value + " AS DECIMAL(19, 4)))";
+            case BOOLEAN -> "BOOLEAN AS (" + value + " = CAST('true' AS JSON))";
+        };
+        return generated + " VIRTUAL";
+    }
+
+    private static BigDecimal toDecimal(Object value) {
+        BigDecimal number;
+        if (value instanceof BigDecimal decimal) {
+            number = decimal;
+        } else if (value instanceof Integer || value instanceof Long || value instanceof Short) {
+            number = BigDecimal.valueOf(((Number) value).longValue());
+        } else if (value instanceof BigInteger integer) {
+            number = new BigDecimal(integer);
+        } else if (value instanceof Double || value instanceof Float) {
+            double raw = ((Number) value).doubleValue();
+            if (!Double.isFinite(raw)) {
+                return null;
+            }
+            number = BigDecimal.valueOf(raw);
+        } else if (value instanceof String text) {
+            try {
+                number = new BigDecimal(text.trim());
+            } catch (NumberFormatException ex) {
+                return null;
+            }
+        } else {
+            return null;
+        }
+        number = number.stripTrailingZeros();
+        return number.scale() < 0 ? number.setScale(0) : number;
+    }
+
+    private static BusinessException invalid(String name, Object value, String expected) {
+        return new BusinessException("Product attribute " + name + " must be " + expected + ", got: " + value);
+    }
+}
@@ -0,0 +1,21 @@
+package com.windchill.service.attribute;
+
+import com.windchill.domain.entity.AttributeDefinition;
+
+import java.util.List;
+
+public interface IAttributeDefinitionService {
+    List<AttributeDefinition> getDefinitions();
+
+    AttributeDefinition getDefinition(String name);
+
+    AttributeDefinition createDefinition(AttributeDefinition definition);
+
+    AttributeDefinition updateDefinition(String name, AttributeDefinition details);
+
+    void deleteDefinition(String name);
+
+    AttributeColumnReport getSearchColumns();
+
+    AttributeColumnReport applySearchColumns();
+}
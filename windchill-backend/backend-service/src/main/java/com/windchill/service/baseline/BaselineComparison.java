@@ -0,0 +1,35 @@
+package com.windchill.service.baseline;
+
+import com.windchill.domain.entity.ProjectBaseline;
+
+/**
+ * A validated pair of baselines to diff with {@link IBaselineService#writeDiff}. Without a
+ * target baseline the diff runs against the project's current products and documents.
+ */
+public final class BaselineComparison {
+    private final Long projectId;
+    private final ProjectBaseline from;
+    private final ProjectBaseline to;
+
+    BaselineComparison(Long projectId, ProjectBaseline from, ProjectBaseline to) {
+        this.projectId = projectId;
+        this.from = from;
+        this.to = to;
+    }
+
+    public Long getProjectId() {
+        return projectId;
+    }
+
+    public ProjectBaseline getFrom() {
+        return from;
+    }
+
+    public ProjectBaseline getTo() {
+        return to;
+    }
+
+    public boolean isAgainstCurrent() {
+        return to == null;
+    }
+}
@@ -0,0 +1,292 @@
+package com.windchill.service.baseline;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.windchill.common.constants.APIConstants;
+import com.windchill.common.enums.BaselineItemTypeEnum;
+import com.windchill.common.exceptions.BusinessException;
+import com.windchill.common.exceptions.ResourceNotFoundException;
+import com.windchill.domain.entity.BaselineItem;
+import com.windchill.domain.entity.Project;
+import com.windchill.domain.entity.ProjectBaseline;
+import com.windchill.repository.BaselineItemRepository;
+import com.windchill.repository.DocumentRepository;
+import com.windchill.repository.ProductRepository;
+import com.windchill.repository.ProjectBaselineRepository;
+import com.windchill.repository.ProjectRepository;
+import com.windchill.service.access.IProjectAccessService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Project baselines. Capturing copies the project's active products and documents inside
+ * the database with one {@code INSERT ... SELECT} per item type, so nothing passes through
+ * the application. Diffs merge two id-ordered keyset cursors, one per side, in a single pass
+ * with one page per side in memory, and stream the changes out as they are found.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class BaselineServiceImpl implements IBaselineService {
+    private static final int FLUSH_EVERY = 1000;
+
+    private final ProjectBaselineRepository baselineRepository;
+    private final BaselineItemRepository itemRepository;
+    private final ProjectRepository projectRepository;
+    private final ProductRepository productRepository;
+    private final DocumentRepository documentRepository;
+    private final IProjectAccessService projectAccessService;
+    private final ObjectMapper objectMapper;
+
+    @Value("${app.baseline.diff-page-size:5000}")
+    private int diffPageSize;
+
+    @Override
+    public ProjectBaseline createBaseline(Long projectId, String name, String description) {
+        log.info("Capturing baseline '{}' of project {}", name, projectId);
+        Project project = projectRepository.findById(projectId)
+                .filter(found -> !found.getIsDeleted() && projectAccessService.current().canSee(found.getId()))
+                .orElseThrow(() -> new ResourceNotFoundException("Project", "id", projectId));
+        if (name == null || name.isBlank()) {
+            throw new BusinessException("Baseline name cannot be empty");
+        }
+        String duplicate = "Baseline already exists in project " + project.getProjectCode() + ": " + name;
+        if (baselineRepository.existsByProjectIdAndName(projectId, name)) {
+            throw new BusinessException(duplicate);
+        }
+
+        ProjectBaseline baseline = new ProjectBaseline();
+        baseline.setProjectId(projectId);
+        baseline.setName(name);
+        baseline.setDescription(description);
+        baseline.setCreatedAt(LocalDateTime.now());
+        try {
+            baseline = baselineRepository.saveAndFlush(baseline);
+        } catch (DataIntegrityViolationException ex) {
+            // a concurrent capture under the same name committed first
+            throw new BusinessException(duplicate);
+        }
+
+        long started = System.nanoTime();
+        baseline.setProductCount(itemRepository.captureProducts(baseline.getId(), projectId));
+        baseline.setDocumentCount(itemRepository.captureDocuments(baseline.getId(), projectId));
+        log.info("Baseline {} of project {} captured {} product(s) and {} document(s) in {} ms", baseline.getId(),
+                projectId, baseline.getProductCount(), baseline.getDocumentCount(),
+                (System.nanoTime() - started) / 1_000_000);
+        return baseline;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ProjectBaseline> getBaselines(Long projectId) {
+        log.debug("Fetching baselines of project: {}", projectId);
+        if (!projectAccessService.current().canSee(projectId)) {
+            throw new ResourceNotFoundException("Project", "id", projectId);
+        }
+        return baselineRepository.findByProjectIdOrderByIdDesc(projectId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ProjectBaseline getBaseline(Long projectId, Long baselineId) {
+        return baselineRepository.findById(baselineId)
+                .filter(baseline -> baseline.getProjectId().equals(projectId)
+                        && projectAccessService.current().canSee(projectId))
+                .orElseThrow(() -> new ResourceNotFoundException("ProjectBaseline", "id", baselineId));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<BaselineItem> getItems(Long projectId, Long baselineId, BaselineItemTypeEnum itemType, int page,
+                                       int size) {
+        getBaseline(projectId, baselineId);
+        return itemRepository.findByBaselineIdAndItemTypeOrderByItemId(baselineId, itemType, PageRequest.of(page, size));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public BaselineComparison compare(Long projectId, Long baselineId, Long againstBaselineId) {
+        ProjectBaseline from = getBaseline(projectId, baselineId);
+        ProjectBaseline to = againstBaselineId != null ? getBaseline(projectId, againstBaselineId) : null;
+        return new BaselineComparison(projectId, from, to);
+    }
+
+    /**
+     * Writes the diff as an {@code ApiResponse} JSON document: every item added, removed or
+     * changed in any frozen attribute between the two sides, then the totals. Runs in one
+     * read-only transaction so the pages of the current side come from one consistent
+     * snapshot.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void writeDiff(BaselineComparison comparison, OutputStream output) {
+        long started = System.nanoTime();
+        DiffTotals totals = new DiffTotals();
+        try (JsonGenerator json = objectMapper.getFactory().createGenerator(output)) {
+            json.writeStartObject();
+            json.writeBooleanField("success", true);
+            json.writeStringField("message", APIConstants.SUCCESS);
+            json.writeObjectFieldStart("data");
+            json.writeNumberField("projectId", comparison.getProjectId());
+            json.writeNumberField("fromBaselineId", comparison.getFrom().getId());
+            json.writeStringField("fromBaselineName", comparison.getFrom().getName());
+            if (comparison.isAgainstCurrent()) {
+                json.writeBooleanField("againstCurrent", true);
+            } else {
+                json.writeNumberField("toBaselineId", comparison.getTo().getId());
+                json.writeStringField("toBaselineName", comparison.getTo().getName());
+            }
+            json.writeArrayFieldStart("changes");
+            for (BaselineItemTypeEnum itemType : BaselineItemTypeEnum.values()) {
+                merge(json, itemType, cursor(comparison.getFrom(), itemType, comparison.getProjectId()),
+                        cursor(comparison.getTo(), itemType, comparison.getProjectId()), totals);
+            }
+            json.writeEndArray();
+            json.writeObjectFieldStart("summary");
+            json.writeNumberField("added", totals.added);
+            json.writeNumberField("removed", totals.removed);
+            json.writeNumberField("modified", totals.modified);
+            json.writeNumberField("unchanged", totals.unchanged);
+            json.writeEndObject();
+            json.writeEndObject();
+            json.writeNumberField("timestamp", System.currentTimeMillis());
+            json.writeEndObject();
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not write diff of baseline " + comparison.getFrom().getId(), ex);
+        }
+        log.info("Diffed baseline {} against {}: {} added, {} removed, {} modified, {} unchanged in {} ms",
+                comparison.getFrom().getId(), comparison.isAgainstCurrent() ? "current" : comparison.getTo().getId(),
+                totals.added, totals.removed, totals.modified, totals.unchanged,
+                (System.nanoTime() - started) / 1_000_000);
+    }
+
+    private KeysetCursor cursor(ProjectBaseline baseline, BaselineItemTypeEnum itemType, Long projectId) {
+        if (baseline != null) {
+            return new KeysetCursor((afterId, page) -> itemRepository.findRowsAfter(baseline.getId(),
+                    itemType.name(), afterId, page), diffPageSize);
+        }
+        return switch (itemType) {
+            case PRODUCT -> new KeysetCursor((afterId, page) -> productRepository.findBaselineRowsAfter(projectId,
+                    afterId, page), diffPageSize);
+            case DOCUMENT -> new KeysetCursor((afterId, page) -> documentRepository.findBaselineRowsAfter(projectId,
+                    afterId, page), diffPageSize);
+        };
+    }
+
+    /**
+     * Merge join of two id-ordered sides: an id only on the left was removed, one only on the
+     * right was added, and one on both sides is modified if its attributes differ.
+     */
+    private void merge(JsonGenerator json, BaselineItemTypeEnum itemType, KeysetCursor left, KeysetCursor right,
+                       DiffTotals totals) throws IOException {
+        Object[] before = left.peek();
+        Object[] after = right.peek();
+        while (before != null || after != null) {
+            int order = before == null ? 1 : after == null ? -1
+                    : Long.compare(KeysetCursor.id(before), KeysetCursor.id(after));
+            if (order < 0) {
+                writeChange(json, itemType, "REMOVED", before, null);
+                totals.removed++;
+                left.advance();
+            } else if (order > 0) {
+                writeChange(json, itemType, "ADDED", null, after);
+                totals.added++;
+                right.advance();
+            } else {
+                if (sameAttributes(before, after)) {
+                    totals.unchanged++;
+                } else {
+                    writeChange(json, itemType, "MODIFIED", before, after);
+                    totals.modified++;
+                }
+                left.advance();
+                right.advance();
+            }
+            if (totals.compared() % FLUSH_EVERY == 0) {
+                json.flush();
+            }
+            before = left.peek();
+            after = right.peek();
+        }
+    }
+
+    /**
+     * Compares the attribute digests of both sides. Items captured before digests were kept
+     * have none and fall back to the entity version, which misses changes made by bulk
+     * updates such as lifecycle transitions.
+     */
+    static boolean sameAttributes(Object[] before, Object[] after) {
+        byte[] beforeHash = (byte[]) before[7];
+        byte[] afterHash = (byte[]) after[7];
+        if (beforeHash != null && afterHash != null) {
+            return Arrays.equals(beforeHash, afterHash);
+        }
+        return Objects.equals(number(before[3]), number(after[3])) && Objects.equals(before[4], after[4])
+                && Objects.equals(before[5], after[5]);
+    }
+
+    private static Long number(Object value) {
+        return value != null ? ((Number) value).longValue() : null;
+    }
+
+    private void writeChange(JsonGenerator json, BaselineItemTypeEnum itemType, String change, Object[] before,
+                             Object[] after) throws IOException {
+        Object[] current = after != null ? after : before;
+        json.writeStartObject();
+        json.writeStringField("itemType", itemType.name());
+        json.writeNumberField("itemId", KeysetCursor.id(current));
+        json.writeStringField("itemNumber", (String) current[1]);
+        if (current[2] != null) {
+            json.writeStringField("itemName", (String) current[2]);
+        }
+        json.writeStringField("change", change);
+        if (before != null) {
+            writeSide(json, "from", before);
+        }
+        if (after != null) {
+            writeSide(json, "to", after);
+        }
+        json.writeEndObject();
+    }
+
+    private void writeSide(JsonGenerator json, String name, Object[] row) throws IOException {
+        json.writeObjectFieldStart(name);
+        if (row[3] != null) {
+            json.writeNumberField("entityVersion", ((Number) row[3]).longValue());
+        }
+        if (row[4] != null) {
+            json.writeStringField("versionNumber", (String) row[4]);
+        }
+        json.writeStringField("status", (String) row[5]);
+        if (row[6] != null) {
+            json.writeStringField("lifecycleState", (String) row[6]);
+        }
+        json.writeEndObject();
+    }
+
+    private static final class DiffTotals {
+        private long added;
+        private long removed;
+        private long modified;
+        private long unchanged;
+
+        long compared() {
+            return added + removed + modified + unchanged;
+        }
+    }
+}
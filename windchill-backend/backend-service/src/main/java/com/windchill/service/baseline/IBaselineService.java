@@ -0,0 +1,23 @@
+package com.windchill.service.baseline;
+
+import com.windchill.common.enums.BaselineItemTypeEnum;
+import com.windchill.domain.entity.BaselineItem;
+import com.windchill.domain.entity.ProjectBaseline;
+import org.springframework.data.domain.Page;
+
+import java.io.OutputStream;
+import java.util.List;
+
+public interface IBaselineService {
+    ProjectBaseline createBaseline(Long projectId, String name, String description);
+
+    List<ProjectBaseline> getBaselines(Long projectId);
+
+    ProjectBaseline getBaseline(Long projectId, Long baselineId);
+
+    Page<BaselineItem> getItems(Long projectId, Long baselineId, BaselineItemTypeEnum itemType, int page, int size);
+
+    BaselineComparison compare(Long projectId, Long baselineId, Long againstBaselineId);
+
+    void writeDiff(BaselineComparison comparison, OutputStream output);
+}
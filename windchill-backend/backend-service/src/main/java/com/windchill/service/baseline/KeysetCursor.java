@@ -0,0 +1,49 @@
+package com.windchill.service.baseline;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+import java.util.function.BiFunction;
+
+/**
+ * Forward-only cursor over rows in ascending id order ({@code row[0]}), read a page at a
+ * time by keyset: each page starts after the last id of the previous one, so every page is
+ * an index range scan however far the cursor has got, and only one page is held in memory.
+ */
+final class KeysetCursor {
+    private final BiFunction<Long, Pageable, List<Object[]>> pageLoader;
+    private final int pageSize;
+    private List<Object[]> page = List.of();
+    private int position;
+    private long lastId;
+    private boolean exhausted;
+
+    KeysetCursor(BiFunction<Long, Pageable, List<Object[]>> pageLoader, int pageSize) {
+        this.pageLoader = pageLoader;
+        this.pageSize = pageSize;
+    }
+
+    /**
+     * Returns the current row without consuming it, or null once all rows are consumed.
+     */
+    Object[] peek() {
+        if (position == page.size() && !exhausted) {
+            page = pageLoader.apply(lastId, PageRequest.of(0, pageSize));
+            position = 0;
+            exhausted = page.size() < pageSize;
+            if (!page.isEmpty()) {
+                lastId = id(page.get(page.size() - 1));
+            }
+        }
+        return position < page.size() ? page.get(position) : null;
+    }
+
+    void advance() {
+        position++;
+    }
+
+    static long id(Object[] row) {
+        return ((Number) row[0]).longValue();
+    }
+}
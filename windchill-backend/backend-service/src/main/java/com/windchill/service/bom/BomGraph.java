@@ -0,0 +1,333 @@
+package com.windchill.service.bom;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Immutable snapshot of the whole product structure in compressed sparse row form. Products
+ * are numbered with dense int ordinals; the usage links of ordinal {@code o} occupy
+ * {@code [offsets[o], offsets[o + 1])} of the parallel link arrays. Quantities are kept
+ * unscaled at {@link #QUANTITY_SCALE} so the graph holds no per-link objects apart from
+ * find numbers.
+ *
+ * <p>Ordinals are assigned in first-seen order and never reused, so a snapshot can be
+ * patched one parent at a time with {@link #withParentLinks} by copying the untouched link
+ * ranges around the replaced one.
+ *
+ * <p>Each snapshot also carries the reverse (where-used) index: the links using ordinal
+ * {@code o} as a child are {@code usageLinks[usageOffsets[o] .. usageOffsets[o + 1])}, as
+ * indexes into the forward link arrays. It is rebuilt with a counting sort whenever a
+ * snapshot is created, which costs about as much as the forward patch itself.
+ */
+final class BomGraph {
+    static final int QUANTITY_SCALE = 4;
+
+    private final LongIntMap ordinals;
+    private final long[] productIds;
+    private final int size;
+    private final int[] offsets;
+    private final int[] children;
+    private final long[] linkIds;
+    private final long[] quantities;
+    private final String[] findNumbers;
+    private final int[] linkParents;
+    private final int[] usageOffsets;
+    private final int[] usageLinks;
+
+    private BomGraph(LongIntMap ordinals, long[] productIds, int size, int[] offsets, int[] children,
+                     long[] linkIds, long[] quantities, String[] findNumbers) {
+        this.ordinals = ordinals;
+        this.productIds = productIds;
+        this.size = size;
+        this.offsets = offsets;
+        this.children = children;
+        this.linkIds = linkIds;
+        this.quantities = quantities;
+        this.findNumbers = findNumbers;
+
+        int linkCount = offsets[size];
+        linkParents = new int[linkCount];
+        usageOffsets = new int[size + 1];
+        for (int node = 0; node < size; node++) {
+            for (int link = offsets[node]; link < offsets[node + 1]; link++) {
+                linkParents[link] = node;
+                usageOffsets[children[link] + 1]++;
+            }
+        }
+        for (int node = 0; node < size; node++) {
+            usageOffsets[node + 1] += usageOffsets[node];
+        }
+        usageLinks = new int[linkCount];
+        int[] next = Arrays.copyOf(usageOffsets, size);
+        for (int link = 0; link < linkCount; link++) {
+            usageLinks[next[children[link]]++] = link;
+        }
+    }
+
+    /**
+     * Builds a snapshot from link rows. Rows of one parent keep their relative order.
+     */
+    static BomGraph build(List<LinkRow> rows) {
+        LongIntMap ordinals = new LongIntMap(rows.size() + 1);
+        long[] productIds = new long[Math.max(16, rows.size() + 1)];
+        int size = 0;
+        int[] parentOrdinals = new int[rows.size()];
+        int[] childOrdinals = new int[rows.size()];
+        for (int i = 0; i < rows.size(); i++) {
+            LinkRow row = rows.get(i);
+            for (int end = 0; end < 2; end++) {
+                long productId = end == 0 ? row.parentId() : row.childId();
+                int ordinal = ordinals.get(productId);
+                if (ordinal < 0) {
+                    ordinal = size++;
+                    if (ordinal == productIds.length) {
+                        productIds = Arrays.copyOf(productIds, productIds.length * 2);
+                    }
+                    productIds[ordinal] = productId;
+                    ordinals.put(productId, ordinal);
+                }
+                if (end == 0) {
+                    parentOrdinals[i] = ordinal;
+                } else {
+                    childOrdinals[i] = ordinal;
+                }
+            }
+        }
+
+        int[] offsets = new int[size + 1];
+        for (int parent : parentOrdinals) {
+            offsets[parent + 1]++;
+        }
+        for (int i = 0; i < size; i++) {
+            offsets[i + 1] += offsets[i];
+        }
+        int[] next = Arrays.copyOf(offsets, size);
+        int[] children = new int[rows.size()];
+        long[] linkIds = new long[rows.size()];
+        long[] quantities = new long[rows.size()];
+        String[] findNumbers = new String[rows.size()];
+        for (int i = 0; i < rows.size(); i++) {
+            int link = next[parentOrdinals[i]]++;
+            LinkRow row = rows.get(i);
+            children[link] = childOrdinals[i];
+            linkIds[link] = row.linkId();
+            quantities[link] = row.quantity();
+            findNumbers[link] = row.findNumber();
+        }
+        return new BomGraph(ordinals, productIds, size, offsets, children, linkIds, quantities, findNumbers);
+    }
+
+    /**
+     * Returns a new snapshot in which {@code parentId}'s links are replaced by {@code rows}.
+     * Costs one array copy of the link arrays; nothing is re-sorted or re-read.
+     */
+    BomGraph withParentLinks(long parentId, List<LinkRow> rows) {
+        LongIntMap newOrdinals = ordinals;
+        long[] newProductIds = productIds;
+        int newSize = size;
+        boolean copied = false;
+        for (int i = -1; i < rows.size(); i++) {
+            long productId = i < 0 ? parentId : rows.get(i).childId();
+            if ((copied ? newOrdinals : ordinals).get(productId) >= 0) {
+                continue;
+            }
+            if (!copied) {
+                newOrdinals = ordinals.copy();
+                newProductIds = Arrays.copyOf(productIds, Math.max(productIds.length, size + rows.size() + 1));
+                copied = true;
+            }
+            newProductIds[newSize] = productId;
+            newOrdinals.put(productId, newSize++);
+        }
+
+        int parent = newOrdinals.get(parentId);
+        int start = parent < size ? offsets[parent] : offsets[size];
+        int end = parent < size ? offsets[parent + 1] : offsets[size];
+        int delta = rows.size() - (end - start);
+        int linkCount = linkCount() + delta;
+
+        int[] newOffsets = new int[newSize + 1];
+        System.arraycopy(offsets, 0, newOffsets, 0, size + 1);
+        for (int o = size + 1; o <= newSize; o++) {
+            newOffsets[o] = offsets[size];
+        }
+        for (int o = parent + 1; o <= newSize; o++) {
+            newOffsets[o] += delta;
+        }
+
+        int[] newChildren = new int[linkCount];
+        long[] newLinkIds = new long[linkCount];
+        long[] newQuantities = new long[linkCount];
+        String[] newFindNumbers = new String[linkCount];
+        copyLinks(0, newChildren, newLinkIds, newQuantities, newFindNumbers, 0, start);
+        for (int i = 0; i < rows.size(); i++) {
+            LinkRow row = rows.get(i);
+            newChildren[start + i] = newOrdinals.get(row.childId());
+            newLinkIds[start + i] = row.linkId();
+            newQuantities[start + i] = row.quantity();
+            newFindNumbers[start + i] = row.findNumber();
+        }
+        copyLinks(end, newChildren, newLinkIds, newQuantities, newFindNumbers, start + rows.size(), linkCount() - end);
+        return new BomGraph(newOrdinals, newProductIds, newSize, newOffsets, newChildren, newLinkIds,
+                newQuantities, newFindNumbers);
+    }
+
+    private void copyLinks(int from, int[] toChildren, long[] toLinkIds, long[] toQuantities, String[] toFindNumbers,
+                           int to, int length) {
+        System.arraycopy(children, from, toChildren, to, length);
+        System.arraycopy(linkIds, from, toLinkIds, to, length);
+        System.arraycopy(quantities, from, toQuantities, to, length);
+        System.arraycopy(findNumbers, from, toFindNumbers, to, length);
+    }
+
+    int size() {
+        return size;
+    }
+
+    int linkCount() {
+        return offsets[size];
+    }
+
+    int ordinalOf(long productId) {
+        return ordinals.get(productId);
+    }
+
+    long productId(int ordinal) {
+        return productIds[ordinal];
+    }
+
+    int firstLink(int ordinal) {
+        return offsets[ordinal];
+    }
+
+    int endLink(int ordinal) {
+        return offsets[ordinal + 1];
+    }
+
+    int child(int link) {
+        return children[link];
+    }
+
+    int parent(int link) {
+        return linkParents[link];
+    }
+
+    long linkId(int link) {
+        return linkIds[link];
+    }
+
+    long quantity(int link) {
+        return quantities[link];
+    }
+
+    String findNumber(int link) {
+        return findNumbers[link];
+    }
+
+    int firstUsage(int ordinal) {
+        return usageOffsets[ordinal];
+    }
+
+    int endUsage(int ordinal) {
+        return usageOffsets[ordinal + 1];
+    }
+
+    /**
+     * Forward link index of the {@code i}-th usage; see {@link #firstUsage}.
+     */
+    int usageLink(int i) {
+        return usageLinks[i];
+    }
+
+    /**
+     * True if {@code to} is reachable from {@code from} by following usage links downwards.
+     */
+    boolean reaches(int from, int to) {
+        if (from == to) {
+            return true;
+        }
+        boolean[] seen = new boolean[size];
+        int[] queue = new int[size];
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = from;
+        seen[from] = true;
+        while (head < tail) {
+            int node = queue[head++];
+            for (int link = offsets[node]; link < offsets[node + 1]; link++) {
+                int child = children[link];
+                if (child == to) {
+                    return true;
+                }
+                if (!seen[child]) {
+                    seen[child] = true;
+                    queue[tail++] = child;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Depth-first, indented explosion below {@code root}, in find-number order at each level.
+     * Uses explicit stacks, so depth is bounded by {@code maxDepth} rather than the call stack.
+     * A link that would re-enter a product already on the current path is listed but not
+     * descended into.
+     */
+    List<BomLine> explode(int root, int maxDepth) {
+        List<BomLine> lines = new ArrayList<>();
+        int[] nodes = new int[maxDepth + 1];
+        int[] cursors = new int[maxDepth + 1];
+        BigDecimal[] extended = new BigDecimal[maxDepth + 1];
+        boolean[] onPath = new boolean[size];
+
+        nodes[0] = root;
+        cursors[0] = offsets[root];
+        extended[0] = BigDecimal.ONE;
+        onPath[root] = true;
+        int depth = 0;
+        while (depth >= 0) {
+            int node = nodes[depth];
+            int link = cursors[depth];
+            if (link == offsets[node + 1]) {
+                onPath[node] = false;
+                depth--;
+                continue;
+            }
+            cursors[depth]++;
+
+            int child = children[link];
+            BigDecimal quantity = BigDecimal.valueOf(quantities[link], QUANTITY_SCALE);
+            BigDecimal extendedQuantity = extended[depth].multiply(quantity, MathContext.DECIMAL64);
+            boolean leaf = offsets[child] == offsets[child + 1];
+            lines.add(new BomLine(depth + 1, productIds[child], productIds[node], linkIds[link], findNumbers[link],
+                    quantity, extendedQuantity.setScale(QUANTITY_SCALE, RoundingMode.HALF_UP), leaf, null, null, false));
+
+            if (!leaf && !onPath[child] && depth + 1 < maxDepth) {
+                depth++;
+                nodes[depth] = child;
+                cursors[depth] = offsets[child];
+                extended[depth] = extendedQuantity;
+                onPath[child] = true;
+            }
+        }
+        return lines;
+    }
+
+    /**
+     * One active usage link as loaded from the database.
+     */
+    record LinkRow(long linkId, long parentId, long childId, long quantity, String findNumber) {
+        static LinkRow of(Object[] row) {
+            BigDecimal quantity = (BigDecimal) row[3];
+            return new LinkRow(((Number) row[0]).longValue(), ((Number) row[1]).longValue(),
+                    ((Number) row[2]).longValue(),
+                    quantity.setScale(QUANTITY_SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact(),
+                    (String) row[4]);
+        }
+    }
+}
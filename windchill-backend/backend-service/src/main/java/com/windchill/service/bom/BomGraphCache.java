@@ -0,0 +1,76 @@
+package com.windchill.service.bom;
+
+import com.windchill.repository.ProductUsageLinkRepository;
+import com.windchill.service.event.BomChangedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+
+/**
+ * Holds the current {@link BomGraph} snapshot. Readers take the volatile reference without
+ * locking; writers swap in a patched snapshot after each committed link change, and a
+ * periodic full reload picks up changes made through other application nodes.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+class BomGraphCache {
+    private final ProductUsageLinkRepository productUsageLinkRepository;
+    private final Object writeLock = new Object();
+    private volatile BomGraph graph;
+
+    BomGraph current() {
+        BomGraph snapshot = graph;
+        if (snapshot == null) {
+            synchronized (writeLock) {
+                if (graph == null) {
+                    graph = load();
+                }
+                snapshot = graph;
+            }
+        }
+        return snapshot;
+    }
+
+    /**
+     * Runs ahead of other listeners for the same event, so they see the patched graph.
+     */
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    void onBomChanged(BomChangedEvent event) {
+        synchronized (writeLock) {
+            if (graph == null) {
+                return;
+            }
+            List<BomGraph.LinkRow> rows = productUsageLinkRepository.findActiveRowsByParent(event.parentProductId())
+                    .stream().map(BomGraph.LinkRow::of).toList();
+            graph = graph.withParentLinks(event.parentProductId(), rows);
+        }
+    }
+
+    @Scheduled(initialDelayString = "${app.bom.full-refresh-interval-ms:900000}",
+               fixedDelayString = "${app.bom.full-refresh-interval-ms:900000}")
+    void refresh() {
+        synchronized (writeLock) {
+            if (graph != null) {
+                graph = load();
+            }
+        }
+    }
+
+    private BomGraph load() {
+        long started = System.nanoTime();
+        List<BomGraph.LinkRow> rows = productUsageLinkRepository.findAllActiveRows().stream()
+                .map(BomGraph.LinkRow::of).toList();
+        BomGraph loaded = BomGraph.build(rows);
+        log.info("Loaded BOM graph: {} products, {} links in {} ms", loaded.size(), loaded.linkCount(),
+                (System.nanoTime() - started) / 1_000_000);
+        return loaded;
+    }
+}
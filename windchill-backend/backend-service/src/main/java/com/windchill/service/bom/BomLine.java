@@ -0,0 +1,30 @@
+package com.windchill.service.bom;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * One row of an indented multi-level BOM. {@code quantity} is per parent;
+ * {@code extendedQuantity} is the quantity per one unit of the exploded top-level product.
+ * A component of a project hidden from the caller keeps its place and quantities but is
+ * {@code restricted}: its id, code and name are withheld, as is the parent id of its children.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BomLine {
+    private int level;
+    private Long productId;
+    private Long parentProductId;
+    private Long linkId;
+    private String findNumber;
+    private BigDecimal quantity;
+    private BigDecimal extendedQuantity;
+    private boolean leaf;
+    private String productCode;
+    private String productName;
+    private boolean restricted;
+}
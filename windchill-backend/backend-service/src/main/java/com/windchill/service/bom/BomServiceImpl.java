@@ -0,0 +1,360 @@
+package com.windchill.service.bom;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.windchill.common.constants.APIConstants;
+import com.windchill.common.exceptions.BusinessException;
+import com.windchill.common.exceptions.ResourceNotFoundException;
+import com.windchill.domain.entity.Product;
+import com.windchill.domain.entity.ProductUsageLink;
+import com.windchill.repository.ProductRepository;
+import com.windchill.repository.ProductUsageLinkRepository;
+import com.windchill.service.access.IProjectAccessService;
+import com.windchill.service.access.ProjectAccess;
+import com.windchill.service.event.BomChangedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class BomServiceImpl implements IBomService {
+    private static final int LABEL_BATCH_SIZE = 1000;
+    private static final int MAX_QUANTITY_INTEGER_DIGITS = 8;
+
+    private final ProductUsageLinkRepository productUsageLinkRepository;
+    private final ProductRepository productRepository;
+    private final BomGraphCache bomGraphCache;
+    private final IProjectAccessService projectAccessService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+
+    @Value("${app.bom.max-depth:50}")
+    private int maxExplosionDepth;
+
+    @Value("${app.bom.where-used-max-paths:100}")
+    private int maxWhereUsedPaths;
+
+    @Override
+    public ProductUsageLink addLink(Long parentProductId, Long childProductId, BigDecimal quantity, String findNumber) {
+        log.info("Adding usage of product {} to assembly {}", childProductId, parentProductId);
+        requireProduct(parentProductId);
+        requireProduct(childProductId);
+        validateQuantity(quantity);
+        if (parentProductId.equals(childProductId)) {
+            throw new BusinessException("A product cannot use itself");
+        }
+        BomGraph graph = bomGraphCache.current();
+        int child = graph.ordinalOf(childProductId);
+        int parent = graph.ordinalOf(parentProductId);
+        if (child >= 0 && parent >= 0 && graph.reaches(child, parent)) {
+            throw new BusinessException("Adding product " + childProductId + " to " + parentProductId
+                    + " would create a cycle in the product structure");
+        }
+
+        ProductUsageLink link = new ProductUsageLink();
+        link.setParentProductId(parentProductId);
+        link.setChildProductId(childProductId);
+        link.setQuantity(quantity);
+        link.setFindNumber(findNumber);
+        ProductUsageLink savedLink = productUsageLinkRepository.save(link);
+        eventPublisher.publishEvent(new BomChangedEvent(parentProductId));
+        return savedLink;
+    }
+
+    @Override
+    public ProductUsageLink updateLink(Long parentProductId, Long linkId, BigDecimal quantity, String findNumber) {
+        log.info("Updating usage link {} of assembly {}", linkId, parentProductId);
+        ProductUsageLink link = getLink(parentProductId, linkId);
+        if (quantity != null) {
+            validateQuantity(quantity);
+            link.setQuantity(quantity);
+        }
+        if (findNumber != null) {
+            link.setFindNumber(findNumber);
+        }
+        ProductUsageLink savedLink = productUsageLinkRepository.save(link);
+        eventPublisher.publishEvent(new BomChangedEvent(parentProductId));
+        return savedLink;
+    }
+
+    @Override
+    public void removeLink(Long parentProductId, Long linkId) {
+        log.info("Removing usage link {} from assembly {}", linkId, parentProductId);
+        ProductUsageLink link = getLink(parentProductId, linkId);
+        link.setIsDeleted(true);
+        productUsageLinkRepository.save(link);
+        eventPublisher.publishEvent(new BomChangedEvent(parentProductId));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ProductUsageLink> getChildLinks(Long parentProductId) {
+        log.debug("Fetching usage links of assembly: {}", parentProductId);
+        requireProduct(parentProductId);
+        return productUsageLinkRepository.findActiveByParent(parentProductId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<BomLine> explode(Long productId, Integer maxDepth) {
+        requireProduct(productId);
+        int depth = maxDepth != null ? Math.min(Math.max(maxDepth, 1), maxExplosionDepth) : maxExplosionDepth;
+        BomGraph graph = bomGraphCache.current();
+        int root = graph.ordinalOf(productId);
+        if (root < 0) {
+            return List.of();
+        }
+
+        long started = System.nanoTime();
+        List<BomLine> lines = graph.explode(root, depth);
+        log.debug("Exploded BOM of product {}: {} line(s) in {} us", productId, lines.size(),
+                (System.nanoTime() - started) / 1000);
+        attachLabels(lines, projectAccessService.current());
+        return lines;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public BomSubtree getSubtree(Long productId) {
+        requireProduct(productId);
+        return BomSubtree.of(bomGraphCache.current(), productId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public WhereUsedReport whereUsed(Long productId, Integer maxDepth) {
+        requireProduct(productId);
+        int depth = maxDepth != null ? Math.min(Math.max(maxDepth, 1), maxExplosionDepth) : maxExplosionDepth;
+        BomGraph graph = bomGraphCache.current();
+        int component = graph.ordinalOf(productId);
+        if (component < 0) {
+            return new WhereUsedReport(productId, depth, graph, null, new BitSet());
+        }
+
+        long started = System.nanoTime();
+        WhereUsed whereUsed = WhereUsed.compute(graph, component, depth);
+        log.debug("Where-used of product {}: {} assemblies, {} top-level in {} us", productId,
+                whereUsed.ancestorCount(), whereUsed.topLevel().length, (System.nanoTime() - started) / 1000);
+        if (whereUsed.cycleDetected()) {
+            log.warn("Product structure above product {} contains a cycle; quantities of affected assemblies are omitted",
+                    productId);
+        }
+        return new WhereUsedReport(productId, depth, graph, whereUsed, hiddenAncestors(graph, whereUsed));
+    }
+
+    /**
+     * Ordinals of the assemblies above the component that belong to projects hidden from the
+     * current user, found with one projection query per batch of ancestors.
+     */
+    private BitSet hiddenAncestors(BomGraph graph, WhereUsed whereUsed) {
+        BitSet hidden = new BitSet();
+        ProjectAccess access = projectAccessService.current();
+        if (!access.hidesAny()) {
+            return hidden;
+        }
+        int[] ancestors = whereUsed.ancestors();
+        for (int from = 0; from < ancestors.length; from += LABEL_BATCH_SIZE) {
+            int to = Math.min(ancestors.length, from + LABEL_BATCH_SIZE);
+            Map<Long, Integer> ordinals = new HashMap<>((to - from) * 2);
+            for (int i = from; i < to; i++) {
+                ordinals.put(graph.productId(ancestors[i]), ancestors[i]);
+            }
+            for (Object[] label : productRepository.findLabelsByIdIn(ordinals.keySet())) {
+                if (!access.canSee((Long) label[3])) {
+                    hidden.set(ordinals.get((Long) label[0]));
+                }
+            }
+        }
+        return hidden;
+    }
+
+    /**
+     * Writes the report as an {@code ApiResponse} JSON document, one top-level product at a
+     * time. Product labels are looked up per batch of top-level products and paths are
+     * enumerated straight into the output, so a component used in thousands of assemblies
+     * never has its full result held in memory.
+     */
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void writeWhereUsed(WhereUsedReport report, OutputStream output) {
+        WhereUsed whereUsed = report.whereUsed();
+        BomGraph graph = report.graph();
+        int[] topLevel = whereUsed != null ? whereUsed.topLevel() : new int[0];
+        try (JsonGenerator json = objectMapper.getFactory().createGenerator(output)) {
+            json.writeStartObject();
+            json.writeBooleanField("success", true);
+            json.writeStringField("message", APIConstants.SUCCESS);
+            json.writeObjectFieldStart("data");
+            json.writeNumberField("productId", report.getProductId());
+            json.writeNumberField("maxDepth", report.maxDepth());
+            json.writeNumberField("assemblyCount", whereUsed != null ? whereUsed.ancestorCount() : 0);
+            json.writeNumberField("topLevelCount", topLevel.length);
+            json.writeBooleanField("cycleDetected", whereUsed != null && whereUsed.cycleDetected());
+            json.writeArrayFieldStart("topLevelProducts");
+            for (int from = 0; from < topLevel.length; from += LABEL_BATCH_SIZE) {
+                int to = Math.min(topLevel.length, from + LABEL_BATCH_SIZE);
+                List<Long> batch = new ArrayList<>(to - from);
+                for (int i = from; i < to; i++) {
+                    batch.add(graph.productId(topLevel[i]));
+                }
+                Map<Long, Object[]> labels = new HashMap<>(batch.size() * 2);
+                productRepository.findLabelsByIdIn(batch).forEach(row -> labels.put((Long) row[0], row));
+                for (int i = from; i < to; i++) {
+                    writeTopLevel(json, report, topLevel[i], labels.get(graph.productId(topLevel[i])));
+                }
+                json.flush();
+            }
+            json.writeEndArray();
+            json.writeEndObject();
+            json.writeNumberField("timestamp", System.currentTimeMillis());
+            json.writeEndObject();
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not write where-used of product " + report.getProductId(), ex);
+        }
+    }
+
+    /**
+     * Assemblies of hidden projects keep their quantities and place in the paths but are
+     * written without id, code or name.
+     */
+    private void writeTopLevel(JsonGenerator json, WhereUsedReport report, int top, Object[] label)
+            throws IOException {
+        BomGraph graph = report.graph();
+        WhereUsed whereUsed = report.whereUsed();
+        json.writeStartObject();
+        if (report.isHidden(top)) {
+            json.writeBooleanField("restricted", true);
+        } else {
+            json.writeNumberField("productId", graph.productId(top));
+        }
+        if (label != null && !report.isHidden(top)) {
+            json.writeStringField("productCode", (String) label[1]);
+            json.writeStringField("productName", (String) label[2]);
+            if (label[3] != null) {
+                json.writeNumberField("projectId", (Long) label[3]);
+            }
+        }
+        BigDecimal effective = whereUsed.effectiveQuantity(top);
+        if (effective != null) {
+            json.writeNumberField("effectiveQuantity", effective.setScale(BomGraph.QUANTITY_SCALE, RoundingMode.HALF_UP));
+        }
+        json.writeBooleanField("depthLimited", whereUsed.depthLimited(top));
+        json.writeArrayFieldStart("paths");
+        int found = whereUsed.forEachPath(top, maxWhereUsedPaths, (links, length) -> {
+            json.writeStartObject();
+            BigDecimal quantity = BigDecimal.ONE;
+            json.writeArrayFieldStart("steps");
+            for (int i = 0; i < length; i++) {
+                int link = links[i];
+                BigDecimal linkQuantity = BigDecimal.valueOf(graph.quantity(link), BomGraph.QUANTITY_SCALE);
+                quantity = quantity.multiply(linkQuantity, MathContext.DECIMAL64);
+                json.writeStartObject();
+                json.writeNumberField("linkId", graph.linkId(link));
+                if (report.isHidden(graph.child(link))) {
+                    json.writeBooleanField("restricted", true);
+                } else {
+                    json.writeNumberField("productId", graph.productId(graph.child(link)));
+                }
+                if (graph.findNumber(link) != null) {
+                    json.writeStringField("findNumber", graph.findNumber(link));
+                }
+                json.writeNumberField("quantity", linkQuantity);
+                json.writeEndObject();
+            }
+            json.writeEndArray();
+            json.writeNumberField("quantity", quantity.setScale(BomGraph.QUANTITY_SCALE, RoundingMode.HALF_UP));
+            json.writeEndObject();
+        });
+        json.writeEndArray();
+        json.writeBooleanField("pathsTruncated", found > maxWhereUsedPaths);
+        json.writeEndObject();
+    }
+
+    /**
+     * Fills in product codes and names with one projection query per batch of distinct ids,
+     * and masks the lines of products in projects hidden by {@code access}.
+     */
+    private void attachLabels(List<BomLine> lines, ProjectAccess access) {
+        Set<Long> productIds = new LinkedHashSet<>();
+        lines.forEach(line -> productIds.add(line.getProductId()));
+        Map<Long, Object[]> labels = new HashMap<>(productIds.size() * 2);
+        List<Long> batch = new ArrayList<>(LABEL_BATCH_SIZE);
+        for (Long productId : productIds) {
+            batch.add(productId);
+            if (batch.size() == LABEL_BATCH_SIZE) {
+                productRepository.findLabelsByIdIn(batch).forEach(row -> labels.put((Long) row[0], row));
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            productRepository.findLabelsByIdIn(batch).forEach(row -> labels.put((Long) row[0], row));
+        }
+        Set<Long> hidden = new HashSet<>();
+        labels.values().forEach(label -> {
+            if (!access.canSee((Long) label[3])) {
+                hidden.add((Long) label[0]);
+            }
+        });
+        for (BomLine line : lines) {
+            if (hidden.contains(line.getParentProductId())) {
+                line.setParentProductId(null);
+            }
+            if (hidden.contains(line.getProductId())) {
+                line.setProductId(null);
+                line.setRestricted(true);
+                continue;
+            }
+            Object[] label = labels.get(line.getProductId());
+            if (label != null) {
+                line.setProductCode((String) label[1]);
+                line.setProductName((String) label[2]);
+            }
+        }
+    }
+
+    private ProductUsageLink getLink(Long parentProductId, Long linkId) {
+        return productUsageLinkRepository.findById(linkId)
+                .filter(link -> !link.getIsDeleted() && link.getParentProductId().equals(parentProductId))
+                .orElseThrow(() -> new ResourceNotFoundException("ProductUsageLink", "id", linkId));
+    }
+
+    private Product requireProduct(Long productId) {
+        return productRepository.findById(productId)
+                .filter(product -> !product.getIsDeleted()
+                        && projectAccessService.current().canSee(product.getProjectId()))
+                .orElseThrow(() -> new ResourceNotFoundException("Product", "id", productId));
+    }
+
+    private void validateQuantity(BigDecimal quantity) {
+        if (quantity == null || quantity.signum() <= 0) {
+            throw new BusinessException("Quantity must be greater than 0");
+        }
+        if (quantity.stripTrailingZeros().scale() > BomGraph.QUANTITY_SCALE
+                || quantity.precision() - quantity.scale() > MAX_QUANTITY_INTEGER_DIGITS) {
+            throw new BusinessException("Quantity must have at most " + MAX_QUANTITY_INTEGER_DIGITS
+                    + " integer and " + BomGraph.QUANTITY_SCALE + " decimal digits");
+        }
+    }
+}
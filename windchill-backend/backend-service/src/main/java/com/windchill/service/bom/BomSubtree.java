@@ -0,0 +1,92 @@
+package com.windchill.service.bom;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A product and everything below it in the product structure, read from one graph snapshot
+ * so that every lookup sees the same structure. Products are listed bottom-up: each appears
+ * after all of its children, and shared components appear once.
+ */
+public final class BomSubtree {
+    private final BomGraph graph;
+    private final List<Long> productIds;
+
+    private BomSubtree(BomGraph graph, List<Long> productIds) {
+        this.graph = graph;
+        this.productIds = productIds;
+    }
+
+    static BomSubtree of(BomGraph graph, long rootId) {
+        int root = graph.ordinalOf(rootId);
+        if (root < 0) {
+            return new BomSubtree(graph, List.of(rootId));
+        }
+        // iterative post-order walk; a product is emitted once its last child has been
+        boolean[] seen = new boolean[graph.size()];
+        int[] nodes = new int[graph.size()];
+        int[] cursors = new int[graph.size()];
+        List<Long> ordered = new ArrayList<>();
+        int top = 0;
+        nodes[0] = root;
+        cursors[0] = graph.firstLink(root);
+        seen[root] = true;
+        while (top >= 0) {
+            int node = nodes[top];
+            int link = cursors[top];
+            if (link == graph.endLink(node)) {
+                ordered.add(graph.productId(node));
+                top--;
+                continue;
+            }
+            cursors[top]++;
+            int child = graph.child(link);
+            if (!seen[child]) {
+                seen[child] = true;
+                top++;
+                nodes[top] = child;
+                cursors[top] = graph.firstLink(child);
+            }
+        }
+        return new BomSubtree(graph, ordered);
+    }
+
+    public Long getRootProductId() {
+        return productIds.get(productIds.size() - 1);
+    }
+
+    public List<Long> getProductIds() {
+        return productIds;
+    }
+
+    /**
+     * Distinct direct children of a product in this subtree.
+     */
+    public List<Long> childrenOf(Long productId) {
+        int ordinal = graph.ordinalOf(productId);
+        if (ordinal < 0) {
+            return List.of();
+        }
+        long[] children = new long[graph.endLink(ordinal) - graph.firstLink(ordinal)];
+        for (int link = graph.firstLink(ordinal); link < graph.endLink(ordinal); link++) {
+            children[link - graph.firstLink(ordinal)] = graph.productId(graph.child(link));
+        }
+        return Arrays.stream(children).distinct().boxed().toList();
+    }
+
+    /**
+     * Distinct direct parents of a product, including assemblies outside this subtree.
+     */
+    public List<Long> parentsOf(Long productId) {
+        int ordinal = graph.ordinalOf(productId);
+        if (ordinal < 0) {
+            return List.of();
+        }
+        long[] parents = new long[graph.endUsage(ordinal) - graph.firstUsage(ordinal)];
+        for (int i = graph.firstUsage(ordinal); i < graph.endUsage(ordinal); i++) {
+            parents[i - graph.firstUsage(ordinal)] = graph.productId(graph.parent(graph.usageLink(i)));
+        }
+        return Arrays.stream(parents).distinct().boxed().toList();
+    }
+}
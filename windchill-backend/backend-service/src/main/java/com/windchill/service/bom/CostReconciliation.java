@@ -0,0 +1,20 @@
+package com.windchill.service.bom;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of a full cost recompute: how many stored rollups were out of step with it.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CostReconciliation {
+    private int assemblies;
+    private int levels;
+    private int changed;
+    private int removed;
+    private int skippedInCycles;
+    private long elapsedMs;
+}
@@ -0,0 +1,23 @@
+package com.windchill.service.bom;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Own and rolled-up cost of one product. For a leaf both are the same and
+ * {@code computedAt} is null.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CostRollup {
+    private Long productId;
+    private BigDecimal ownCost;
+    private BigDecimal rolledUpCost;
+    private boolean assembly;
+    private LocalDateTime computedAt;
+}
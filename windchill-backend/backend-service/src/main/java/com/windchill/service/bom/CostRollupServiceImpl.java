@@ -0,0 +1,443 @@
+package com.windchill.service.bom;
+
+import com.windchill.common.exceptions.BusinessException;
+import com.windchill.common.exceptions.ResourceNotFoundException;
+import com.windchill.domain.entity.Product;
+import com.windchill.domain.entity.ProductCostRollup;
+import com.windchill.repository.ProductCostRollupRepository;
+import com.windchill.repository.ProductRepository;
+import com.windchill.service.access.IProjectAccessService;
+import com.windchill.service.event.BomChangedEvent;
+import com.windchill.service.event.ProductCostChangedEvent;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+
+/**
+ * Keeps {@code product_cost_rollups} in step with product costs and the BOM. A cost or
+ * structure change marks the product dirty; a single rollup thread then recomputes only the
+ * dirty products and their transitive where-used assemblies, bottom-up in topological order,
+ * reading everything else from the stored rollups. A nightly full recompute evaluates the
+ * whole structure level by level, fanning each level out over a fork-join pool, and repairs
+ * any drift.
+ *
+ * <p>Both paths use the same {@link #rollup} arithmetic: exact {@code BigDecimal} products
+ * and sums, rounded once per assembly to the stored scale, so they agree to the last digit.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class CostRollupServiceImpl implements ICostRollupService {
+    private static final int COST_SCALE = 4;
+    private static final int BATCH_SIZE = 1000;
+    private static final int PARALLEL_THRESHOLD = 256;
+
+    private final ProductCostRollupRepository productCostRollupRepository;
+    private final ProductRepository productRepository;
+    private final BomGraphCache bomGraphCache;
+    private final IProjectAccessService projectAccessService;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${app.cost-rollup.parallelism:0}")
+    private int parallelism;
+
+    private final Set<Long> dirtyProducts = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean drainScheduled = new AtomicBoolean();
+    private ExecutorService rollupExecutor;
+    private ForkJoinPool recomputePool;
+    private TransactionTemplate transactionTemplate;
+
+    @PostConstruct
+    void init() {
+        rollupExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "cost-rollup");
+            thread.setDaemon(true);
+            return thread;
+        });
+        recomputePool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        rollupExecutor.shutdownNow();
+        recomputePool.shutdownNow();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductCostChanged(ProductCostChangedEvent event) {
+        markDirty(event.productId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBomChanged(BomChangedEvent event) {
+        markDirty(event.parentProductId());
+    }
+
+    /**
+     * The rolled-up cost of a visible product. It includes the cost of components in projects
+     * hidden from the caller, as one total that names none of them.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public CostRollup getCostRollup(Long productId) {
+        Product product = productRepository.findById(productId)
+                .filter(found -> !found.getIsDeleted() && projectAccessService.current().canSee(found.getProjectId()))
+                .orElseThrow(() -> new ResourceNotFoundException("Product", "id", productId));
+        BomGraph graph = bomGraphCache.current();
+        int ordinal = graph.ordinalOf(productId);
+        if (ordinal < 0 || graph.firstLink(ordinal) == graph.endLink(ordinal)) {
+            return new CostRollup(productId, product.getCost(), product.getCost(), false, null);
+        }
+        ProductCostRollup rollup = productCostRollupRepository.findById(productId).orElse(null);
+        if (rollup == null) {
+            markDirty(productId);
+            return new CostRollup(productId, product.getCost(), null, true, null);
+        }
+        return new CostRollup(productId, product.getCost(), rollup.getRolledUpCost(), true, rollup.getComputedAt());
+    }
+
+    @Override
+    @Scheduled(cron = "${app.cost-rollup.reconcile-cron:0 30 2 * * *}")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public CostReconciliation recomputeAll() {
+        try {
+            return rollupExecutor.submit(this::recompute).get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new BusinessException("Cost recompute interrupted");
+        } catch (ExecutionException ex) {
+            throw new BusinessException("Cost recompute failed", ex.getCause());
+        }
+    }
+
+    private void markDirty(Long productId) {
+        dirtyProducts.add(productId);
+        if (drainScheduled.compareAndSet(false, true)) {
+            rollupExecutor.execute(this::drainDirtyProducts);
+        }
+    }
+
+    /**
+     * Runs on the rollup thread. Changes arriving while a batch propagates are coalesced
+     * into the next batch.
+     */
+    private void drainDirtyProducts() {
+        while (true) {
+            Set<Long> batch = new HashSet<>();
+            for (Iterator<Long> it = dirtyProducts.iterator(); it.hasNext(); ) {
+                batch.add(it.next());
+                it.remove();
+            }
+            if (batch.isEmpty()) {
+                drainScheduled.set(false);
+                if (dirtyProducts.isEmpty() || !drainScheduled.compareAndSet(false, true)) {
+                    return;
+                }
+                continue;
+            }
+            try {
+                propagate(batch);
+            } catch (RuntimeException ex) {
+                log.error("Cost rollup failed for {} product(s); the next reconciliation will repair it", batch.size(), ex);
+            }
+        }
+    }
+
+    private void propagate(Set<Long> productIds) {
+        long started = System.nanoTime();
+        BomGraph graph = bomGraphCache.current();
+        int size = graph.size();
+        boolean[] affected = new boolean[size];
+        int[] members = new int[size];
+        int count = 0;
+        for (Long productId : productIds) {
+            int ordinal = graph.ordinalOf(productId);
+            if (ordinal >= 0 && !affected[ordinal]) {
+                affected[ordinal] = true;
+                members[count++] = ordinal;
+            }
+        }
+        for (int head = 0; head < count; head++) {
+            int node = members[head];
+            for (int i = graph.firstUsage(node); i < graph.endUsage(node); i++) {
+                int parent = graph.parent(graph.usageLink(i));
+                if (!affected[parent]) {
+                    affected[parent] = true;
+                    members[count++] = parent;
+                }
+            }
+        }
+        if (count == 0) {
+            return;
+        }
+
+        int[] pending = new int[size];
+        Set<Long> costIds = new HashSet<>();
+        Set<Long> rollupIds = new HashSet<>();
+        for (int i = 0; i < count; i++) {
+            int node = members[i];
+            costIds.add(graph.productId(node));
+            for (int link = graph.firstLink(node); link < graph.endLink(node); link++) {
+                int child = graph.child(link);
+                if (affected[child]) {
+                    pending[node]++;
+                } else if (graph.firstLink(child) < graph.endLink(child)) {
+                    rollupIds.add(graph.productId(child));
+                } else {
+                    costIds.add(graph.productId(child));
+                }
+            }
+        }
+        Map<Long, BigDecimal> costs = loadValues(costIds, productRepository::findCostsByIdIn);
+        Map<Long, BigDecimal> storedRollups = loadValues(rollupIds, productCostRollupRepository::findValuesByProductIdIn);
+        if (storedRollups.size() < rollupIds.size()) {
+            log.info("{} component rollup(s) not yet computed, running a full recompute instead",
+                    rollupIds.size() - storedRollups.size());
+            recompute();
+            return;
+        }
+
+        BigDecimal[] values = new BigDecimal[size];
+        IntFunction<BigDecimal> childValue = child -> {
+            if (affected[child]) {
+                return values[child];
+            }
+            long childId = graph.productId(child);
+            return graph.firstLink(child) < graph.endLink(child) ? storedRollups.get(childId) : costs.get(childId);
+        };
+        int[] ready = new int[count];
+        int readyCount = 0;
+        for (int i = 0; i < count; i++) {
+            if (pending[members[i]] == 0) {
+                ready[readyCount++] = members[i];
+            }
+        }
+        for (int head = 0; head < readyCount; head++) {
+            int node = ready[head];
+            values[node] = rollup(graph, node, costs.get(graph.productId(node)), childValue);
+            for (int i = graph.firstUsage(node); i < graph.endUsage(node); i++) {
+                int parent = graph.parent(graph.usageLink(i));
+                if (affected[parent] && --pending[parent] == 0) {
+                    ready[readyCount++] = parent;
+                }
+            }
+        }
+        if (readyCount < count) {
+            log.warn("{} assembly rollup(s) skipped: the product structure contains a cycle", count - readyCount);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        Map<Long, BigDecimal> upserts = new HashMap<>();
+        List<Long> removals = new ArrayList<>();
+        for (int i = 0; i < readyCount; i++) {
+            int node = ready[i];
+            if (graph.firstLink(node) < graph.endLink(node)) {
+                upserts.put(graph.productId(node), values[node]);
+            } else {
+                removals.add(graph.productId(node));
+            }
+        }
+        write(upserts, removals, now);
+        log.debug("Rolled up cost of {} product(s) for {} change(s) in {} ms", readyCount, productIds.size(),
+                (System.nanoTime() - started) / 1_000_000);
+    }
+
+    private CostReconciliation recompute() {
+        long started = System.nanoTime();
+        BomGraph graph = bomGraphCache.current();
+        int size = graph.size();
+
+        List<Long> allIds = new ArrayList<>(size);
+        for (int node = 0; node < size; node++) {
+            allIds.add(graph.productId(node));
+        }
+        Map<Long, BigDecimal> costs = loadValues(allIds, productRepository::findCostsByIdIn);
+        BigDecimal[] ownCosts = new BigDecimal[size];
+        for (int node = 0; node < size; node++) {
+            ownCosts[node] = costs.get(graph.productId(node));
+        }
+
+        // Height of each node above the leaves; nodes of equal height never depend on each other
+        int[] pending = new int[size];
+        int[] height = new int[size];
+        int[] order = new int[size];
+        int ordered = 0;
+        for (int node = 0; node < size; node++) {
+            pending[node] = graph.endLink(node) - graph.firstLink(node);
+            if (pending[node] == 0) {
+                order[ordered++] = node;
+            }
+        }
+        int maxHeight = 0;
+        for (int head = 0; head < ordered; head++) {
+            int node = order[head];
+            for (int i = graph.firstUsage(node); i < graph.endUsage(node); i++) {
+                int parent = graph.parent(graph.usageLink(i));
+                height[parent] = Math.max(height[parent], height[node] + 1);
+                if (--pending[parent] == 0) {
+                    order[ordered++] = parent;
+                    maxHeight = Math.max(maxHeight, height[parent]);
+                }
+            }
+        }
+        int[] levelStart = new int[maxHeight + 2];
+        for (int i = 0; i < ordered; i++) {
+            levelStart[height[order[i]] + 1]++;
+        }
+        for (int level = 0; level <= maxHeight; level++) {
+            levelStart[level + 1] += levelStart[level];
+        }
+        int[] levels = new int[ordered];
+        int[] next = levelStart.clone();
+        for (int i = 0; i < ordered; i++) {
+            levels[next[height[order[i]]]++] = order[i];
+        }
+
+        BigDecimal[] values = new BigDecimal[size];
+        for (int level = 0; level <= maxHeight; level++) {
+            recomputePool.invoke(new LevelTask(graph, levels, levelStart[level], levelStart[level + 1], ownCosts, values));
+        }
+
+        Map<Long, BigDecimal> stored = new HashMap<>();
+        productCostRollupRepository.findAllValues().forEach(row -> stored.put((Long) row[0], (BigDecimal) row[1]));
+        Map<Long, BigDecimal> upserts = new HashMap<>();
+        int assemblies = 0;
+        for (int i = 0; i < ordered; i++) {
+            int node = levels[i];
+            if (graph.firstLink(node) == graph.endLink(node)) {
+                continue;
+            }
+            assemblies++;
+            Long productId = graph.productId(node);
+            BigDecimal previous = stored.remove(productId);
+            if (previous == null || previous.compareTo(values[node]) != 0) {
+                upserts.put(productId, values[node]);
+            }
+        }
+        // whatever is left was an assembly once and is not any more (or sits on a cycle)
+        List<Long> removals = new ArrayList<>(stored.keySet());
+        write(upserts, removals, LocalDateTime.now());
+
+        long elapsedMs = (System.nanoTime() - started) / 1_000_000;
+        CostReconciliation result = new CostReconciliation(assemblies, maxHeight, upserts.size(), removals.size(),
+                size - ordered, elapsedMs);
+        log.info("Recomputed rolled-up cost of {} assemblies over {} level(s) in {} ms: {} changed, {} removed",
+                assemblies, maxHeight, elapsedMs, upserts.size(), removals.size());
+        if (size > ordered) {
+            log.warn("{} product(s) skipped in cost recompute: the product structure contains a cycle", size - ordered);
+        }
+        return result;
+    }
+
+    /**
+     * Own cost plus quantity times the rolled-up cost of each component, rounded once.
+     */
+    private static BigDecimal rollup(BomGraph graph, int node, BigDecimal ownCost, IntFunction<BigDecimal> childValue) {
+        BigDecimal total = ownCost != null ? ownCost : BigDecimal.ZERO;
+        for (int link = graph.firstLink(node); link < graph.endLink(node); link++) {
+            BigDecimal componentCost = childValue.apply(graph.child(link));
+            if (componentCost != null) {
+                total = total.add(BigDecimal.valueOf(graph.quantity(link), BomGraph.QUANTITY_SCALE).multiply(componentCost));
+            }
+        }
+        return total.setScale(COST_SCALE, RoundingMode.HALF_UP);
+    }
+
+    private void write(Map<Long, BigDecimal> upserts, List<Long> removals, LocalDateTime computedAt) {
+        List<Map.Entry<Long, BigDecimal>> entries = new ArrayList<>(upserts.entrySet());
+        for (int from = 0; from < entries.size(); from += BATCH_SIZE) {
+            List<Map.Entry<Long, BigDecimal>> batch = entries.subList(from, Math.min(entries.size(), from + BATCH_SIZE));
+            transactionTemplate.executeWithoutResult(status -> batch.forEach(entry ->
+                    productCostRollupRepository.upsert(entry.getKey(), entry.getValue(), computedAt)));
+        }
+        for (int from = 0; from < removals.size(); from += BATCH_SIZE) {
+            List<Long> batch = removals.subList(from, Math.min(removals.size(), from + BATCH_SIZE));
+            transactionTemplate.executeWithoutResult(status -> productCostRollupRepository.deleteByProductIdIn(batch));
+        }
+    }
+
+    private Map<Long, BigDecimal> loadValues(Collection<Long> ids,
+                                             Function<Collection<Long>, List<Object[]>> query) {
+        Map<Long, BigDecimal> values = new HashMap<>(ids.size() * 2);
+        List<Long> batch = new ArrayList<>(BATCH_SIZE);
+        for (Long id : ids) {
+            batch.add(id);
+            if (batch.size() == BATCH_SIZE) {
+                query.apply(batch).forEach(row -> values.put((Long) row[0], (BigDecimal) row[1]));
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            query.apply(batch).forEach(row -> values.put((Long) row[0], (BigDecimal) row[1]));
+        }
+        return values;
+    }
+
+    /**
+     * Computes one level of the full recompute, splitting the level in halves until the
+     * pieces are small enough to run sequentially.
+     */
+    private static final class LevelTask extends RecursiveAction {
+        private final BomGraph graph;
+        private final int[] nodes;
+        private final int from;
+        private final int to;
+        private final BigDecimal[] ownCosts;
+        private final BigDecimal[] values;
+
+        LevelTask(BomGraph graph, int[] nodes, int from, int to, BigDecimal[] ownCosts, BigDecimal[] values) {
+            this.graph = graph;
+            this.nodes = nodes;
+            this.from = from;
+            this.to = to;
+            this.ownCosts = ownCosts;
+            this.values = values;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= PARALLEL_THRESHOLD) {
+                for (int i = from; i < to; i++) {
+                    int node = nodes[i];
+                    values[node] = rollup(graph, node, ownCosts[node], child -> values[child]);
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new LevelTask(graph, nodes, from, middle, ownCosts, values),
+                    new LevelTask(graph, nodes, middle, to, ownCosts, values));
+        }
+    }
+}
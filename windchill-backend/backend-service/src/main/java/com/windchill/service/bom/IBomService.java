@@ -0,0 +1,25 @@
+package com.windchill.service.bom;
+
+import com.windchill.domain.entity.ProductUsageLink;
+
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.util.List;
+
+public interface IBomService {
+    ProductUsageLink addLink(Long parentProductId, Long childProductId, BigDecimal quantity, String findNumber);
+
+    ProductUsageLink updateLink(Long parentProductId, Long linkId, BigDecimal quantity, String findNumber);
+
+    void removeLink(Long parentProductId, Long linkId);
+
+    List<ProductUsageLink> getChildLinks(Long parentProductId);
+
+    List<BomLine> explode(Long productId, Integer maxDepth);
+
+    BomSubtree getSubtree(Long productId);
+
+    WhereUsedReport whereUsed(Long productId, Integer maxDepth);
+
+    void writeWhereUsed(WhereUsedReport report, OutputStream output);
+}
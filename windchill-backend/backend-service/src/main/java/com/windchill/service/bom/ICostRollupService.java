@@ -0,0 +1,7 @@
+package com.windchill.service.bom;
+
+public interface ICostRollupService {
+    CostRollup getCostRollup(Long productId);
+
+    CostReconciliation recomputeAll();
+}
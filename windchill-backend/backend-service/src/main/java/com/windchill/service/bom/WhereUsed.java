@@ -0,0 +1,195 @@
+package com.windchill.service.bom;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Where-used analysis of one component over a {@link BomGraph} snapshot. A breadth-first
+ * walk up the reverse index, bounded by {@code maxDepth}, marks every assembly using the
+ * component and its distance from it. Effective quantities (component units per unit of
+ * an assembly) are then summed bottom-up in topological order; assemblies that never become
+ * ready sit on a cycle and are reported instead of looping.
+ */
+final class WhereUsed {
+    private final BomGraph graph;
+    private final int component;
+    private final int maxDepth;
+    private final int[] depth;
+    private final BigDecimal[] effective;
+    private final int[] topLevel;
+    private final int[] ancestors;
+    private final BitSet depthLimited = new BitSet();
+    private final int ancestorCount;
+    private final boolean cycleDetected;
+
+    private WhereUsed(BomGraph graph, int component, int maxDepth) {
+        this.graph = graph;
+        this.component = component;
+        this.maxDepth = maxDepth;
+        this.depth = new int[graph.size()];
+        this.effective = new BigDecimal[graph.size()];
+        Arrays.fill(depth, -1);
+
+        int[] queue = new int[graph.size()];
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = component;
+        depth[component] = 0;
+        int tops = 0;
+        int[] topBuffer = new int[16];
+        while (head < tail) {
+            int node = queue[head++];
+            boolean hasParents = graph.firstUsage(node) < graph.endUsage(node);
+            if (node != component && (!hasParents || depth[node] == maxDepth)) {
+                if (tops == topBuffer.length) {
+                    topBuffer = Arrays.copyOf(topBuffer, tops * 2);
+                }
+                topBuffer[tops++] = node;
+                if (hasParents) {
+                    depthLimited.set(node);
+                }
+            }
+            if (depth[node] == maxDepth) {
+                continue;
+            }
+            for (int i = graph.firstUsage(node); i < graph.endUsage(node); i++) {
+                int parent = graph.parent(graph.usageLink(i));
+                if (depth[parent] < 0) {
+                    depth[parent] = depth[node] + 1;
+                    queue[tail++] = parent;
+                }
+            }
+        }
+        this.ancestorCount = tail - 1;
+        this.ancestors = Arrays.copyOfRange(queue, 1, tail);
+        this.topLevel = Arrays.copyOf(topBuffer, tops);
+        this.cycleDetected = !accumulate(queue, tail);
+    }
+
+    static WhereUsed compute(BomGraph graph, int component, int maxDepth) {
+        return new WhereUsed(graph, component, maxDepth);
+    }
+
+    /**
+     * Kahn's algorithm over the marked sub-graph: an assembly is ready once every link from it
+     * to a marked child has been folded in. Returns false if some assembly never became ready.
+     */
+    private boolean accumulate(int[] marked, int count) {
+        int[] pending = new int[graph.size()];
+        for (int i = 1; i < count; i++) {
+            int node = marked[i];
+            for (int link = graph.firstLink(node); link < graph.endLink(node); link++) {
+                if (depth[graph.child(link)] >= 0) {
+                    pending[node]++;
+                }
+            }
+        }
+        int[] ready = new int[count];
+        int head = 0;
+        int tail = 0;
+        ready[tail++] = component;
+        effective[component] = BigDecimal.ONE;
+        while (head < tail) {
+            int node = ready[head++];
+            for (int i = graph.firstUsage(node); i < graph.endUsage(node); i++) {
+                int link = graph.usageLink(i);
+                int parent = graph.parent(link);
+                if (depth[parent] < 0 || parent == component) {
+                    continue;
+                }
+                BigDecimal contribution = effective[node]
+                        .multiply(BigDecimal.valueOf(graph.quantity(link), BomGraph.QUANTITY_SCALE), MathContext.DECIMAL64);
+                effective[parent] = effective[parent] == null ? contribution : effective[parent].add(contribution);
+                if (--pending[parent] == 0) {
+                    ready[tail++] = parent;
+                }
+            }
+        }
+        return tail == count;
+    }
+
+    int[] topLevel() {
+        return topLevel;
+    }
+
+    /**
+     * Every assembly using the component within the depth bound, nearest first.
+     */
+    int[] ancestors() {
+        return ancestors;
+    }
+
+    int ancestorCount() {
+        return ancestorCount;
+    }
+
+    boolean cycleDetected() {
+        return cycleDetected;
+    }
+
+    boolean depthLimited(int top) {
+        return depthLimited.get(top);
+    }
+
+    BigDecimal effectiveQuantity(int top) {
+        return effective[top];
+    }
+
+    /**
+     * Enumerates the usage paths from {@code top} down to the component, at most
+     * {@code maxPaths} of them. Returns the number of paths visited, which is
+     * {@code maxPaths + 1} when the enumeration was cut short.
+     */
+    int forEachPath(int top, int maxPaths, PathConsumer consumer) throws IOException {
+        int[] nodes = new int[maxDepth + 1];
+        int[] cursors = new int[maxDepth + 1];
+        int[] links = new int[maxDepth];
+        boolean[] onPath = new boolean[graph.size()];
+        int found = 0;
+
+        nodes[0] = top;
+        cursors[0] = graph.firstLink(top);
+        onPath[top] = true;
+        int length = 0;
+        while (length >= 0) {
+            int node = nodes[length];
+            int link = cursors[length];
+            if (link == graph.endLink(node)) {
+                onPath[node] = false;
+                length--;
+                continue;
+            }
+            cursors[length]++;
+            int child = graph.child(link);
+            // only follow links that can still reach the component within the depth bound
+            if (depth[child] < 0 || onPath[child] || length + 1 + depth[child] > maxDepth) {
+                continue;
+            }
+            links[length] = link;
+            if (child == component) {
+                if (++found > maxPaths) {
+                    return found;
+                }
+                consumer.accept(links, length + 1);
+                continue;
+            }
+            length++;
+            nodes[length] = child;
+            cursors[length] = graph.firstLink(child);
+            onPath[child] = true;
+        }
+        return found;
+    }
+
+    @FunctionalInterface
+    interface PathConsumer {
+        /**
+         * Receives one path as forward link indexes, top-level assembly first. The array is
+         * reused between calls.
+         */
+        void accept(int[] links, int length) throws IOException;
+    }
+}
@@ -0,0 +1,50 @@
+package com.windchill.service.bom;
+
+import java.util.BitSet;
+
+/**
+ * A computed where-used analysis, ready to be written out with
+ * {@link IBomService#writeWhereUsed}. Holds the graph snapshot it was computed from, so the
+ * output stays consistent even if the structure changes while it streams, and the ordinals
+ * of the assemblies in projects hidden from the requesting user, resolved while the request
+ * still had its user.
+ */
+public final class WhereUsedReport {
+    private final Long productId;
+    private final int maxDepth;
+    private final BomGraph graph;
+    private final WhereUsed whereUsed;
+    private final BitSet hidden;
+
+    WhereUsedReport(Long productId, int maxDepth, BomGraph graph, WhereUsed whereUsed, BitSet hidden) {
+        this.productId = productId;
+        this.maxDepth = maxDepth;
+        this.graph = graph;
+        this.whereUsed = whereUsed;
+        this.hidden = hidden;
+    }
+
+    public Long getProductId() {
+        return productId;
+    }
+
+    public int getTopLevelCount() {
+        return whereUsed != null ? whereUsed.topLevel().length : 0;
+    }
+
+    int maxDepth() {
+        return maxDepth;
+    }
+
+    BomGraph graph() {
+        return graph;
+    }
+
+    WhereUsed whereUsed() {
+        return whereUsed;
+    }
+
+    boolean isHidden(int ordinal) {
+        return hidden.get(ordinal);
+    }
+}
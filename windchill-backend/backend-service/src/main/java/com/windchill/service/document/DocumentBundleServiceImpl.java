@@ -0,0 +1,243 @@
+package com.windchill.service.document;
+
+import com.windchill.common.enums.StatusEnum;
+import com.windchill.common.exceptions.ResourceNotFoundException;
+import com.windchill.domain.entity.Document;
+import com.windchill.repository.DocumentRepository;
+import com.windchill.repository.ProjectRepository;
+import com.windchill.service.access.IProjectAccessService;
+import com.windchill.service.storage.IStorageTieringService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Builds a ZIP of a project's documents on the fly. A background reader pulls file content
+ * into a small bounded queue and the caller's thread drains it into the ZIP stream, so the
+ * reader blocks whenever the client is slower than the disk. Already-compressed formats are
+ * written at deflate level 0 instead of being deflated a second time.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DocumentBundleServiceImpl implements IDocumentBundleService {
+    private static final Set<String> COMPRESSED_EXTENSIONS = Set.of(
+            "zip", "gz", "tgz", "bz2", "xz", "7z", "rar", "jar",
+            "jpg", "jpeg", "png", "gif", "webp", "heic",
+            "mp3", "mp4", "mov", "avi", "mkv",
+            "pdf", "docx", "xlsx", "pptx", "odt", "ods", "odp");
+    private static final int SEGMENT_SIZE = 64 * 1024;
+    private static final long OFFER_TIMEOUT_MS = 100;
+
+    private final DocumentRepository documentRepository;
+    private final ProjectRepository projectRepository;
+    private final IStorageTieringService tieringService;
+    private final IProjectAccessService projectAccessService;
+
+    @Value("${app.bundle.reader-threads:4}")
+    private int readerThreads;
+
+    @Value("${app.bundle.queue-segments:16}")
+    private int queueSegments;
+
+    private ExecutorService readers;
+
+    @PostConstruct
+    void init() {
+        AtomicInteger counter = new AtomicInteger();
+        readers = Executors.newFixedThreadPool(readerThreads, runnable -> {
+            Thread thread = new Thread(runnable, "bundle-reader-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        readers.shutdownNow();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Document> getBundleDocuments(Long projectId, StatusEnum status, String documentType) {
+        log.debug("Collecting bundle documents for project: {}", projectId);
+        projectRepository.findById(projectId)
+                .filter(project -> !project.getIsDeleted() && projectAccessService.current().canSee(project.getId()))
+                .orElseThrow(() -> new ResourceNotFoundException("Project", "id", projectId));
+        return documentRepository.findBundleDocuments(projectId, status, documentType);
+    }
+
+    @Override
+    public void writeBundle(List<Document> documents, OutputStream output) {
+        BlockingQueue<Segment> queue = new ArrayBlockingQueue<>(queueSegments);
+        AtomicBoolean cancelled = new AtomicBoolean();
+        Future<?> reader = readers.submit(() -> read(documents, queue, cancelled));
+
+        ZipOutputStream zip = new ZipOutputStream(output);
+        boolean entryOpen = false;
+        int entries = 0;
+        try {
+            while (true) {
+                Segment segment = queue.take();
+                if (segment.error != null) {
+                    throw new IOException("Could not read bundle content", segment.error);
+                }
+                if (segment.end) {
+                    break;
+                }
+                if (segment.entry != null) {
+                    if (entryOpen) {
+                        zip.closeEntry();
+                    }
+                    zip.setLevel(segment.level);
+                    zip.putNextEntry(segment.entry);
+                    entryOpen = true;
+                    entries++;
+                } else {
+                    zip.write(segment.data, 0, segment.length);
+                }
+            }
+            if (entryOpen) {
+                zip.closeEntry();
+            }
+            zip.finish();
+            zip.flush();
+            log.info("Streamed bundle with {} document(s)", entries);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new UncheckedIOException(new InterruptedIOException("Bundle streaming interrupted"));
+        } finally {
+            cancelled.set(true);
+            reader.cancel(true);
+        }
+    }
+
+    private void read(List<Document> documents, BlockingQueue<Segment> queue, AtomicBoolean cancelled) {
+        try {
+            for (Document document : documents) {
+                if (cancelled.get()) {
+                    return;
+                }
+                ZipEntry entry = new ZipEntry(entryName(document));
+                InputStream in;
+                try {
+                    in = tieringService.readContent(document);
+                } catch (UncheckedIOException | ResourceNotFoundException ex) {
+                    log.warn("Skipping document {} in bundle: {}", document.getId(), ex.getMessage());
+                    continue;
+                }
+                try (in) {
+                    // Level 0 emits stored deflate blocks (5 bytes overhead per 64 KB). Unlike a
+                    // STORED entry it needs no size or CRC up front, so the content is read once
+                    int level = isCompressed(document) ? Deflater.NO_COMPRESSION : Deflater.DEFAULT_COMPRESSION;
+                    put(queue, Segment.start(entry, level), cancelled);
+                    while (true) {
+                        byte[] buffer = new byte[SEGMENT_SIZE];
+                        int length = in.readNBytes(buffer, 0, buffer.length);
+                        if (length == 0) {
+                            break;
+                        }
+                        put(queue, Segment.data(buffer, length), cancelled);
+                    }
+                }
+            }
+            put(queue, Segment.END, cancelled);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } catch (Exception ex) {
+            try {
+                put(queue, Segment.failed(ex), cancelled);
+            } catch (InterruptedException interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void put(BlockingQueue<Segment> queue, Segment segment, AtomicBoolean cancelled) throws InterruptedException {
+        while (!queue.offer(segment, OFFER_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+            if (cancelled.get()) {
+                throw new InterruptedException("Bundle cancelled");
+            }
+        }
+    }
+
+    private boolean isCompressed(Document document) {
+        String name = document.getFileName();
+        if (name != null && name.lastIndexOf('.') >= 0) {
+            String extension = name.substring(name.lastIndexOf('.') + 1).toLowerCase(Locale.ROOT);
+            if (COMPRESSED_EXTENSIONS.contains(extension)) {
+                return true;
+            }
+        }
+        String mimeType = document.getMimeType();
+        return mimeType != null && (mimeType.startsWith("image/") || mimeType.startsWith("video/")
+                || mimeType.startsWith("audio/") || mimeType.equals("application/zip"));
+    }
+
+    private String entryName(Document document) {
+        String fileName = document.getFileName() != null ? document.getFileName() : "content";
+        return sanitize(document.getDocumentNumber()) + "/" + sanitize(fileName);
+    }
+
+    private String sanitize(String name) {
+        return name.replaceAll("[\\\\/:*?\"<>|]", "_");
+    }
+
+    private static final class Segment {
+        private static final Segment END = new Segment(null, 0, null, 0, null, true);
+
+        private final ZipEntry entry;
+        private final int level;
+        private final byte[] data;
+        private final int length;
+        private final Throwable error;
+        private final boolean end;
+
+        private Segment(ZipEntry entry, int level, byte[] data, int length, Throwable error, boolean end) {
+            this.entry = entry;
+            this.level = level;
+            this.data = data;
+            this.length = length;
+            this.error = error;
+            this.end = end;
+        }
+
+        static Segment start(ZipEntry entry, int level) {
+            return new Segment(entry, level, null, 0, null, false);
+        }
+
+        static Segment data(byte[] data, int length) {
+            return new Segment(null, 0, data, length, null, false);
+        }
+
+        static Segment failed(Throwable error) {
+            return new Segment(null, 0, null, 0, error, false);
+        }
+    }
+}
@@ -5,12 +5,22 @@ import com.windchill.common.exceptions.ResourceNotFoundException;
 import com.windchill.common.enums.StatusEnum;
 import com.windchill.domain.entity.Document;
 import com.windchill.repository.DocumentRepository;
+import com.windchill.service.access.IProjectAccessService;
+import com.windchill.service.access.ProjectAccess;
+import com.windchill.service.indexing.IDocumentIndexingService;
+import com.windchill.service.numbering.INumberingService;
+import com.windchill.service.query.FilterQuery;
+import com.windchill.service.query.FilterQueryExecutor;
+import com.windchill.service.query.KeysetPage;
+import com.windchill.service.query.QuerySchemas;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
@@ -18,14 +28,17 @@ import java.util.List;
 @Transactional
 public class DocumentServiceImpl implements IDocumentService {
     private final DocumentRepository documentRepository;
+    private final IDocumentIndexingService indexingService;
+    private final IProjectAccessService projectAccessService;
+    private final FilterQueryExecutor filterQueryExecutor;
+    private final INumberingService numberingService;
 
     @Override
     public Document createDocument(Document document) {
-        log.info("Creating new document: {}", document.getDocumentNumber());
-
         if (document.getDocumentNumber() == null || document.getDocumentNumber().isEmpty()) {
-            throw new BusinessException("Document number cannot be empty");
+            document.setDocumentNumber(numberingService.nextDocumentNumber(document));
         }
+        log.info("Creating new document: {}", document.getDocumentNumber());
 
         Document existingDoc = documentRepository.findByDocumentNumber(document.getDocumentNumber()).orElse(null);
         if (existingDoc != null && !existingDoc.getIsDeleted()) {
@@ -43,6 +56,7 @@ public class DocumentServiceImpl implements IDocumentService {
     public Document getDocumentById(Long id) {
         log.debug("Fetching document by id: {}", id);
         return documentRepository.findById(id)
+                .filter(document -> projectAccessService.current().canSee(document.getProjectId()))
                 .orElseThrow(() -> new ResourceNotFoundException("Document", "id", id));
     }
 
@@ -51,6 +65,7 @@ public class DocumentServiceImpl implements IDocumentService {
     public Document getDocumentByNumber(String documentNumber) {
         log.debug("Fetching document by number: {}", documentNumber);
         return documentRepository.findByDocumentNumber(documentNumber)
+                .filter(document -> projectAccessService.current().canSee(document.getProjectId()))
                 .orElseThrow(() -> new ResourceNotFoundException("Document", "number", documentNumber));
     }
 
@@ -58,28 +73,54 @@ public class DocumentServiceImpl implements IDocumentService {
     @Transactional(readOnly = true)
     public List<Document> getAllDocuments() {
         log.debug("Fetching all documents");
-        return documentRepository.findAllActive();
+        return projectAccessService.current().filter(documentRepository.findAllActive(), Document::getProjectId);
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<Document> getDocumentsByProject(Long projectId) {
         log.debug("Fetching documents for project: {}", projectId);
-        return documentRepository.findByProjectIdAndIsDeletedFalse(projectId);
+        return projectAccessService.current().filter(documentRepository.findByProjectIdAndIsDeletedFalse(projectId),
+                Document::getProjectId);
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<Document> getDocumentsByStatus(StatusEnum status) {
         log.debug("Fetching documents by status: {}", status);
-        return documentRepository.findByStatusAndIsDeletedFalse(status);
+        return projectAccessService.current().filter(documentRepository.findByStatusAndIsDeletedFalse(status),
+                Document::getProjectId);
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<Document> searchDocuments(String keyword) {
         log.debug("Searching documents with keyword: {}", keyword);
-        return documentRepository.findByTitleContaining(keyword);
+        ProjectAccess access = projectAccessService.current();
+        Map<Long, Document> results = new LinkedHashMap<>();
+        access.filter(documentRepository.findByTitleContaining(keyword), Document::getProjectId)
+                .forEach(document -> results.put(document.getId(), document));
+        List<Long> contentMatches = indexingService.searchContent(keyword).stream()
+                .filter(id -> !results.containsKey(id))
+                .toList();
+        if (!contentMatches.isEmpty()) {
+            Map<Long, Document> matched = new LinkedHashMap<>();
+            documentRepository.findAllById(contentMatches).forEach(document -> matched.put(document.getId(), document));
+            // keep the relevance order of the content search
+            contentMatches.stream()
+                    .map(matched::get)
+                    .filter(document -> document != null && !document.getIsDeleted())
+                    .filter(document -> access.canSee(document.getProjectId()))
+                    .forEach(document -> results.put(document.getId(), document));
+        }
+        return List.copyOf(results.values());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public KeysetPage<Document> queryDocuments(FilterQuery query) {
+        log.debug("Querying documents: {}", query);
+        return filterQueryExecutor.execute(QuerySchemas.DOCUMENTS, query, projectAccessService.current());
     }
 
     @Override
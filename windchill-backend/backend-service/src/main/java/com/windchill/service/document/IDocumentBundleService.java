@@ -0,0 +1,13 @@
+package com.windchill.service.document;
+
+import com.windchill.common.enums.StatusEnum;
+import com.windchill.domain.entity.Document;
+
+import java.io.OutputStream;
+import java.util.List;
+
+public interface IDocumentBundleService {
+    List<Document> getBundleDocuments(Long projectId, StatusEnum status, String documentType);
+
+    void writeBundle(List<Document> documents, OutputStream output);
+}
@@ -2,6 +2,8 @@ package com.windchill.service.document;
 
 import com.windchill.domain.entity.Document;
 import com.windchill.common.enums.StatusEnum;
+import com.windchill.service.query.FilterQuery;
+import com.windchill.service.query.KeysetPage;
 
 import java.util.List;
 
@@ -20,6 +22,8 @@ public interface IDocumentService {
     
     List<Document> searchDocuments(String keyword);
     
+    KeysetPage<Document> queryDocuments(FilterQuery query);
+    
     Document updateDocument(Long id, Document documentDetails);
     
     void deleteDocument(Long id);
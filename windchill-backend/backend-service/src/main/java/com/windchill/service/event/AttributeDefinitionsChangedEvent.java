@@ -0,0 +1,7 @@
+package com.windchill.service.event;
+
+/**
+ * Published when a custom attribute definition is created, changed or deleted.
+ */
+public record AttributeDefinitionsChangedEvent(String name) {
+}
@@ -0,0 +1,8 @@
+package com.windchill.service.event;
+
+/**
+ * Published when the single-level BOM of {@code parentProductId} changes: a usage link was
+ * added, edited or removed.
+ */
+public record BomChangedEvent(Long parentProductId) {
+}
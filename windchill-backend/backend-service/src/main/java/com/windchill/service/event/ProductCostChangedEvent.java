@@ -0,0 +1,7 @@
+package com.windchill.service.event;
+
+/**
+ * Published when a product's own {@code cost} changes.
+ */
+public record ProductCostChangedEvent(Long productId) {
+}
@@ -0,0 +1,9 @@
+package com.windchill.service.event;
+
+import java.util.List;
+
+/**
+ * Published when products were created, edited, deleted or moved to another lifecycle state.
+ */
+public record ProductsChangedEvent(List<Long> productIds) {
+}
@@ -0,0 +1,10 @@
+package com.windchill.service.event;
+
+import java.util.List;
+
+/**
+ * Published when a project's confidentiality, manager or members change. {@code userIds}
+ * are the users whose visible projects may have changed.
+ */
+public record ProjectAccessChangedEvent(Long projectId, List<Long> userIds) {
+}
@@ -0,0 +1,11 @@
+package com.windchill.service.event;
+
+/**
+ * Published when a product's stock drops to or below its reorder level
+ * ({@code belowReorderLevel} true) or recovers above it. Published within the transaction of
+ * the stock change, once per crossing; listeners acting on a reorder should use
+ * {@code @TransactionalEventListener} so they only see committed stock.
+ */
+public record ReorderThresholdCrossedEvent(Long productId, boolean belowReorderLevel, int quantityOnHand,
+                                           Integer reorderLevel) {
+}
@@ -0,0 +1,7 @@
+package com.windchill.service.event;
+
+/**
+ * Published when an overdue review task is reassigned from {@code previousAssigneeId}.
+ */
+public record ReviewEscalatedEvent(Long taskId, Long instanceId, Long previousAssigneeId, Long assigneeId) {
+}
@@ -0,0 +1,7 @@
+package com.windchill.service.event;
+
+/**
+ * Published once when a review task has been open for the reminder period.
+ */
+public record ReviewReminderEvent(Long taskId, Long instanceId, Long assigneeId) {
+}
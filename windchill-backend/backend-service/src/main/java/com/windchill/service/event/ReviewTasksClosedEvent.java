@@ -0,0 +1,9 @@
+package com.windchill.service.event;
+
+import java.util.List;
+
+/**
+ * Published when open review tasks are decided or cancelled.
+ */
+public record ReviewTasksClosedEvent(List<Long> taskIds) {
+}
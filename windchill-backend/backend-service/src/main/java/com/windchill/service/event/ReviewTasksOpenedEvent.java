@@ -0,0 +1,10 @@
+package com.windchill.service.event;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Published when the workflow engine opens review tasks.
+ */
+public record ReviewTasksOpenedEvent(List<Long> taskIds, LocalDateTime openedAt) {
+}
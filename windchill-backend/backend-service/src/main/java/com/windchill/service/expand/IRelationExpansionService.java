@@ -0,0 +1,14 @@
+package com.windchill.service.expand;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+public interface IRelationExpansionService {
+    /**
+     * Summaries of what {@code rows} refer to through the named relations, keyed by target
+     * type ({@code users}, {@code projects}, {@code products}) and then id. Null when no
+     * relation is named, so responses without {@code expand} are unchanged.
+     */
+    <T> Map<String, Map<Long, Object>> expand(Class<T> type, Collection<T> rows, List<String> relations);
+}
@@ -0,0 +1,16 @@
+package com.windchill.service.expand;
+
+import com.windchill.common.enums.StatusEnum;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProjectSummary {
+    private Long id;
+    private String projectCode;
+    private String projectName;
+    private StatusEnum status;
+}
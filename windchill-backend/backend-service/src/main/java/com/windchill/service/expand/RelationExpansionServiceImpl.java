@@ -0,0 +1,157 @@
+package com.windchill.service.expand;
+
+import com.windchill.common.enums.StatusEnum;
+import com.windchill.common.exceptions.BusinessException;
+import com.windchill.domain.entity.Document;
+import com.windchill.domain.entity.Product;
+import com.windchill.domain.entity.Project;
+import com.windchill.repository.ProductRepository;
+import com.windchill.repository.ProjectRepository;
+import com.windchill.repository.UserRepository;
+import com.windchill.service.access.IProjectAccessService;
+import com.windchill.service.access.ProjectAccess;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Resolves the raw ids entities carry into summaries for {@code ?expand=}. Ids are collected
+ * across all rows first and grouped by what they point at, so owner and reviewer share one
+ * user lookup; each target type then costs one {@code IN} query per {@value #ID_BATCH_SIZE}
+ * ids, however many rows refer to it. Projects hidden from the caller, and products in them,
+ * are left out.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional(readOnly = true)
+public class RelationExpansionServiceImpl implements IRelationExpansionService {
+    static final String USERS = "users";
+    static final String PROJECTS = "projects";
+    static final String PRODUCTS = "products";
+
+    private static final int ID_BATCH_SIZE = 1000;
+
+    private static final Map<Class<?>, Map<String, Relation<?>>> RELATIONS = Map.of(
+            Product.class, relations(
+                    new Relation<Product>("owner", USERS, Product::getOwnerId),
+                    new Relation<Product>("project", PROJECTS, Product::getProjectId)),
+            Document.class, relations(
+                    new Relation<Document>("owner", USERS, Document::getOwnerId),
+                    new Relation<Document>("reviewer", USERS, Document::getReviewerId),
+                    new Relation<Document>("project", PROJECTS, Document::getProjectId),
+                    new Relation<Document>("relatedProduct", PRODUCTS, Document::getRelatedProductId)),
+            Project.class, relations(
+                    new Relation<Project>("manager", USERS, Project::getManagerId)));
+
+    private final UserRepository userRepository;
+    private final ProjectRepository projectRepository;
+    private final ProductRepository productRepository;
+    private final IProjectAccessService projectAccessService;
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> Map<String, Map<Long, Object>> expand(Class<T> type, Collection<T> rows, List<String> relations) {
+        if (relations == null || relations.isEmpty()) {
+            return null;
+        }
+        Map<String, Relation<?>> allowed = RELATIONS.getOrDefault(type, Map.of());
+        Map<String, Set<Long>> ids = new LinkedHashMap<>();
+        for (String name : relations) {
+            Relation<T> relation = (Relation<T>) allowed.get(name.trim());
+            if (relation == null) {
+                throw new BusinessException("Cannot expand " + type.getSimpleName() + " by " + name
+                        + "; allowed: " + allowed.keySet());
+            }
+            Set<Long> targetIds = ids.computeIfAbsent(relation.target(), target -> new LinkedHashSet<>());
+            for (T row : rows) {
+                Long id = relation.id().apply(row);
+                if (id != null) {
+                    targetIds.add(id);
+                }
+            }
+        }
+
+        ProjectAccess access = projectAccessService.current();
+        Map<String, Map<Long, Object>> included = new LinkedHashMap<>();
+        ids.forEach((target, targetIds) -> {
+            Map<Long, Object> summaries = new LinkedHashMap<>();
+            for (List<Long> batch : batches(targetIds)) {
+                switch (target) {
+                    case USERS -> users(batch, summaries);
+                    case PROJECTS -> projects(batch, access, summaries);
+                    case PRODUCTS -> products(batch, access, summaries);
+                    default -> throw new IllegalStateException("Unknown expansion target " + target);
+                }
+            }
+            included.put(target, summaries);
+        });
+        log.debug("Expanded {} {} rows by {}", rows.size(), type.getSimpleName(), relations);
+        return included;
+    }
+
+    private void users(List<Long> ids, Map<Long, Object> summaries) {
+        for (Object[] row : userRepository.findLabelsByIdIn(ids)) {
+            Long id = (Long) row[0];
+            summaries.put(id, new UserSummary(id, (String) row[1], fullName((String) row[2], (String) row[3])));
+        }
+    }
+
+    private void projects(List<Long> ids, ProjectAccess access, Map<Long, Object> summaries) {
+        for (Object[] row : projectRepository.findLabelsByIdIn(ids)) {
+            Long id = (Long) row[0];
+            if (access.canSee(id)) {
+                summaries.put(id, new ProjectSummary(id, (String) row[1], (String) row[2], (StatusEnum) row[3]));
+            }
+        }
+    }
+
+    private void products(List<Long> ids, ProjectAccess access, Map<Long, Object> summaries) {
+        for (Object[] row : productRepository.findLabelsByIdIn(ids)) {
+            Long id = (Long) row[0];
+            if (access.canSee((Long) row[3])) {
+                summaries.put(id, new ProductSummary(id, (String) row[1], (String) row[2]));
+            }
+        }
+    }
+
+    private static List<List<Long>> batches(Set<Long> ids) {
+        List<Long> all = new ArrayList<>(ids);
+        List<List<Long>> batches = new ArrayList<>();
+        for (int from = 0; from < all.size(); from += ID_BATCH_SIZE) {
+            batches.add(all.subList(from, Math.min(from + ID_BATCH_SIZE, all.size())));
+        }
+        return batches;
+    }
+
+    private static String fullName(String firstName, String lastName) {
+        if (firstName == null) {
+            return lastName;
+        }
+        return lastName == null ? firstName : firstName + " " + lastName;
+    }
+
+    private static Map<String, Relation<?>> relations(Relation<?>... relations) {
+        Map<String, Relation<?>> byName = new LinkedHashMap<>();
+        for (Relation<?> relation : relations) {
+            byName.put(relation.name(), relation);
+        }
+        return byName;
+    }
+
+    /**
+     * A reference from an entity to a row of {@code target}, read by {@code id}.
+     */
+    private record Relation<T>(String name, String target, Function<T, Long> id) {
+    }
+}
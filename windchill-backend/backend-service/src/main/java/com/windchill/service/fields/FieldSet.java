@@ -0,0 +1,140 @@
+package com.windchill.service.fields;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A chosen subset of an entity's attributes, compiled once: each attribute has a getter and
+ * setter handle and a writer picked for its type, so writing a row neither looks anything up
+ * by name nor goes through Jackson's bean introspection. Null values are left out, as the
+ * application's object mapper does.
+ */
+public final class FieldSet<T> {
+    private final Class<T> type;
+    private final MethodHandle constructor;
+    private final Property[] properties;
+    private final List<String> names;
+
+    FieldSet(Class<T> type, MethodHandle constructor, List<Property> properties) {
+        this.type = type;
+        this.constructor = constructor;
+        this.properties = properties.toArray(new Property[0]);
+        List<String> names = new ArrayList<>(properties.size());
+        for (Property property : properties) {
+            names.add(property.name);
+        }
+        this.names = Collections.unmodifiableList(names);
+    }
+
+    public Class<T> getType() {
+        return type;
+    }
+
+    /**
+     * Attribute names in entity declaration order; always starts with {@code id}.
+     */
+    public List<String> names() {
+        return names;
+    }
+
+    /**
+     * A detached instance holding only {@code values}, given in the order of {@link #names()}.
+     * Attributes outside the set keep their defaults and must not be read.
+     */
+    @SuppressWarnings("unchecked")
+    public T newRow(Object[] values) {
+        try {
+            Object row = constructor.invokeExact();
+            for (int i = 0; i < properties.length; i++) {
+                properties[i].setter.invokeExact(row, values[i]);
+            }
+            return (T) row;
+        } catch (Throwable ex) {
+            throw new IllegalStateException("Cannot build " + type.getSimpleName() + " from " + names, ex);
+        }
+    }
+
+    public SparseRow<T> view(T row) {
+        return new SparseRow<>(this, row);
+    }
+
+    public SparseRows<T> view(List<T> rows) {
+        return new SparseRows<>(this, rows);
+    }
+
+    void write(Object row, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeStartObject();
+        for (Property property : properties) {
+            Object value;
+            try {
+                value = property.getter.invokeExact(row);
+            } catch (Throwable ex) {
+                throw new IllegalStateException("Cannot read " + property.name + " of " + type.getSimpleName(), ex);
+            }
+            if (value != null) {
+                gen.writeFieldName(property.jsonName);
+                property.writer.write(value, gen, provider);
+            }
+        }
+        gen.writeEndObject();
+    }
+
+    static final class Property {
+        private final String name;
+        private final SerializedString jsonName;
+        private final MethodHandle getter;
+        private final MethodHandle setter;
+        private final ValueWriter writer;
+
+        /**
+         * {@code getter} must be of type (Object)Object and {@code setter} (Object,Object)void.
+         */
+        Property(String name, Class<?> valueType, MethodHandle getter, MethodHandle setter) {
+            this.name = name;
+            this.jsonName = new SerializedString(name);
+            this.getter = getter;
+            this.setter = setter;
+            this.writer = writerFor(valueType);
+        }
+
+        String name() {
+            return name;
+        }
+    }
+
+    @FunctionalInterface
+    private interface ValueWriter {
+        void write(Object value, JsonGenerator gen, SerializerProvider provider) throws IOException;
+    }
+
+    /**
+     * Writes the common scalar types directly; anything else, such as dates and JSON maps, goes
+     * through the object mapper so it is formatted exactly as in a full response.
+     */
+    private static ValueWriter writerFor(Class<?> valueType) {
+        if (valueType == String.class) {
+            return (value, gen, provider) -> gen.writeString((String) value);
+        }
+        if (valueType == Long.class || valueType == Integer.class) {
+            return (value, gen, provider) -> gen.writeNumber(((Number) value).longValue());
+        }
+        if (valueType == Boolean.class) {
+            return (value, gen, provider) -> gen.writeBoolean((Boolean) value);
+        }
+        if (valueType == BigDecimal.class) {
+            return (value, gen, provider) -> gen.writeNumber((BigDecimal) value);
+        }
+        if (valueType.isEnum()) {
+            return (value, gen, provider) -> gen.writeString(((Enum<?>) value).name());
+        }
+        return (value, gen, provider) -> provider.defaultSerializeValue(value, gen);
+    }
+}
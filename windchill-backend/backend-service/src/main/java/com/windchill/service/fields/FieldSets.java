@@ -0,0 +1,134 @@
+package com.windchill.service.fields;
+
+import com.windchill.common.exceptions.BusinessException;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.metamodel.Attribute;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.beans.PropertyDescriptor;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Compiles and caches {@link FieldSet}s for {@code ?fields=}. Only mapped single-valued
+ * attributes can be chosen, so every field set is also a valid SQL select list. The id is
+ * always included. A set is cached under its canonical name list, so the order in which a
+ * client names fields does not matter; the cache is bounded, and sets beyond the bound are
+ * compiled per request.
+ */
+@Component
+@Slf4j
+public class FieldSets {
+    private static final MethodType GETTER = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType SETTER = MethodType.methodType(void.class, Object.class, Object.class);
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${app.fields.max-cached-sets:512}")
+    private int maxCachedSets;
+
+    private final Map<Class<?>, EntityFields<?>> entities = new ConcurrentHashMap<>();
+    private final Map<String, FieldSet<?>> fieldSets = new ConcurrentHashMap<>();
+
+    /**
+     * The field set of {@code type} holding {@code names}, which may also be comma-separated
+     * lists; null when none are given, meaning the full entity.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> FieldSet<T> get(Class<T> type, Collection<String> names) {
+        if (names == null || names.isEmpty()) {
+            return null;
+        }
+        EntityFields<T> fields = (EntityFields<T>) entities.computeIfAbsent(type, this::compile);
+        Set<String> requested = new HashSet<>();
+        for (String name : names) {
+            for (String part : name.split(",")) {
+                if (!part.isBlank()) {
+                    requested.add(part.trim());
+                }
+            }
+        }
+        if (requested.isEmpty()) {
+            return null;
+        }
+        List<FieldSet.Property> chosen = new ArrayList<>();
+        StringBuilder key = new StringBuilder(type.getName()).append(':');
+        for (FieldSet.Property property : fields.properties().values()) {
+            if (property.name().equals("id") || requested.remove(property.name())) {
+                chosen.add(property);
+                key.append(property.name()).append(',');
+            }
+        }
+        if (!requested.isEmpty()) {
+            throw new BusinessException("Unknown fields of " + type.getSimpleName() + ": " + requested
+                    + "; allowed: " + fields.properties().keySet());
+        }
+        FieldSet<T> cached = (FieldSet<T>) fieldSets.get(key.toString());
+        if (cached != null) {
+            return cached;
+        }
+        FieldSet<T> fieldSet = new FieldSet<>(type, fields.constructor(), chosen);
+        if (fieldSets.size() < maxCachedSets) {
+            fieldSets.putIfAbsent(key.toString(), fieldSet);
+        }
+        return fieldSet;
+    }
+
+    /**
+     * Accessors for every mapped attribute of {@code type}, superclass attributes first and
+     * each class in declaration order, the order a full response lists them in.
+     */
+    private <T> EntityFields<T> compile(Class<T> type) {
+        Set<String> mapped = new HashSet<>();
+        for (Attribute<?, ?> attribute : entityManager.getMetamodel().entity(type).getSingularAttributes()) {
+            mapped.add(attribute.getName());
+        }
+        List<Class<?>> hierarchy = new ArrayList<>();
+        for (Class<?> current = type; current != Object.class; current = current.getSuperclass()) {
+            hierarchy.add(0, current);
+        }
+        MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+        Map<String, FieldSet.Property> properties = new LinkedHashMap<>();
+        try {
+            for (Class<?> declaring : hierarchy) {
+                for (Field field : declaring.getDeclaredFields()) {
+                    if (Modifier.isStatic(field.getModifiers()) || !mapped.contains(field.getName())) {
+                        continue;
+                    }
+                    PropertyDescriptor descriptor = BeanUtils.getPropertyDescriptor(type, field.getName());
+                    if (descriptor == null || descriptor.getReadMethod() == null || descriptor.getWriteMethod() == null) {
+                        continue;
+                    }
+                    properties.put(field.getName(), new FieldSet.Property(field.getName(), field.getType(),
+                            lookup.unreflect(descriptor.getReadMethod()).asType(GETTER),
+                            lookup.unreflect(descriptor.getWriteMethod()).asType(SETTER)));
+                }
+            }
+            MethodHandle constructor = lookup.findConstructor(type, MethodType.methodType(void.class))
+                    .asType(MethodType.methodType(Object.class));
+            log.debug("Compiled {} selectable fields of {}", properties.size(), type.getSimpleName());
+            return new EntityFields<>(constructor, properties);
+        } catch (ReflectiveOperationException ex) {
+            throw new IllegalStateException("Cannot compile fields of " + type.getName(), ex);
+        }
+    }
+
+    private record EntityFields<T>(MethodHandle constructor, Map<String, FieldSet.Property> properties) {
+    }
+}
@@ -0,0 +1,27 @@
+package com.windchill.service.fields;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+
+/**
+ * One entity serialized with only the attributes of a {@link FieldSet}.
+ */
+@JsonSerialize(using = SparseRow.Serializer.class)
+public record SparseRow<T>(FieldSet<T> fieldSet, T row) {
+
+    @SuppressWarnings("rawtypes")
+    static final class Serializer extends StdSerializer<SparseRow> {
+        Serializer() {
+            super(SparseRow.class);
+        }
+
+        @Override
+        public void serialize(SparseRow value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            value.fieldSet().write(value.row(), gen, provider);
+        }
+    }
+}
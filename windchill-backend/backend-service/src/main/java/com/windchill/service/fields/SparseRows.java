@@ -0,0 +1,52 @@
+package com.windchill.service.fields;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * A list of entities serialized with only the attributes of a {@link FieldSet}. It is still a
+ * {@code List<T>}, so it can stand in for the content of a page.
+ */
+@JsonSerialize(using = SparseRows.Serializer.class)
+public final class SparseRows<T> extends AbstractList<T> implements RandomAccess {
+    private final FieldSet<T> fieldSet;
+    private final List<T> rows;
+
+    SparseRows(FieldSet<T> fieldSet, List<T> rows) {
+        this.fieldSet = fieldSet;
+        this.rows = rows;
+    }
+
+    @Override
+    public T get(int index) {
+        return rows.get(index);
+    }
+
+    @Override
+    public int size() {
+        return rows.size();
+    }
+
+    @SuppressWarnings("rawtypes")
+    static final class Serializer extends StdSerializer<SparseRows> {
+        Serializer() {
+            super(SparseRows.class);
+        }
+
+        @Override
+        public void serialize(SparseRows value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartArray(value, value.size());
+            for (Object row : value.rows) {
+                value.fieldSet.write(row, gen, provider);
+            }
+            gen.writeEndArray();
+        }
+    }
+}
@@ -0,0 +1,333 @@
+package com.windchill.service.history;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.windchill.common.enums.HistoryEntityTypeEnum;
+import com.windchill.common.enums.RevisionStorageEnum;
+import com.windchill.common.exceptions.ResourceNotFoundException;
+import com.windchill.domain.entity.BaseEntity;
+import com.windchill.domain.entity.EntityHistory;
+import com.windchill.domain.entity.EntityHistoryHead;
+import com.windchill.repository.EntityHistoryHeadRepository;
+import com.windchill.repository.EntityHistoryRepository;
+import com.windchill.repository.ProductRepository;
+import com.windchill.service.access.IProjectAccessService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Iteration history of products and projects. Each recorded change is an immutable row
+ * holding only the fields that changed, with a full snapshot every
+ * {@code full-snapshot-interval} iterations, so rebuilding any iteration reads one snapshot
+ * and fewer than that many deltas however long the history grows. New iterations are diffed
+ * against the same rebuilt chain, loaded for a whole batch of entities in one query.
+ *
+ * <p>Rows are written in the caller's transaction: an update that rolls back, including on
+ * an optimistic lock conflict, leaves no iteration behind. The entity's version alone does not
+ * serialize recorders, since lifecycle bulk updates change products without bumping it, so
+ * each recorder locks the entities' rows in {@code entity_history_heads} and numbers its
+ * iterations from there. A chain read from the transaction's snapshot that is behind its head
+ * is read again with a locking read. Two recorders racing to write an entity's first
+ * iteration collide on the head's primary key and the later one rolls back.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class EntityHistoryServiceImpl implements IEntityHistoryService {
+    private static final int ID_BATCH_SIZE = 1000;
+    // Bookkeeping, and stock counters, whose history is the inventory ledger
+    private static final Set<String> UNTRACKED_FIELDS = Set.of("version", "createdAt", "updatedAt",
+            "quantityOnHand", "quantityReserved", "needsReorder");
+
+    private final EntityHistoryRepository historyRepository;
+    private final EntityHistoryHeadRepository headRepository;
+    private final ProductRepository productRepository;
+    private final IProjectAccessService projectAccessService;
+    private final ObjectMapper objectMapper;
+
+    @Value("${app.history.full-snapshot-interval:20}")
+    private int fullSnapshotInterval;
+
+    @Override
+    public void record(HistoryEntityTypeEnum entityType, BaseEntity entity) {
+        recordAll(entityType, List.of(entity));
+    }
+
+    /**
+     * Records the current state of each entity as its next iteration. Entities whose tracked
+     * fields did not change since their last iteration are skipped.
+     */
+    @Override
+    public void recordAll(HistoryEntityTypeEnum entityType, Collection<? extends BaseEntity> entities) {
+        List<? extends BaseEntity> list = new ArrayList<>(entities);
+        LocalDateTime now = LocalDateTime.now();
+        List<EntityHistory> iterations = new ArrayList<>();
+        List<EntityHistoryHead> newHeads = new ArrayList<>();
+        for (int from = 0; from < list.size(); from += ID_BATCH_SIZE) {
+            List<? extends BaseEntity> batch = list.subList(from, Math.min(from + ID_BATCH_SIZE, list.size()));
+            Map<Long, Chain> chains = loadChains(entityType, batch.stream().map(BaseEntity::getId).toList(), false);
+            Map<Long, EntityHistoryHead> heads = lockHeads(entityType, chains);
+            for (BaseEntity entity : batch) {
+                EntityHistory iteration = nextIteration(entityType, entity, chains.get(entity.getId()), now);
+                if (iteration == null) {
+                    continue;
+                }
+                iterations.add(iteration);
+                EntityHistoryHead head = heads.get(entity.getId());
+                if (head == null) {
+                    newHeads.add(new EntityHistoryHead(entityType, entity.getId(), iteration.getIteration()));
+                } else {
+                    head.setIteration(iteration.getIteration());
+                }
+            }
+        }
+        headRepository.saveAll(newHeads);
+        historyRepository.saveAll(iterations);
+        log.debug("Recorded {} iteration(s) of {} {} entities", iterations.size(), list.size(), entityType);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<HistoryEntry> getHistory(HistoryEntityTypeEnum entityType, Long entityId, int page, int size) {
+        log.debug("Fetching history of {} {}", entityType, entityId);
+        requireVisible(entityType, entityId);
+        return historyRepository.findByEntityTypeAndEntityIdOrderByIterationDesc(entityType, entityId,
+                        PageRequest.of(page, size))
+                .map(row -> new HistoryEntry(row.getIteration(), row.getStorageKind(), row.getRecordedAt(),
+                        row.getRecordedBy(), read(row.getFields())));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public HistoricalState getAsOf(HistoryEntityTypeEnum entityType, Long entityId, LocalDateTime asOf) {
+        log.debug("Rebuilding {} {} as of {}", entityType, entityId, asOf);
+        requireVisible(entityType, entityId);
+        EntityHistory target = historyRepository
+                .findTopByEntityTypeAndEntityIdAndRecordedAtLessThanEqualOrderByRecordedAtDescIterationDesc(entityType,
+                        entityId, asOf)
+                .orElseThrow(() -> new ResourceNotFoundException("EntityHistory", "asOf", asOf));
+        return rebuild(target);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public HistoricalState getIteration(HistoryEntityTypeEnum entityType, Long entityId, Integer iteration) {
+        log.debug("Rebuilding iteration {} of {} {}", iteration, entityType, entityId);
+        requireVisible(entityType, entityId);
+        EntityHistory target = historyRepository.findByEntityTypeAndEntityIdAndIteration(entityType, entityId, iteration)
+                .orElseThrow(() -> new ResourceNotFoundException("EntityHistory", "iteration", iteration));
+        return rebuild(target);
+    }
+
+    /**
+     * History follows the visibility of the entity's project as it is now.
+     */
+    private void requireVisible(HistoryEntityTypeEnum entityType, Long entityId) {
+        Long projectId = switch (entityType) {
+            case PROJECT -> entityId;
+            case PRODUCT -> productRepository.findById(entityId).map(product -> product.getProjectId()).orElse(null);
+        };
+        if (!projectAccessService.current().canSee(projectId)) {
+            throw new ResourceNotFoundException("EntityHistory", "entityId", entityId);
+        }
+    }
+
+    private EntityHistory nextIteration(HistoryEntityTypeEnum entityType, BaseEntity entity, Chain chain,
+                                        LocalDateTime now) {
+        ObjectNode state = snapshot(entity);
+        EntityHistory iteration = new EntityHistory();
+        iteration.setEntityType(entityType);
+        iteration.setEntityId(entity.getId());
+        iteration.setRecordedBy(entity.getUpdatedBy() != null ? entity.getUpdatedBy() : entity.getCreatedBy());
+        if (chain == null) {
+            iteration.setIteration(1);
+            iteration.setStorageKind(RevisionStorageEnum.FULL);
+            iteration.setFields(write(state));
+            iteration.setRecordedAt(now);
+            return iteration;
+        }
+
+        ObjectNode changes = diff(chain.state, state);
+        if (changes.isEmpty()) {
+            return null;
+        }
+        int number = chain.latest.getIteration() + 1;
+        boolean full = number - chain.fullIteration >= fullSnapshotInterval;
+        iteration.setIteration(number);
+        iteration.setStorageKind(full ? RevisionStorageEnum.FULL : RevisionStorageEnum.DELTA);
+        iteration.setFields(write(full ? state : changes));
+        // never before the previous iteration, so that as-of lookups follow iteration order
+        // even when node clocks disagree
+        LocalDateTime previous = chain.latest.getRecordedAt();
+        iteration.setRecordedAt(now.isBefore(previous) ? previous : now);
+        return iteration;
+    }
+
+    private HistoricalState rebuild(EntityHistory target) {
+        List<EntityHistory> chain;
+        if (target.getStorageKind() == RevisionStorageEnum.FULL) {
+            chain = List.of(target);
+        } else {
+            EntityHistory base = historyRepository
+                    .findTopByEntityTypeAndEntityIdAndStorageKindAndIterationLessThanEqualOrderByIterationDesc(
+                            target.getEntityType(), target.getEntityId(), RevisionStorageEnum.FULL, target.getIteration())
+                    .orElseThrow(() -> new IllegalStateException("No full snapshot precedes iteration "
+                            + target.getIteration() + " of " + target.getEntityType() + " " + target.getEntityId()));
+            chain = historyRepository.findByEntityTypeAndEntityIdAndIterationBetweenOrderByIteration(
+                    target.getEntityType(), target.getEntityId(), base.getIteration(), target.getIteration());
+        }
+        ObjectNode state = objectMapper.createObjectNode();
+        for (EntityHistory row : chain) {
+            apply(state, read(row.getFields()));
+        }
+        return new HistoricalState(target.getEntityType(), target.getEntityId(), target.getIteration(),
+                target.getRecordedAt(), target.getRecordedBy(), chain.size() - 1, state);
+    }
+
+    /**
+     * Locks the heads of the entities that already have history and brings any chain that is
+     * behind its head up to date. Entities without history are not locked: a locking read of a
+     * missing key would take a gap lock, and concurrent creates of new entities, whose ids all
+     * fall in the same gap, would deadlock inserting their heads.
+     */
+    private Map<Long, EntityHistoryHead> lockHeads(HistoryEntityTypeEnum entityType, Map<Long, Chain> chains) {
+        Map<Long, EntityHistoryHead> heads = new HashMap<>(chains.size() * 2);
+        if (chains.isEmpty()) {
+            return heads;
+        }
+        List<Long> stale = new ArrayList<>();
+        for (EntityHistoryHead head : headRepository.findForUpdate(entityType, chains.keySet())) {
+            heads.put(head.getEntityId(), head);
+            if (chains.get(head.getEntityId()).latest.getIteration() < head.getIteration()) {
+                stale.add(head.getEntityId());
+            }
+        }
+        if (!stale.isEmpty()) {
+            log.debug("Re-reading {} {} history chain(s) committed after this transaction's snapshot",
+                    stale.size(), entityType);
+            chains.putAll(loadChains(entityType, stale, true));
+        }
+        return heads;
+    }
+
+    private Map<Long, Chain> loadChains(HistoryEntityTypeEnum entityType, List<Long> entityIds, boolean locking) {
+        Map<Long, Chain> chains = new HashMap<>(entityIds.size() * 2);
+        List<EntityHistory> rows = locking
+                ? historyRepository.findCurrentChainsForShare(entityType, entityIds)
+                : historyRepository.findCurrentChains(entityType, entityIds);
+        for (EntityHistory row : rows) {
+            Chain chain = chains.get(row.getEntityId());
+            if (chain == null) {
+                // rows come in iteration order, starting with the latest full snapshot
+                chain = new Chain(row.getIteration(), objectMapper.createObjectNode());
+                chains.put(row.getEntityId(), chain);
+            }
+            apply(chain.state, read(row.getFields()));
+            chain.latest = row;
+        }
+        return chains;
+    }
+
+    private ObjectNode snapshot(BaseEntity entity) {
+        ObjectNode state = objectMapper.valueToTree(entity);
+        state.remove(UNTRACKED_FIELDS);
+        Iterator<JsonNode> values = state.elements();
+        while (values.hasNext()) {
+            if (values.next().isNull()) {
+                values.remove();
+            }
+        }
+        return state;
+    }
+
+    /**
+     * Fields of {@code current} that differ from {@code previous}, plus a null for each field
+     * that is no longer set.
+     */
+    private ObjectNode diff(ObjectNode previous, ObjectNode current) {
+        ObjectNode changes = objectMapper.createObjectNode();
+        Iterator<Map.Entry<String, JsonNode>> fields = current.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            if (!sameValue(previous.get(field.getKey()), field.getValue())) {
+                changes.set(field.getKey(), field.getValue());
+            }
+        }
+        Iterator<String> names = previous.fieldNames();
+        while (names.hasNext()) {
+            String name = names.next();
+            if (!current.has(name)) {
+                changes.putNull(name);
+            }
+        }
+        return changes;
+    }
+
+    private boolean sameValue(JsonNode previous, JsonNode current) {
+        if (previous == null) {
+            return false;
+        }
+        if (previous.isNumber() && current.isNumber()) {
+            // the JSON column may hand decimals back as doubles or with another scale
+            return previous.decimalValue().compareTo(current.decimalValue()) == 0;
+        }
+        return previous.equals(current);
+    }
+
+    private void apply(ObjectNode state, ObjectNode fields) {
+        Iterator<Map.Entry<String, JsonNode>> entries = fields.fields();
+        while (entries.hasNext()) {
+            Map.Entry<String, JsonNode> field = entries.next();
+            if (field.getValue().isNull()) {
+                state.remove(field.getKey());
+            } else {
+                state.set(field.getKey(), field.getValue());
+            }
+        }
+    }
+
+    private ObjectNode read(String json) {
+        try {
+            return (ObjectNode) objectMapper.readTree(json);
+        } catch (JsonProcessingException ex) {
+            throw new UncheckedIOException("Could not read history fields", ex);
+        }
+    }
+
+    private String write(ObjectNode fields) {
+        try {
+            return objectMapper.writeValueAsString(fields);
+        } catch (JsonProcessingException ex) {
+            throw new UncheckedIOException("Could not write history fields", ex);
+        }
+    }
+
+    private static final class Chain {
+        private final int fullIteration;
+        private final ObjectNode state;
+        private EntityHistory latest;
+
+        private Chain(int fullIteration, ObjectNode state) {
+            this.fullIteration = fullIteration;
+            this.state = state;
+        }
+    }
+}
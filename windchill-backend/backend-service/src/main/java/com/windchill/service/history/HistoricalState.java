@@ -0,0 +1,26 @@
+package com.windchill.service.history;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.windchill.common.enums.HistoryEntityTypeEnum;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * An entity rebuilt as it was at one iteration, from the nearest full snapshot and the deltas
+ * after it.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class HistoricalState {
+    private HistoryEntityTypeEnum entityType;
+    private Long entityId;
+    private Integer iteration;
+    private LocalDateTime recordedAt;
+    private String recordedBy;
+    private int deltasApplied;
+    private JsonNode state;
+}
@@ -0,0 +1,24 @@
+package com.windchill.service.history;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.windchill.common.enums.RevisionStorageEnum;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * One recorded iteration as stored: every tracked field for a FULL iteration, only the
+ * changed ones for a DELTA.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class HistoryEntry {
+    private Integer iteration;
+    private RevisionStorageEnum storageKind;
+    private LocalDateTime recordedAt;
+    private String recordedBy;
+    private JsonNode fields;
+}
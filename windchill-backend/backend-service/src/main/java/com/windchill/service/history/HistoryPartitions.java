@@ -0,0 +1,115 @@
+package com.windchill.service.history;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Keeps a yearly partition of the history table ready ahead of time by splitting it off the
+ * catch-all {@code pmax} partition while that is still empty for the year. Without it,
+ * history still lands in {@code pmax}; only pruning and dropping by year are lost.
+ *
+ * <p>Every node runs the check at startup and on the same schedule, so the DDL is done under
+ * a MySQL named lock that only one node's session can hold; the others skip the run. Named
+ * locks belong to the session and survive the implicit commit of {@code ALTER TABLE}, so the
+ * lock, the checks and the DDL all use one connection. Deployments whose database user may
+ * not run DDL turn this off and add partitions by hand.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+class HistoryPartitions {
+    private static final String TABLE = "entity_history";
+    private static final String CATCH_ALL = "pmax";
+    private static final String LOCK_NAME = "windchill.entity_history.partitions";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${app.history.manage-partitions:true}")
+    private boolean enabled;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${app.history.partition-cron:0 0 4 1 * *}")
+    void addUpcomingPartitions() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+                if (!tryLock(connection)) {
+                    log.debug("History partitions are being maintained by another node");
+                    return null;
+                }
+                try {
+                    addPartitions(connection);
+                } finally {
+                    unlock(connection);
+                }
+                return null;
+            });
+        } catch (DataAccessException ex) {
+            log.error("Could not maintain history partitions", ex);
+        }
+    }
+
+    private void addPartitions(Connection connection) throws SQLException {
+        List<String> partitions = new ArrayList<>();
+        try (PreparedStatement query = connection.prepareStatement("SELECT partition_name FROM information_schema.partitions "
+                + "WHERE table_schema = DATABASE() AND table_name = ?")) {
+            query.setString(1, TABLE);
+            try (ResultSet rows = query.executeQuery()) {
+                while (rows.next()) {
+                    partitions.add(rows.getString(1));
+                }
+            }
+        }
+        if (!partitions.contains(CATCH_ALL)) {
+            return;
+        }
+        int thisYear = LocalDate.now().getYear();
+        for (int year = thisYear; year <= thisYear + 1; year++) {
+            String name = "p" + year;
+            if (!partitions.contains(name)) {
+                // names and bounds are generated here, never taken from input
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("ALTER TABLE " + TABLE + " REORGANIZE PARTITION " + CATCH_ALL + " INTO ("
+                            + "PARTITION " + name + " VALUES LESS THAN ('" + (year + 1) + "-01-01'), "
+                            + "PARTITION " + CATCH_ALL + " VALUES LESS THAN (MAXVALUE))");
+                }
+                log.info("Added history partition {}", name);
+            }
+        }
+    }
+
+    private boolean tryLock(Connection connection) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("SELECT GET_LOCK(?, 0)")) {
+            statement.setString(1, LOCK_NAME);
+            try (ResultSet rows = statement.executeQuery()) {
+                return rows.next() && rows.getInt(1) == 1;
+            }
+        }
+    }
+
+    private void unlock(Connection connection) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("SELECT RELEASE_LOCK(?)")) {
+            statement.setString(1, LOCK_NAME);
+            statement.execute();
+        }
+    }
+}
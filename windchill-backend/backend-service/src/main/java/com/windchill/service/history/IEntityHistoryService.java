@@ -0,0 +1,20 @@
+package com.windchill.service.history;
+
+import com.windchill.common.enums.HistoryEntityTypeEnum;
+import com.windchill.domain.entity.BaseEntity;
+import org.springframework.data.domain.Page;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+public interface IEntityHistoryService {
+    void record(HistoryEntityTypeEnum entityType, BaseEntity entity);
+
+    void recordAll(HistoryEntityTypeEnum entityType, Collection<? extends BaseEntity> entities);
+
+    Page<HistoryEntry> getHistory(HistoryEntityTypeEnum entityType, Long entityId, int page, int size);
+
+    HistoricalState getAsOf(HistoryEntityTypeEnum entityType, Long entityId, LocalDateTime asOf);
+
+    HistoricalState getIteration(HistoryEntityTypeEnum entityType, Long entityId, Integer iteration);
+}
@@ -0,0 +1,31 @@
+package com.windchill.service.indexing;
+
+import java.util.Locale;
+
+/**
+ * File formats the indexer knows how to pull plain text out of.
+ */
+enum ContentFormat {
+    TXT,
+    DOCX,
+    PDF;
+
+    static ContentFormat detect(String fileName, String mimeType) {
+        String extension = "";
+        if (fileName != null && fileName.lastIndexOf('.') >= 0) {
+            extension = fileName.substring(fileName.lastIndexOf('.') + 1).toLowerCase(Locale.ROOT);
+        }
+        String mime = mimeType != null ? mimeType.toLowerCase(Locale.ROOT) : "";
+        if (extension.equals("pdf") || mime.equals("application/pdf")) {
+            return PDF;
+        }
+        if (extension.equals("docx")
+                || mime.equals("application/vnd.openxmlformats-officedocument.wordprocessingml.document")) {
+            return DOCX;
+        }
+        if (extension.equals("txt") || extension.equals("md") || extension.equals("csv") || mime.startsWith("text/")) {
+            return TXT;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,317 @@
+package com.windchill.service.indexing;
+
+import com.windchill.common.enums.IndexTaskStatusEnum;
+import com.windchill.domain.entity.Document;
+import com.windchill.domain.entity.DocumentContent;
+import com.windchill.domain.entity.DocumentIndexTask;
+import com.windchill.repository.DocumentContentRepository;
+import com.windchill.repository.DocumentIndexTaskRepository;
+import com.windchill.repository.DocumentRepository;
+import com.windchill.service.storage.IDocumentStorageService;
+import com.windchill.service.storage.IStorageTieringService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Background text extraction for stored document files. Uploads only insert a row into the
+ * {@code document_index_tasks} queue; a scheduled dispatcher claims pending rows and hands
+ * them to a fixed pool of workers, never claiming more than there are idle workers, so the
+ * backlog waits in the database rather than in memory. A failed task is retried after an
+ * exponential backoff and parked as DEAD once it has used up {@code max-attempts}.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class DocumentIndexingServiceImpl implements IDocumentIndexingService {
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final DocumentIndexTaskRepository indexTaskRepository;
+    private final DocumentContentRepository documentContentRepository;
+    private final DocumentRepository documentRepository;
+    private final IDocumentStorageService storageService;
+    private final IStorageTieringService tieringService;
+    private final PlatformTransactionManager transactionManager;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.indexing.workers:2}")
+    private int workers;
+
+    @Value("${app.indexing.max-attempts:3}")
+    private int maxAttempts;
+
+    @Value("${app.indexing.retry-backoff-ms:30000}")
+    private long retryBackoffMs;
+
+    @Value("${app.indexing.max-retry-backoff-ms:3600000}")
+    private long maxRetryBackoffMs;
+
+    @Value("${app.indexing.max-chars:2000000}")
+    private int maxChars;
+
+    @Value("${app.indexing.stale-after-minutes:30}")
+    private long staleAfterMinutes;
+
+    @Value("${app.indexing.search-limit:200}")
+    private int searchLimit;
+
+    private ExecutorService workerPool;
+    private Semaphore idleWorkers;
+    private TransactionTemplate transactionTemplate;
+    private final AtomicLong lagSeconds = new AtomicLong();
+    private final AtomicLong pendingTasks = new AtomicLong();
+    private final AtomicLong deadTasks = new AtomicLong();
+    private Counter indexedCounter;
+    private Counter failedCounter;
+    private Counter indexedBytes;
+    private Timer extractionTimer;
+
+    @PostConstruct
+    void init() {
+        AtomicInteger counter = new AtomicInteger();
+        workerPool = Executors.newFixedThreadPool(workers, runnable -> {
+            Thread thread = new Thread(runnable, "document-indexer-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        idleWorkers = new Semaphore(workers);
+        transactionTemplate = new TransactionTemplate(transactionManager);
+
+        Gauge.builder("windchill.indexing.lag", lagSeconds, AtomicLong::get)
+                .description("Age of the oldest pending extraction task")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        Gauge.builder("windchill.indexing.pending", pendingTasks, AtomicLong::get)
+                .description("Extraction tasks waiting for a worker")
+                .register(meterRegistry);
+        Gauge.builder("windchill.indexing.dead", deadTasks, AtomicLong::get)
+                .description("Extraction tasks that used up their attempts")
+                .register(meterRegistry);
+        indexedCounter = Counter.builder("windchill.indexing.documents")
+                .description("Documents whose content was extracted")
+                .tag("outcome", "indexed")
+                .register(meterRegistry);
+        failedCounter = Counter.builder("windchill.indexing.documents")
+                .description("Documents whose content was extracted")
+                .tag("outcome", "failed")
+                .register(meterRegistry);
+        indexedBytes = Counter.builder("windchill.indexing.bytes")
+                .description("Bytes of stored files run through extraction")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        extractionTimer = Timer.builder("windchill.indexing.extraction")
+                .description("Time to extract and index one document")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        workerPool.shutdownNow();
+    }
+
+    /**
+     * Queues the document for extraction as part of the caller's transaction, so the task
+     * exists exactly when the stored file does. A document already waiting is not queued twice;
+     * a waiting task that is backing off gets its attempts back, since the content has changed.
+     */
+    @Override
+    public void enqueue(Long documentId) {
+        LocalDateTime now = LocalDateTime.now();
+        DocumentIndexTask task = indexTaskRepository.findFirstByDocumentIdAndStatus(documentId,
+                IndexTaskStatusEnum.PENDING).orElse(null);
+        if (task != null) {
+            if (task.getAttempts() > 0) {
+                task.setAttempts(0);
+                task.setNextAttemptAt(now);
+                indexTaskRepository.save(task);
+            }
+            return;
+        }
+        task = new DocumentIndexTask();
+        task.setDocumentId(documentId);
+        task.setEnqueuedAt(now);
+        task.setNextAttemptAt(now);
+        indexTaskRepository.save(task);
+        log.debug("Queued content extraction for document: {}", documentId);
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${app.indexing.poll-interval-ms:2000}")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public int dispatchPendingTasks() {
+        refreshBacklogMetrics();
+        int idle = idleWorkers.availablePermits();
+        if (idle == 0) {
+            return 0;
+        }
+        List<Long> taskIds = indexTaskRepository.findDueIds(IndexTaskStatusEnum.PENDING, LocalDateTime.now(),
+                PageRequest.of(0, idle));
+        int dispatched = 0;
+        for (Long taskId : taskIds) {
+            if (!idleWorkers.tryAcquire()) {
+                break;
+            }
+            if (indexTaskRepository.claim(taskId, LocalDateTime.now()) == 0) {
+                idleWorkers.release();
+                continue;
+            }
+            workerPool.execute(() -> {
+                try {
+                    process(taskId);
+                } finally {
+                    idleWorkers.release();
+                }
+            });
+            dispatched++;
+        }
+        return dispatched;
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${app.indexing.stale-check-interval-ms:300000}")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public int requeueStaleTasks() {
+        LocalDateTime now = LocalDateTime.now();
+        int requeued = indexTaskRepository.requeueStale(now.minusMinutes(staleAfterMinutes), maxAttempts, now);
+        if (requeued > 0) {
+            log.warn("Requeued or parked {} stale content extraction task(s)", requeued);
+        }
+        return requeued;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Long> searchContent(String keyword) {
+        TextTokenizer.Tokens tokens = TextTokenizer.tokenize(keyword);
+        if (tokens.count() == 0) {
+            return List.of();
+        }
+        return documentContentRepository.searchDocumentIds(tokens.text(), searchLimit);
+    }
+
+    private void process(Long taskId) {
+        DocumentIndexTask task = indexTaskRepository.findById(taskId).orElse(null);
+        if (task == null) {
+            return;
+        }
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            Document document = documentRepository.findById(task.getDocumentId())
+                    .filter(found -> !found.getIsDeleted() && found.getFilePath() != null)
+                    .orElse(null);
+            ContentFormat format = document != null
+                    ? ContentFormat.detect(document.getFileName(), document.getMimeType())
+                    : null;
+            if (format == null) {
+                transactionTemplate.executeWithoutResult(status -> {
+                    if (documentContentRepository.existsById(task.getDocumentId())) {
+                        documentContentRepository.deleteById(task.getDocumentId());
+                    }
+                    finish(task, IndexTaskStatusEnum.DONE, null);
+                });
+                return;
+            }
+
+            TextExtractor.ExtractedText extracted = extract(document, format);
+            TextTokenizer.Tokens tokens = TextTokenizer.tokenize(extracted.text());
+            transactionTemplate.executeWithoutResult(status -> {
+                documentContentRepository.save(new DocumentContent(document.getId(), tokens.text(), tokens.count(),
+                        extracted.truncated(), LocalDateTime.now()));
+                finish(task, IndexTaskStatusEnum.DONE, null);
+            });
+            indexedCounter.increment();
+            if (document.getFileSize() != null) {
+                indexedBytes.increment(document.getFileSize());
+            }
+            log.debug("Indexed {} token(s) from document {} ({})", tokens.count(), document.getId(), format);
+        } catch (Exception ex) {
+            boolean retry = task.getAttempts() < maxAttempts;
+            log.warn("Content extraction failed for document {} (attempt {}{}): {}", task.getDocumentId(),
+                    task.getAttempts(), retry ? ", will retry" : ", giving up", ex.getMessage());
+            failedCounter.increment();
+            String error = ex.getClass().getSimpleName() + ": " + ex.getMessage();
+            if (retry) {
+                task.setNextAttemptAt(LocalDateTime.now().plus(retryDelay(task.getAttempts())));
+            }
+            transactionTemplate.executeWithoutResult(status -> finish(task,
+                    retry ? IndexTaskStatusEnum.PENDING : IndexTaskStatusEnum.DEAD,
+                    error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error));
+        } finally {
+            sample.stop(extractionTimer);
+        }
+    }
+
+    private TextExtractor.ExtractedText extract(Document document, ContentFormat format) throws IOException {
+        if (format != ContentFormat.PDF) {
+            try (InputStream in = tieringService.readContent(document)) {
+                return TextExtractor.extract(format, in, maxChars);
+            }
+        }
+        Path hot = storageService.resolve(document.getFilePath());
+        if (Files.isRegularFile(hot)) {
+            return TextExtractor.extractPdf(hot, maxChars);
+        }
+        // Cold content is compressed; the PDF parser needs a seekable copy
+        Path spooled = storageService.createStagingFile("index-");
+        try {
+            try (InputStream in = tieringService.readContent(document)) {
+                Files.copy(in, spooled, StandardCopyOption.REPLACE_EXISTING);
+            }
+            return TextExtractor.extractPdf(spooled, maxChars);
+        } finally {
+            storageService.deleteQuietly(spooled);
+        }
+    }
+
+    /**
+     * {@code retry-backoff-ms} after the first failure, doubling with each further attempt up
+     * to {@code max-retry-backoff-ms}.
+     */
+    Duration retryDelay(int attempts) {
+        int doublings = Math.min(Math.max(attempts - 1, 0), 30);
+        return Duration.ofMillis(Math.min(retryBackoffMs << doublings, maxRetryBackoffMs));
+    }
+
+    private void finish(DocumentIndexTask task, IndexTaskStatusEnum status, String error) {
+        task.setStatus(status);
+        task.setLastError(error);
+        task.setCompletedAt(status == IndexTaskStatusEnum.PENDING ? null : LocalDateTime.now());
+        indexTaskRepository.save(task);
+    }
+
+    private void refreshBacklogMetrics() {
+        pendingTasks.set(indexTaskRepository.countByStatus(IndexTaskStatusEnum.PENDING));
+        deadTasks.set(indexTaskRepository.countByStatus(IndexTaskStatusEnum.DEAD));
+        lagSeconds.set(indexTaskRepository.findOldestEnqueuedAt(IndexTaskStatusEnum.PENDING)
+                .map(oldest -> Math.max(0, Duration.between(oldest, LocalDateTime.now()).getSeconds()))
+                .orElse(0L));
+    }
+}
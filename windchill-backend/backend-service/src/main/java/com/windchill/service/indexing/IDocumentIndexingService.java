@@ -0,0 +1,13 @@
+package com.windchill.service.indexing;
+
+import java.util.List;
+
+public interface IDocumentIndexingService {
+    void enqueue(Long documentId);
+
+    int dispatchPendingTasks();
+
+    int requeueStaleTasks();
+
+    List<Long> searchContent(String keyword);
+}
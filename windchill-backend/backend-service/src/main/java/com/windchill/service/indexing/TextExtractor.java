@@ -0,0 +1,157 @@
+package com.windchill.service.indexing;
+
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.text.PDFTextStripper;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+/**
+ * Plain-text extraction for the supported formats. Every extractor writes into a
+ * {@link BoundedWriter}, which stops the extraction as soon as the character budget is
+ * spent, so a huge file costs at most {@code maxChars} of heap.
+ */
+final class TextExtractor {
+    private static final String DOCX_BODY = "word/document.xml";
+    private static final String WORDPROCESSING_NS = "http://schemas.openxmlformats.org/wordprocessingml/2006/main";
+
+    private TextExtractor() {
+    }
+
+    static ExtractedText extract(ContentFormat format, InputStream in, int maxChars) throws IOException {
+        BoundedWriter writer = new BoundedWriter(maxChars);
+        try {
+            switch (format) {
+                case TXT -> extractText(in, writer);
+                case DOCX -> extractDocx(in, writer);
+                default -> throw new IllegalArgumentException("Stream extraction not supported for " + format);
+            }
+        } catch (BoundedWriter.LimitReachedException ex) {
+            // budget spent, keep what we have
+        }
+        return writer.result();
+    }
+
+    /**
+     * PDFs need random access, so they are read from a file rather than a stream.
+     */
+    static ExtractedText extractPdf(Path file, int maxChars) throws IOException {
+        BoundedWriter writer = new BoundedWriter(maxChars);
+        try (PDDocument document = Loader.loadPDF(file.toFile())) {
+            PDFTextStripper stripper = new PDFTextStripper();
+            stripper.setSortByPosition(false);
+            stripper.writeText(document, writer);
+        } catch (BoundedWriter.LimitReachedException ex) {
+            // budget spent, keep what we have
+        }
+        return writer.result();
+    }
+
+    private static void extractText(InputStream in, Writer writer) throws IOException {
+        Reader reader = new InputStreamReader(in, StandardCharsets.UTF_8.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE));
+        reader.transferTo(writer);
+    }
+
+    private static void extractDocx(InputStream in, Writer writer) throws IOException {
+        ZipInputStream zip = new ZipInputStream(in);
+        ZipEntry entry;
+        while ((entry = zip.getNextEntry()) != null) {
+            if (DOCX_BODY.equals(entry.getName())) {
+                try {
+                    writeDocxBody(zip, writer);
+                } catch (XMLStreamException ex) {
+                    throw new IOException("Malformed DOCX body", ex);
+                }
+                return;
+            }
+        }
+        throw new IOException("DOCX has no " + DOCX_BODY);
+    }
+
+    private static void writeDocxBody(InputStream body, Writer writer) throws XMLStreamException, IOException {
+        XMLInputFactory factory = XMLInputFactory.newFactory();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        XMLStreamReader reader = factory.createXMLStreamReader(body);
+        try {
+            boolean inText = false;
+            while (reader.hasNext()) {
+                int event = reader.next();
+                if (event == XMLStreamConstants.START_ELEMENT && WORDPROCESSING_NS.equals(reader.getNamespaceURI())) {
+                    switch (reader.getLocalName()) {
+                        case "t" -> inText = true;
+                        case "tab", "br" -> writer.write(' ');
+                        default -> { }
+                    }
+                } else if (event == XMLStreamConstants.END_ELEMENT && WORDPROCESSING_NS.equals(reader.getNamespaceURI())) {
+                    switch (reader.getLocalName()) {
+                        case "t" -> inText = false;
+                        case "p" -> writer.write('\n');
+                        default -> { }
+                    }
+                } else if (inText && (event == XMLStreamConstants.CHARACTERS || event == XMLStreamConstants.CDATA)) {
+                    writer.write(reader.getTextCharacters(), reader.getTextStart(), reader.getTextLength());
+                }
+            }
+        } finally {
+            reader.close();
+        }
+    }
+
+    record ExtractedText(String text, boolean truncated) {
+    }
+
+    private static final class BoundedWriter extends Writer {
+        private final StringBuilder buffer = new StringBuilder();
+        private final int maxChars;
+        private boolean truncated;
+
+        BoundedWriter(int maxChars) {
+            this.maxChars = maxChars;
+        }
+
+        @Override
+        public void write(char[] chars, int offset, int length) throws IOException {
+            int room = maxChars - buffer.length();
+            if (length > room) {
+                buffer.append(chars, offset, room);
+                truncated = true;
+                throw new LimitReachedException();
+            }
+            buffer.append(chars, offset, length);
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+
+        ExtractedText result() {
+            return new ExtractedText(buffer.toString(), truncated);
+        }
+
+        private static final class LimitReachedException extends IOException {
+            LimitReachedException() {
+                super("Extraction limit reached", null);
+            }
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.windchill.service.indexing;
+
+import java.util.Locale;
+
+/**
+ * Normalizes extracted text into lower-case, space-separated word tokens. Punctuation,
+ * layout whitespace and tokens too short or too long to be useful search terms are dropped,
+ * which keeps the FULLTEXT index small and independent of the source format.
+ *
+ * <p>The minimum token length matches InnoDB's {@code innodb_ft_min_token_size} default of 3:
+ * shorter words would be stored but never indexed, and a search for one could never match.
+ * Lowering the server setting (and rebuilding the index) requires lowering it here as well.
+ */
+final class TextTokenizer {
+    private static final int MIN_TOKEN_LENGTH = 3;
+    private static final int MAX_TOKEN_LENGTH = 64;
+
+    private TextTokenizer() {
+    }
+
+    static Tokens tokenize(String text) {
+        StringBuilder normalized = new StringBuilder(Math.min(text.length(), 1 << 20));
+        int count = 0;
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean wordChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                int length = i - start;
+                if (length >= MIN_TOKEN_LENGTH && length <= MAX_TOKEN_LENGTH) {
+                    if (count > 0) {
+                        normalized.append(' ');
+                    }
+                    normalized.append(text.substring(start, i).toLowerCase(Locale.ROOT));
+                    count++;
+                }
+                start = -1;
+            }
+        }
+        return new Tokens(normalized.toString(), count);
+    }
+
+    record Tokens(String text, int count) {
+    }
+}
@@ -0,0 +1,15 @@
+package com.windchill.service.inventory;
+
+import com.windchill.common.enums.MovementTypeEnum;
+import com.windchill.domain.entity.InventoryMovement;
+import org.springframework.data.domain.Page;
+
+public interface IInventoryService {
+    InventoryMovement recordMovement(Long productId, MovementTypeEnum type, int quantity, String reference);
+
+    InventoryMovement setOnHand(Long productId, int quantity, String reference);
+
+    StockLevel getStockLevel(Long productId);
+
+    Page<InventoryMovement> getMovements(Long productId, int page, int size);
+}
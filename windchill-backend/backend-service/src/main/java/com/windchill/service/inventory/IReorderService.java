@@ -0,0 +1,7 @@
+package com.windchill.service.inventory;
+
+import org.springframework.data.domain.Page;
+
+public interface IReorderService {
+    Page<ReorderItem> getReorderItems(int page, int size);
+}
@@ -0,0 +1,240 @@
+package com.windchill.service.inventory;
+
+import com.windchill.common.enums.MovementTypeEnum;
+import com.windchill.common.exceptions.BusinessException;
+import com.windchill.common.exceptions.ResourceNotFoundException;
+import com.windchill.domain.entity.InventoryMovement;
+import com.windchill.repository.InventoryMovementRepository;
+import com.windchill.repository.ProductRepository;
+import com.windchill.service.event.ReorderThresholdCrossedEvent;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Stock movements as an append-only ledger. Counters on the product row are changed only by
+ * in-place {@code quantity = quantity + delta} updates that leave the entity version alone,
+ * so concurrent movements never fail with optimistic-locking conflicts; they serialize on the
+ * row lock instead, and {@link StripedMovementAggregator} keeps that lock cheap for hot
+ * products by folding concurrent movements into one summed update per flush.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class InventoryServiceImpl implements IInventoryService {
+    private final ProductRepository productRepository;
+    private final InventoryMovementRepository movementRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${app.inventory.stripes:64}")
+    private int stripes;
+
+    @Value("${app.inventory.max-batch:256}")
+    private int maxBatch;
+
+    private TransactionTemplate transactionTemplate;
+    private StripedMovementAggregator aggregator;
+
+    @PostConstruct
+    void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        aggregator = new StripedMovementAggregator(stripes, maxBatch, this::flush);
+    }
+
+    /**
+     * Runs outside any caller transaction: the movement is committed by whichever flush picks
+     * it up, and is durable once this method returns.
+     */
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public InventoryMovement recordMovement(Long productId, MovementTypeEnum type, int quantity, String reference) {
+        if (type == null) {
+            throw new BusinessException("Movement type is required");
+        }
+        if (type == MovementTypeEnum.ADJUST ? quantity == 0 : quantity <= 0) {
+            throw new BusinessException(type == MovementTypeEnum.ADJUST
+                    ? "Adjustment quantity must not be 0" : "Quantity must be greater than 0");
+        }
+        PendingMovement movement = switch (type) {
+            case RECEIVE, ADJUST -> new PendingMovement(productId, type, quantity, quantity, 0, reference);
+            case ISSUE -> new PendingMovement(productId, type, quantity, -quantity, 0, reference);
+            case RESERVE -> new PendingMovement(productId, type, quantity, 0, quantity, reference);
+            case RELEASE -> new PendingMovement(productId, type, quantity, 0, -quantity, reference);
+        };
+
+        aggregator.submit(movement);
+        if (movement.failure != null) {
+            throw movement.failure;
+        }
+        if (!movement.applied) {
+            throw rejection(movement);
+        }
+        log.debug("Recorded {} of {} for product {}", type, quantity, productId);
+        return movement.saved;
+    }
+
+    /**
+     * Sets an absolute on-hand count, recorded as the ADJUST movement that gets there. Unlike
+     * {@link #recordMovement} this joins the caller's transaction: the difference is taken
+     * from a locking read of the row, so it cannot be computed against a stale count, and the
+     * row stays locked (holding back concurrent flushes) until the caller commits. Returns
+     * {@code null} when the count is already {@code quantity}.
+     */
+    @Override
+    public InventoryMovement setOnHand(Long productId, int quantity, String reference) {
+        if (quantity < 0) {
+            throw new BusinessException("Quantity on hand must not be negative");
+        }
+        List<Object[]> rows = productRepository.lockStockLevel(productId);
+        if (rows.isEmpty()) {
+            throw new ResourceNotFoundException("Product", "id", productId);
+        }
+        int onHand = ((Number) rows.get(0)[0]).intValue();
+        int reserved = ((Number) rows.get(0)[1]).intValue();
+        if (quantity < reserved) {
+            throw new BusinessException(String.format(
+                    "Quantity on hand %d of product %d would fall below the %d reserved", quantity, productId, reserved));
+        }
+        int difference = quantity - onHand;
+        if (difference == 0) {
+            return null;
+        }
+        productRepository.applyStockDelta(productId, difference, 0);
+        InventoryMovement saved = movementRepository.save(new InventoryMovement(null, productId, MovementTypeEnum.ADJUST,
+                difference, difference, 0, reference, LocalDateTime.now()));
+        PendingMovement movement = new PendingMovement(productId, MovementTypeEnum.ADJUST, difference, difference, 0,
+                reference);
+        publishReorderCrossings(List.of(movement));
+        log.debug("Set on-hand of product {} from {} to {}", productId, onHand, quantity);
+        return saved;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public StockLevel getStockLevel(Long productId) {
+        List<Object[]> rows = productRepository.findStockLevel(productId);
+        if (rows.isEmpty()) {
+            throw new ResourceNotFoundException("Product", "id", productId);
+        }
+        Object[] row = rows.get(0);
+        return new StockLevel(productId, ((Number) row[0]).intValue(), ((Number) row[1]).intValue());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<InventoryMovement> getMovements(Long productId, int page, int size) {
+        getStockLevel(productId);
+        return movementRepository.findByProductIdOrderByIdDesc(productId, PageRequest.of(page, size));
+    }
+
+    /**
+     * Applies one batch in its own transaction. Each product first gets a single update with
+     * the summed deltas; only if that would break a stock constraint are its movements applied
+     * one by one, in arrival order, so that the ones that fit still go through.
+     */
+    private void flush(List<PendingMovement> batch) {
+        transactionTemplate.executeWithoutResult(status -> {
+            Map<Long, List<PendingMovement>> byProduct = new LinkedHashMap<>();
+            for (PendingMovement movement : batch) {
+                byProduct.computeIfAbsent(movement.productId, id -> new ArrayList<>()).add(movement);
+            }
+            List<PendingMovement> applied = new ArrayList<>(batch.size());
+            for (Map.Entry<Long, List<PendingMovement>> entry : byProduct.entrySet()) {
+                List<PendingMovement> movements = entry.getValue();
+                long onHand = 0;
+                long reserved = 0;
+                for (PendingMovement movement : movements) {
+                    onHand += movement.onHandDelta;
+                    reserved += movement.reservedDelta;
+                }
+                boolean summable = movements.size() > 1 && onHand == (int) onHand && reserved == (int) reserved;
+                if (summable && productRepository.applyStockDelta(entry.getKey(), (int) onHand, (int) reserved) == 1) {
+                    applied.addAll(movements);
+                    continue;
+                }
+                for (PendingMovement movement : movements) {
+                    if (productRepository.applyStockDelta(entry.getKey(), movement.onHandDelta, movement.reservedDelta) == 1) {
+                        applied.add(movement);
+                    }
+                }
+            }
+
+            LocalDateTime now = LocalDateTime.now();
+            List<InventoryMovement> entries = new ArrayList<>(applied.size());
+            for (PendingMovement movement : applied) {
+                entries.add(new InventoryMovement(null, movement.productId, movement.type, movement.quantity,
+                        movement.onHandDelta, movement.reservedDelta, movement.reference, now));
+            }
+            List<InventoryMovement> saved = movementRepository.saveAll(entries);
+            for (int i = 0; i < applied.size(); i++) {
+                applied.get(i).applied = true;
+                applied.get(i).saved = saved.get(i);
+            }
+            publishReorderCrossings(applied);
+        });
+        if (batch.size() > 1) {
+            log.debug("Flushed {} stock movement(s) in one transaction", batch.size());
+        }
+    }
+
+    /**
+     * Compares each touched product's reorder state before and after the batch. The row is
+     * still locked by this transaction, so the value read back minus the applied delta is
+     * exactly the value before it.
+     */
+    private void publishReorderCrossings(List<PendingMovement> applied) {
+        Map<Long, Integer> onHandDeltas = new HashMap<>();
+        for (PendingMovement movement : applied) {
+            if (movement.onHandDelta != 0) {
+                onHandDeltas.merge(movement.productId, movement.onHandDelta, Integer::sum);
+            }
+        }
+        onHandDeltas.values().removeIf(delta -> delta == 0);
+        if (onHandDeltas.isEmpty()) {
+            return;
+        }
+        for (Object[] row : productRepository.findReorderStatesByIdIn(onHandDeltas.keySet())) {
+            Long productId = ((Number) row[0]).longValue();
+            int after = ((Number) row[1]).intValue();
+            Integer reorderLevel = row[2] != null ? ((Number) row[2]).intValue() : null;
+            Boolean deleted = (Boolean) row[3];
+            int before = after - onHandDeltas.get(productId);
+            boolean below = ReorderThreshold.isBelow(deleted, after, reorderLevel);
+            if (ReorderThreshold.isBelow(deleted, before, reorderLevel) != below) {
+                eventPublisher.publishEvent(new ReorderThresholdCrossedEvent(productId, below, after, reorderLevel));
+            }
+        }
+    }
+
+    private RuntimeException rejection(PendingMovement movement) {
+        List<Object[]> rows = productRepository.findStockLevel(movement.productId);
+        if (rows.isEmpty()) {
+            return new ResourceNotFoundException("Product", "id", movement.productId);
+        }
+        StockLevel level = new StockLevel(movement.productId, ((Number) rows.get(0)[0]).intValue(),
+                ((Number) rows.get(0)[1]).intValue());
+        return new BusinessException(String.format(
+                "Insufficient stock for %s of %d on product %d (on hand %d, reserved %d)", movement.type,
+                movement.quantity, movement.productId, level.getQuantityOnHand(), level.getQuantityReserved()));
+    }
+}
@@ -0,0 +1,32 @@
+package com.windchill.service.inventory;
+
+import com.windchill.common.enums.MovementTypeEnum;
+import com.windchill.domain.entity.InventoryMovement;
+
+/**
+ * A movement waiting in a {@link StripedMovementAggregator} stripe, and its outcome once a
+ * flush has handled it. Outcome fields are written and read under the stripe lock.
+ */
+final class PendingMovement {
+    final long productId;
+    final MovementTypeEnum type;
+    final int quantity;
+    final int onHandDelta;
+    final int reservedDelta;
+    final String reference;
+
+    boolean applied;
+    InventoryMovement saved;
+    RuntimeException failure;
+    boolean done;
+
+    PendingMovement(long productId, MovementTypeEnum type, int quantity, int onHandDelta, int reservedDelta,
+                    String reference) {
+        this.productId = productId;
+        this.type = type;
+        this.quantity = quantity;
+        this.onHandDelta = onHandDelta;
+        this.reservedDelta = reservedDelta;
+        this.reference = reference;
+    }
+}
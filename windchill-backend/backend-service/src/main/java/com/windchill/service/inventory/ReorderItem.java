@@ -0,0 +1,24 @@
+package com.windchill.service.inventory;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One product at or below its reorder level.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReorderItem {
+    private Long productId;
+    private String productCode;
+    private String productName;
+    private int quantityOnHand;
+    private int quantityReserved;
+    private int reorderLevel;
+
+    public int getShortfall() {
+        return reorderLevel - quantityOnHand;
+    }
+}
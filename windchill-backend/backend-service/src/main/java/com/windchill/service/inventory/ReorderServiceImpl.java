@@ -0,0 +1,67 @@
+package com.windchill.service.inventory;
+
+import com.windchill.domain.entity.Product;
+import com.windchill.repository.ProductRepository;
+import com.windchill.service.access.IProjectAccessService;
+import com.windchill.service.event.ReorderThresholdCrossedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+
+/**
+ * Reorder monitoring. The low-stock set lives in the database as the indexed, generated
+ * {@code needs_reorder} column, so it is current after every stock change without anyone
+ * rescanning the product table; the report just pages through that index. Stock changes
+ * publish {@link ReorderThresholdCrossedEvent} only for products that actually cross the
+ * threshold.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional(readOnly = true)
+public class ReorderServiceImpl implements IReorderService {
+    private final ProductRepository productRepository;
+    private final IProjectAccessService projectAccessService;
+
+    @Override
+    public Page<ReorderItem> getReorderItems(int page, int size) {
+        log.debug("Fetching reorder report page {} of size {}", page, size);
+        List<Long> hidden = projectAccessService.current().hiddenProjectIds();
+        PageRequest pageRequest = PageRequest.of(page, size, Sort.by("id"));
+        // hidden projects are excluded in the query, so pages stay full and the total is right
+        Page<Product> products = hidden.isEmpty()
+                ? productRepository.findByNeedsReorderTrue(pageRequest)
+                : productRepository.findByNeedsReorderTrueOutsideProjects(hidden, pageRequest);
+        List<ReorderItem> items = products.getContent().stream()
+                .map(product -> new ReorderItem(product.getId(), product.getProductCode(), product.getProductName(),
+                        product.getQuantityOnHand(), product.getQuantityReserved(), product.getReorderLevel()))
+                .toList();
+        return new PageImpl<>(items, products.getPageable(), products.getTotalElements());
+    }
+
+    /**
+     * Only logs the crossing. This application has no purchasing or notification channel to
+     * hand a reorder to, so this listener is the hook for one: it runs once per crossing,
+     * after the stock change committed, and the report above already lists every product
+     * that needs reordering. An integration should listen to the event itself rather than
+     * extend this method.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onThresholdCrossed(ReorderThresholdCrossedEvent event) {
+        if (event.belowReorderLevel()) {
+            log.warn("Product {} is at or below its reorder level: {} on hand, reorder level {}",
+                    event.productId(), event.quantityOnHand(), event.reorderLevel());
+        } else {
+            log.info("Product {} is back above its reorder level: {} on hand, reorder level {}",
+                    event.productId(), event.quantityOnHand(), event.reorderLevel());
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.windchill.service.inventory;
+
+/**
+ * The reorder rule, kept identical to the generated {@code products.needs_reorder} column so
+ * that threshold-crossing events agree with the indexed report.
+ */
+public final class ReorderThreshold {
+    private ReorderThreshold() {
+    }
+
+    public static boolean isBelow(Boolean isDeleted, Integer quantityOnHand, Integer reorderLevel) {
+        return !Boolean.TRUE.equals(isDeleted) && reorderLevel != null && quantityOnHand != null
+                && quantityOnHand <= reorderLevel;
+    }
+}
@@ -0,0 +1,21 @@
+package com.windchill.service.inventory;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Current stock counters of one product.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockLevel {
+    private Long productId;
+    private int quantityOnHand;
+    private int quantityReserved;
+
+    public int getQuantityAvailable() {
+        return quantityOnHand - quantityReserved;
+    }
+}
@@ -0,0 +1,98 @@
+package com.windchill.service.inventory;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Group commit for stock movements. Products hash onto a fixed number of stripes; a caller
+ * queues its movement on its stripe and, if no flush is running there, becomes the flusher:
+ * it takes everything queued so far and applies it as one batch. Callers arriving while a
+ * flush is in the database wait and are picked up together by the next one, so a hot
+ * product sees a handful of summed updates instead of thousands of single-row ones, and
+ * callers on other stripes never wait for it.
+ *
+ * <p>The stripe lock only guards the queue and the outcome fields; it is not held while a
+ * batch is being flushed.
+ */
+final class StripedMovementAggregator {
+    private final Stripe[] stripes;
+    private final int maxBatch;
+    private final Flusher flusher;
+
+    StripedMovementAggregator(int stripeCount, int maxBatch, Flusher flusher) {
+        this.stripes = new Stripe[Math.max(1, stripeCount)];
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new Stripe();
+        }
+        this.maxBatch = Math.max(1, maxBatch);
+        this.flusher = flusher;
+    }
+
+    /**
+     * Blocks until {@code movement} has been flushed, by this thread or another one.
+     */
+    void submit(PendingMovement movement) {
+        Stripe stripe = stripes[stripeOf(movement.productId)];
+        stripe.lock.lock();
+        try {
+            stripe.queue.add(movement);
+            while (!movement.done) {
+                if (stripe.flushing) {
+                    stripe.flushed.awaitUninterruptibly();
+                    continue;
+                }
+                List<PendingMovement> batch = new ArrayList<>(Math.min(maxBatch, stripe.queue.size()));
+                while (batch.size() < maxBatch && !stripe.queue.isEmpty()) {
+                    batch.add(stripe.queue.poll());
+                }
+                stripe.flushing = true;
+                RuntimeException failure = null;
+                stripe.lock.unlock();
+                try {
+                    flusher.flush(batch);
+                } catch (RuntimeException ex) {
+                    failure = ex;
+                } finally {
+                    stripe.lock.lock();
+                }
+                for (PendingMovement pending : batch) {
+                    if (failure != null) {
+                        pending.applied = false;
+                        pending.saved = null;
+                        pending.failure = failure;
+                    }
+                    pending.done = true;
+                }
+                stripe.flushing = false;
+                stripe.flushed.signalAll();
+            }
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    private int stripeOf(long productId) {
+        int hash = Long.hashCode(productId) * 0x9E3779B9;
+        return Math.floorMod(hash ^ (hash >>> 16), stripes.length);
+    }
+
+    @FunctionalInterface
+    interface Flusher {
+        /**
+         * Applies a batch, setting {@code applied} and {@code saved} on each movement. A thrown
+         * exception fails the whole batch.
+         */
+        void flush(List<PendingMovement> batch);
+    }
+
+    private static final class Stripe {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Condition flushed = lock.newCondition();
+        private final Queue<PendingMovement> queue = new ArrayDeque<>();
+        private boolean flushing;
+    }
+}
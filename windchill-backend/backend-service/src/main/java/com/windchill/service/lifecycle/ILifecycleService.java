@@ -0,0 +1,11 @@
+package com.windchill.service.lifecycle;
+
+import com.windchill.common.enums.LifecycleStateEnum;
+
+import java.util.List;
+
+public interface ILifecycleService {
+    PromotionReport promote(Long productId, LifecycleStateEnum targetState, boolean includeStructure, boolean dryRun);
+
+    List<LifecycleModel.Transition> getTransitions();
+}
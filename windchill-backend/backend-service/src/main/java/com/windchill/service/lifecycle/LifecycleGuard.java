@@ -0,0 +1,12 @@
+package com.windchill.service.lifecycle;
+
+/**
+ * Conditions a lifecycle transition can require, checked against the states products will
+ * have once the whole promotion is applied.
+ */
+public enum LifecycleGuard {
+    /** Every direct child is RELEASED. */
+    CHILDREN_RELEASED,
+    /** Every assembly using the product is OBSOLETE. */
+    PARENTS_OBSOLETE
+}
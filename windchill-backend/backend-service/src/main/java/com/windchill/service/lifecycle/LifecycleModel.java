@@ -0,0 +1,74 @@
+package com.windchill.service.lifecycle;
+
+import com.windchill.common.enums.LifecycleStateEnum;
+import jakarta.annotation.PostConstruct;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+
+/**
+ * The product lifecycle, bound from {@code app.lifecycle.transitions}: which state may move
+ * to which, and the guards each move requires. A promotion to a state that is several moves
+ * away follows the shortest chain of allowed transitions and must pass the guards of each.
+ */
+@Component
+@ConfigurationProperties(prefix = "app.lifecycle")
+@Data
+public class LifecycleModel {
+    private List<Transition> transitions = new ArrayList<>();
+
+    @PostConstruct
+    void validate() {
+        for (Transition transition : transitions) {
+            if (transition.getFrom() == null || transition.getTo() == null || transition.getFrom() == transition.getTo()) {
+                throw new IllegalStateException("Invalid lifecycle transition: " + transition);
+            }
+        }
+    }
+
+    /**
+     * Shortest chain of transitions leading from {@code from} to {@code to}; empty if they are
+     * the same state, null if {@code to} cannot be reached.
+     */
+    public List<Transition> path(LifecycleStateEnum from, LifecycleStateEnum to) {
+        if (from == to) {
+            return List.of();
+        }
+        Map<LifecycleStateEnum, Transition> reachedBy = new EnumMap<>(LifecycleStateEnum.class);
+        Queue<LifecycleStateEnum> queue = new ArrayDeque<>();
+        queue.add(from);
+        while (!queue.isEmpty()) {
+            LifecycleStateEnum state = queue.poll();
+            for (Transition transition : transitions) {
+                if (transition.getFrom() != state || transition.getTo() == from
+                        || reachedBy.containsKey(transition.getTo())) {
+                    continue;
+                }
+                reachedBy.put(transition.getTo(), transition);
+                if (transition.getTo() == to) {
+                    List<Transition> path = new ArrayList<>();
+                    for (LifecycleStateEnum at = to; at != from; at = reachedBy.get(at).getFrom()) {
+                        path.add(0, reachedBy.get(at));
+                    }
+                    return path;
+                }
+                queue.add(transition.getTo());
+            }
+        }
+        return null;
+    }
+
+    @Data
+    public static class Transition {
+        private LifecycleStateEnum from;
+        private LifecycleStateEnum to;
+        private List<LifecycleGuard> guards = new ArrayList<>();
+    }
+}
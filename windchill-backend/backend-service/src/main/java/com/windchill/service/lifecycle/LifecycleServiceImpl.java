@@ -0,0 +1,217 @@
+package com.windchill.service.lifecycle;
+
+import com.windchill.common.enums.HistoryEntityTypeEnum;
+import com.windchill.common.enums.LifecycleStateEnum;
+import com.windchill.common.exceptions.BusinessException;
+import com.windchill.repository.ProductRepository;
+import com.windchill.service.bom.BomSubtree;
+import com.windchill.service.bom.IBomService;
+import com.windchill.service.event.ProductsChangedEvent;
+import com.windchill.service.history.IEntityHistoryService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Bulk lifecycle promotion. The whole scope is planned in memory first: every product is
+ * assumed to reach the target state, and guards are checked against that assumed outcome.
+ * A product failing a guard drops out of the plan, which can in turn fail guards of products
+ * that depended on it, so checking repeats until the plan is stable. Only a plan without
+ * blockers is applied, as a handful of set-based updates in one transaction.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class LifecycleServiceImpl implements ILifecycleService {
+    private static final int ID_BATCH_SIZE = 1000;
+
+    private final ProductRepository productRepository;
+    private final IBomService bomService;
+    private final LifecycleModel lifecycleModel;
+    private final IEntityHistoryService historyService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${app.lifecycle.max-products:50000}")
+    private int maxProducts;
+
+    @Override
+    public PromotionReport promote(Long productId, LifecycleStateEnum targetState, boolean includeStructure,
+                                   boolean dryRun) {
+        if (targetState == null) {
+            throw new BusinessException("Target lifecycle state is required");
+        }
+        log.info("{} promotion of product {}{} to {}", dryRun ? "Planning" : "Running", productId,
+                includeStructure ? " and its structure" : "", targetState);
+        BomSubtree structure = bomService.getSubtree(productId);
+        List<Long> scope = includeStructure ? structure.getProductIds() : List.of(productId);
+        if (scope.size() > maxProducts) {
+            throw new BusinessException("Promotion scope of " + scope.size() + " products exceeds the limit of "
+                    + maxProducts);
+        }
+
+        Set<Long> needed = new LinkedHashSet<>(scope);
+        for (Long id : scope) {
+            needed.addAll(structure.childrenOf(id));
+            needed.addAll(structure.parentsOf(id));
+        }
+        Map<Long, Object[]> rows = loadLifecycleRows(needed);
+
+        Map<Long, List<LifecycleModel.Transition>> plan = new LinkedHashMap<>();
+        List<PromotionReport.Blocker> blockers = new ArrayList<>();
+        int unchanged = 0;
+        for (Long id : scope) {
+            Object[] row = rows.get(id);
+            if (row == null) {
+                continue;
+            }
+            LifecycleStateEnum current = (LifecycleStateEnum) row[2];
+            if (current == targetState) {
+                unchanged++;
+                continue;
+            }
+            List<LifecycleModel.Transition> path = lifecycleModel.path(current, targetState);
+            if (path == null) {
+                blockers.add(blocker(row, "No lifecycle transition leads from " + current + " to " + targetState));
+            } else {
+                plan.put(id, path);
+            }
+        }
+
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            Iterator<Map.Entry<Long, List<LifecycleModel.Transition>>> planned = plan.entrySet().iterator();
+            while (planned.hasNext()) {
+                Map.Entry<Long, List<LifecycleModel.Transition>> entry = planned.next();
+                String reason = checkGuards(entry.getKey(), entry.getValue(), structure, rows, plan, targetState);
+                if (reason != null) {
+                    planned.remove();
+                    blockers.add(blocker(rows.get(entry.getKey()), reason));
+                    changed = true;
+                }
+            }
+        }
+
+        List<PromotionReport.Change> changes = new ArrayList<>(plan.size());
+        for (Long id : plan.keySet()) {
+            Object[] row = rows.get(id);
+            changes.add(new PromotionReport.Change(id, (String) row[1], (LifecycleStateEnum) row[2], targetState));
+        }
+        if (!dryRun && !blockers.isEmpty()) {
+            throw new BusinessException("Promotion to " + targetState + " is blocked for " + blockers.size()
+                    + " product(s); run it as a dry run to list the blockers");
+        }
+        if (!dryRun && !plan.isEmpty()) {
+            apply(plan.keySet(), rows, targetState);
+        }
+        log.info("Promotion of product {} to {}: {} to change, {} unchanged, {} blocked{}", productId, targetState,
+                changes.size(), unchanged, blockers.size(), dryRun ? " (dry run)" : "");
+        return new PromotionReport(productId, targetState, dryRun, !dryRun && !changes.isEmpty(), scope.size(),
+                unchanged, changes, blockers);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<LifecycleModel.Transition> getTransitions() {
+        return lifecycleModel.getTransitions();
+    }
+
+    /**
+     * Returns why {@code productId} cannot take {@code path}, or null if every guard holds.
+     * Neighbours in the plan are taken to be in the target state already.
+     */
+    private String checkGuards(Long productId, List<LifecycleModel.Transition> path, BomSubtree structure,
+                               Map<Long, Object[]> rows, Map<Long, List<LifecycleModel.Transition>> plan,
+                               LifecycleStateEnum targetState) {
+        for (LifecycleModel.Transition transition : path) {
+            for (LifecycleGuard guard : transition.getGuards()) {
+                switch (guard) {
+                    case CHILDREN_RELEASED -> {
+                        for (Long child : structure.childrenOf(productId)) {
+                            LifecycleStateEnum state = stateAfter(child, rows, plan, targetState);
+                            if (state != null && state != LifecycleStateEnum.RELEASED) {
+                                return "Child " + rows.get(child)[1] + " would be " + state;
+                            }
+                        }
+                    }
+                    case PARENTS_OBSOLETE -> {
+                        for (Long parent : structure.parentsOf(productId)) {
+                            LifecycleStateEnum state = stateAfter(parent, rows, plan, targetState);
+                            if (state != null && state != LifecycleStateEnum.OBSOLETE) {
+                                return "Used by " + rows.get(parent)[1] + " which would be " + state;
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        return null;
+    }
+
+    private LifecycleStateEnum stateAfter(Long productId, Map<Long, Object[]> rows,
+                                          Map<Long, List<LifecycleModel.Transition>> plan,
+                                          LifecycleStateEnum targetState) {
+        if (plan.containsKey(productId)) {
+            return targetState;
+        }
+        Object[] row = rows.get(productId);
+        return row != null ? (LifecycleStateEnum) row[2] : null;
+    }
+
+    /**
+     * One update per source state and batch of ids, each guarded by the state the plan was
+     * made from; a short count means someone changed a product meanwhile, and the whole
+     * promotion rolls back. Each promoted product gets a new history iteration.
+     */
+    private void apply(Set<Long> productIds, Map<Long, Object[]> rows, LifecycleStateEnum targetState) {
+        Map<LifecycleStateEnum, List<Long>> bySource = new EnumMap<>(LifecycleStateEnum.class);
+        for (Long id : productIds) {
+            bySource.computeIfAbsent((LifecycleStateEnum) rows.get(id)[2], state -> new ArrayList<>()).add(id);
+        }
+        LocalDateTime now = LocalDateTime.now();
+        for (Map.Entry<LifecycleStateEnum, List<Long>> entry : bySource.entrySet()) {
+            List<Long> ids = entry.getValue();
+            for (int from = 0; from < ids.size(); from += ID_BATCH_SIZE) {
+                List<Long> batch = ids.subList(from, Math.min(from + ID_BATCH_SIZE, ids.size()));
+                int updated = productRepository.transitionLifecycle(batch, entry.getKey(), targetState,
+                        targetState.getMaturityLevel(), now);
+                if (updated != batch.size()) {
+                    throw new BusinessException("Lifecycle state of some products changed during the promotion; please retry");
+                }
+                historyService.recordAll(HistoryEntityTypeEnum.PRODUCT, productRepository.findAllById(batch));
+            }
+        }
+        eventPublisher.publishEvent(new ProductsChangedEvent(List.copyOf(productIds)));
+    }
+
+    private Map<Long, Object[]> loadLifecycleRows(Set<Long> productIds) {
+        List<Long> ids = new ArrayList<>(productIds);
+        Map<Long, Object[]> rows = new HashMap<>(ids.size() * 2);
+        for (int from = 0; from < ids.size(); from += ID_BATCH_SIZE) {
+            for (Object[] row : productRepository.findLifecycleRowsByIdIn(ids.subList(from, Math.min(from + ID_BATCH_SIZE, ids.size())))) {
+                rows.put(((Number) row[0]).longValue(), row);
+            }
+        }
+        return rows;
+    }
+
+    private PromotionReport.Blocker blocker(Object[] row, String reason) {
+        return new PromotionReport.Blocker(((Number) row[0]).longValue(), (String) row[1], (LifecycleStateEnum) row[2],
+                reason);
+    }
+}
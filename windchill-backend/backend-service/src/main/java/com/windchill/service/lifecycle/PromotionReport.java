@@ -0,0 +1,45 @@
+package com.windchill.service.lifecycle;
+
+import com.windchill.common.enums.LifecycleStateEnum;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Result of a bulk lifecycle promotion over a product and, optionally, its structure.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PromotionReport {
+    private Long rootProductId;
+    private LifecycleStateEnum targetState;
+    private boolean dryRun;
+    private boolean applied;
+    private int productCount;
+    private int unchangedCount;
+    private List<Change> changes;
+    private List<Blocker> blockers;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Change {
+        private Long productId;
+        private String productCode;
+        private LifecycleStateEnum fromState;
+        private LifecycleStateEnum toState;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Blocker {
+        private Long productId;
+        private String productCode;
+        private LifecycleStateEnum currentState;
+        private String reason;
+    }
+}
@@ -0,0 +1,19 @@
+package com.windchill.service.numbering;
+
+import com.windchill.common.enums.NumberingSchemeEnum;
+import com.windchill.domain.entity.Document;
+import com.windchill.domain.entity.Product;
+import com.windchill.domain.entity.Project;
+
+import java.util.List;
+import java.util.Map;
+
+public interface INumberingService {
+    String nextProductCode(Product product);
+
+    String nextDocumentNumber(Document document);
+
+    String nextProjectCode(Project project);
+
+    List<String> reserve(NumberingSchemeEnum scheme, Map<String, String> variables, int count);
+}
@@ -0,0 +1,146 @@
+package com.windchill.service.numbering;
+
+import com.windchill.common.exceptions.BusinessException;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * A compiled numbering pattern such as {@code DOC-{type}-{yyyy}-{seq:6}}. Placeholders are
+ * {@code {yyyy}}, {@code {yy}} and {@code {MM}} for the current date, {@code {seq}} or
+ * {@code {seq:width}} for the zero-padded sequence value, which must appear exactly once, and
+ * any other name for a value supplied by the caller. Everything else is literal.
+ *
+ * <p>Each distinct rendering of the parts around the sequence is its own sequence, so
+ * {@code DOC-DRAWING-2026-} and {@code DOC-SPEC-2026-} count independently and a new year
+ * starts again at 1.
+ */
+final class NumberPattern {
+    static final char SEQUENCE_MARK = '#';
+    private static final int MAX_VARIABLE_LENGTH = 20;
+
+    private final String pattern;
+    private final List<Part> parts;
+    private final int width;
+
+    private NumberPattern(String pattern, List<Part> parts, int width) {
+        this.pattern = pattern;
+        this.parts = parts;
+        this.width = width;
+    }
+
+    static NumberPattern compile(String pattern) {
+        if (pattern == null || pattern.isBlank()) {
+            throw new IllegalStateException("Numbering pattern is empty");
+        }
+        List<Part> parts = new ArrayList<>();
+        int width = -1;
+        int at = 0;
+        while (at < pattern.length()) {
+            int open = pattern.indexOf('{', at);
+            if (open < 0) {
+                parts.add(new Part(PartType.LITERAL, pattern.substring(at)));
+                break;
+            }
+            int close = pattern.indexOf('}', open);
+            if (close < 0) {
+                throw new IllegalStateException("Unclosed placeholder in numbering pattern " + pattern);
+            }
+            if (open > at) {
+                parts.add(new Part(PartType.LITERAL, pattern.substring(at, open)));
+            }
+            String name = pattern.substring(open + 1, close);
+            if (name.equals("seq") || name.startsWith("seq:")) {
+                if (width >= 0) {
+                    throw new IllegalStateException("Numbering pattern " + pattern + " has more than one {seq}");
+                }
+                width = name.equals("seq") ? 1 : Integer.parseInt(name.substring(4));
+                parts.add(new Part(PartType.SEQUENCE, null));
+            } else if (name.equals("yyyy") || name.equals("yy") || name.equals("MM")) {
+                parts.add(new Part(PartType.DATE, name));
+            } else if (!name.isEmpty()) {
+                parts.add(new Part(PartType.VARIABLE, name));
+            } else {
+                throw new IllegalStateException("Empty placeholder in numbering pattern " + pattern);
+            }
+            at = close + 1;
+        }
+        for (Part part : parts) {
+            if (part.type() == PartType.LITERAL && part.value().indexOf(SEQUENCE_MARK) >= 0) {
+                throw new IllegalStateException("Numbering pattern " + pattern + " may not contain " + SEQUENCE_MARK);
+            }
+        }
+        if (width < 1 || width > 18) {
+            throw new IllegalStateException("Numbering pattern " + pattern + " needs one {seq} or {seq:1..18}");
+        }
+        return new NumberPattern(pattern, List.copyOf(parts), width);
+    }
+
+    /**
+     * The pattern with everything but the sequence filled in, the sequence standing as
+     * {@value #SEQUENCE_MARK}. Variable values are upper-cased, blanks become '-', and other
+     * characters outside letters and digits are dropped.
+     */
+    String resolve(Map<String, String> variables, LocalDate date) {
+        StringBuilder resolved = new StringBuilder();
+        for (Part part : parts) {
+            switch (part.type()) {
+                case LITERAL -> resolved.append(part.value());
+                case SEQUENCE -> resolved.append(SEQUENCE_MARK);
+                case DATE -> resolved.append(switch (part.value()) {
+                    case "yyyy" -> String.valueOf(date.getYear());
+                    case "yy" -> pad(date.getYear() % 100, 2);
+                    default -> pad(date.getMonthValue(), 2);
+                });
+                case VARIABLE -> resolved.append(variable(part.value(), variables.get(part.value())));
+            }
+        }
+        return resolved.toString();
+    }
+
+    /**
+     * Substitutes a sequence value into a resolved pattern.
+     */
+    String format(String resolved, long value) {
+        int mark = resolved.lastIndexOf(SEQUENCE_MARK);
+        return resolved.substring(0, mark) + pad(value, width) + resolved.substring(mark + 1);
+    }
+
+    private String variable(String name, String value) {
+        StringBuilder cleaned = new StringBuilder();
+        if (value != null) {
+            for (char c : value.trim().toUpperCase(Locale.ROOT).toCharArray()) {
+                if ((c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')) {
+                    cleaned.append(c);
+                } else if (Character.isWhitespace(c) || c == '-' || c == '_') {
+                    cleaned.append('-');
+                }
+                if (cleaned.length() == MAX_VARIABLE_LENGTH) {
+                    break;
+                }
+            }
+        }
+        if (cleaned.isEmpty()) {
+            throw new BusinessException("Numbering pattern " + pattern + " needs a value for " + name);
+        }
+        return cleaned.toString();
+    }
+
+    private static String pad(long value, int width) {
+        String digits = Long.toString(value);
+        return digits.length() >= width ? digits : "0".repeat(width - digits.length()) + digits;
+    }
+
+    private enum PartType {
+        LITERAL,
+        SEQUENCE,
+        DATE,
+        VARIABLE
+    }
+
+    private record Part(PartType type, String value) {
+    }
+}
@@ -0,0 +1,135 @@
+package com.windchill.service.numbering;
+
+import com.windchill.common.enums.NumberingSchemeEnum;
+import com.windchill.common.exceptions.BusinessException;
+import com.windchill.domain.entity.Document;
+import com.windchill.domain.entity.Product;
+import com.windchill.domain.entity.Project;
+import com.windchill.repository.NumberSequenceRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Server-generated product codes, document numbers and project codes from the patterns in
+ * {@code app.numbering.schemes}. Values come from {@link SequenceBlocks}; a block is reserved
+ * in a short transaction of its own, so the counter row is locked for one update and never
+ * for the length of the caller's transaction, and a rolled-back create only leaves a gap.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class NumberingServiceImpl implements INumberingService {
+    private final NumberingSettings settings;
+    private final NumberSequenceRepository sequenceRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    private final Map<NumberingSchemeEnum, NumberPattern> patterns = new EnumMap<>(NumberingSchemeEnum.class);
+    private TransactionTemplate transactionTemplate;
+    private SequenceBlocks blocks;
+
+    @PostConstruct
+    void init() {
+        if (settings.getBlockSize() < 1) {
+            throw new IllegalStateException("app.numbering.block-size must be positive");
+        }
+        settings.getSchemes().forEach((scheme, config) -> {
+            patterns.put(scheme, NumberPattern.compile(config.getPattern()));
+            if (config.getBlockSize() != null && config.getBlockSize() < 1) {
+                throw new IllegalStateException("Block size of numbering scheme " + scheme + " must be positive");
+            }
+        });
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        if (settings.getMaxSequences() < 1) {
+            throw new IllegalStateException("app.numbering.max-sequences must be positive");
+        }
+        blocks = new SequenceBlocks(this::reserveBlock, settings.getMaxSequences());
+    }
+
+    @Override
+    public String nextProductCode(Product product) {
+        return next(NumberingSchemeEnum.PRODUCT,
+                variables("category", product.getCategory(), "manufacturer", product.getManufacturer()));
+    }
+
+    @Override
+    public String nextDocumentNumber(Document document) {
+        return next(NumberingSchemeEnum.DOCUMENT, variables("type", document.getDocumentType()));
+    }
+
+    @Override
+    public String nextProjectCode(Project project) {
+        return next(NumberingSchemeEnum.PROJECT,
+                variables("department", project.getDepartment(), "priority", project.getPriority()));
+    }
+
+    /**
+     * Numbers for a bulk import, taken in one go. A count of a block or more is contiguous.
+     */
+    @Override
+    public List<String> reserve(NumberingSchemeEnum scheme, Map<String, String> variables, int count) {
+        if (count < 1 || count > settings.getMaxReservation()) {
+            throw new BusinessException("Between 1 and " + settings.getMaxReservation() + " numbers can be reserved at once");
+        }
+        NumberPattern pattern = pattern(scheme);
+        String resolved = pattern.resolve(variables != null ? variables : Map.of(), LocalDate.now());
+        long[] values = blocks.next(scheme + ":" + resolved, count, blockSize(scheme));
+        List<String> numbers = new ArrayList<>(count);
+        for (long value : values) {
+            numbers.add(pattern.format(resolved, value));
+        }
+        log.info("Reserved {} {} numbers from {}", count, scheme, numbers.get(0));
+        return numbers;
+    }
+
+    private String next(NumberingSchemeEnum scheme, Map<String, String> variables) {
+        NumberPattern pattern = pattern(scheme);
+        String resolved = pattern.resolve(variables, LocalDate.now());
+        return pattern.format(resolved, blocks.next(scheme + ":" + resolved, blockSize(scheme)));
+    }
+
+    private long reserveBlock(String key, int size) {
+        Long start = transactionTemplate.execute(status -> {
+            if (sequenceRepository.advance(key, size) == 0) {
+                sequenceRepository.createIfAbsent(key);
+                sequenceRepository.advance(key, size);
+            }
+            return sequenceRepository.findNextValue(key) - size;
+        });
+        log.debug("Reserved sequence block {} of {} values from {}", key, size, start);
+        return start;
+    }
+
+    private NumberPattern pattern(NumberingSchemeEnum scheme) {
+        NumberPattern pattern = patterns.get(scheme);
+        if (pattern == null) {
+            throw new BusinessException("No numbering pattern is configured for " + scheme);
+        }
+        return pattern;
+    }
+
+    private int blockSize(NumberingSchemeEnum scheme) {
+        Integer blockSize = settings.getSchemes().get(scheme).getBlockSize();
+        return blockSize != null ? blockSize : settings.getBlockSize();
+    }
+
+    private static Map<String, String> variables(String... namesAndValues) {
+        Map<String, String> variables = new HashMap<>();
+        for (int i = 0; i < namesAndValues.length; i += 2) {
+            variables.put(namesAndValues[i], namesAndValues[i + 1]);
+        }
+        return variables;
+    }
+}
@@ -0,0 +1,32 @@
+package com.windchill.service.numbering;
+
+import com.windchill.common.enums.NumberingSchemeEnum;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Numbering patterns and block sizes, bound from {@code app.numbering}.
+ */
+@Component
+@ConfigurationProperties(prefix = "app.numbering")
+@Data
+public class NumberingSettings {
+    /** Sequence values a node reserves per round trip to the counter table. */
+    private int blockSize = 100;
+    /** Largest number of values one reservation request may take. */
+    private int maxReservation = 10000;
+    /** Sequences a node keeps a block open for; beyond that, the least recently used are dropped. */
+    private int maxSequences = 10000;
+    private Map<NumberingSchemeEnum, Scheme> schemes = new EnumMap<>(NumberingSchemeEnum.class);
+
+    @Data
+    public static class Scheme {
+        private String pattern;
+        /** Overrides the global block size for this scheme. */
+        private Integer blockSize;
+    }
+}
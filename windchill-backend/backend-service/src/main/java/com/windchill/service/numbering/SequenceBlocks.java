@@ -0,0 +1,127 @@
+package com.windchill.service.numbering;
+
+import java.util.Comparator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hands out sequence values from blocks reserved in advance. Taking a value is one atomic
+ * increment on the current block; only the thread that finds a block used up goes to the
+ * {@link BlockSource}, holding a lock on that one sequence while the others keep waiting
+ * for it or use other sequences.
+ *
+ * <p>Values of a block that is never used up, because the node stops, are skipped, so
+ * numbers are unique and increasing per node but not gap-free.
+ *
+ * <p>Every resolved pattern is a sequence of its own, so new ones keep coming (a new year,
+ * a new document type). Once more than {@code maxSequences} are held, sequences whose block
+ * is used up are dropped, and if that is not enough the least recently used ones, whose
+ * remaining values are skipped like those of a stopped node. A caller still holding a
+ * dropped sequence finishes with it safely: its next block comes from the source as usual.
+ */
+final class SequenceBlocks {
+    private final ConcurrentMap<String, Counter> counters = new ConcurrentHashMap<>();
+    private final BlockSource source;
+    private final int maxSequences;
+
+    SequenceBlocks(BlockSource source, int maxSequences) {
+        this.source = source;
+        this.maxSequences = maxSequences;
+    }
+
+    long next(String key, int blockSize) {
+        Counter counter = counters.get(key);
+        if (counter == null) {
+            counter = counters.computeIfAbsent(key, ignored -> new Counter());
+            if (counters.size() > maxSequences) {
+                evict();
+            }
+        }
+        counter.usedAt = System.nanoTime();
+        while (true) {
+            Block block = counter.block;
+            if (block != null) {
+                long value = block.next.getAndIncrement();
+                if (value < block.end) {
+                    return value;
+                }
+            }
+            synchronized (counter) {
+                if (counter.block == block) {
+                    long start = source.reserve(key, blockSize);
+                    counter.block = new Block(start, start + blockSize);
+                }
+            }
+        }
+    }
+
+    /**
+     * {@code count} values at once. A count of a whole block or more gets a contiguous block
+     * of its own straight from the source, leaving the shared block to other callers.
+     */
+    long[] next(String key, int count, int blockSize) {
+        long[] values = new long[count];
+        if (count >= blockSize) {
+            long start = source.reserve(key, count);
+            for (int i = 0; i < count; i++) {
+                values[i] = start + i;
+            }
+        } else {
+            for (int i = 0; i < count; i++) {
+                values[i] = next(key, blockSize);
+            }
+        }
+        return values;
+    }
+
+    int size() {
+        return counters.size();
+    }
+
+    /**
+     * Drops used-up sequences, then the least recently used down to three quarters of the
+     * limit, so eviction runs once per many new sequences rather than on every one.
+     */
+    private synchronized void evict() {
+        if (counters.size() <= maxSequences) {
+            return;
+        }
+        counters.entrySet().removeIf(entry -> entry.getValue().usedUp());
+        int excess = counters.size() - maxSequences * 3 / 4;
+        if (excess > 0) {
+            counters.entrySet().stream()
+                    .sorted(Comparator.comparingLong(entry -> entry.getValue().usedAt))
+                    .limit(excess)
+                    .toList()
+                    .forEach(entry -> counters.remove(entry.getKey(), entry.getValue()));
+        }
+    }
+
+    /**
+     * Reserves {@code size} values of a sequence for this node alone and returns the first.
+     */
+    interface BlockSource {
+        long reserve(String key, int size);
+    }
+
+    private static final class Counter {
+        private volatile Block block;
+        private volatile long usedAt;
+
+        private boolean usedUp() {
+            Block current = block;
+            return current == null || current.next.get() >= current.end;
+        }
+    }
+
+    private static final class Block {
+        private final AtomicLong next;
+        private final long end;
+
+        private Block(long start, long end) {
+            this.next = new AtomicLong(start);
+            this.end = end;
+        }
+    }
+}
@@ -0,0 +1,224 @@
+package com.windchill.service.product;
+
+import java.util.Arrays;
+
+/**
+ * Compressed set of product ordinals, laid out like a roaring bitmap: ordinals are split into
+ * chunks of 65536 by their high 16 bits, and each chunk holds its low bits either as a sorted
+ * {@code char[]} while it has few members or as a 1024-word bitmap once it has many. A facet
+ * value shared by a handful of products costs a few bytes; one shared by most of the catalog
+ * costs one bit per product.
+ *
+ * <p>Queries evaluate into plain {@code long[]} word arrays over the whole ordinal range;
+ * the methods here combine a bitmap into such an array. Not thread-safe.
+ */
+final class FacetBitmap {
+    private static final int CHUNK_WORDS = 1024;
+    private static final int ARRAY_MAX = 4096;
+    private static final int ARRAY_MIN = ARRAY_MAX / 2;
+
+    private char[] keys = new char[0];
+    private Object[] containers = new Object[0];
+    private int[] sizes = new int[0];
+    private int chunks;
+
+    boolean add(int ordinal) {
+        char key = (char) (ordinal >>> 16);
+        char low = (char) ordinal;
+        int chunk = Arrays.binarySearch(keys, 0, chunks, key);
+        if (chunk < 0) {
+            chunk = insertChunk(-chunk - 1, key);
+        }
+        if (containers[chunk] instanceof long[] words) {
+            long mask = 1L << low;
+            if ((words[low >>> 6] & mask) != 0) {
+                return false;
+            }
+            words[low >>> 6] |= mask;
+            sizes[chunk]++;
+            return true;
+        }
+        char[] values = (char[]) containers[chunk];
+        int size = sizes[chunk];
+        int position = Arrays.binarySearch(values, 0, size, low);
+        if (position >= 0) {
+            return false;
+        }
+        if (size == ARRAY_MAX) {
+            long[] words = toWords(values, size);
+            words[low >>> 6] |= 1L << low;
+            containers[chunk] = words;
+            sizes[chunk]++;
+            return true;
+        }
+        position = -position - 1;
+        if (size == values.length) {
+            values = Arrays.copyOf(values, Math.min(ARRAY_MAX, Math.max(4, size * 2)));
+            containers[chunk] = values;
+        }
+        System.arraycopy(values, position, values, position + 1, size - position);
+        values[position] = low;
+        sizes[chunk]++;
+        return true;
+    }
+
+    boolean remove(int ordinal) {
+        int chunk = Arrays.binarySearch(keys, 0, chunks, (char) (ordinal >>> 16));
+        if (chunk < 0) {
+            return false;
+        }
+        char low = (char) ordinal;
+        if (containers[chunk] instanceof long[] words) {
+            long mask = 1L << low;
+            if ((words[low >>> 6] & mask) == 0) {
+                return false;
+            }
+            words[low >>> 6] &= ~mask;
+            // converting back only well below the limit keeps a chunk from flipping on every write
+            if (--sizes[chunk] < ARRAY_MIN) {
+                containers[chunk] = toValues(words, sizes[chunk]);
+            }
+            return true;
+        }
+        char[] values = (char[]) containers[chunk];
+        int size = sizes[chunk];
+        int position = Arrays.binarySearch(values, 0, size, low);
+        if (position < 0) {
+            return false;
+        }
+        System.arraycopy(values, position + 1, values, position, size - position - 1);
+        if (--sizes[chunk] == 0) {
+            removeChunk(chunk);
+        }
+        return true;
+    }
+
+    int cardinality() {
+        int cardinality = 0;
+        for (int chunk = 0; chunk < chunks; chunk++) {
+            cardinality += sizes[chunk];
+        }
+        return cardinality;
+    }
+
+    /**
+     * Sets the bits of every member in {@code target}. Members beyond its length are ignored.
+     */
+    void orInto(long[] target) {
+        for (int chunk = 0; chunk < chunks; chunk++) {
+            int base = keys[chunk] * CHUNK_WORDS;
+            if (containers[chunk] instanceof long[] words) {
+                int length = Math.min(CHUNK_WORDS, target.length - base);
+                for (int word = 0; word < length; word++) {
+                    target[base + word] |= words[word];
+                }
+            } else {
+                char[] values = (char[]) containers[chunk];
+                for (int i = 0; i < sizes[chunk]; i++) {
+                    int word = base + (values[i] >>> 6);
+                    if (word < target.length) {
+                        target[word] |= 1L << values[i];
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Clears the bits of every member in {@code target}.
+     */
+    void andNotFrom(long[] target) {
+        for (int chunk = 0; chunk < chunks; chunk++) {
+            int base = keys[chunk] * CHUNK_WORDS;
+            if (containers[chunk] instanceof long[] words) {
+                int length = Math.min(CHUNK_WORDS, target.length - base);
+                for (int word = 0; word < length; word++) {
+                    target[base + word] &= ~words[word];
+                }
+            } else {
+                char[] values = (char[]) containers[chunk];
+                for (int i = 0; i < sizes[chunk]; i++) {
+                    int word = base + (values[i] >>> 6);
+                    if (word < target.length) {
+                        target[word] &= ~(1L << values[i]);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Counts the members whose bit is set in {@code target}, without materialising the
+     * intersection.
+     */
+    int andCardinality(long[] target) {
+        int count = 0;
+        for (int chunk = 0; chunk < chunks; chunk++) {
+            int base = keys[chunk] * CHUNK_WORDS;
+            if (base >= target.length) {
+                break;
+            }
+            if (containers[chunk] instanceof long[] words) {
+                int length = Math.min(CHUNK_WORDS, target.length - base);
+                for (int word = 0; word < length; word++) {
+                    count += Long.bitCount(target[base + word] & words[word]);
+                }
+            } else {
+                char[] values = (char[]) containers[chunk];
+                for (int i = 0; i < sizes[chunk]; i++) {
+                    int word = base + (values[i] >>> 6);
+                    if (word < target.length && (target[word] & (1L << values[i])) != 0) {
+                        count++;
+                    }
+                }
+            }
+        }
+        return count;
+    }
+
+    private int insertChunk(int position, char key) {
+        if (chunks == keys.length) {
+            int capacity = Math.max(4, chunks * 2);
+            keys = Arrays.copyOf(keys, capacity);
+            containers = Arrays.copyOf(containers, capacity);
+            sizes = Arrays.copyOf(sizes, capacity);
+        }
+        System.arraycopy(keys, position, keys, position + 1, chunks - position);
+        System.arraycopy(containers, position, containers, position + 1, chunks - position);
+        System.arraycopy(sizes, position, sizes, position + 1, chunks - position);
+        keys[position] = key;
+        containers[position] = new char[4];
+        sizes[position] = 0;
+        chunks++;
+        return position;
+    }
+
+    private void removeChunk(int position) {
+        System.arraycopy(keys, position + 1, keys, position, chunks - position - 1);
+        System.arraycopy(containers, position + 1, containers, position, chunks - position - 1);
+        System.arraycopy(sizes, position + 1, sizes, position, chunks - position - 1);
+        chunks--;
+        containers[chunks] = null;
+    }
+
+    private static long[] toWords(char[] values, int size) {
+        long[] words = new long[CHUNK_WORDS];
+        for (int i = 0; i < size; i++) {
+            words[values[i] >>> 6] |= 1L << values[i];
+        }
+        return words;
+    }
+
+    private static char[] toValues(long[] words, int size) {
+        char[] values = new char[size];
+        int next = 0;
+        for (int word = 0; word < CHUNK_WORDS; word++) {
+            long bits = words[word];
+            while (bits != 0) {
+                values[next++] = (char) (word * 64 + Long.numberOfTrailingZeros(bits));
+                bits &= bits - 1;
+            }
+        }
+        return values;
+    }
+}
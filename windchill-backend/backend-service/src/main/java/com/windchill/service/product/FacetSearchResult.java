@@ -0,0 +1,32 @@
+package com.windchill.service.product;
+
+import com.windchill.domain.entity.Product;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One page of products matching a facet filter, with the number of matching products per
+ * value of every facet.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FacetSearchResult {
+    private long totalElements;
+    private int page;
+    private int size;
+    private List<Product> products;
+    private Map<String, List<ValueCount>> facets;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ValueCount {
+        private String value;
+        private int count;
+    }
+}
@@ -2,6 +2,8 @@ package com.windchill.service.product;
 
 import com.windchill.domain.entity.Product;
 import com.windchill.common.enums.StatusEnum;
+import com.windchill.service.query.FilterQuery;
+import com.windchill.service.query.KeysetPage;
 
 import java.util.List;
 import java.util.Optional;
@@ -21,6 +23,8 @@ public interface IProductService {
     
     List<Product> searchProducts(String keyword);
     
+    KeysetPage<Product> queryProducts(FilterQuery query);
+    
     Product updateProduct(Long id, Product productDetails);
     
     void deleteProduct(Long id);
@@ -30,4 +34,6 @@ public interface IProductService {
     Product updateProductVersion(Long id, String newVersion);
     
     List<Product> getProductsByCategory(String category);
+
+    FacetSearchResult searchFacets(List<String> filters, int page, int size);
 }
@@ -0,0 +1,48 @@
+package com.windchill.service.product;
+
+import com.windchill.common.exceptions.BusinessException;
+
+/**
+ * Product attributes that can be filtered and counted through the facet index, each with
+ * its name in filter expressions and its column in the facet rows of the repository.
+ */
+public enum ProductFacet {
+    CATEGORY("category", 1),
+    MANUFACTURER("manufacturer", 2),
+    STATUS("status", 3),
+    LIFECYCLE_STATE("lifecycleState", 4),
+    MATURITY_LEVEL("maturityLevel", 5),
+    PROJECT("project", 6);
+
+    private final String parameterName;
+    private final int column;
+
+    ProductFacet(String parameterName, int column) {
+        this.parameterName = parameterName;
+        this.column = column;
+    }
+
+    public String getParameterName() {
+        return parameterName;
+    }
+
+    /**
+     * Returns the value of this facet in a facet row, or null if the product has none.
+     */
+    String valueOf(Object[] row) {
+        Object value = row[column];
+        if (value == null) {
+            return null;
+        }
+        return value instanceof Enum<?> constant ? constant.name() : value.toString();
+    }
+
+    public static ProductFacet fromParameter(String name) {
+        for (ProductFacet facet : values()) {
+            if (facet.parameterName.equalsIgnoreCase(name)) {
+                return facet;
+            }
+        }
+        throw new BusinessException("Unknown product facet: " + name);
+    }
+}
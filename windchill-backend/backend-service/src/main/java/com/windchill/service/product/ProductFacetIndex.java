@@ -0,0 +1,321 @@
+package com.windchill.service.product;
+
+import com.windchill.repository.ProductRepository;
+import com.windchill.service.access.ProjectAccess;
+import com.windchill.service.event.ProductsChangedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory facet index over active products. Every product gets a dense ordinal, and every
+ * value of every {@link ProductFacet} a {@link FacetBitmap} of the ordinals carrying it, so a
+ * filter is a few word-wise ORs and ANDs, and facet counts are intersection counts per value
+ * or, for selective filters, a tally over the matches. Only the ids of the requested page
+ * leave the index.
+ *
+ * <p>Committed product changes are patched in place; a periodic full reload picks up changes
+ * made through other application nodes and compacts the ordinals of deleted products.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+class ProductFacetIndex {
+    private static final int ID_BATCH_SIZE = 1000;
+    private static final int TALLY_FRACTION = 8;
+
+    private final ProductRepository productRepository;
+    private final Object writeLock = new Object();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile Index index;
+
+    @Value("${app.product-facets.max-values:100}")
+    private int maxValues;
+
+    /**
+     * Filters with a conjunction of clauses, each matching products that have any of its
+     * terms, and returns one page of ids in ordinal order. Facet counts are taken over the
+     * whole match; products of projects hidden by {@code access} are never matched.
+     */
+    Match query(List<List<Term>> clauses, ProjectAccess access, int page, int size) {
+        Index current = current();
+        lock.readLock().lock();
+        try {
+            int words = (current.size + 63) >>> 6;
+            long[] result = new long[words];
+            current.live.orInto(result);
+            for (List<Term> clause : clauses) {
+                long[] matches = new long[words];
+                for (Term term : clause) {
+                    FacetBitmap bitmap = current.facets.get(term.facet()).bitmap(term.value());
+                    if (bitmap != null) {
+                        bitmap.orInto(matches);
+                    }
+                }
+                for (int word = 0; word < words; word++) {
+                    result[word] &= matches[word];
+                }
+            }
+            FacetValues projects = current.facets.get(ProductFacet.PROJECT);
+            access.forEachHidden(projectId -> {
+                FacetBitmap bitmap = projects.bitmap(Long.toString(projectId));
+                if (bitmap != null) {
+                    bitmap.andNotFrom(result);
+                }
+            });
+
+            long total = 0;
+            for (long word : result) {
+                total += Long.bitCount(word);
+            }
+            List<Long> ids = new ArrayList<>(size);
+            long skip = (long) page * size;
+            for (int word = 0; word < words && ids.size() < size; word++) {
+                long bits = result[word];
+                int count = Long.bitCount(bits);
+                if (skip >= count) {
+                    skip -= count;
+                    continue;
+                }
+                while (bits != 0 && ids.size() < size) {
+                    int ordinal = word * 64 + Long.numberOfTrailingZeros(bits);
+                    bits &= bits - 1;
+                    if (skip > 0) {
+                        skip--;
+                    } else {
+                        ids.add(current.ids[ordinal]);
+                    }
+                }
+            }
+
+            // a selective filter is cheaper to count by visiting its matches than by intersecting
+            // every value's bitmap with it
+            boolean tally = total < current.live.cardinality() / TALLY_FRACTION;
+            Map<String, List<FacetSearchResult.ValueCount>> counts = new LinkedHashMap<>();
+            for (Map.Entry<ProductFacet, FacetValues> entry : current.facets.entrySet()) {
+                FacetValues values = entry.getValue();
+                counts.put(entry.getKey().getParameterName(),
+                        tally ? values.tally(result, maxValues) : values.counts(result, maxValues));
+            }
+            return new Match(total, ids, counts);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    void onProductsChanged(ProductsChangedEvent event) {
+        synchronized (writeLock) {
+            if (index == null) {
+                return;
+            }
+            List<Long> ids = event.productIds();
+            for (int from = 0; from < ids.size(); from += ID_BATCH_SIZE) {
+                List<Long> batch = ids.subList(from, Math.min(from + ID_BATCH_SIZE, ids.size()));
+                List<Object[]> rows = productRepository.findFacetRowsByIdIn(batch);
+                Set<Long> active = new HashSet<>(rows.size() * 2);
+                lock.writeLock().lock();
+                try {
+                    for (Object[] row : rows) {
+                        index.put(row);
+                        active.add(((Number) row[0]).longValue());
+                    }
+                    for (Long id : batch) {
+                        if (!active.contains(id)) {
+                            index.remove(id);
+                        }
+                    }
+                } finally {
+                    lock.writeLock().unlock();
+                }
+            }
+        }
+    }
+
+    @Scheduled(initialDelayString = "${app.product-facets.full-refresh-interval-ms:900000}",
+               fixedDelayString = "${app.product-facets.full-refresh-interval-ms:900000}")
+    void refresh() {
+        synchronized (writeLock) {
+            if (index != null) {
+                Index loaded = load();
+                lock.writeLock().lock();
+                try {
+                    index = loaded;
+                } finally {
+                    lock.writeLock().unlock();
+                }
+            }
+        }
+    }
+
+    private Index current() {
+        Index snapshot = index;
+        if (snapshot == null) {
+            synchronized (writeLock) {
+                if (index == null) {
+                    index = load();
+                }
+                snapshot = index;
+            }
+        }
+        return snapshot;
+    }
+
+    private Index load() {
+        long started = System.nanoTime();
+        Index loaded = new Index();
+        for (Object[] row : productRepository.findFacetRows()) {
+            loaded.put(row);
+        }
+        int values = loaded.facets.values().stream().mapToInt(FacetValues::size).sum();
+        log.info("Loaded product facet index: {} products, {} facet values in {} ms", loaded.size, values,
+                (System.nanoTime() - started) / 1_000_000);
+        return loaded;
+    }
+
+    record Term(ProductFacet facet, String value) {
+    }
+
+    record Match(long total, List<Long> ids, Map<String, List<FacetSearchResult.ValueCount>> facets) {
+    }
+
+    /**
+     * Ordinals are handed out in id order on load and appended for products created later,
+     * which have higher ids; an ordinal of a deleted product stays unused until the next load.
+     */
+    private static final class Index {
+        private final Map<Long, Integer> ordinals = new HashMap<>();
+        private final FacetBitmap live = new FacetBitmap();
+        private final Map<ProductFacet, FacetValues> facets = new EnumMap<>(ProductFacet.class);
+        private long[] ids = new long[1024];
+        private int size;
+
+        private Index() {
+            for (ProductFacet facet : ProductFacet.values()) {
+                facets.put(facet, new FacetValues());
+            }
+        }
+
+        void put(Object[] row) {
+            long id = ((Number) row[0]).longValue();
+            Integer ordinal = ordinals.get(id);
+            if (ordinal == null) {
+                if (size == ids.length) {
+                    ids = Arrays.copyOf(ids, size * 2);
+                }
+                ordinal = size++;
+                ids[ordinal] = id;
+                ordinals.put(id, ordinal);
+            }
+            live.add(ordinal);
+            for (Map.Entry<ProductFacet, FacetValues> entry : facets.entrySet()) {
+                entry.getValue().set(ordinal, entry.getKey().valueOf(row));
+            }
+        }
+
+        void remove(long id) {
+            Integer ordinal = ordinals.get(id);
+            if (ordinal != null && live.remove(ordinal)) {
+                for (FacetValues values : facets.values()) {
+                    values.set(ordinal, null);
+                }
+            }
+        }
+    }
+
+    /**
+     * The values of one facet, with one bitmap per value and each ordinal's current value
+     * kept as a code so a change knows which bitmap to leave.
+     */
+    private static final class FacetValues {
+        private final Map<String, Integer> codes = new HashMap<>();
+        private final List<String> values = new ArrayList<>();
+        private final List<FacetBitmap> bitmaps = new ArrayList<>();
+        // code + 1 per ordinal, 0 for none
+        private int[] codeByOrdinal = new int[1024];
+
+        int size() {
+            return values.size();
+        }
+
+        FacetBitmap bitmap(String value) {
+            Integer code = codes.get(value);
+            return code != null ? bitmaps.get(code) : null;
+        }
+
+        void set(int ordinal, String value) {
+            if (ordinal >= codeByOrdinal.length) {
+                codeByOrdinal = Arrays.copyOf(codeByOrdinal, Math.max(ordinal + 1, codeByOrdinal.length * 2));
+            }
+            int previous = codeByOrdinal[ordinal] - 1;
+            int code = value != null ? codes.computeIfAbsent(value, this::newCode) : -1;
+            if (previous == code) {
+                return;
+            }
+            if (previous >= 0) {
+                bitmaps.get(previous).remove(ordinal);
+            }
+            if (code >= 0) {
+                bitmaps.get(code).add(ordinal);
+            }
+            codeByOrdinal[ordinal] = code + 1;
+        }
+
+        List<FacetSearchResult.ValueCount> counts(long[] result, int limit) {
+            int[] countByCode = new int[values.size()];
+            for (int code = 0; code < countByCode.length; code++) {
+                countByCode[code] = bitmaps.get(code).andCardinality(result);
+            }
+            return top(countByCode, limit);
+        }
+
+        List<FacetSearchResult.ValueCount> tally(long[] result, int limit) {
+            int[] countByCode = new int[values.size()];
+            for (int word = 0; word < result.length; word++) {
+                long bits = result[word];
+                while (bits != 0) {
+                    int code = codeByOrdinal[word * 64 + Long.numberOfTrailingZeros(bits)] - 1;
+                    bits &= bits - 1;
+                    if (code >= 0) {
+                        countByCode[code]++;
+                    }
+                }
+            }
+            return top(countByCode, limit);
+        }
+
+        private List<FacetSearchResult.ValueCount> top(int[] countByCode, int limit) {
+            List<FacetSearchResult.ValueCount> counts = new ArrayList<>();
+            for (int code = 0; code < countByCode.length; code++) {
+                if (countByCode[code] > 0) {
+                    counts.add(new FacetSearchResult.ValueCount(values.get(code), countByCode[code]));
+                }
+            }
+            counts.sort(Comparator.comparingInt(FacetSearchResult.ValueCount::getCount).reversed()
+                    .thenComparing(FacetSearchResult.ValueCount::getValue));
+            return counts.size() > limit ? new ArrayList<>(counts.subList(0, limit)) : counts;
+        }
+
+        private int newCode(String value) {
+            values.add(value);
+            bitmaps.add(new FacetBitmap());
+            return values.size() - 1;
+        }
+    }
+}
@@ -2,15 +2,37 @@ package com.windchill.service.product;
 
 import com.windchill.common.exceptions.BusinessException;
 import com.windchill.common.exceptions.ResourceNotFoundException;
+import com.windchill.common.enums.HistoryEntityTypeEnum;
+import com.windchill.common.enums.LifecycleStateEnum;
 import com.windchill.common.enums.StatusEnum;
 import com.windchill.domain.entity.Product;
 import com.windchill.repository.ProductRepository;
+import com.windchill.service.access.IProjectAccessService;
+import com.windchill.service.access.ProjectAccess;
+import com.windchill.service.attribute.AttributeRegistry;
+import com.windchill.service.event.ProductCostChangedEvent;
+import com.windchill.service.event.ProductsChangedEvent;
+import com.windchill.service.event.ReorderThresholdCrossedEvent;
+import com.windchill.service.history.IEntityHistoryService;
+import com.windchill.service.inventory.IInventoryService;
+import com.windchill.service.inventory.ReorderThreshold;
+import com.windchill.service.numbering.INumberingService;
+import com.windchill.service.query.FilterQuery;
+import com.windchill.service.query.FilterQueryExecutor;
+import com.windchill.service.query.KeysetPage;
+import com.windchill.service.query.QuerySchemas;
+import com.windchill.service.similarity.IProductSimilarityService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
@@ -18,22 +40,45 @@ import java.util.List;
 @Transactional
 public class ProductServiceImpl implements IProductService {
     private final ProductRepository productRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final IInventoryService inventoryService;
+    private final IEntityHistoryService historyService;
+    private final IProjectAccessService projectAccessService;
+    private final FilterQueryExecutor filterQueryExecutor;
+    private final ProductFacetIndex facetIndex;
+    private final IProductSimilarityService similarityService;
+    private final AttributeRegistry attributeRegistry;
+    private final INumberingService numberingService;
 
     @Override
     public Product createProduct(Product product) {
-        log.info("Creating new product: {}", product.getProductCode());
-
         if (product.getProductCode() == null || product.getProductCode().isEmpty()) {
-            throw new BusinessException("Product code cannot be empty");
+            product.setProductCode(numberingService.nextProductCode(product));
         }
+        log.info("Creating new product: {}", product.getProductCode());
 
         Product existingProduct = productRepository.findByProductCode(product.getProductCode()).orElse(null);
         if (existingProduct != null && !existingProduct.getIsDeleted()) {
             throw new BusinessException("Product code already exists: " + product.getProductCode());
         }
+        similarityService.checkNewProduct(product);
 
+        product.setAttributes(attributeRegistry.apply(null, product.getAttributes()));
         product.setIsDeleted(false);
+        product.setLifecycleState(LifecycleStateEnum.DRAFT);
+        product.setMaturityLevel(LifecycleStateEnum.DRAFT.getMaturityLevel());
+        // the row starts empty; a given stock count is the product's first ledger entry, so the
+        // ledger always sums to the count on the row. Reservations come only from RESERVE movements.
+        Integer openingBalance = product.getQuantityOnHand();
+        product.setQuantityOnHand(0);
+        product.setQuantityReserved(0);
         Product savedProduct = productRepository.save(product);
+        if (openingBalance != null && openingBalance != 0) {
+            inventoryService.setOnHand(savedProduct.getId(), openingBalance, "Opening balance");
+            savedProduct.setQuantityOnHand(openingBalance);
+        }
+        historyService.record(HistoryEntityTypeEnum.PRODUCT, savedProduct);
+        eventPublisher.publishEvent(new ProductsChangedEvent(List.of(savedProduct.getId())));
         log.info("Product created successfully: {}", product.getProductCode());
         return savedProduct;
     }
@@ -43,6 +88,7 @@ public class ProductServiceImpl implements IProductService {
     public Product getProductById(Long id) {
         log.debug("Fetching product by id: {}", id);
         return productRepository.findById(id)
+                .filter(product -> projectAccessService.current().canSee(product.getProjectId()))
                 .orElseThrow(() -> new ResourceNotFoundException("Product", "id", id));
     }
 
@@ -51,6 +97,7 @@ public class ProductServiceImpl implements IProductService {
     public Product getProductByCode(String productCode) {
         log.debug("Fetching product by code: {}", productCode);
         return productRepository.findByProductCode(productCode)
+                .filter(product -> projectAccessService.current().canSee(product.getProjectId()))
                 .orElseThrow(() -> new ResourceNotFoundException("Product", "code", productCode));
     }
 
@@ -58,33 +105,53 @@ public class ProductServiceImpl implements IProductService {
     @Transactional(readOnly = true)
     public List<Product> getAllProducts() {
         log.debug("Fetching all products");
-        return productRepository.findAllActive();
+        return projectAccessService.current().filter(productRepository.findAllActive(), Product::getProjectId);
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<Product> getProductsByProject(Long projectId) {
         log.debug("Fetching products for project: {}", projectId);
-        return productRepository.findByProjectIdAndIsDeletedFalse(projectId);
+        return projectAccessService.current().filter(productRepository.findByProjectIdAndIsDeletedFalse(projectId),
+                Product::getProjectId);
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<Product> getProductsByStatus(StatusEnum status) {
         log.debug("Fetching products by status: {}", status);
-        return productRepository.findByStatusAndIsDeletedFalse(status);
+        return projectAccessService.current().filter(productRepository.findByStatusAndIsDeletedFalse(status),
+                Product::getProjectId);
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<Product> searchProducts(String keyword) {
         log.debug("Searching products with keyword: {}", keyword);
-        return productRepository.findByProductNameContaining(keyword);
+        return projectAccessService.current().filter(productRepository.findByProductNameContaining(keyword),
+                Product::getProjectId);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public KeysetPage<Product> queryProducts(FilterQuery query) {
+        log.debug("Querying products: {}", query);
+        return filterQueryExecutor.execute(QuerySchemas.PRODUCTS.extendedWith(attributeRegistry.queryFields()), query,
+                projectAccessService.current());
+    }
+
+    /**
+     * Applies the given non-null attributes. Lifecycle state and maturity level are not among
+     * them: they change only through promotion, so an update naming either is rejected rather
+     * than silently ignored.
+     */
     @Override
     public Product updateProduct(Long id, Product productDetails) {
         log.info("Updating product: {}", id);
+        if (productDetails.getLifecycleState() != null || productDetails.getMaturityLevel() != null) {
+            throw new BusinessException("Lifecycle state and maturity level of product " + id
+                    + " change only through POST /products/" + id + "/lifecycle/promote");
+        }
         Product product = getProductById(id);
 
         if (productDetails.getProductName() != null) {
@@ -99,17 +166,46 @@ public class ProductServiceImpl implements IProductService {
         if (productDetails.getManufacturer() != null) {
             product.setManufacturer(productDetails.getManufacturer());
         }
+        boolean costChanged = false;
         if (productDetails.getCost() != null) {
+            costChanged = product.getCost() == null || product.getCost().compareTo(productDetails.getCost()) != 0;
             product.setCost(productDetails.getCost());
         }
         if (productDetails.getSellingPrice() != null) {
             product.setSellingPrice(productDetails.getSellingPrice());
         }
+        if (productDetails.getAttributes() != null) {
+            // a partial update: listed attributes are set, or removed when null
+            product.setAttributes(attributeRegistry.apply(product.getAttributes(), productDetails.getAttributes()));
+        }
         if (productDetails.getQuantityOnHand() != null) {
+            // stock is not written with the entity; a new count becomes an adjustment in the ledger,
+            // taken against the locked row and committed with this update
+            inventoryService.setOnHand(id, productDetails.getQuantityOnHand(), "Product update");
             product.setQuantityOnHand(productDetails.getQuantityOnHand());
         }
+        ReorderThresholdCrossedEvent reorderCrossing = null;
+        if (productDetails.getReorderLevel() != null && !productDetails.getReorderLevel().equals(product.getReorderLevel())) {
+            boolean wasBelow = ReorderThreshold.isBelow(product.getIsDeleted(), product.getQuantityOnHand(),
+                    product.getReorderLevel());
+            boolean below = ReorderThreshold.isBelow(product.getIsDeleted(), product.getQuantityOnHand(),
+                    productDetails.getReorderLevel());
+            if (wasBelow != below) {
+                reorderCrossing = new ReorderThresholdCrossedEvent(id, below, product.getQuantityOnHand(),
+                        productDetails.getReorderLevel());
+            }
+            product.setReorderLevel(productDetails.getReorderLevel());
+        }
 
         Product updatedProduct = productRepository.save(product);
+        historyService.record(HistoryEntityTypeEnum.PRODUCT, updatedProduct);
+        eventPublisher.publishEvent(new ProductsChangedEvent(List.of(id)));
+        if (costChanged) {
+            eventPublisher.publishEvent(new ProductCostChangedEvent(id));
+        }
+        if (reorderCrossing != null) {
+            eventPublisher.publishEvent(reorderCrossing);
+        }
         log.info("Product updated successfully: {}", id);
         return updatedProduct;
     }
@@ -119,7 +215,8 @@ public class ProductServiceImpl implements IProductService {
         log.info("Deleting product: {}", id);
         Product product = getProductById(id);
         product.setIsDeleted(true);
-        productRepository.save(product);
+        historyService.record(HistoryEntityTypeEnum.PRODUCT, productRepository.save(product));
+        eventPublisher.publishEvent(new ProductsChangedEvent(List.of(id)));
         log.info("Product deleted successfully: {}", id);
     }
 
@@ -128,7 +225,10 @@ public class ProductServiceImpl implements IProductService {
         log.info("Updating product status: {} to {}", id, status);
         Product product = getProductById(id);
         product.setStatus(status);
-        return productRepository.save(product);
+        Product updatedProduct = productRepository.save(product);
+        historyService.record(HistoryEntityTypeEnum.PRODUCT, updatedProduct);
+        eventPublisher.publishEvent(new ProductsChangedEvent(List.of(id)));
+        return updatedProduct;
     }
 
     @Override
@@ -136,13 +236,56 @@ public class ProductServiceImpl implements IProductService {
         log.info("Updating product version: {} to {}", id, newVersion);
         Product product = getProductById(id);
         product.setVersionNumber(newVersion);
-        return productRepository.save(product);
+        Product updatedProduct = productRepository.save(product);
+        historyService.record(HistoryEntityTypeEnum.PRODUCT, updatedProduct);
+        return updatedProduct;
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<Product> getProductsByCategory(String category) {
         log.debug("Fetching products by category: {}", category);
-        return productRepository.findByProductNameContaining(category);
+        return projectAccessService.current().filter(productRepository.findByCategoryAndIsDeletedFalse(category),
+                Product::getProjectId);
+    }
+
+    /**
+     * Each filter is a comma-separated list of {@code facet:value} terms of which a product
+     * must match any; a product must match every filter. The matching page is read by id.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public FacetSearchResult searchFacets(List<String> filters, int page, int size) {
+        log.debug("Searching product facets with filters {}", filters);
+        if (page < 0 || size < 1) {
+            throw new BusinessException("Page must not be negative and size must be positive");
+        }
+        List<List<ProductFacetIndex.Term>> clauses = new ArrayList<>();
+        for (String filter : filters != null ? filters : List.<String>of()) {
+            List<ProductFacetIndex.Term> clause = new ArrayList<>();
+            for (String term : filter.split(",")) {
+                int separator = term.indexOf(':');
+                if (separator <= 0) {
+                    throw new BusinessException("Facet filter terms look like facet:value, got: " + term);
+                }
+                clause.add(new ProductFacetIndex.Term(ProductFacet.fromParameter(term.substring(0, separator).trim()),
+                        term.substring(separator + 1).trim()));
+            }
+            clauses.add(clause);
+        }
+        ProjectAccess access = projectAccessService.current();
+        ProductFacetIndex.Match match = facetIndex.query(clauses, access, page, size);
+
+        Map<Long, Integer> positions = new HashMap<>(match.ids().size() * 2);
+        for (Long id : match.ids()) {
+            positions.put(id, positions.size());
+        }
+        // the index may trail a change committed on another node; drop what no longer qualifies
+        List<Product> products = access.filter(productRepository.findAllById(match.ids()), Product::getProjectId)
+                .stream()
+                .filter(product -> !product.getIsDeleted())
+                .sorted(Comparator.comparing(product -> positions.get(product.getId())))
+                .toList();
+        return new FacetSearchResult(match.total(), page, size, products, match.facets());
     }
 }
@@ -0,0 +1,5 @@
+package com.windchill.service.project;
+
+public interface IProjectOverviewService {
+    ProjectOverview getProjectOverview(Long id);
+}
@@ -2,6 +2,8 @@ package com.windchill.service.project;
 
 import com.windchill.domain.entity.Project;
 import com.windchill.common.enums.StatusEnum;
+import com.windchill.service.query.FilterQuery;
+import com.windchill.service.query.KeysetPage;
 
 import java.util.List;
 
@@ -20,6 +22,8 @@ public interface IProjectService {
     
     List<Project> searchProjects(String keyword);
     
+    KeysetPage<Project> queryProjects(FilterQuery query);
+    
     Project updateProject(Long id, Project projectDetails);
     
     void deleteProject(Long id);
@@ -27,4 +31,6 @@ public interface IProjectService {
     Project updateProjectStatus(Long id, StatusEnum status);
     
     Project updateProjectProgress(Long id, Integer progressPercentage);
+    
+    Project updateProjectConfidentiality(Long id, boolean confidential);
 }
@@ -0,0 +1,59 @@
+package com.windchill.service.project;
+
+import com.windchill.common.enums.StatusEnum;
+import com.windchill.domain.entity.Project;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Everything the project detail page shows, in one response. Each section lists only the
+ * newest items, up to a configured limit; its count and status histogram cover all of them.
+ * Count, histogram and items of a section are read together and agree; different sections
+ * are read separately and may reflect commits a moment apart.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProjectOverview {
+    private Project project;
+    private ManagerSummary manager;
+    private Section products;
+    private Section documents;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ManagerSummary {
+        private Long id;
+        private String username;
+        private String fullName;
+        private String email;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Section {
+        private long count;
+        private Map<StatusEnum, Long> byStatus;
+        private List<ItemSummary> items;
+        /** True when {@code items} leaves some out. */
+        private boolean truncated;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ItemSummary {
+        private Long id;
+        private String number;
+        private String name;
+        private StatusEnum status;
+        private LocalDateTime updatedAt;
+    }
+}
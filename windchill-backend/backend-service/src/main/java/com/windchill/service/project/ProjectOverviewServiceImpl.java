@@ -0,0 +1,161 @@
+package com.windchill.service.project;
+
+import com.windchill.common.enums.StatusEnum;
+import com.windchill.common.exceptions.ResourceNotFoundException;
+import com.windchill.domain.entity.Project;
+import com.windchill.repository.DocumentRepository;
+import com.windchill.repository.ProductRepository;
+import com.windchill.repository.ProjectRepository;
+import com.windchill.service.access.IProjectAccessService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Builds the project overview from three independent reads run concurrently: the project
+ * joined with its manager, the products section and the documents section.
+ *
+ * <p>Consistency is per section, not per overview. Each read is a read-only REPEATABLE READ
+ * transaction on its own connection, so within a section the count, the status histogram and
+ * the listed items come from one snapshot and always agree. Across sections there is no shared
+ * snapshot: MySQL cannot hand one connection's snapshot to another, and reading everything in
+ * one transaction would run the reads one after the other. The three snapshots are taken
+ * within milliseconds of each other, but a change committed in between can show in one section
+ * and not yet in another, for example a product and a document released together, or a new
+ * manager in the header while a section still counts work from before. This is the same view
+ * the project, product and document pages gave when they were requested separately; callers
+ * that need one snapshot across sections must not assemble it from this overview.
+ *
+ * <p>The pool is bounded in threads and queue. When both are full the request thread runs
+ * the read itself, which slows that caller down instead of piling up work.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ProjectOverviewServiceImpl implements IProjectOverviewService {
+    private final ProjectRepository projectRepository;
+    private final ProductRepository productRepository;
+    private final DocumentRepository documentRepository;
+    private final IProjectAccessService projectAccessService;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${app.project-overview.threads:8}")
+    private int threads;
+
+    @Value("${app.project-overview.queue-capacity:64}")
+    private int queueCapacity;
+
+    @Value("${app.project-overview.max-products:50}")
+    private int maxProducts;
+
+    @Value("${app.project-overview.max-documents:50}")
+    private int maxDocuments;
+
+    private ThreadPoolExecutor readers;
+    private TransactionTemplate readOnly;
+
+    @PostConstruct
+    void init() {
+        AtomicInteger counter = new AtomicInteger();
+        readers = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "project-overview-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.CallerRunsPolicy());
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        readOnly.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        readers.shutdownNow();
+    }
+
+    @Override
+    public ProjectOverview getProjectOverview(Long id) {
+        log.debug("Building overview of project: {}", id);
+        if (!projectAccessService.current().canSee(id)) {
+            throw new ResourceNotFoundException("Project", "id", id);
+        }
+        // three snapshots, consistent within a section only; see the class comment
+        CompletableFuture<List<Object[]>> project = read(() -> projectRepository.findWithManager(id));
+        CompletableFuture<ProjectOverview.Section> products = read(() -> section(
+                productRepository.countByStatusForProject(id), maxProducts,
+                limit -> productRepository.findSummaryRowsByProjectId(id, limit)));
+        CompletableFuture<ProjectOverview.Section> documents = read(() -> section(
+                documentRepository.countByStatusForProject(id), maxDocuments,
+                limit -> documentRepository.findSummaryRowsByProjectId(id, limit)));
+
+        List<Object[]> rows = join(project);
+        if (rows.isEmpty()) {
+            throw new ResourceNotFoundException("Project", "id", id);
+        }
+        Object[] row = rows.get(0);
+        ProjectOverview.ManagerSummary manager = row[1] == null ? null
+                : new ProjectOverview.ManagerSummary((Long) row[1], (String) row[2], fullName((String) row[3],
+                        (String) row[4]), (String) row[5]);
+        return new ProjectOverview((Project) row[0], manager, join(products), join(documents));
+    }
+
+    private <T> CompletableFuture<T> read(Supplier<T> query) {
+        return CompletableFuture.supplyAsync(() -> readOnly.execute(status -> query.get()), readers);
+    }
+
+    private static ProjectOverview.Section section(List<Object[]> histogram, int maxItems,
+                                                   Function<Pageable, List<Object[]>> summaries) {
+        Map<StatusEnum, Long> byStatus = new EnumMap<>(StatusEnum.class);
+        long count = 0;
+        for (Object[] bucket : histogram) {
+            long bucketCount = ((Number) bucket[1]).longValue();
+            byStatus.put((StatusEnum) bucket[0], bucketCount);
+            count += bucketCount;
+        }
+        List<ProjectOverview.ItemSummary> items = new ArrayList<>();
+        if (count > 0 && maxItems > 0) {
+            for (Object[] item : summaries.apply(PageRequest.of(0, maxItems))) {
+                items.add(new ProjectOverview.ItemSummary((Long) item[0], (String) item[1], (String) item[2],
+                        (StatusEnum) item[3], (LocalDateTime) item[4]));
+            }
+        }
+        return new ProjectOverview.Section(count, byStatus, items, count > items.size());
+    }
+
+    private static String fullName(String firstName, String lastName) {
+        if (firstName == null) {
+            return lastName;
+        }
+        return lastName == null ? firstName : firstName + " " + lastName;
+    }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException ex) {
+            throw ex.getCause() instanceof RuntimeException cause ? cause : ex;
+        }
+    }
+}
@@ -2,15 +2,27 @@ package com.windchill.service.project;
 
 import com.windchill.common.exceptions.BusinessException;
 import com.windchill.common.exceptions.ResourceNotFoundException;
+import com.windchill.common.enums.HistoryEntityTypeEnum;
 import com.windchill.common.enums.StatusEnum;
 import com.windchill.domain.entity.Project;
 import com.windchill.repository.ProjectRepository;
+import com.windchill.service.access.IProjectAccessService;
+import com.windchill.service.event.ProjectAccessChangedEvent;
+import com.windchill.service.history.IEntityHistoryService;
+import com.windchill.service.numbering.INumberingService;
+import com.windchill.service.query.FilterQuery;
+import com.windchill.service.query.FilterQueryExecutor;
+import com.windchill.service.query.KeysetPage;
+import com.windchill.service.query.QuerySchemas;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 
 @Service
 @RequiredArgsConstructor
@@ -18,14 +30,18 @@ import java.util.List;
 @Transactional
 public class ProjectServiceImpl implements IProjectService {
     private final ProjectRepository projectRepository;
+    private final IEntityHistoryService historyService;
+    private final IProjectAccessService projectAccessService;
+    private final FilterQueryExecutor filterQueryExecutor;
+    private final ApplicationEventPublisher eventPublisher;
+    private final INumberingService numberingService;
 
     @Override
     public Project createProject(Project project) {
-        log.info("Creating new project: {}", project.getProjectCode());
-
         if (project.getProjectCode() == null || project.getProjectCode().isEmpty()) {
-            throw new BusinessException("Project code cannot be empty");
+            project.setProjectCode(numberingService.nextProjectCode(project));
         }
+        log.info("Creating new project: {}", project.getProjectCode());
 
         Project existingProject = projectRepository.findByProjectCode(project.getProjectCode()).orElse(null);
         if (existingProject != null && !existingProject.getIsDeleted()) {
@@ -34,6 +50,8 @@ public class ProjectServiceImpl implements IProjectService {
 
         project.setIsDeleted(false);
         Project savedProject = projectRepository.save(project);
+        historyService.record(HistoryEntityTypeEnum.PROJECT, savedProject);
+        publishAccessChanged(savedProject.getId(), savedProject.getManagerId());
         log.info("Project created successfully: {}", project.getProjectCode());
         return savedProject;
     }
@@ -43,6 +61,7 @@ public class ProjectServiceImpl implements IProjectService {
     public Project getProjectById(Long id) {
         log.debug("Fetching project by id: {}", id);
         return projectRepository.findById(id)
+                .filter(project -> projectAccessService.current().canSee(project.getId()))
                 .orElseThrow(() -> new ResourceNotFoundException("Project", "id", id));
     }
 
@@ -51,6 +70,7 @@ public class ProjectServiceImpl implements IProjectService {
     public Project getProjectByCode(String projectCode) {
         log.debug("Fetching project by code: {}", projectCode);
         return projectRepository.findByProjectCode(projectCode)
+                .filter(project -> projectAccessService.current().canSee(project.getId()))
                 .orElseThrow(() -> new ResourceNotFoundException("Project", "code", projectCode));
     }
 
@@ -58,28 +78,38 @@ public class ProjectServiceImpl implements IProjectService {
     @Transactional(readOnly = true)
     public List<Project> getAllProjects() {
         log.debug("Fetching all projects");
-        return projectRepository.findAllActive();
+        return projectAccessService.current().filter(projectRepository.findAllActive(), Project::getId);
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<Project> getProjectsByManager(Long managerId) {
         log.debug("Fetching projects for manager: {}", managerId);
-        return projectRepository.findByManagerIdAndIsDeletedFalse(managerId);
+        return projectAccessService.current().filter(projectRepository.findByManagerIdAndIsDeletedFalse(managerId),
+                Project::getId);
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<Project> getProjectsByStatus(StatusEnum status) {
         log.debug("Fetching projects by status: {}", status);
-        return projectRepository.findByStatusAndIsDeletedFalse(status);
+        return projectAccessService.current().filter(projectRepository.findByStatusAndIsDeletedFalse(status),
+                Project::getId);
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<Project> searchProjects(String keyword) {
         log.debug("Searching projects with keyword: {}", keyword);
-        return projectRepository.findByProjectNameContaining(keyword);
+        return projectAccessService.current().filter(projectRepository.findByProjectNameContaining(keyword),
+                Project::getId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public KeysetPage<Project> queryProjects(FilterQuery query) {
+        log.debug("Querying projects: {}", query);
+        return filterQueryExecutor.execute(QuerySchemas.PROJECTS, query, projectAccessService.current());
     }
 
     @Override
@@ -93,6 +123,7 @@ public class ProjectServiceImpl implements IProjectService {
         if (projectDetails.getDescription() != null) {
             project.setDescription(projectDetails.getDescription());
         }
+        Long previousManagerId = project.getManagerId();
         if (projectDetails.getManagerId() != null) {
             project.setManagerId(projectDetails.getManagerId());
         }
@@ -104,6 +135,10 @@ public class ProjectServiceImpl implements IProjectService {
         }
 
         Project updatedProject = projectRepository.save(project);
+        historyService.record(HistoryEntityTypeEnum.PROJECT, updatedProject);
+        if (!Objects.equals(previousManagerId, updatedProject.getManagerId())) {
+            publishAccessChanged(id, previousManagerId, updatedProject.getManagerId());
+        }
         log.info("Project updated successfully: {}", id);
         return updatedProject;
     }
@@ -113,7 +148,8 @@ public class ProjectServiceImpl implements IProjectService {
         log.info("Deleting project: {}", id);
         Project project = getProjectById(id);
         project.setIsDeleted(true);
-        projectRepository.save(project);
+        historyService.record(HistoryEntityTypeEnum.PROJECT, projectRepository.save(project));
+        publishAccessChanged(id, project.getManagerId());
         log.info("Project deleted successfully: {}", id);
     }
 
@@ -122,7 +158,9 @@ public class ProjectServiceImpl implements IProjectService {
         log.info("Updating project status: {} to {}", id, status);
         Project project = getProjectById(id);
         project.setStatus(status);
-        return projectRepository.save(project);
+        Project updatedProject = projectRepository.save(project);
+        historyService.record(HistoryEntityTypeEnum.PROJECT, updatedProject);
+        return updatedProject;
     }
 
     @Override
@@ -133,6 +171,30 @@ public class ProjectServiceImpl implements IProjectService {
             throw new BusinessException("Progress percentage must be between 0 and 100");
         }
         project.setProgressPercentage(progressPercentage);
-        return projectRepository.save(project);
+        Project updatedProject = projectRepository.save(project);
+        historyService.record(HistoryEntityTypeEnum.PROJECT, updatedProject);
+        return updatedProject;
+    }
+
+    @Override
+    public Project updateProjectConfidentiality(Long id, boolean confidential) {
+        log.info("Marking project {} as {}", id, confidential ? "confidential" : "not confidential");
+        Project project = getProjectById(id);
+        projectAccessService.requireManager(project);
+        project.setIsConfidential(confidential);
+        Project updatedProject = projectRepository.save(project);
+        historyService.record(HistoryEntityTypeEnum.PROJECT, updatedProject);
+        publishAccessChanged(id);
+        return updatedProject;
+    }
+
+    private void publishAccessChanged(Long projectId, Long... userIds) {
+        List<Long> affected = new ArrayList<>(userIds.length);
+        for (Long userId : userIds) {
+            if (userId != null) {
+                affected.add(userId);
+            }
+        }
+        eventPublisher.publishEvent(new ProjectAccessChangedEvent(projectId, affected));
     }
 }
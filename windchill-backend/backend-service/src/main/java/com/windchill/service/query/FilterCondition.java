@@ -0,0 +1,21 @@
+package com.windchill.service.query;
+
+import com.windchill.common.enums.FilterOperatorEnum;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One condition of a {@link FilterQuery}: {@code value} for comparisons, {@code values} for IN.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FilterCondition {
+    private String field;
+    private FilterOperatorEnum operator = FilterOperatorEnum.EQ;
+    private String value;
+    private List<String> values;
+}
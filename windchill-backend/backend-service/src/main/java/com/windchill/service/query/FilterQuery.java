@@ -0,0 +1,32 @@
+package com.windchill.service.query;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Conditions that must all hold, one whitelisted sort key, and the cursor returned with the
+ * previous page, if any.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FilterQuery {
+    private List<FilterCondition> filters = new ArrayList<>();
+    private String sort = "id";
+    private Sort.Direction direction = Sort.Direction.ASC;
+    private String after;
+    private int size = 20;
+
+    /**
+     * Attributes to load, from the {@code fields} request parameter that also trims the
+     * response; all when empty. Never read from the body, so the two cannot disagree.
+     */
+    @JsonIgnore
+    private List<String> fields;
+}
@@ -0,0 +1,222 @@
+package com.windchill.service.query;
+
+import com.windchill.common.exceptions.BusinessException;
+import com.windchill.domain.entity.BaseEntity;
+import com.windchill.service.access.ProjectAccess;
+import com.windchill.service.fields.FieldSet;
+import com.windchill.service.fields.FieldSets;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
+import org.springframework.beans.PropertyAccessorFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Compiles a {@link FilterQuery} against a {@link QuerySchema} into a single Criteria query
+ * and runs it for one page. Pages continue by keyset: the cursor carries the sort key and id
+ * of the last row, and the next page starts strictly after them, so deep pages cost the same
+ * as the first and rows inserted meanwhile neither repeat nor shift the page. With
+ * {@code fields} set, only those columns are selected.
+ */
+@Component
+@RequiredArgsConstructor
+public class FilterQueryExecutor {
+    private static final char CURSOR_SEPARATOR = '|';
+
+    private final FieldSets fieldSets;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${app.query.max-page-size:200}")
+    private int maxPageSize;
+
+    @Value("${app.query.max-in-values:1000}")
+    private int maxInValues;
+
+    public <T extends BaseEntity> KeysetPage<T> execute(QuerySchema<T> schema, FilterQuery query, ProjectAccess access) {
+        if (query.getSize() < 1 || query.getSize() > maxPageSize) {
+            throw new BusinessException("Page size must be between 1 and " + maxPageSize);
+        }
+        QuerySchema.SortKey sortKey = schema.sortKey(query.getSort() != null ? query.getSort() : "id");
+        boolean ascending = query.getDirection() != Sort.Direction.DESC;
+        FieldSet<T> selection = selectionOf(schema, query, sortKey);
+
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        List<T> rows;
+        if (selection == null) {
+            CriteriaQuery<T> criteria = cb.createQuery(schema.getEntityType());
+            Root<T> root = criteria.from(schema.getEntityType());
+            criteria.select(root)
+                    .where(restrictions(cb, root, schema, query, sortKey, ascending, access))
+                    .orderBy(orderOf(cb, root, sortKey, ascending));
+            rows = entityManager.createQuery(criteria)
+                    .setMaxResults(query.getSize() + 1)
+                    .getResultList();
+        } else {
+            CriteriaQuery<Tuple> criteria = cb.createTupleQuery();
+            Root<T> root = criteria.from(schema.getEntityType());
+            List<Selection<?>> columns = new ArrayList<>();
+            for (String name : selection.names()) {
+                columns.add(root.get(name));
+            }
+            criteria.multiselect(columns)
+                    .where(restrictions(cb, root, schema, query, sortKey, ascending, access))
+                    .orderBy(orderOf(cb, root, sortKey, ascending));
+            rows = new ArrayList<>();
+            for (Tuple tuple : entityManager.createQuery(criteria).setMaxResults(query.getSize() + 1).getResultList()) {
+                rows.add(selection.newRow(tuple.toArray()));
+            }
+        }
+        String nextCursor = null;
+        if (rows.size() > query.getSize()) {
+            rows = new ArrayList<>(rows.subList(0, query.getSize()));
+            nextCursor = cursorOf(rows.get(rows.size() - 1), sortKey);
+        }
+        return new KeysetPage<>(rows, rows.size(), nextCursor);
+    }
+
+    /**
+     * The attributes to load when the query names {@code fields}, plus the sort key the cursor
+     * is built from; null to load whole entities. Rows built from a selection are detached and
+     * hold nothing outside it.
+     */
+    private <T extends BaseEntity> FieldSet<T> selectionOf(QuerySchema<T> schema, FilterQuery query,
+                                                           QuerySchema.SortKey sortKey) {
+        if (query.getFields() == null || query.getFields().isEmpty()) {
+            return null;
+        }
+        List<String> names = new ArrayList<>(query.getFields());
+        names.add(sortKey.attribute());
+        return fieldSets.get(schema.getEntityType(), names);
+    }
+
+    private <T extends BaseEntity> Predicate[] restrictions(CriteriaBuilder cb, Root<T> root, QuerySchema<T> schema,
+                                                            FilterQuery query, QuerySchema.SortKey sortKey,
+                                                            boolean ascending, ProjectAccess access) {
+        List<Predicate> predicates = new ArrayList<>();
+        predicates.add(cb.isFalse(root.get("isDeleted")));
+        if (query.getFilters() != null) {
+            for (FilterCondition condition : query.getFilters()) {
+                predicates.add(toPredicate(cb, root, schema, condition));
+            }
+        }
+
+        List<Long> hidden = access.hiddenProjectIds();
+        if (!hidden.isEmpty()) {
+            Path<Long> projectId = root.get(schema.getProjectAttribute());
+            predicates.add(cb.or(cb.isNull(projectId), cb.not(projectId.in(hidden))));
+        }
+
+        Path<Comparable<Object>> key = root.get(sortKey.attribute());
+        Path<Long> id = root.get("id");
+        if (sortKey.nullable()) {
+            predicates.add(cb.isNotNull(key));
+        }
+        if (query.getAfter() != null && !query.getAfter().isEmpty()) {
+            predicates.add(afterCursor(cb, key, id, sortKey, query.getAfter(), ascending));
+        }
+        return predicates.toArray(new Predicate[0]);
+    }
+
+    private static List<Order> orderOf(CriteriaBuilder cb, Root<?> root, QuerySchema.SortKey sortKey, boolean ascending) {
+        Path<Comparable<Object>> key = root.get(sortKey.attribute());
+        Path<Long> id = root.get("id");
+        return List.of(ascending ? cb.asc(key) : cb.desc(key), ascending ? cb.asc(id) : cb.desc(id));
+    }
+
+    private <T extends BaseEntity> Predicate toPredicate(CriteriaBuilder cb, Root<T> root, QuerySchema<T> schema,
+                                                         FilterCondition condition) {
+        QuerySchema.Field field = schema.field(condition.getField());
+        if (condition.getOperator() == null || !field.operators().contains(condition.getOperator())) {
+            throw new BusinessException("Operator " + condition.getOperator() + " is not allowed on "
+                    + field.attribute() + "; allowed: " + field.operators());
+        }
+        Expression<Comparable<Object>> path = field.column() != null
+                ? columnOf(cb, field) : root.<Comparable<Object>>get(field.attribute());
+        return switch (condition.getOperator()) {
+            case EQ -> cb.equal(path, parse(field, condition.getValue()));
+            case IN -> {
+                List<String> values = condition.getValues();
+                if (values == null || values.isEmpty() || values.size() > maxInValues) {
+                    throw new BusinessException("IN on " + field.attribute() + " takes 1 to " + maxInValues + " values");
+                }
+                List<Comparable<Object>> parsed = new ArrayList<>(values.size());
+                for (String value : values) {
+                    parsed.add(parse(field, value));
+                }
+                yield path.in(parsed);
+            }
+            case GT -> cb.greaterThan(path, parse(field, condition.getValue()));
+            case GTE -> cb.greaterThanOrEqualTo(path, parse(field, condition.getValue()));
+            case LT -> cb.lessThan(path, parse(field, condition.getValue()));
+            case LTE -> cb.lessThanOrEqualTo(path, parse(field, condition.getValue()));
+        };
+    }
+
+    /**
+     * Rows after (key, id) in sort order. The redundant bound on the key alone lets the
+     * database start an index range scan at the cursor instead of filtering from the top.
+     */
+    private Predicate afterCursor(CriteriaBuilder cb, Path<Comparable<Object>> key, Path<Long> id,
+                                  QuerySchema.SortKey sortKey, String cursor, boolean ascending) {
+        String decoded;
+        try {
+            decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException ex) {
+            throw new BusinessException("Invalid cursor");
+        }
+        int first = decoded.indexOf(CURSOR_SEPARATOR);
+        int last = decoded.lastIndexOf(CURSOR_SEPARATOR);
+        if (first < 0 || first == last || !decoded.substring(0, first).equals(sortKey.attribute())) {
+            throw new BusinessException("Cursor does not belong to a query sorted by " + sortKey.attribute());
+        }
+        Comparable<Object> value = QuerySchema.parse(sortKey.attribute(), sortKey.type(), decoded.substring(first + 1, last));
+        Long lastId = (Long) (Object) QuerySchema.parse("id", Long.class, decoded.substring(last + 1));
+        if (sortKey.attribute().equals("id")) {
+            return ascending ? cb.greaterThan(id, lastId) : cb.lessThan(id, lastId);
+        }
+        if (ascending) {
+            return cb.and(cb.greaterThanOrEqualTo(key, value),
+                    cb.or(cb.greaterThan(key, value), cb.greaterThan(id, lastId)));
+        }
+        return cb.and(cb.lessThanOrEqualTo(key, value),
+                cb.or(cb.lessThan(key, value), cb.lessThan(id, lastId)));
+    }
+
+    private String cursorOf(BaseEntity row, QuerySchema.SortKey sortKey) {
+        Object value = PropertyAccessorFactory.forBeanPropertyAccess(row).getPropertyValue(sortKey.attribute());
+        String cursor = sortKey.attribute() + CURSOR_SEPARATOR + QuerySchema.format(value) + CURSOR_SEPARATOR + row.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(cursor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * An unmapped column of the root table. The query has no joins, so the column needs no
+     * table alias; its name comes from the schema, never from the request.
+     */
+    @SuppressWarnings("unchecked")
+    private static Expression<Comparable<Object>> columnOf(CriteriaBuilder cb, QuerySchema.Field field) {
+        return ((HibernateCriteriaBuilder) cb).sql(field.column(), (Class<Comparable<Object>>) field.type());
+    }
+
+    private static Comparable<Object> parse(QuerySchema.Field field, String value) {
+        return QuerySchema.parse(field.attribute(), field.type(), value);
+    }
+}
@@ -0,0 +1,20 @@
+package com.windchill.service.query;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One page of a {@link FilterQuery}. {@code nextCursor} goes into {@code after} to continue,
+ * and is null on the last page.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class KeysetPage<T> {
+    private List<T> content;
+    private int size;
+    private String nextCursor;
+}
@@ -0,0 +1,151 @@
+package com.windchill.service.query;
+
+import com.windchill.common.enums.FilterOperatorEnum;
+import com.windchill.common.exceptions.BusinessException;
+import com.windchill.domain.entity.BaseEntity;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * What a {@link FilterQuery} may touch on one entity: the attributes it can filter on with
+ * their operators, and the sort keys, each backed by an index that starts with the key so a
+ * page is an index range scan. Anything not listed here is rejected.
+ */
+public final class QuerySchema<T extends BaseEntity> {
+    public static final Set<FilterOperatorEnum> EQUALITY = EnumSet.of(FilterOperatorEnum.EQ, FilterOperatorEnum.IN);
+    public static final Set<FilterOperatorEnum> RANGE = EnumSet.of(FilterOperatorEnum.EQ, FilterOperatorEnum.GT,
+            FilterOperatorEnum.GTE, FilterOperatorEnum.LT, FilterOperatorEnum.LTE);
+
+    private final Class<T> entityType;
+    private final String projectAttribute;
+    private final Map<String, Field> filters = new LinkedHashMap<>();
+    private final Map<String, SortKey> sortKeys = new LinkedHashMap<>();
+
+    /**
+     * {@code projectAttribute} names the attribute holding the project id, which decides
+     * visibility of confidential projects.
+     */
+    QuerySchema(Class<T> entityType, String projectAttribute) {
+        this.entityType = entityType;
+        this.projectAttribute = projectAttribute;
+        sortKeys.put("id", new SortKey("id", Long.class, "PRIMARY", false));
+    }
+
+    QuerySchema<T> filter(String attribute, Class<?> type, Set<FilterOperatorEnum> operators) {
+        filters.put(attribute, new Field(attribute, type, operators, null));
+        return this;
+    }
+
+    /**
+     * A copy of this schema that also accepts {@code extraFilters}, for filters only known at
+     * runtime such as searchable custom attributes.
+     */
+    public QuerySchema<T> extendedWith(Map<String, Field> extraFilters) {
+        QuerySchema<T> extended = new QuerySchema<>(entityType, projectAttribute);
+        extended.filters.putAll(filters);
+        extended.filters.putAll(extraFilters);
+        extended.sortKeys.putAll(sortKeys);
+        return extended;
+    }
+
+    /**
+     * Allows sorting on {@code attribute}, which must lead {@code index}. Rows without a value
+     * for a nullable key are left out when sorting by it.
+     */
+    QuerySchema<T> sort(String attribute, Class<?> type, String index, boolean nullable) {
+        sortKeys.put(attribute, new SortKey(attribute, type, index, nullable));
+        return this;
+    }
+
+    public Class<T> getEntityType() {
+        return entityType;
+    }
+
+    String getProjectAttribute() {
+        return projectAttribute;
+    }
+
+    public Map<String, Field> getFilters() {
+        return Collections.unmodifiableMap(filters);
+    }
+
+    public Map<String, SortKey> getSortKeys() {
+        return Collections.unmodifiableMap(sortKeys);
+    }
+
+    Field field(String name) {
+        Field field = filters.get(name);
+        if (field == null) {
+            throw new BusinessException("Cannot filter " + entityType.getSimpleName() + " by " + name
+                    + "; allowed: " + filters.keySet());
+        }
+        return field;
+    }
+
+    SortKey sortKey(String name) {
+        SortKey sortKey = sortKeys.get(name);
+        if (sortKey == null) {
+            throw new BusinessException("Cannot sort " + entityType.getSimpleName() + " by " + name
+                    + "; allowed: " + sortKeys.keySet());
+        }
+        return sortKey;
+    }
+
+    /**
+     * A filterable attribute. {@code column} is set instead of a mapped attribute for a column
+     * that exists only in the database, like a generated column over a JSON value.
+     */
+    public record Field(String attribute, Class<?> type, Set<FilterOperatorEnum> operators, String column) {
+    }
+
+    public record SortKey(String attribute, Class<?> type, String index, boolean nullable) {
+    }
+
+    /**
+     * Converts a filter or cursor value to the attribute's Java type.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    static Comparable<Object> parse(String attribute, Class<?> type, String value) {
+        if (value == null) {
+            throw new BusinessException("A value is required for " + attribute);
+        }
+        try {
+            Object parsed;
+            if (type == String.class) {
+                parsed = value;
+            } else if (type == Long.class) {
+                parsed = Long.valueOf(value);
+            } else if (type == BigDecimal.class) {
+                parsed = new BigDecimal(value);
+            } else if (type == Boolean.class) {
+                if (!value.equals("true") && !value.equals("false")) {
+                    throw new IllegalArgumentException(value);
+                }
+                parsed = Boolean.valueOf(value);
+            } else if (type == LocalDate.class) {
+                parsed = LocalDate.parse(value);
+            } else if (type == LocalDateTime.class) {
+                parsed = LocalDateTime.parse(value);
+            } else if (type.isEnum()) {
+                parsed = Enum.valueOf((Class<Enum>) type, value);
+            } else {
+                throw new IllegalStateException("Unsupported query attribute type " + type);
+            }
+            return (Comparable<Object>) parsed;
+        } catch (IllegalArgumentException | DateTimeParseException ex) {
+            throw new BusinessException("Invalid value for " + attribute + ": " + value);
+        }
+    }
+
+    static String format(Object value) {
+        return value instanceof BigDecimal decimal ? decimal.toPlainString() : String.valueOf(value);
+    }
+}
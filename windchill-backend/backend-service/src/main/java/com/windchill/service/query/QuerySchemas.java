@@ -0,0 +1,63 @@
+package com.windchill.service.query;
+
+import com.windchill.common.enums.LifecycleStateEnum;
+import com.windchill.common.enums.StatusEnum;
+import com.windchill.domain.entity.Document;
+import com.windchill.domain.entity.Product;
+import com.windchill.domain.entity.Project;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static com.windchill.service.query.QuerySchema.EQUALITY;
+import static com.windchill.service.query.QuerySchema.RANGE;
+
+/**
+ * The filter and sort whitelists of the query endpoints. A new sort key needs an index led
+ * by its column, added in a migration and on the entity.
+ */
+public final class QuerySchemas {
+    public static final QuerySchema<Product> PRODUCTS = new QuerySchema<>(Product.class, "projectId")
+            .filter("status", StatusEnum.class, EQUALITY)
+            .filter("lifecycleState", LifecycleStateEnum.class, EQUALITY)
+            .filter("category", String.class, EQUALITY)
+            .filter("manufacturer", String.class, EQUALITY)
+            .filter("ownerId", Long.class, EQUALITY)
+            .filter("projectId", Long.class, EQUALITY)
+            .filter("cost", BigDecimal.class, RANGE)
+            .filter("sellingPrice", BigDecimal.class, RANGE)
+            .filter("createdAt", LocalDateTime.class, RANGE)
+            .sort("productCode", String.class, "idx_product_code", false)
+            .sort("createdAt", LocalDateTime.class, "idx_product_created", false)
+            .sort("cost", BigDecimal.class, "idx_product_cost", true);
+
+    public static final QuerySchema<Document> DOCUMENTS = new QuerySchema<>(Document.class, "projectId")
+            .filter("status", StatusEnum.class, EQUALITY)
+            .filter("documentType", String.class, EQUALITY)
+            .filter("approvalStatus", String.class, EQUALITY)
+            .filter("ownerId", Long.class, EQUALITY)
+            .filter("reviewerId", Long.class, EQUALITY)
+            .filter("projectId", Long.class, EQUALITY)
+            .filter("relatedProductId", Long.class, EQUALITY)
+            .filter("createdAt", LocalDateTime.class, RANGE)
+            .sort("documentNumber", String.class, "idx_doc_number", false)
+            .sort("createdAt", LocalDateTime.class, "idx_doc_created", false);
+
+    public static final QuerySchema<Project> PROJECTS = new QuerySchema<>(Project.class, "id")
+            .filter("status", StatusEnum.class, EQUALITY)
+            .filter("managerId", Long.class, EQUALITY)
+            .filter("department", String.class, EQUALITY)
+            .filter("priority", String.class, EQUALITY)
+            .filter("budget", BigDecimal.class, RANGE)
+            .filter("startDate", LocalDate.class, RANGE)
+            .filter("endDate", LocalDate.class, RANGE)
+            .filter("createdAt", LocalDateTime.class, RANGE)
+            .sort("projectCode", String.class, "idx_project_code", false)
+            .sort("createdAt", LocalDateTime.class, "idx_project_created", false)
+            .sort("budget", BigDecimal.class, "idx_project_budget", true)
+            .sort("endDate", LocalDate.class, "idx_project_end_date", true);
+
+    private QuerySchemas() {
+    }
+}
@@ -0,0 +1,269 @@
+package com.windchill.service.revision;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Block-matching binary delta (rsync style). The base is indexed by a rolling checksum of
+ * fixed-size blocks; the target is scanned with the same rolling checksum and every verified
+ * match is extended in both directions and emitted as a COPY of base bytes. Everything else
+ * becomes an INSERT of literal target bytes.
+ *
+ * <p>Both files are memory-mapped, so inputs are limited to 2 GB; callers fall back to a
+ * full copy for anything larger.
+ */
+final class BinaryDelta {
+    static final long MAX_INPUT_SIZE = Integer.MAX_VALUE;
+
+    private static final int MAGIC = 0x57444C54; // "WDLT"
+    private static final byte FORMAT_VERSION = 1;
+    private static final byte OP_END = 0;
+    private static final byte OP_COPY = 1;
+    private static final byte OP_INSERT = 2;
+    private static final int MAX_INSERT = 1 << 20;
+    private static final int IO_BUFFER_SIZE = 64 * 1024;
+
+    private BinaryDelta() {
+    }
+
+    /**
+     * Writes a delta turning {@code base} into {@code target}. Returns false, leaving a
+     * partial delta behind, as soon as the delta grows beyond {@code maxDeltaSize} bytes.
+     */
+    static boolean encode(Path base, Path target, OutputStream output, int blockSize, long maxDeltaSize) throws IOException {
+        try (FileChannel baseChannel = FileChannel.open(base, StandardOpenOption.READ);
+             FileChannel targetChannel = FileChannel.open(target, StandardOpenOption.READ)) {
+            if (baseChannel.size() > MAX_INPUT_SIZE || targetChannel.size() > MAX_INPUT_SIZE) {
+                return false;
+            }
+            MappedByteBuffer baseBytes = baseChannel.map(FileChannel.MapMode.READ_ONLY, 0, baseChannel.size());
+            MappedByteBuffer targetBytes = targetChannel.map(FileChannel.MapMode.READ_ONLY, 0, targetChannel.size());
+            Encoder encoder = new Encoder(baseBytes, targetBytes, blockSize,
+                    new DataOutputStream(output), maxDeltaSize);
+            return encoder.run();
+        }
+    }
+
+    /**
+     * Streams the target reconstructed from {@code base} and the delta to {@code output}.
+     */
+    static long apply(Path base, InputStream delta, OutputStream output) throws IOException {
+        DataInputStream in = new DataInputStream(delta);
+        if (in.readInt() != MAGIC || in.readByte() != FORMAT_VERSION) {
+            throw new IOException("Not a revision delta");
+        }
+        WritableByteChannel out = Channels.newChannel(output);
+        byte[] buffer = new byte[IO_BUFFER_SIZE];
+        long written = 0;
+        try (FileChannel baseChannel = FileChannel.open(base, StandardOpenOption.READ)) {
+            while (true) {
+                byte op = in.readByte();
+                if (op == OP_COPY) {
+                    long offset = in.readLong();
+                    int length = in.readInt();
+                    long copied = 0;
+                    while (copied < length) {
+                        long n = baseChannel.transferTo(offset + copied, length - copied, out);
+                        if (n <= 0) {
+                            throw new EOFException("Delta copies beyond end of base");
+                        }
+                        copied += n;
+                    }
+                    written += length;
+                } else if (op == OP_INSERT) {
+                    int remaining = in.readInt();
+                    written += remaining;
+                    while (remaining > 0) {
+                        int n = in.read(buffer, 0, Math.min(buffer.length, remaining));
+                        if (n < 0) {
+                            throw new EOFException("Truncated revision delta");
+                        }
+                        output.write(buffer, 0, n);
+                        remaining -= n;
+                    }
+                } else if (op == OP_END) {
+                    long expected = in.readLong();
+                    if (expected != written) {
+                        throw new IOException("Delta produced " + written + " bytes, expected " + expected);
+                    }
+                    output.flush();
+                    return written;
+                } else {
+                    throw new IOException("Unknown delta op: " + op);
+                }
+            }
+        }
+    }
+
+    private static final class Encoder {
+        private final ByteBuffer base;
+        private final ByteBuffer target;
+        private final int blockSize;
+        private final DataOutputStream out;
+        private final long maxDeltaSize;
+        private final int baseLength;
+        private final int targetLength;
+
+        private int[] slots;
+        private int[] slotHashes;
+        private int mask;
+
+        Encoder(ByteBuffer base, ByteBuffer target, int blockSize, DataOutputStream out, long maxDeltaSize) {
+            this.base = base;
+            this.target = target;
+            this.blockSize = blockSize;
+            this.out = out;
+            this.maxDeltaSize = maxDeltaSize;
+            this.baseLength = base.limit();
+            this.targetLength = target.limit();
+        }
+
+        boolean run() throws IOException {
+            out.writeInt(MAGIC);
+            out.writeByte(FORMAT_VERSION);
+            indexBase();
+
+            int position = 0;
+            int literalStart = 0;
+            int a = 0;
+            int b = 0;
+            boolean primed = false;
+            while (position + blockSize <= targetLength) {
+                if (!primed) {
+                    a = 0;
+                    b = 0;
+                    for (int i = 0; i < blockSize; i++) {
+                        int value = target.get(position + i) & 0xFF;
+                        a += value;
+                        b += (blockSize - i) * value;
+                    }
+                    primed = true;
+                }
+                int block = lookup(checksum(a, b));
+                if (block >= 0 && sameBytes(block * blockSize, position, blockSize)) {
+                    int baseStart = block * blockSize;
+                    int start = position;
+                    while (start > literalStart && baseStart > 0
+                            && base.get(baseStart - 1) == target.get(start - 1)) {
+                        start--;
+                        baseStart--;
+                    }
+                    int length = position - start + blockSize;
+                    while (start + length < targetLength && baseStart + length < baseLength
+                            && base.get(baseStart + length) == target.get(start + length)) {
+                        length++;
+                    }
+                    writeInsert(literalStart, start);
+                    writeCopy(baseStart, length);
+                    if (out.size() > maxDeltaSize) {
+                        return false;
+                    }
+                    position = start + length;
+                    literalStart = position;
+                    primed = false;
+                    continue;
+                }
+                if (position + blockSize < targetLength) {
+                    int outgoing = target.get(position) & 0xFF;
+                    int incoming = target.get(position + blockSize) & 0xFF;
+                    a += incoming - outgoing;
+                    b += a - blockSize * outgoing;
+                }
+                position++;
+                if (position - literalStart >= MAX_INSERT) {
+                    writeInsert(literalStart, position);
+                    literalStart = position;
+                    if (out.size() > maxDeltaSize) {
+                        return false;
+                    }
+                }
+            }
+            writeInsert(literalStart, targetLength);
+            out.writeByte(OP_END);
+            out.writeLong(targetLength);
+            out.flush();
+            return out.size() <= maxDeltaSize;
+        }
+
+        private void indexBase() {
+            int blocks = baseLength / blockSize;
+            int capacity = Integer.highestOneBit(Math.max(16, blocks * 2 - 1)) << 1;
+            slots = new int[capacity];
+            slotHashes = new int[capacity];
+            mask = capacity - 1;
+            for (int block = 0; block < blocks; block++) {
+                int a = 0;
+                int b = 0;
+                int offset = block * blockSize;
+                for (int i = 0; i < blockSize; i++) {
+                    int value = base.get(offset + i) & 0xFF;
+                    a += value;
+                    b += (blockSize - i) * value;
+                }
+                int hash = checksum(a, b);
+                int slot = mix(hash) & mask;
+                while (slots[slot] != 0 && slotHashes[slot] != hash) {
+                    slot = (slot + 1) & mask;
+                }
+                if (slots[slot] == 0) {
+                    slots[slot] = block + 1;
+                    slotHashes[slot] = hash;
+                }
+            }
+        }
+
+        private int lookup(int hash) {
+            int slot = mix(hash) & mask;
+            while (slots[slot] != 0) {
+                if (slotHashes[slot] == hash) {
+                    return slots[slot] - 1;
+                }
+                slot = (slot + 1) & mask;
+            }
+            return -1;
+        }
+
+        private boolean sameBytes(int baseOffset, int targetOffset, int length) {
+            return base.slice(baseOffset, length).equals(target.slice(targetOffset, length));
+        }
+
+        private void writeCopy(int offset, int length) throws IOException {
+            out.writeByte(OP_COPY);
+            out.writeLong(offset);
+            out.writeInt(length);
+        }
+
+        private void writeInsert(int from, int to) throws IOException {
+            if (to <= from) {
+                return;
+            }
+            out.writeByte(OP_INSERT);
+            out.writeInt(to - from);
+            byte[] buffer = new byte[Math.min(IO_BUFFER_SIZE, to - from)];
+            for (int position = from; position < to; position += buffer.length) {
+                int n = Math.min(buffer.length, to - position);
+                target.get(position, buffer, 0, n);
+                out.write(buffer, 0, n);
+            }
+        }
+
+        private static int checksum(int a, int b) {
+            return (b << 16) | (a & 0xFFFF);
+        }
+
+        private static int mix(int hash) {
+            return hash * 0x9E3779B9;
+        }
+    }
+}
@@ -0,0 +1,240 @@
+package com.windchill.service.revision;
+
+import com.windchill.common.enums.RevisionStorageEnum;
+import com.windchill.common.exceptions.BusinessException;
+import com.windchill.common.exceptions.ResourceNotFoundException;
+import com.windchill.domain.entity.Document;
+import com.windchill.domain.entity.DocumentRevision;
+import com.windchill.repository.DocumentRepository;
+import com.windchill.repository.DocumentRevisionRepository;
+import com.windchill.service.storage.IDocumentStorageService;
+import com.windchill.service.storage.IStorageTieringService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.FileSystemException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Revision history for document binaries. Each revision is stored as a forward delta against
+ * the previous one, with a full keyframe every {@code keyframe-interval} revisions so that
+ * reconstructing any revision applies a bounded number of deltas. The latest revision is
+ * always served straight from the document's content file, in whichever storage tier it is.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class DocumentRevisionServiceImpl implements IDocumentRevisionService {
+    private static final String REVISIONS_DIR = "revisions";
+    private static final int IO_BUFFER_SIZE = 64 * 1024;
+
+    private final DocumentRevisionRepository documentRevisionRepository;
+    private final DocumentRepository documentRepository;
+    private final IDocumentStorageService storageService;
+    private final IStorageTieringService tieringService;
+
+    @Value("${app.revisions.keyframe-interval:10}")
+    private int keyframeInterval;
+
+    @Value("${app.revisions.delta-block-size:4096}")
+    private int deltaBlockSize;
+
+    @Value("${app.revisions.max-delta-ratio:0.75}")
+    private double maxDeltaRatio;
+
+    /**
+     * Records {@code newContent} as the next revision. Must be called before the new content
+     * replaces the document's current file, which is the base for the delta, and in the same
+     * transaction: the document row is locked here until it commits, so concurrent commits
+     * take revision numbers one after the other and never write to the same blob path.
+     */
+    @Override
+    public DocumentRevision recordRevision(Document document, Path newContent, String fileName) {
+        Long documentId = document.getId();
+        Document locked = documentRepository.findByIdForUpdate(documentId)
+                .orElseThrow(() -> new ResourceNotFoundException("Document", "id", documentId));
+        DocumentRevision latest = documentRevisionRepository.findTopByDocumentIdOrderByRevisionNumberDesc(documentId)
+                .orElse(null);
+        int number = latest != null ? latest.getRevisionNumber() + 1 : 1;
+        Path previous = locked.getFilePath() != null ? storageService.resolve(locked.getFilePath()) : null;
+        String blobPrefix = REVISIONS_DIR + "/" + documentId + "/" + number;
+
+        DocumentRevision revision = new DocumentRevision();
+        revision.setDocumentId(documentId);
+        revision.setRevisionNumber(number);
+        revision.setFileName(fileName);
+        revision.setCreatedAt(LocalDateTime.now());
+        try {
+            long size = Files.size(newContent);
+            revision.setContentSize(size);
+
+            boolean keyframe = latest == null || previous == null || !Files.exists(previous)
+                    || (number - 1) % keyframeInterval == 0;
+            if (!keyframe) {
+                Path deltaFile = storageService.resolve(blobPrefix + ".delta");
+                Files.createDirectories(deltaFile.getParent());
+                boolean encoded;
+                try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(deltaFile), IO_BUFFER_SIZE)) {
+                    encoded = BinaryDelta.encode(previous, newContent, out, deltaBlockSize, (long) (size * maxDeltaRatio));
+                }
+                if (encoded) {
+                    revision.setStorageKind(RevisionStorageEnum.DELTA);
+                    revision.setBlobPath(blobPrefix + ".delta");
+                    revision.setStoredSize(Files.size(deltaFile));
+                } else {
+                    log.debug("Delta for revision {} of document {} not worthwhile, storing keyframe", number, documentId);
+                    storageService.deleteQuietly(deltaFile);
+                    keyframe = true;
+                }
+            }
+            if (keyframe) {
+                Path fullFile = storageService.resolve(blobPrefix + ".full");
+                Files.createDirectories(fullFile.getParent());
+                linkOrCopy(newContent, fullFile);
+                revision.setStorageKind(RevisionStorageEnum.FULL);
+                revision.setBlobPath(blobPrefix + ".full");
+                revision.setStoredSize(size);
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not record revision " + number + " of document " + documentId, ex);
+        }
+
+        DocumentRevision savedRevision = documentRevisionRepository.save(revision);
+        log.info("Recorded revision {} of document {} as {} ({} of {} bytes stored)", number, documentId,
+                revision.getStorageKind(), revision.getStoredSize(), revision.getContentSize());
+        return savedRevision;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<DocumentRevision> getRevisions(Long documentId) {
+        log.debug("Fetching revisions for document: {}", documentId);
+        return documentRevisionRepository.findByDocumentIdOrderByRevisionNumberDesc(documentId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public DocumentRevision getRevision(Long documentId, Integer revisionNumber) {
+        return documentRevisionRepository.findByDocumentIdAndRevisionNumber(documentId, revisionNumber)
+                .orElseThrow(() -> new ResourceNotFoundException("DocumentRevision", "number", revisionNumber));
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void streamLatest(Long documentId, OutputStream output) {
+        Document document = documentRepository.findById(documentId)
+                .orElseThrow(() -> new ResourceNotFoundException("Document", "id", documentId));
+        if (document.getFilePath() == null) {
+            throw new ResourceNotFoundException("Document content", "id", documentId);
+        }
+        tieringService.transferContent(document, output);
+    }
+
+    /**
+     * Rebuilds an older revision from its nearest keyframe. Intermediate revisions in the
+     * chain are materialized to staging files; the final one streams directly to the output.
+     */
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void streamRevision(Long documentId, Integer revisionNumber, OutputStream output) {
+        DocumentRevision revision = getRevision(documentId, revisionNumber);
+        DocumentRevision latest = documentRevisionRepository.findTopByDocumentIdOrderByRevisionNumberDesc(documentId)
+                .orElseThrow(() -> new ResourceNotFoundException("DocumentRevision", "number", revisionNumber));
+        if (latest.getRevisionNumber().equals(revision.getRevisionNumber())) {
+            streamLatest(documentId, output);
+            return;
+        }
+
+        DocumentRevision keyframe = documentRevisionRepository
+                .findTopByDocumentIdAndStorageKindAndRevisionNumberLessThanEqualOrderByRevisionNumberDesc(
+                        documentId, RevisionStorageEnum.FULL, revisionNumber)
+                .orElseThrow(() -> new BusinessException("No keyframe found for revision " + revisionNumber));
+        List<DocumentRevision> chain = documentRevisionRepository.findChain(documentId,
+                keyframe.getRevisionNumber(), revisionNumber);
+
+        long started = System.nanoTime();
+        Path base = storageService.resolve(keyframe.getBlobPath());
+        Path intermediate = null;
+        try {
+            if (chain.isEmpty()) {
+                transfer(base, output);
+            }
+            for (int i = 0; i < chain.size(); i++) {
+                Path delta = storageService.resolve(chain.get(i).getBlobPath());
+                try (InputStream in = new BufferedInputStream(Files.newInputStream(delta), IO_BUFFER_SIZE)) {
+                    if (i == chain.size() - 1) {
+                        BinaryDelta.apply(base, in, output);
+                    } else {
+                        Path next = storageService.createStagingFile("revision-");
+                        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(next), IO_BUFFER_SIZE)) {
+                            BinaryDelta.apply(base, in, out);
+                        }
+                        storageService.deleteQuietly(intermediate);
+                        intermediate = next;
+                        base = next;
+                    }
+                }
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not reconstruct revision " + revisionNumber + " of document " + documentId, ex);
+        } finally {
+            storageService.deleteQuietly(intermediate);
+        }
+        long elapsedMs = Math.max(1, (System.nanoTime() - started) / 1_000_000);
+        log.debug("Reconstructed revision {} of document {} from keyframe {} via {} delta(s): {} bytes in {} ms ({} MB/s)",
+                revisionNumber, documentId, keyframe.getRevisionNumber(), chain.size(), revision.getContentSize(),
+                elapsedMs, revision.getContentSize() / 1000 / elapsedMs);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public RevisionStorageStats getStorageStats(Long documentId) {
+        Object[] row = documentRevisionRepository.summarizeStorage(documentId).get(0);
+        return new RevisionStorageStats(((Number) row[0]).longValue(), ((Number) row[1]).longValue(),
+                ((Number) row[2]).longValue());
+    }
+
+    private void transfer(Path file, OutputStream output) throws IOException {
+        WritableByteChannel out = Channels.newChannel(output);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long position = 0;
+            while (position < size) {
+                position += channel.transferTo(position, size - position, out);
+            }
+        }
+        output.flush();
+    }
+
+    /**
+     * Keyframes hard-link the new content where the filesystem allows it; content files are
+     * only ever replaced by rename, never rewritten, so the link stays valid.
+     */
+    private void linkOrCopy(Path source, Path target) throws IOException {
+        Files.deleteIfExists(target);
+        try {
+            Files.createLink(target, source);
+        } catch (UnsupportedOperationException | FileSystemException ex) {
+            Files.copy(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.windchill.service.revision;
+
+import com.windchill.domain.entity.Document;
+import com.windchill.domain.entity.DocumentRevision;
+
+import java.io.OutputStream;
+import java.nio.file.Path;
+import java.util.List;
+
+public interface IDocumentRevisionService {
+    DocumentRevision recordRevision(Document document, Path newContent, String fileName);
+
+    List<DocumentRevision> getRevisions(Long documentId);
+
+    DocumentRevision getRevision(Long documentId, Integer revisionNumber);
+
+    void streamLatest(Long documentId, OutputStream output);
+
+    void streamRevision(Long documentId, Integer revisionNumber, OutputStream output);
+
+    RevisionStorageStats getStorageStats(Long documentId);
+}
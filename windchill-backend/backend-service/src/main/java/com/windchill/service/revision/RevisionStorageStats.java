@@ -0,0 +1,21 @@
+package com.windchill.service.revision;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Storage used by revision history compared with keeping every revision as a full copy.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RevisionStorageStats {
+    private long revisions;
+    private long logicalBytes;
+    private long storedBytes;
+
+    public double getSavingsRatio() {
+        return logicalBytes == 0 ? 0.0 : 1.0 - (double) storedBytes / logicalBytes;
+    }
+}
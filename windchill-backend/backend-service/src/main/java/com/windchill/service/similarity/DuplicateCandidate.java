@@ -0,0 +1,18 @@
+package com.windchill.service.similarity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * An existing product that looks like a near duplicate, with its estimated similarity.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DuplicateCandidate {
+    private Long productId;
+    private String productCode;
+    private String productName;
+    private double similarity;
+}
@@ -0,0 +1,28 @@
+package com.windchill.service.similarity;
+
+import com.windchill.common.enums.DuplicateCheckModeEnum;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Near-duplicate detection settings, bound from {@code app.product-dedup}.
+ */
+@Component
+@ConfigurationProperties(prefix = "app.product-dedup")
+@Data
+public class DuplicateCheckSettings {
+    private DuplicateCheckModeEnum mode = DuplicateCheckModeEnum.WARN;
+    /** Estimated similarity from which two products count as likely duplicates. */
+    private double threshold = 0.6;
+    private int maxResults = 5;
+    /** LSH buckets larger than this are skipped by the report; they hold boilerplate, not duplicates. */
+    private int maxBucketSize = 500;
+    private int maxReportClusters = 1000;
+    private int parallelism = 0;
+    /** Abbreviations expanded before comparison, lower case. */
+    private Map<String, String> synonyms = new HashMap<>();
+}
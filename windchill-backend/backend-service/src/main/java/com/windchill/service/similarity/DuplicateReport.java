@@ -0,0 +1,31 @@
+package com.windchill.service.similarity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Groups of likely duplicates across the catalog, largest first. Products are grouped when
+ * they are linked by a chain of similar pairs, so members of one cluster need not all be
+ * similar to each other.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DuplicateReport {
+    private int productCount;
+    private int pairCount;
+    private int clusterCount;
+    private long elapsedMs;
+    private List<Cluster> clusters;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Cluster {
+        /** Each member's similarity is its best match within the cluster. */
+        private List<DuplicateCandidate> products;
+    }
+}
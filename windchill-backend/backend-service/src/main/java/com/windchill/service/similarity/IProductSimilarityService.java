@@ -0,0 +1,13 @@
+package com.windchill.service.similarity;
+
+import com.windchill.domain.entity.Product;
+
+import java.util.List;
+
+public interface IProductSimilarityService {
+    List<DuplicateCandidate> findDuplicates(Product product);
+
+    void checkNewProduct(Product product);
+
+    DuplicateReport getDuplicateReport();
+}
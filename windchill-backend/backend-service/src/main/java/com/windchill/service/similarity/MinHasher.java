@@ -0,0 +1,161 @@
+package com.windchill.service.similarity;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Turns a product's descriptive text into a MinHash signature. Text is lower-cased and split
+ * into tokens at every change between letters and digits, so "M6x20" and "M6 x 20" agree;
+ * abbreviations are expanded through a synonym table. The name contributes its tokens and
+ * their character trigrams (for spelling variants), the manufacturer its tokens, and the
+ * description only its first few tokens so a long text cannot drown out the name.
+ *
+ * <p>Numbers in a name are sizes, lengths and ratings, where a near miss is a different
+ * part: "M6x20" and "M8x20" share most features but are not duplicates. So besides the
+ * signature each name gets a {@linkplain #numbers number key}, and only products with equal
+ * keys are compared at all.
+ *
+ * <p>Each of the {@value #HASHES} hash functions keeps its minimum over the feature set; two
+ * signatures agree in a position with probability equal to the Jaccard similarity of the
+ * feature sets. Only the low 16 bits of each minimum are kept, which adds a 1/65536 chance
+ * of a false agreement per position.
+ */
+final class MinHasher {
+    static final int HASHES = 64;
+    static final int BANDS = 16;
+    static final int ROWS = HASHES / BANDS;
+
+    private static final int DESCRIPTION_TOKENS = 20;
+    private static final long[] SEEDS = new long[HASHES];
+
+    static {
+        long seed = 0x9E3779B97F4A7C15L;
+        for (int i = 0; i < HASHES; i++) {
+            seed = mix(seed + i);
+            SEEDS[i] = seed;
+        }
+    }
+
+    private final Map<String, String> synonyms;
+
+    MinHasher(Map<String, String> synonyms) {
+        this.synonyms = synonyms;
+    }
+
+    /**
+     * Writes the signature into {@code target} from {@code offset}; returns false and leaves
+     * it untouched when the text has no features at all.
+     */
+    boolean sign(String name, String description, String manufacturer, char[] target, int offset) {
+        Set<String> features = new HashSet<>();
+        for (String token : tokens(name, Integer.MAX_VALUE)) {
+            features.add(token);
+            String padded = "^" + token + "$";
+            for (int i = 0; i + 3 <= padded.length(); i++) {
+                features.add("#" + padded.substring(i, i + 3));
+            }
+        }
+        for (String token : tokens(manufacturer, Integer.MAX_VALUE)) {
+            features.add("m:" + token);
+        }
+        for (String token : tokens(description, DESCRIPTION_TOKENS)) {
+            features.add("d:" + token);
+        }
+        if (features.isEmpty()) {
+            return false;
+        }
+        long[] minimums = new long[HASHES];
+        Arrays.fill(minimums, Long.MAX_VALUE);
+        for (String feature : features) {
+            long base = hash(feature);
+            for (int i = 0; i < HASHES; i++) {
+                long value = mix(base ^ SEEDS[i]) >>> 1;
+                if (value < minimums[i]) {
+                    minimums[i] = value;
+                }
+            }
+        }
+        for (int i = 0; i < HASHES; i++) {
+            target[offset + i] = (char) minimums[i];
+        }
+        return true;
+    }
+
+    /**
+     * Hash of the numbers in a name, in order of appearance; 0 when it has none.
+     */
+    long numbers(String name) {
+        long key = 0;
+        for (String token : tokens(name, Integer.MAX_VALUE)) {
+            if (Character.isDigit(token.charAt(0))) {
+                key = mix(key * 31 + hash(token.replaceFirst("^0+(?=.)", "")));
+            }
+        }
+        return key;
+    }
+
+    /**
+     * Hash of one band of a signature, the LSH bucket key. Signatures agreeing in all rows of
+     * some band share a bucket, so pairs above roughly (1/BANDS)^(1/ROWS) similarity, about
+     * 0.5 here, are likely to meet.
+     */
+    static int bandHash(char[] signatures, int offset, int band) {
+        long hash = band;
+        for (int row = 0; row < ROWS; row++) {
+            hash = hash * 0x100000001B3L + signatures[offset + band * ROWS + row];
+        }
+        return (int) (mix(hash) >>> 32);
+    }
+
+    static double similarity(char[] signatures, int first, char[] others, int second) {
+        int agreeing = 0;
+        for (int i = 0; i < HASHES; i++) {
+            if (signatures[first + i] == others[second + i]) {
+                agreeing++;
+            }
+        }
+        return (double) agreeing / HASHES;
+    }
+
+    private List<String> tokens(String text, int limit) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        String lower = text.toLowerCase(Locale.ROOT);
+        List<String> tokens = new ArrayList<>();
+        int start = -1;
+        for (int i = 0; i <= lower.length() && tokens.size() < limit; i++) {
+            char c = i < lower.length() ? lower.charAt(i) : ' ';
+            boolean boundary = start >= 0 && (!Character.isLetterOrDigit(c)
+                    || Character.isDigit(c) != Character.isDigit(lower.charAt(start)));
+            if (boundary) {
+                String token = lower.substring(start, i);
+                tokens.add(synonyms.getOrDefault(token, token));
+                start = -1;
+            }
+            if (start < 0 && Character.isLetterOrDigit(c)) {
+                start = i;
+            }
+        }
+        return tokens;
+    }
+
+    private static long hash(String value) {
+        long hash = 0xCBF29CE484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash = (hash ^ value.charAt(i)) * 0x100000001B3L;
+        }
+        return mix(hash);
+    }
+
+    private static long mix(long value) {
+        value = (value ^ (value >>> 33)) * 0xFF51AFD7ED558CCDL;
+        value = (value ^ (value >>> 33)) * 0xC4CEB9FE1A85EC53L;
+        return value ^ (value >>> 33);
+    }
+}
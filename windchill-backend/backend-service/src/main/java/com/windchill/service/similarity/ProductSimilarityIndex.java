@@ -0,0 +1,270 @@
+package com.windchill.service.similarity;
+
+import com.windchill.repository.ProductRepository;
+import com.windchill.service.event.ProductsChangedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * MinHash signatures of all active products, bucketed by LSH band. Buckets are sorted
+ * {@code long[]} arrays of {@code bandHash << 32 | ordinal} built on load, so a lookup is a
+ * binary search per band; products patched in since then sit in small per-band maps until
+ * the next full reload. A bucket entry may be stale after an edit, which is harmless: every
+ * candidate is confirmed against its current signature.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+class ProductSimilarityIndex {
+    private static final int ID_BATCH_SIZE = 1000;
+
+    private final ProductRepository productRepository;
+    private final DuplicateCheckSettings settings;
+    private final Object writeLock = new Object();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile Index index;
+
+    /**
+     * Products whose estimated similarity to the given signature reaches {@code threshold},
+     * most similar first.
+     */
+    List<Match> candidates(char[] signature, long numbers, double threshold) {
+        Index current = current();
+        lock.readLock().lock();
+        try {
+            BitSet seen = new BitSet();
+            List<Match> matches = new ArrayList<>();
+            for (int band = 0; band < MinHasher.BANDS; band++) {
+                int hash = MinHasher.bandHash(signature, 0, band);
+                long[] bucket = current.bands[band];
+                long low = (long) hash << 32;
+                int position = Arrays.binarySearch(bucket, low);
+                for (int i = position >= 0 ? position : -position - 1; i < bucket.length && bucket[i] >>> 32 == low >>> 32; i++) {
+                    current.collect((int) bucket[i], signature, numbers, threshold, seen, matches);
+                }
+                for (int ordinal : current.recent.get(band).getOrDefault(hash, List.of())) {
+                    current.collect(ordinal, signature, numbers, threshold, seen, matches);
+                }
+            }
+            matches.sort((first, second) -> Double.compare(second.similarity(), first.similarity()));
+            return matches;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * A copy of the signatures of active products, for long-running work that must not hold
+     * the lock.
+     */
+    Snapshot snapshot() {
+        Index current = current();
+        lock.readLock().lock();
+        try {
+            return new Snapshot(Arrays.copyOf(current.ids, current.size),
+                    Arrays.copyOf(current.signatures, current.size * MinHasher.HASHES),
+                    Arrays.copyOf(current.numbers, current.size), (BitSet) current.live.clone());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    MinHasher hasher() {
+        return new MinHasher(settings.getSynonyms());
+    }
+
+    /**
+     * Loads the index up front, so the first product created does not wait for it.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    void warmUp() {
+        current();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    void onProductsChanged(ProductsChangedEvent event) {
+        synchronized (writeLock) {
+            if (index == null) {
+                return;
+            }
+            MinHasher hasher = hasher();
+            List<Long> ids = event.productIds();
+            for (int from = 0; from < ids.size(); from += ID_BATCH_SIZE) {
+                List<Long> batch = ids.subList(from, Math.min(from + ID_BATCH_SIZE, ids.size()));
+                Map<Long, char[]> signatures = new HashMap<>();
+                Map<Long, Long> numbers = new HashMap<>();
+                for (Object[] row : productRepository.findSimilarityRowsByIdIn(batch)) {
+                    char[] signature = new char[MinHasher.HASHES];
+                    if (hasher.sign((String) row[1], (String) row[2], (String) row[3], signature, 0)) {
+                        Long id = ((Number) row[0]).longValue();
+                        signatures.put(id, signature);
+                        numbers.put(id, hasher.numbers((String) row[1]));
+                    }
+                }
+                lock.writeLock().lock();
+                try {
+                    for (Long id : batch) {
+                        index.put(id, signatures.get(id), numbers.getOrDefault(id, 0L));
+                    }
+                } finally {
+                    lock.writeLock().unlock();
+                }
+            }
+        }
+    }
+
+    @Scheduled(initialDelayString = "${app.product-dedup.full-refresh-interval-ms:900000}",
+               fixedDelayString = "${app.product-dedup.full-refresh-interval-ms:900000}")
+    void refresh() {
+        synchronized (writeLock) {
+            if (index != null) {
+                Index loaded = load();
+                lock.writeLock().lock();
+                try {
+                    index = loaded;
+                } finally {
+                    lock.writeLock().unlock();
+                }
+            }
+        }
+    }
+
+    private Index current() {
+        Index snapshot = index;
+        if (snapshot == null) {
+            synchronized (writeLock) {
+                if (index == null) {
+                    index = load();
+                }
+                snapshot = index;
+            }
+        }
+        return snapshot;
+    }
+
+    private Index load() {
+        long started = System.nanoTime();
+        MinHasher hasher = hasher();
+        Index loaded = new Index();
+        char[] signature = new char[MinHasher.HASHES];
+        for (Object[] row : productRepository.findSimilarityRows()) {
+            if (hasher.sign((String) row[1], (String) row[2], (String) row[3], signature, 0)) {
+                loaded.append(((Number) row[0]).longValue(), signature, hasher.numbers((String) row[1]));
+            }
+        }
+        loaded.bands = buildBands(loaded.signatures, loaded.size);
+        log.info("Loaded product similarity index: {} products in {} ms", loaded.size,
+                (System.nanoTime() - started) / 1_000_000);
+        return loaded;
+    }
+
+    /**
+     * Sorted {@code bandHash << 32 | ordinal} arrays, one per band. Equal hashes end up
+     * adjacent, which is what both lookups and the duplicate report walk.
+     */
+    static long[][] buildBands(char[] signatures, int size) {
+        long[][] bands = new long[MinHasher.BANDS][];
+        for (int band = 0; band < MinHasher.BANDS; band++) {
+            bands[band] = buildBand(signatures, size, band);
+        }
+        return bands;
+    }
+
+    static long[] buildBand(char[] signatures, int size, int band) {
+        long[] entries = new long[size];
+        for (int ordinal = 0; ordinal < size; ordinal++) {
+            entries[ordinal] = (long) MinHasher.bandHash(signatures, ordinal * MinHasher.HASHES, band) << 32 | ordinal;
+        }
+        Arrays.sort(entries);
+        return entries;
+    }
+
+    record Match(long productId, double similarity) {
+    }
+
+    record Snapshot(long[] ids, char[] signatures, long[] numbers, BitSet live) {
+    }
+
+    private static final class Index {
+        private final Map<Long, Integer> ordinals = new HashMap<>();
+        private final BitSet live = new BitSet();
+        private final List<Map<Integer, List<Integer>>> recent = new ArrayList<>();
+        private long[] ids = new long[1024];
+        private char[] signatures = new char[1024 * MinHasher.HASHES];
+        private long[] numbers = new long[1024];
+        private long[][] bands;
+        private int size;
+
+        private Index() {
+            for (int band = 0; band < MinHasher.BANDS; band++) {
+                recent.add(new HashMap<>());
+            }
+        }
+
+        int append(long id, char[] signature, long numberKey) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+                signatures = Arrays.copyOf(signatures, size * 2 * MinHasher.HASHES);
+                numbers = Arrays.copyOf(numbers, size * 2);
+            }
+            int ordinal = size++;
+            ids[ordinal] = id;
+            numbers[ordinal] = numberKey;
+            ordinals.put(id, ordinal);
+            System.arraycopy(signature, 0, signatures, ordinal * MinHasher.HASHES, MinHasher.HASHES);
+            live.set(ordinal);
+            return ordinal;
+        }
+
+        /**
+         * Stores the current signature of a product, or drops it when {@code signature} is
+         * null because it was deleted or has no text left.
+         */
+        void put(long id, char[] signature, long numberKey) {
+            Integer ordinal = ordinals.get(id);
+            if (signature == null) {
+                if (ordinal != null) {
+                    live.clear(ordinal);
+                }
+                return;
+            }
+            if (ordinal == null) {
+                ordinal = append(id, signature, numberKey);
+            } else {
+                System.arraycopy(signature, 0, signatures, ordinal * MinHasher.HASHES, MinHasher.HASHES);
+                numbers[ordinal] = numberKey;
+                live.set(ordinal);
+            }
+            for (int band = 0; band < MinHasher.BANDS; band++) {
+                recent.get(band).computeIfAbsent(MinHasher.bandHash(signature, 0, band), hash -> new ArrayList<>())
+                        .add(ordinal);
+            }
+        }
+
+        void collect(int ordinal, char[] signature, long numberKey, double threshold, BitSet seen,
+                     List<Match> matches) {
+            if (seen.get(ordinal) || !live.get(ordinal) || numbers[ordinal] != numberKey) {
+                return;
+            }
+            seen.set(ordinal);
+            double similarity = MinHasher.similarity(signatures, ordinal * MinHasher.HASHES, signature, 0);
+            if (similarity >= threshold) {
+                matches.add(new Match(ids[ordinal], similarity));
+            }
+        }
+    }
+}
@@ -0,0 +1,218 @@
+package com.windchill.service.similarity;
+
+import com.windchill.common.enums.DuplicateCheckModeEnum;
+import com.windchill.common.exceptions.BusinessException;
+import com.windchill.domain.entity.Product;
+import com.windchill.repository.ProductRepository;
+import com.windchill.service.access.IProjectAccessService;
+import com.windchill.service.access.ProjectAccess;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Near-duplicate detection over the catalog. A new product is checked against the in-memory
+ * LSH index before it is saved, which costs one signature and a few bucket lookups. The
+ * duplicate report walks every bucket of every band in parallel, confirms the pairs it finds
+ * against their signatures, and joins confirmed pairs into clusters.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional(readOnly = true)
+public class ProductSimilarityServiceImpl implements IProductSimilarityService {
+    private static final int ID_BATCH_SIZE = 1000;
+
+    private final ProductSimilarityIndex similarityIndex;
+    private final DuplicateCheckSettings settings;
+    private final ProductRepository productRepository;
+    private final IProjectAccessService projectAccessService;
+
+    private ForkJoinPool reportPool;
+
+    @PostConstruct
+    void init() {
+        int parallelism = settings.getParallelism();
+        reportPool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        reportPool.shutdownNow();
+    }
+
+    /**
+     * Existing products resembling {@code product}, excluding the product itself. Always
+     * empty when detection is off.
+     */
+    @Override
+    public List<DuplicateCandidate> findDuplicates(Product product) {
+        if (settings.getMode() == DuplicateCheckModeEnum.OFF) {
+            return List.of();
+        }
+        MinHasher hasher = similarityIndex.hasher();
+        char[] signature = new char[MinHasher.HASHES];
+        if (!hasher.sign(product.getProductName(), product.getDescription(), product.getManufacturer(), signature, 0)) {
+            return List.of();
+        }
+        Map<Long, Double> similarities = new HashMap<>();
+        for (ProductSimilarityIndex.Match match : similarityIndex.candidates(signature,
+                hasher.numbers(product.getProductName()), settings.getThreshold())) {
+            if (product.getId() == null || match.productId() != product.getId()) {
+                similarities.put(match.productId(), match.similarity());
+            }
+        }
+        if (similarities.isEmpty()) {
+            return List.of();
+        }
+        List<DuplicateCandidate> candidates = new ArrayList<>(describe(similarities));
+        candidates.sort(Comparator.comparingDouble(DuplicateCandidate::getSimilarity).reversed());
+        return candidates.size() > settings.getMaxResults()
+                ? new ArrayList<>(candidates.subList(0, settings.getMaxResults())) : candidates;
+    }
+
+    @Override
+    public void checkNewProduct(Product product) {
+        List<DuplicateCandidate> duplicates = findDuplicates(product);
+        if (duplicates.isEmpty()) {
+            return;
+        }
+        String codes = duplicates.stream().map(DuplicateCandidate::getProductCode).collect(Collectors.joining(", "));
+        if (settings.getMode() == DuplicateCheckModeEnum.BLOCK) {
+            throw new BusinessException("Product " + product.getProductCode() + " looks like a duplicate of " + codes);
+        }
+        log.warn("Product {} looks like a duplicate of {}", product.getProductCode(), codes);
+    }
+
+    @Override
+    public DuplicateReport getDuplicateReport() {
+        long started = System.nanoTime();
+        ProductSimilarityIndex.Snapshot snapshot = similarityIndex.snapshot();
+        int size = snapshot.ids().length;
+        long[][] bands = reportPool.submit(() -> IntStream.range(0, MinHasher.BANDS).parallel()
+                .mapToObj(band -> ProductSimilarityIndex.buildBand(snapshot.signatures(), size, band))
+                .toArray(long[][]::new)).join();
+        Map<Long, Double> pairs = reportPool.submit(() -> IntStream.range(0, MinHasher.BANDS).parallel()
+                .mapToObj(band -> confirmedPairs(bands[band], snapshot))
+                .flatMap(found -> found.entrySet().stream())
+                .collect(Collectors.toConcurrentMap(Map.Entry::getKey, Map.Entry::getValue, Math::max))).join();
+
+        // union-find over confirmed pairs
+        int[] parent = IntStream.range(0, size).toArray();
+        double[] best = new double[size];
+        for (Map.Entry<Long, Double> pair : pairs.entrySet()) {
+            int first = (int) (pair.getKey() >>> 32);
+            int second = (int) (long) pair.getKey();
+            best[first] = Math.max(best[first], pair.getValue());
+            best[second] = Math.max(best[second], pair.getValue());
+            parent[root(parent, first)] = root(parent, second);
+        }
+        Map<Integer, List<Integer>> groups = new HashMap<>();
+        for (int ordinal = 0; ordinal < size; ordinal++) {
+            if (best[ordinal] > 0) {
+                groups.computeIfAbsent(root(parent, ordinal), key -> new ArrayList<>()).add(ordinal);
+            }
+        }
+
+        List<List<Integer>> ordered = new ArrayList<>(groups.values());
+        ordered.sort(Comparator.comparingInt((List<Integer> group) -> -group.size()));
+        Map<Long, Double> members = new HashMap<>();
+        List<List<Integer>> reported = ordered.subList(0, Math.min(ordered.size(), settings.getMaxReportClusters()));
+        for (List<Integer> group : reported) {
+            group.forEach(ordinal -> members.put(snapshot.ids()[ordinal], best[ordinal]));
+        }
+        Map<Long, DuplicateCandidate> described = new HashMap<>();
+        describe(members).forEach(candidate -> described.put(candidate.getProductId(), candidate));
+
+        List<DuplicateReport.Cluster> clusters = new ArrayList<>();
+        for (List<Integer> group : reported) {
+            List<DuplicateCandidate> products = group.stream().map(ordinal -> described.get(snapshot.ids()[ordinal]))
+                    .filter(candidate -> candidate != null).toList();
+            if (products.size() > 1) {
+                clusters.add(new DuplicateReport.Cluster(products));
+            }
+        }
+        long elapsed = (System.nanoTime() - started) / 1_000_000;
+        log.info("Duplicate report over {} products: {} similar pairs in {} clusters, {} ms", snapshot.live().cardinality(),
+                pairs.size(), groups.size(), elapsed);
+        return new DuplicateReport(snapshot.live().cardinality(), pairs.size(), groups.size(), elapsed, clusters);
+    }
+
+    /**
+     * Pairs sharing a bucket of one band whose signatures reach the threshold, keyed as
+     * {@code lowerOrdinal << 32 | higherOrdinal}.
+     */
+    private Map<Long, Double> confirmedPairs(long[] bucket, ProductSimilarityIndex.Snapshot snapshot) {
+        Map<Long, Double> pairs = new HashMap<>();
+        int start = 0;
+        while (start < bucket.length) {
+            int end = start + 1;
+            while (end < bucket.length && bucket[end] >>> 32 == bucket[start] >>> 32) {
+                end++;
+            }
+            if (end - start > settings.getMaxBucketSize()) {
+                log.debug("Skipping an LSH bucket of {} products", end - start);
+            } else {
+                for (int i = start; i < end; i++) {
+                    int first = (int) bucket[i];
+                    if (!snapshot.live().get(first)) {
+                        continue;
+                    }
+                    for (int j = i + 1; j < end; j++) {
+                        int second = (int) bucket[j];
+                        if (!snapshot.live().get(second) || snapshot.numbers()[first] != snapshot.numbers()[second]) {
+                            continue;
+                        }
+                        double similarity = MinHasher.similarity(snapshot.signatures(), first * MinHasher.HASHES,
+                                snapshot.signatures(), second * MinHasher.HASHES);
+                        if (similarity >= settings.getThreshold()) {
+                            pairs.put((long) Math.min(first, second) << 32 | Math.max(first, second), similarity);
+                        }
+                    }
+                }
+            }
+            start = end;
+        }
+        return pairs;
+    }
+
+    private static int root(int[] parent, int ordinal) {
+        while (parent[ordinal] != ordinal) {
+            parent[ordinal] = parent[parent[ordinal]];
+            ordinal = parent[ordinal];
+        }
+        return ordinal;
+    }
+
+    /**
+     * Labels the given products, leaving out those of projects hidden from the caller.
+     */
+    private List<DuplicateCandidate> describe(Map<Long, Double> similarities) {
+        ProjectAccess access = projectAccessService.current();
+        List<Long> ids = new ArrayList<>(similarities.keySet());
+        List<DuplicateCandidate> candidates = new ArrayList<>(ids.size());
+        for (int from = 0; from < ids.size(); from += ID_BATCH_SIZE) {
+            Collection<Long> batch = ids.subList(from, Math.min(from + ID_BATCH_SIZE, ids.size()));
+            for (Object[] row : productRepository.findLabelsByIdIn(batch)) {
+                Long id = ((Number) row[0]).longValue();
+                if (access.canSee((Long) row[3])) {
+                    candidates.add(new DuplicateCandidate(id, (String) row[1], (String) row[2], similarities.get(id)));
+                }
+            }
+        }
+        return candidates;
+    }
+}
@@ -0,0 +1,89 @@
+package com.windchill.service.storage;
+
+import com.windchill.common.exceptions.BusinessException;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Filesystem layout for document binaries. Everything lives under a single root so that
+ * staging files and final content share a filesystem and can be installed with a rename.
+ */
+@Service
+@Slf4j
+public class DocumentStorageServiceImpl implements IDocumentStorageService {
+    private static final String DOCUMENTS_DIR = "documents";
+    private static final String STAGING_DIR = "staging";
+    private static final String COLD_DIR = "cold";
+
+    @Value("${app.storage.root:./data/storage}")
+    private String storageRoot;
+
+    private Path root;
+    private Path stagingDir;
+
+    @PostConstruct
+    void init() throws IOException {
+        root = Paths.get(storageRoot).toAbsolutePath().normalize();
+        stagingDir = root.resolve(STAGING_DIR);
+        Files.createDirectories(root.resolve(DOCUMENTS_DIR));
+        Files.createDirectories(stagingDir);
+        log.info("Document storage root: {}", root);
+    }
+
+    @Override
+    public Path resolve(String relativePath) {
+        Path resolved = root.resolve(relativePath).normalize();
+        if (!resolved.startsWith(root)) {
+            throw new BusinessException("Storage path escapes storage root: " + relativePath);
+        }
+        return resolved;
+    }
+
+    @Override
+    public String contentPath(Long documentId) {
+        return DOCUMENTS_DIR + "/" + documentId + "/content";
+    }
+
+    @Override
+    public String coldPath(String relativePath) {
+        return COLD_DIR + "/" + relativePath + ".gz";
+    }
+
+    @Override
+    public Path createStagingFile(String prefix) throws IOException {
+        return Files.createTempFile(stagingDir, prefix, ".part");
+    }
+
+    @Override
+    public Path install(Path stagedFile, String relativePath) throws IOException {
+        Path target = resolve(relativePath);
+        Files.createDirectories(target.getParent());
+        try {
+            Files.move(stagedFile, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException ex) {
+            Files.move(stagedFile, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+        return target;
+    }
+
+    @Override
+    public void deleteQuietly(Path path) {
+        if (path == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException ex) {
+            log.warn("Could not delete {}: {}", path, ex.getMessage());
+        }
+    }
+}
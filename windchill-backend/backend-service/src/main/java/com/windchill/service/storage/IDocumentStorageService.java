@@ -0,0 +1,18 @@
+package com.windchill.service.storage;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+public interface IDocumentStorageService {
+    Path resolve(String relativePath);
+
+    String contentPath(Long documentId);
+
+    String coldPath(String relativePath);
+
+    Path createStagingFile(String prefix) throws IOException;
+
+    Path install(Path stagedFile, String relativePath) throws IOException;
+
+    void deleteQuietly(Path path);
+}
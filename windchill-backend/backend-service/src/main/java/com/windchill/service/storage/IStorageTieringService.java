@@ -0,0 +1,20 @@
+package com.windchill.service.storage;
+
+import com.windchill.domain.entity.Document;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+
+public interface IStorageTieringService {
+    InputStream openContent(Document document);
+
+    InputStream readContent(Document document);
+
+    void transferContent(Document document, OutputStream output);
+
+    void markHot(Document document);
+
+    int demoteEligibleDocuments();
+
+    boolean promote(Long documentId);
+}
@@ -0,0 +1,27 @@
+package com.windchill.service.storage;
+
+/**
+ * Caps the throughput of a single background copy by sleeping whenever it runs ahead of the
+ * configured byte rate. Not thread-safe; use one instance per copy.
+ */
+final class IoThrottle {
+    private final long bytesPerSecond;
+    private final long startedNanos = System.nanoTime();
+    private long bytes;
+
+    IoThrottle(long bytesPerSecond) {
+        this.bytesPerSecond = bytesPerSecond;
+    }
+
+    void acquire(int count) throws InterruptedException {
+        if (bytesPerSecond <= 0) {
+            return;
+        }
+        bytes += count;
+        long expectedNanos = bytes * 1_000_000_000L / bytesPerSecond;
+        long aheadNanos = expectedNanos - (System.nanoTime() - startedNanos);
+        if (aheadNanos > 1_000_000L) {
+            Thread.sleep(aheadNanos / 1_000_000L, (int) (aheadNanos % 1_000_000L));
+        }
+    }
+}
@@ -0,0 +1,406 @@
+package com.windchill.service.storage;
+
+import com.windchill.common.enums.StatusEnum;
+import com.windchill.common.enums.StorageTierEnum;
+import com.windchill.common.exceptions.ResourceNotFoundException;
+import com.windchill.domain.entity.Document;
+import com.windchill.repository.DocumentRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Moves idle or archived document content to a compressed cold tier and back again.
+ *
+ * <p>All moves run on one background thread with a byte-rate cap so they never compete
+ * with foreground downloads for disk bandwidth. Reads are transparent: cold content is
+ * inflated on the fly while streaming, and content read repeatedly within the promotion
+ * window is queued for promotion back to the hot tier.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class StorageTieringServiceImpl implements IStorageTieringService {
+    private static final Set<StatusEnum> ARCHIVAL_STATUSES = EnumSet.of(StatusEnum.ARCHIVED, StatusEnum.INACTIVE);
+    private static final int IO_BUFFER_SIZE = 64 * 1024;
+    private static final int ACCESS_FLUSH_BATCH = 500;
+
+    private final DocumentRepository documentRepository;
+    private final IDocumentStorageService storageService;
+    private final PlatformTransactionManager transactionManager;
+
+    private final ConcurrentHashMap<Long, AccessWindow> accessWindows = new ConcurrentHashMap<>();
+    private final Set<Long> accessedSinceFlush = ConcurrentHashMap.newKeySet();
+    private final Set<Long> pendingPromotions = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean demotionRunning = new AtomicBoolean();
+    private final ExecutorService mover = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "storage-tier-mover");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Value("${app.storage.tiering.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.storage.tiering.idle-days:30}")
+    private long idleDays;
+
+    @Value("${app.storage.tiering.batch-size:50}")
+    private int batchSize;
+
+    @Value("${app.storage.tiering.max-bytes-per-second:20971520}")
+    private long maxBytesPerSecond;
+
+    @Value("${app.storage.tiering.promote-after-accesses:3}")
+    private int promoteAfterAccesses;
+
+    @Value("${app.storage.tiering.promote-window-minutes:60}")
+    private long promoteWindowMinutes;
+
+    @Override
+    public InputStream openContent(Document document) {
+        if (document.getFilePath() == null) {
+            throw new ResourceNotFoundException("Document content", "id", document.getId());
+        }
+        return open(document, recordAccess(document));
+    }
+
+    /**
+     * Background readers (bundle builds, indexing) go through here so their reads neither
+     * refresh the last-accessed time nor count towards promotion.
+     */
+    @Override
+    public InputStream readContent(Document document) {
+        if (document.getFilePath() == null) {
+            throw new ResourceNotFoundException("Document content", "id", document.getId());
+        }
+        return open(document, document.getStorageTier() == StorageTierEnum.COLD);
+    }
+
+    @Override
+    public void transferContent(Document document, OutputStream output) {
+        try {
+            if (document.getStorageTier() != StorageTierEnum.COLD && document.getFilePath() != null) {
+                Path hot = storageService.resolve(document.getFilePath());
+                if (Files.exists(hot)) {
+                    recordAccess(document);
+                    WritableByteChannel out = Channels.newChannel(output);
+                    try (FileChannel channel = FileChannel.open(hot, StandardOpenOption.READ)) {
+                        long size = channel.size();
+                        long position = 0;
+                        while (position < size) {
+                            position += channel.transferTo(position, size - position, out);
+                        }
+                    }
+                    output.flush();
+                    return;
+                }
+            }
+            try (InputStream in = openContent(document)) {
+                in.transferTo(output);
+            }
+            output.flush();
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not read content of document " + document.getId(), ex);
+        }
+    }
+
+    /**
+     * Called after new content has been installed in the hot tier; drops any stale cold copy.
+     */
+    @Override
+    public void markHot(Document document) {
+        documentRepository.updateStorageTier(document.getId(), StorageTierEnum.HOT);
+        document.setStorageTier(StorageTierEnum.HOT);
+        if (document.getFilePath() != null) {
+            storageService.deleteQuietly(storageService.resolve(storageService.coldPath(document.getFilePath())));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.storage.tiering.scan-interval-ms:600000}")
+    public void scheduleDemotion() {
+        if (enabled && demotionRunning.compareAndSet(false, true)) {
+            mover.execute(() -> {
+                try {
+                    demoteEligibleDocuments();
+                } catch (RuntimeException ex) {
+                    log.error("Storage tiering run failed", ex);
+                } finally {
+                    demotionRunning.set(false);
+                }
+            });
+        }
+    }
+
+    /**
+     * Demotes one batch of documents that are archived/inactive or have not been read for
+     * {@code idle-days}. Runs on the mover thread.
+     */
+    @Override
+    public int demoteEligibleDocuments() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(idleDays);
+        List<Document> candidates = documentRepository.findTieringCandidates(StorageTierEnum.HOT,
+                ARCHIVAL_STATUSES, cutoff, PageRequest.of(0, batchSize));
+        int demoted = 0;
+        for (Document document : candidates) {
+            if (!ARCHIVAL_STATUSES.contains(document.getStatus()) && accessWindows.containsKey(document.getId())) {
+                continue;
+            }
+            try {
+                if (demote(document)) {
+                    demoted++;
+                }
+            } catch (IOException ex) {
+                log.warn("Could not move document {} to cold storage: {}", document.getId(), ex.getMessage());
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        if (demoted > 0) {
+            log.info("Moved {} document(s) to cold storage", demoted);
+        }
+        return demoted;
+    }
+
+    @Override
+    public boolean promote(Long documentId) {
+        try {
+            Document document = documentRepository.findById(documentId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Document", "id", documentId));
+            if (document.getStorageTier() != StorageTierEnum.COLD || document.getFilePath() == null) {
+                return false;
+            }
+            Path coldFile = storageService.resolve(storageService.coldPath(document.getFilePath()));
+            if (!Files.exists(coldFile)) {
+                documentRepository.updateStorageTier(documentId, StorageTierEnum.HOT);
+                return false;
+            }
+            Path staging = storageService.createStagingFile("promote-");
+            try (InputStream in = new GZIPInputStream(Files.newInputStream(coldFile), IO_BUFFER_SIZE);
+                 OutputStream out = Files.newOutputStream(staging)) {
+                throttledCopy(in, out);
+            } catch (IOException | InterruptedException ex) {
+                storageService.deleteQuietly(staging);
+                throw ex;
+            }
+            boolean promoted;
+            try {
+                // Same lock as demotion and upload commit, so a newer upload is never overwritten
+                promoted = Boolean.TRUE.equals(new TransactionTemplate(transactionManager).execute(status -> {
+                    Document locked = documentRepository.findByIdForUpdate(documentId).orElse(null);
+                    if (locked == null || locked.getStorageTier() != StorageTierEnum.COLD
+                            || !Objects.equals(locked.getFilePath(), document.getFilePath())) {
+                        return false;
+                    }
+                    installOrThrow(staging, document.getFilePath());
+                    documentRepository.updateStorageTier(documentId, StorageTierEnum.HOT);
+                    storageService.deleteQuietly(coldFile);
+                    return true;
+                }));
+            } catch (UncheckedIOException ex) {
+                throw ex.getCause();
+            } finally {
+                storageService.deleteQuietly(staging);
+            }
+            if (promoted) {
+                log.info("Promoted document {} back to hot storage", documentId);
+            }
+            return promoted;
+        } catch (IOException ex) {
+            log.warn("Could not promote document {}: {}", documentId, ex.getMessage());
+            return false;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        } finally {
+            pendingPromotions.remove(documentId);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.storage.tiering.access-flush-interval-ms:60000}")
+    public void flushAccessTimes() {
+        List<Long> batch = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+        for (Long id : accessedSinceFlush) {
+            accessedSinceFlush.remove(id);
+            batch.add(id);
+            if (batch.size() == ACCESS_FLUSH_BATCH) {
+                documentRepository.updateLastAccessedAt(batch, now);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            documentRepository.updateLastAccessedAt(batch, now);
+        }
+        long windowMillis = promoteWindowMinutes * 60_000L;
+        long nowMillis = System.currentTimeMillis();
+        accessWindows.values().removeIf(window -> nowMillis - window.startedAt > windowMillis);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        mover.shutdownNow();
+    }
+
+    /**
+     * Returns whether the document is in the cold tier, queueing a promotion once it has
+     * been read often enough within the promotion window.
+     */
+    private boolean recordAccess(Document document) {
+        Long id = document.getId();
+        accessedSinceFlush.add(id);
+        long now = System.currentTimeMillis();
+        long windowMillis = promoteWindowMinutes * 60_000L;
+        AccessWindow window = accessWindows.compute(id, (key, current) -> {
+            AccessWindow next = current == null || now - current.startedAt > windowMillis ? new AccessWindow(now) : current;
+            next.count++;
+            return next;
+        });
+        boolean cold = document.getStorageTier() == StorageTierEnum.COLD;
+        if (cold && enabled && window.count >= promoteAfterAccesses && pendingPromotions.add(id)) {
+            mover.execute(() -> promote(id));
+        }
+        return cold;
+    }
+
+    private InputStream open(Document document, boolean cold) {
+        Path hot = storageService.resolve(document.getFilePath());
+        Path coldFile = storageService.resolve(storageService.coldPath(document.getFilePath()));
+        try {
+            // The tier column can lag a move by a moment, so fall back to the other tier
+            if (!cold && Files.exists(hot)) {
+                return Files.newInputStream(hot);
+            }
+            if (Files.exists(coldFile)) {
+                return new GZIPInputStream(Files.newInputStream(coldFile), IO_BUFFER_SIZE);
+            }
+            return Files.newInputStream(hot);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not open content of document " + document.getId(), ex);
+        }
+    }
+
+    private boolean demote(Document document) throws IOException, InterruptedException {
+        Path hot = storageService.resolve(document.getFilePath());
+        String coldPath = storageService.coldPath(document.getFilePath());
+        if (!Files.exists(hot)) {
+            if (Files.exists(storageService.resolve(coldPath))) {
+                documentRepository.updateStorageTier(document.getId(), StorageTierEnum.COLD);
+            }
+            return false;
+        }
+
+        Object fileKey = Files.readAttributes(hot, BasicFileAttributes.class).fileKey();
+        Path staging = storageService.createStagingFile("demote-");
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(hot), IO_BUFFER_SIZE);
+             OutputStream out = new FastGzipOutputStream(Files.newOutputStream(staging))) {
+            throttledCopy(in, out);
+        } catch (IOException | InterruptedException ex) {
+            storageService.deleteQuietly(staging);
+            throw ex;
+        }
+        // Uploads install new content while holding the document row lock, so checking the
+        // file and deleting it under that lock leaves no window for a commit in between
+        boolean moved;
+        try {
+            moved = Boolean.TRUE.equals(new TransactionTemplate(transactionManager).execute(status -> {
+                Document locked = documentRepository.findByIdForUpdate(document.getId()).orElse(null);
+                if (locked == null || locked.getStorageTier() == StorageTierEnum.COLD
+                        || !Objects.equals(locked.getFilePath(), document.getFilePath())
+                        || !sameFile(hot, fileKey)) {
+                    // New content was uploaded while we were compressing the old one
+                    return false;
+                }
+                installOrThrow(staging, coldPath);
+                documentRepository.updateStorageTier(document.getId(), StorageTierEnum.COLD);
+                storageService.deleteQuietly(hot);
+                return true;
+            }));
+        } catch (UncheckedIOException ex) {
+            throw ex.getCause();
+        } finally {
+            storageService.deleteQuietly(staging);
+        }
+        if (moved) {
+            log.debug("Moved document {} to cold storage ({} -> {} bytes)", document.getId(),
+                    document.getFileSize(), Files.size(storageService.resolve(coldPath)));
+        }
+        return moved;
+    }
+
+    private void installOrThrow(Path staging, String relativePath) {
+        try {
+            storageService.install(staging, relativePath);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private boolean sameFile(Path path, Object fileKey) {
+        try {
+            return Files.exists(path)
+                    && Objects.equals(fileKey, Files.readAttributes(path, BasicFileAttributes.class).fileKey());
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private void throttledCopy(InputStream in, OutputStream out) throws IOException, InterruptedException {
+        IoThrottle throttle = new IoThrottle(maxBytesPerSecond);
+        byte[] buffer = new byte[IO_BUFFER_SIZE];
+        int read;
+        while ((read = in.read(buffer)) >= 0) {
+            out.write(buffer, 0, read);
+            throttle.acquire(read);
+        }
+    }
+
+    private static final class AccessWindow {
+        private final long startedAt;
+        private int count;
+
+        AccessWindow(long startedAt) {
+            this.startedAt = startedAt;
+        }
+    }
+
+    private static final class FastGzipOutputStream extends GZIPOutputStream {
+        FastGzipOutputStream(OutputStream out) throws IOException {
+            super(out, IO_BUFFER_SIZE);
+            def.setLevel(Deflater.BEST_SPEED);
+        }
+    }
+}
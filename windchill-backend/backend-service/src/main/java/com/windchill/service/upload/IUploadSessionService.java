@@ -0,0 +1,24 @@
+package com.windchill.service.upload;
+
+import com.windchill.domain.entity.Document;
+import com.windchill.domain.entity.UploadChunk;
+import com.windchill.domain.entity.UploadSession;
+
+import java.io.InputStream;
+import java.util.List;
+
+public interface IUploadSessionService {
+    UploadSession createSession(Long documentId, String fileName, String mimeType, Long totalSize, Integer chunkSize);
+
+    UploadSession getSession(Long documentId, Long sessionId);
+
+    UploadChunk writeChunk(Long documentId, Long sessionId, int chunkIndex, String checksum, InputStream data);
+
+    List<Integer> getMissingChunks(Long documentId, Long sessionId);
+
+    Document commitSession(Long documentId, Long sessionId);
+
+    void abortSession(Long documentId, Long sessionId);
+
+    int expireAbandonedSessions();
+}
@@ -0,0 +1,419 @@
+package com.windchill.service.upload;
+
+import com.windchill.common.enums.RoleEnum;
+import com.windchill.common.enums.UploadStatusEnum;
+import com.windchill.common.exceptions.BusinessException;
+import com.windchill.common.exceptions.ResourceNotFoundException;
+import com.windchill.domain.entity.Document;
+import com.windchill.domain.entity.UploadChunk;
+import com.windchill.domain.entity.UploadSession;
+import com.windchill.repository.DocumentRepository;
+import com.windchill.repository.UploadChunkRepository;
+import com.windchill.repository.UploadSessionRepository;
+import com.windchill.service.access.AuthenticatedUser;
+import com.windchill.service.access.IProjectAccessService;
+import com.windchill.service.indexing.IDocumentIndexingService;
+import com.windchill.service.revision.IDocumentRevisionService;
+import com.windchill.service.storage.IDocumentStorageService;
+import com.windchill.service.storage.IStorageTieringService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.zip.CRC32C;
+
+/**
+ * Resumable chunked uploads into a document. A session can be opened only on a document the
+ * caller can see, and only the user who opened it can add chunks, commit or abort it; the
+ * document's visibility is checked again on each of those steps, since access can be revoked
+ * while an upload is in progress. Anyone else gets the session reported as not found.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class UploadSessionServiceImpl implements IUploadSessionService {
+    private static final int MIN_CHUNK_SIZE = 256 * 1024;
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+
+    private final UploadSessionRepository uploadSessionRepository;
+    private final UploadChunkRepository uploadChunkRepository;
+    private final DocumentRepository documentRepository;
+    private final IDocumentStorageService storageService;
+    private final IDocumentRevisionService revisionService;
+    private final IStorageTieringService tieringService;
+    private final IDocumentIndexingService indexingService;
+    private final IProjectAccessService projectAccessService;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${app.upload.default-chunk-size:8388608}")
+    private int defaultChunkSize;
+
+    @Value("${app.upload.max-chunk-size:67108864}")
+    private int maxChunkSize;
+
+    @Value("${app.upload.session-ttl-minutes:1440}")
+    private long sessionTtlMinutes;
+
+    @Override
+    public UploadSession createSession(Long documentId, String fileName, String mimeType, Long totalSize, Integer chunkSize) {
+        log.info("Creating upload session for document: {} ({} bytes)", documentId, totalSize);
+        Document document = visibleDocument(documentId);
+        AuthenticatedUser user = projectAccessService.currentUser();
+        if (user == null) {
+            throw new ResourceNotFoundException("Document", "id", documentId);
+        }
+        if (totalSize == null || totalSize <= 0) {
+            throw new BusinessException("Total size must be greater than 0");
+        }
+
+        int effectiveChunkSize = chunkSize != null ? chunkSize : defaultChunkSize;
+        if (effectiveChunkSize < MIN_CHUNK_SIZE || effectiveChunkSize > maxChunkSize) {
+            throw new BusinessException("Chunk size must be between " + MIN_CHUNK_SIZE + " and " + maxChunkSize + " bytes");
+        }
+        long chunkCount = (totalSize + effectiveChunkSize - 1) / effectiveChunkSize;
+        if (chunkCount > Integer.MAX_VALUE) {
+            throw new BusinessException("Too many chunks for upload of " + totalSize + " bytes");
+        }
+
+        Path stagingFile = preallocate(totalSize);
+
+        UploadSession session = new UploadSession();
+        session.setDocumentId(documentId);
+        session.setOwnerId(user.userId());
+        session.setFileName(fileName != null ? fileName : document.getFileName());
+        session.setMimeType(mimeType);
+        session.setTotalSize(totalSize);
+        session.setChunkSize(effectiveChunkSize);
+        session.setChunkCount((int) chunkCount);
+        session.setStatus(UploadStatusEnum.OPEN);
+        session.setStagingPath(stagingFile.toString());
+        session.setExpiresAt(LocalDateTime.now().plusMinutes(sessionTtlMinutes));
+        session.setIsDeleted(false);
+
+        UploadSession savedSession = uploadSessionRepository.save(session);
+        log.info("Upload session created: {} ({} chunks of {} bytes)", savedSession.getId(), chunkCount, effectiveChunkSize);
+        return savedSession;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public UploadSession getSession(Long documentId, Long sessionId) {
+        log.debug("Fetching upload session: {}", sessionId);
+        UploadSession session = uploadSessionRepository.findById(sessionId)
+                .orElseThrow(() -> new ResourceNotFoundException("UploadSession", "id", sessionId));
+        return requireOwner(session, documentId);
+    }
+
+    /**
+     * Receives a chunk in two steps. The body is first spooled to a scratch file while its
+     * CRC32C is computed, outside any transaction so a slow client never pins a database
+     * connection, and a corrupt body is rejected before it can touch the staging file. The
+     * verified bytes are then copied to their offset under a shared lock on the session row,
+     * after re-checking that the session is still open and that the chunk is not recorded
+     * yet. A chunk already received is never rewritten: a repeat with the same checksum gets
+     * the existing record back, including when it loses a race on the same index.
+     */
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public UploadChunk writeChunk(Long documentId, Long sessionId, int chunkIndex, String checksum, InputStream data) {
+        UploadSession session = requireOpen(getSession(documentId, sessionId));
+        if (chunkIndex < 0 || chunkIndex >= session.getChunkCount()) {
+            throw new BusinessException("Chunk index out of range: " + chunkIndex);
+        }
+        long expectedChecksum = parseChecksum(checksum);
+        int length = session.chunkLength(chunkIndex);
+        long offset = (long) chunkIndex * session.getChunkSize();
+        String hex = String.format("%08x", expectedChecksum);
+
+        Path spool = spool(data, length, chunkIndex);
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        UploadChunk recorded;
+        try {
+            long actualChecksum = checksumOf(spool, length, chunkIndex);
+            if (actualChecksum != expectedChecksum) {
+                throw new BusinessException("Checksum mismatch for chunk " + chunkIndex);
+            }
+            recorded = tx.execute(status -> record(sessionId, chunkIndex, length, hex, spool, offset));
+        } catch (DataIntegrityViolationException ex) {
+            // a concurrent upload of the same index committed first
+            recorded = tx.execute(status -> alreadyReceived(uploadChunkRepository
+                    .findBySessionIdAndChunkIndex(sessionId, chunkIndex)
+                    .orElseThrow(() -> ex), hex));
+        } finally {
+            storageService.deleteQuietly(spool);
+        }
+        tx.executeWithoutResult(status -> uploadSessionRepository.touch(sessionId, UploadStatusEnum.OPEN,
+                LocalDateTime.now().plusMinutes(sessionTtlMinutes)));
+        log.debug("Chunk {} of upload session {} stored ({} bytes)", chunkIndex, sessionId, length);
+        return recorded;
+    }
+
+    private UploadChunk record(Long sessionId, int chunkIndex, int length, String checksum, Path spool, long offset) {
+        UploadSession session = requireOpen(uploadSessionRepository.findByIdForShare(sessionId)
+                .orElseThrow(() -> new ResourceNotFoundException("UploadSession", "id", sessionId)));
+        Optional<UploadChunk> existing = uploadChunkRepository.findBySessionIdAndChunkIndex(sessionId, chunkIndex);
+        if (existing.isPresent()) {
+            return alreadyReceived(existing.get(), checksum);
+        }
+        UploadChunk chunk = new UploadChunk();
+        chunk.setSessionId(sessionId);
+        chunk.setChunkIndex(chunkIndex);
+        chunk.setChunkSize(length);
+        chunk.setChecksum(checksum);
+        chunk.setReceivedAt(LocalDateTime.now());
+        // claims the index before any byte is copied; a concurrent insert waits here
+        UploadChunk saved = uploadChunkRepository.saveAndFlush(chunk);
+        copyAt(spool, Path.of(session.getStagingPath()), offset, length, chunkIndex);
+        return saved;
+    }
+
+    private UploadChunk alreadyReceived(UploadChunk chunk, String checksum) {
+        if (!chunk.getChecksum().equalsIgnoreCase(checksum)) {
+            throw new BusinessException("Chunk " + chunk.getChunkIndex() + " was already received with checksum "
+                    + chunk.getChecksum());
+        }
+        return chunk;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Integer> getMissingChunks(Long documentId, Long sessionId) {
+        UploadSession session = getSession(documentId, sessionId);
+        BitSet received = new BitSet(session.getChunkCount());
+        for (Integer index : uploadChunkRepository.findChunkIndexesBySessionId(sessionId)) {
+            received.set(index);
+        }
+        List<Integer> missing = new ArrayList<>();
+        for (int i = received.nextClearBit(0); i < session.getChunkCount(); i = received.nextClearBit(i + 1)) {
+            missing.add(i);
+        }
+        return missing;
+    }
+
+    /**
+     * Records the upload as the document's next revision, then installs the staging file as
+     * the document content with a rename, so the assembled binary is never copied.
+     */
+    @Override
+    public Document commitSession(Long documentId, Long sessionId) {
+        log.info("Committing upload session: {}", sessionId);
+        UploadSession session = requireOpen(lockSession(documentId, sessionId));
+
+        long received = uploadChunkRepository.countBySessionId(sessionId);
+        if (received != session.getChunkCount()) {
+            throw new BusinessException("Upload incomplete: " + (session.getChunkCount() - received) + " chunk(s) missing");
+        }
+
+        // locked before it is read, so the revision base and number come from the latest commit
+        Document document = documentRepository.findByIdForUpdate(documentId)
+                .orElseThrow(() -> new ResourceNotFoundException("Document", "id", documentId));
+        Path stagingFile = Path.of(session.getStagingPath());
+        String contentPath = storageService.contentPath(documentId);
+        try {
+            try (FileChannel channel = FileChannel.open(stagingFile, StandardOpenOption.WRITE)) {
+                channel.force(true);
+            }
+            revisionService.recordRevision(document, stagingFile, session.getFileName());
+            storageService.install(stagingFile, contentPath);
+        } catch (IOException ex) {
+            throw new BusinessException("Could not store uploaded file for document " + documentId, ex);
+        }
+
+        document.setFilePath(contentPath);
+        tieringService.markHot(document);
+        document.setFileName(session.getFileName());
+        document.setFileSize(session.getTotalSize());
+        if (session.getMimeType() != null) {
+            document.setMimeType(session.getMimeType());
+        }
+        Document savedDocument = documentRepository.save(document);
+        indexingService.enqueue(documentId);
+
+        session.setStatus(UploadStatusEnum.COMMITTED);
+        uploadSessionRepository.save(session);
+        uploadChunkRepository.deleteBySessionId(sessionId);
+        log.info("Upload session committed: {} -> document {}", sessionId, documentId);
+        return savedDocument;
+    }
+
+    @Override
+    public void abortSession(Long documentId, Long sessionId) {
+        log.info("Aborting upload session: {}", sessionId);
+        UploadSession session = requireOpen(lockSession(documentId, sessionId));
+        release(session, UploadStatusEnum.ABORTED);
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${app.upload.cleanup-interval-ms:300000}")
+    public int expireAbandonedSessions() {
+        List<UploadSession> expired = uploadSessionRepository
+                .findTop100ByStatusAndExpiresAtBefore(UploadStatusEnum.OPEN, LocalDateTime.now());
+        int released = 0;
+        for (UploadSession candidate : expired) {
+            // a chunk may have slid the expiry forward since the scan
+            UploadSession session = uploadSessionRepository.findByIdForUpdate(candidate.getId()).orElse(null);
+            if (session != null && session.getStatus() == UploadStatusEnum.OPEN
+                    && session.getExpiresAt().isBefore(LocalDateTime.now())) {
+                release(session, UploadStatusEnum.EXPIRED);
+                released++;
+            }
+        }
+        if (released > 0) {
+            log.info("Expired {} abandoned upload session(s)", released);
+        }
+        return released;
+    }
+
+    private void release(UploadSession session, UploadStatusEnum status) {
+        storageService.deleteQuietly(Path.of(session.getStagingPath()));
+        uploadChunkRepository.deleteBySessionId(session.getId());
+        session.setStatus(status);
+        uploadSessionRepository.save(session);
+    }
+
+    /**
+     * The session row locked exclusively, which waits for chunk writes in flight.
+     */
+    private UploadSession lockSession(Long documentId, Long sessionId) {
+        UploadSession session = uploadSessionRepository.findByIdForUpdate(sessionId)
+                .orElseThrow(() -> new ResourceNotFoundException("UploadSession", "id", sessionId));
+        return requireOwner(session, documentId);
+    }
+
+    /**
+     * The session, if it belongs to {@code documentId}, was opened by the current user and
+     * its document is still visible to them. Administrators may act on any session.
+     */
+    private UploadSession requireOwner(UploadSession session, Long documentId) {
+        AuthenticatedUser user = projectAccessService.currentUser();
+        boolean owner = user != null
+                && (user.role() == RoleEnum.ADMIN || user.userId().equals(session.getOwnerId()));
+        if (!session.getDocumentId().equals(documentId) || !owner) {
+            throw new ResourceNotFoundException("UploadSession", "id", session.getId());
+        }
+        visibleDocument(documentId);
+        return session;
+    }
+
+    private Document visibleDocument(Long documentId) {
+        return documentRepository.findById(documentId)
+                .filter(document -> !document.getIsDeleted())
+                .filter(document -> projectAccessService.current().canSee(document.getProjectId()))
+                .orElseThrow(() -> new ResourceNotFoundException("Document", "id", documentId));
+    }
+
+    private UploadSession requireOpen(UploadSession session) {
+        if (session.getStatus() != UploadStatusEnum.OPEN) {
+            throw new BusinessException("Upload session is " + session.getStatus() + ": " + session.getId());
+        }
+        return session;
+    }
+
+    private Path preallocate(long totalSize) {
+        try {
+            Path stagingFile = storageService.createStagingFile("upload-");
+            try (RandomAccessFile file = new RandomAccessFile(stagingFile.toFile(), "rw")) {
+                file.setLength(totalSize);
+            }
+            return stagingFile;
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not preallocate upload staging file", ex);
+        }
+    }
+
+    /**
+     * Copies exactly {@code length} bytes of the request body to a scratch file.
+     */
+    private Path spool(InputStream data, int length, int chunkIndex) {
+        Path spool;
+        try {
+            spool = storageService.createStagingFile("chunk-");
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not create spool file for chunk " + chunkIndex, ex);
+        }
+        byte[] buffer = new byte[Math.min(COPY_BUFFER_SIZE, length)];
+        int remaining = length;
+        try (OutputStream out = Files.newOutputStream(spool)) {
+            while (remaining > 0) {
+                int read = data.read(buffer, 0, Math.min(buffer.length, remaining));
+                if (read < 0) {
+                    throw new BusinessException("Chunk " + chunkIndex + " is truncated: expected " + length + " bytes");
+                }
+                out.write(buffer, 0, read);
+                remaining -= read;
+            }
+            if (data.read() >= 0) {
+                throw new BusinessException("Chunk " + chunkIndex + " is larger than " + length + " bytes");
+            }
+            return spool;
+        } catch (IOException | RuntimeException ex) {
+            storageService.deleteQuietly(spool);
+            if (ex instanceof IOException io) {
+                throw new UncheckedIOException("Could not receive chunk " + chunkIndex, io);
+            }
+            throw (RuntimeException) ex;
+        }
+    }
+
+    private long checksumOf(Path spool, int length, int chunkIndex) {
+        CRC32C crc = new CRC32C();
+        byte[] buffer = new byte[Math.min(COPY_BUFFER_SIZE, length)];
+        try (InputStream in = Files.newInputStream(spool)) {
+            for (int read = in.read(buffer); read >= 0; read = in.read(buffer)) {
+                crc.update(buffer, 0, read);
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not read chunk " + chunkIndex, ex);
+        }
+        return crc.getValue();
+    }
+
+    private void copyAt(Path spool, Path stagingFile, long offset, int length, int chunkIndex) {
+        try (FileChannel source = FileChannel.open(spool, StandardOpenOption.READ);
+             FileChannel target = FileChannel.open(stagingFile, StandardOpenOption.WRITE)) {
+            long copied = 0;
+            while (copied < length) {
+                copied += target.transferFrom(source, offset + copied, length - copied);
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not write chunk " + chunkIndex, ex);
+        }
+    }
+
+    private long parseChecksum(String checksum) {
+        if (checksum == null || checksum.isBlank()) {
+            throw new BusinessException("Chunk checksum is required");
+        }
+        try {
+            long value = Long.parseUnsignedLong(checksum.trim(), 16);
+            if (value >>> 32 == 0) {
+                return value;
+            }
+        } catch (NumberFormatException ex) {
+            // fall through
+        }
+        throw new BusinessException("Chunk checksum must be a hex CRC32C value");
+    }
+}
@@ -0,0 +1,7 @@
+package com.windchill.service.work;
+
+import com.windchill.service.query.KeysetPage;
+
+public interface IWorkInboxService {
+    KeysetPage<WorkItem> getWork(Long userId, String after, int size);
+}
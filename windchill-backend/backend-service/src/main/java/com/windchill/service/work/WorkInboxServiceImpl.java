@@ -0,0 +1,173 @@
+package com.windchill.service.work;
+
+import com.windchill.common.enums.WorkItemKindEnum;
+import com.windchill.common.exceptions.BusinessException;
+import com.windchill.repository.DocumentRepository;
+import com.windchill.repository.ProductRepository;
+import com.windchill.repository.ProjectRepository;
+import com.windchill.service.access.IProjectAccessService;
+import com.windchill.service.access.ProjectAccess;
+import com.windchill.service.query.KeysetPage;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+
+/**
+ * A user's work inbox: products and documents they own, documents waiting for their review
+ * and projects they manage, merged newest first. Each kind is one index range scan of at
+ * most a page plus one row, run in parallel on a small pool, each in a read-only transaction
+ * of its own; the merged page is the first {@code size} rows of their union.
+ *
+ * <p>Items with the same update time are ordered by kind, then by descending id, so the
+ * feed has a total order and the cursor (time, kind, id) resumes it exactly.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class WorkInboxServiceImpl implements IWorkInboxService {
+    private static final LocalDateTime FIRST_PAGE = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+    private static final String PENDING_REVIEW = "PENDING";
+    private static final char CURSOR_SEPARATOR = '|';
+    private static final Comparator<WorkItem> FEED_ORDER = Comparator.comparing(WorkItem::getUpdatedAt).reversed()
+            .thenComparing(WorkItem::getKind)
+            .thenComparing(WorkItem::getId, Comparator.reverseOrder());
+
+    private final ProductRepository productRepository;
+    private final DocumentRepository documentRepository;
+    private final ProjectRepository projectRepository;
+    private final IProjectAccessService projectAccessService;
+
+    @Value("${app.work-inbox.threads:8}")
+    private int threads;
+
+    @Value("${app.work-inbox.max-page-size:100}")
+    private int maxPageSize;
+
+    private ExecutorService lookups;
+
+    @PostConstruct
+    void init() {
+        AtomicInteger counter = new AtomicInteger();
+        lookups = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "work-inbox-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        lookups.shutdownNow();
+    }
+
+    /**
+     * Items in projects hidden from the caller are left out, so a page may hold fewer than
+     * {@code size} items while a cursor to the next one is still returned.
+     */
+    @Override
+    public KeysetPage<WorkItem> getWork(Long userId, String after, int size) {
+        if (size < 1 || size > maxPageSize) {
+            throw new BusinessException("Page size must be between 1 and " + maxPageSize);
+        }
+        Position position = after != null && !after.isEmpty() ? Position.decode(after) : null;
+        Pageable limit = PageRequest.of(0, size + 1);
+        List<CompletableFuture<List<WorkItem>>> pending = List.of(
+                lookup(WorkItemKindEnum.OWNED_PRODUCT, position,
+                        (before, beforeId) -> productRepository.findOwnedWorkRows(userId, before, beforeId, limit)),
+                lookup(WorkItemKindEnum.OWNED_DOCUMENT, position,
+                        (before, beforeId) -> documentRepository.findOwnedWorkRows(userId, before, beforeId, limit)),
+                lookup(WorkItemKindEnum.DOCUMENT_REVIEW, position,
+                        (before, beforeId) -> documentRepository.findReviewWorkRows(userId, PENDING_REVIEW, before,
+                                beforeId, limit)),
+                lookup(WorkItemKindEnum.MANAGED_PROJECT, position,
+                        (before, beforeId) -> projectRepository.findManagedWorkRows(userId, before, beforeId, limit)));
+
+        List<WorkItem> candidates = new ArrayList<>();
+        for (CompletableFuture<List<WorkItem>> lookup : pending) {
+            try {
+                candidates.addAll(lookup.join());
+            } catch (CompletionException ex) {
+                throw ex.getCause() instanceof RuntimeException cause ? cause : ex;
+            }
+        }
+        candidates.sort(FEED_ORDER);
+
+        // the first size rows are final: any row a lookup did not return sorts after its last one
+        ProjectAccess access = projectAccessService.current();
+        int taken = Math.min(size, candidates.size());
+        List<WorkItem> items = new ArrayList<>(taken);
+        for (WorkItem candidate : candidates.subList(0, taken)) {
+            if (access.canSee(candidate.getProjectId())) {
+                items.add(candidate);
+            }
+        }
+        String nextCursor = candidates.size() > size ? Position.of(candidates.get(taken - 1)).encode() : null;
+        return new KeysetPage<>(items, items.size(), nextCursor);
+    }
+
+    /**
+     * Starts one kind's lookup for the rows after {@code position}. Its bound on the id makes
+     * the rows at the cursor's update time qualify when the kind sorts after the cursor's,
+     * none of them when it sorts before, and those with a smaller id when it is the same.
+     */
+    private CompletableFuture<List<WorkItem>> lookup(WorkItemKindEnum kind, Position position,
+                                                     BiFunction<LocalDateTime, Long, List<Object[]>> query) {
+        LocalDateTime before = position != null ? position.updatedAt() : FIRST_PAGE;
+        long beforeId;
+        if (position == null || kind.compareTo(position.kind()) > 0) {
+            beforeId = Long.MAX_VALUE;
+        } else if (kind == position.kind()) {
+            beforeId = position.id();
+        } else {
+            beforeId = Long.MIN_VALUE;
+        }
+        return CompletableFuture.supplyAsync(() -> query.apply(before, beforeId).stream()
+                .map(row -> new WorkItem(kind, ((Number) row[0]).longValue(), (String) row[1], (String) row[2],
+                        row[3] != null ? row[3].toString() : null, (LocalDateTime) row[4], (Long) row[5]))
+                .toList(), lookups);
+    }
+
+    private record Position(LocalDateTime updatedAt, WorkItemKindEnum kind, long id) {
+        static Position of(WorkItem item) {
+            return new Position(item.getUpdatedAt(), item.getKind(), item.getId());
+        }
+
+        static Position decode(String cursor) {
+            try {
+                String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8)
+                        .split("\\" + CURSOR_SEPARATOR);
+                if (parts.length != 3) {
+                    throw new BusinessException("Invalid cursor");
+                }
+                return new Position(LocalDateTime.parse(parts[0]), WorkItemKindEnum.valueOf(parts[1]),
+                        Long.parseLong(parts[2]));
+            } catch (IllegalArgumentException | DateTimeParseException ex) {
+                throw new BusinessException("Invalid cursor");
+            }
+        }
+
+        String encode() {
+            String cursor = updatedAt.toString() + CURSOR_SEPARATOR + kind + CURSOR_SEPARATOR + id;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(cursor.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.windchill.service.work;
+
+import com.windchill.common.enums.WorkItemKindEnum;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Summary of one item in a user's work inbox. {@code number} is the product code, document
+ * number or project code; {@code status} is the approval status for a review.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class WorkItem {
+    private WorkItemKindEnum kind;
+    private Long id;
+    private String number;
+    private String name;
+    private String status;
+    private LocalDateTime updatedAt;
+    private Long projectId;
+}
@@ -0,0 +1,33 @@
+package com.windchill.service.workflow;
+
+import com.windchill.domain.entity.WorkflowInstance;
+import com.windchill.domain.entity.WorkflowTask;
+import com.windchill.service.access.AuthenticatedUser;
+import org.springframework.data.domain.Page;
+
+import java.util.List;
+import java.util.Map;
+
+public interface IWorkflowService {
+    WorkflowInstance startWorkflow(Long documentId, Map<String, List<Long>> reviewers, Long startedBy);
+
+    WorkflowInstance getInstance(Long instanceId);
+
+    List<WorkflowInstance> getInstancesForDocument(Long documentId);
+
+    List<WorkflowTask> getTasks(Long instanceId);
+
+    Page<WorkflowTask> getOpenTasks(Long assigneeId, int page, int size);
+
+    TaskCompletionResult completeTasks(Long assigneeId, List<TaskDecision> decisions);
+
+    WorkflowInstance cancelWorkflow(Long instanceId, AuthenticatedUser user);
+
+    Map<String, WorkflowDefinitions.Definition> getDefinitions();
+
+    int dispatchJobs();
+
+    int requeueStaleJobs();
+
+    int purgeFinishedJobs();
+}
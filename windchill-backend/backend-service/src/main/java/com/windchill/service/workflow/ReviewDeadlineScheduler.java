@@ -0,0 +1,281 @@
+package com.windchill.service.workflow;
+
+import com.windchill.common.enums.WorkflowTaskStatusEnum;
+import com.windchill.domain.entity.WorkflowInstance;
+import com.windchill.domain.entity.WorkflowTask;
+import com.windchill.repository.DocumentRepository;
+import com.windchill.repository.WorkflowInstanceRepository;
+import com.windchill.repository.WorkflowTaskRepository;
+import com.windchill.service.event.ReviewEscalatedEvent;
+import com.windchill.service.event.ReviewReminderEvent;
+import com.windchill.service.event.ReviewTasksClosedEvent;
+import com.windchill.service.event.ReviewTasksOpenedEvent;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reminder and escalation deadlines of open review tasks, kept in a {@link TimingWheel}
+ * instead of being found by polling. The wheel is rebuilt from the open tasks on startup,
+ * fed by the engine's open/close events, and topped up with tasks other nodes opened through
+ * an indexed query over recently opened tasks only.
+ *
+ * <p>Every node holds every deadline; the conditional updates behind each action make sure
+ * only one node reminds or escalates a given task, and a deadline of a task closed elsewhere
+ * simply finds nothing to do.
+ *
+ * <p>An escalation moves the task and, in the same transaction, the document's reviewer to
+ * the escalation target, so the document names the reviewer now responsible for it.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+class ReviewDeadlineScheduler {
+    private static final LocalDateTime EPOCH = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final long RETRY_DELAY_MS = TimeUnit.MINUTES.toMillis(5);
+
+    private final WorkflowTaskRepository taskRepository;
+    private final WorkflowInstanceRepository instanceRepository;
+    private final DocumentRepository documentRepository;
+    private final WorkflowDefinitions definitions;
+    private final PlatformTransactionManager transactionManager;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${app.workflow.deadlines.tick-ms:1000}")
+    private long tickMs;
+
+    @Value("${app.workflow.deadlines.reminder-after-hours:24}")
+    private long reminderAfterHours;
+
+    @Value("${app.workflow.deadlines.escalate-after-hours:72}")
+    private long escalateAfterHours;
+
+    @Value("${app.workflow.deadlines.escalate-to:#{null}}")
+    private Long escalateTo;
+
+    @Value("${app.workflow.deadlines.sync-overlap-minutes:5}")
+    private long syncOverlapMinutes;
+
+    private final Map<Long, TaskTimers> timers = new ConcurrentHashMap<>();
+    private TimingWheel<Deadline> wheel;
+    private ScheduledExecutorService ticker;
+    private ExecutorService actions;
+    private TransactionTemplate transactionTemplate;
+    private volatile LocalDateTime syncedUpTo;
+
+    @PostConstruct
+    void init() {
+        wheel = new TimingWheel<>(tickMs, System.currentTimeMillis());
+        ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "review-deadline-wheel");
+            thread.setDaemon(true);
+            return thread;
+        });
+        actions = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "review-deadlines");
+            thread.setDaemon(true);
+            return thread;
+        });
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        ticker.shutdownNow();
+        actions.shutdownNow();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    void rebuild() {
+        LocalDateTime started = LocalDateTime.now();
+        int loaded = load(EPOCH);
+        syncedUpTo = started;
+        ticker.scheduleAtFixedRate(this::tick, tickMs, tickMs, TimeUnit.MILLISECONDS);
+        log.info("Scheduled review deadlines for {} open task(s)", loaded);
+    }
+
+    /**
+     * Picks up tasks opened on other nodes. Only rows opened since the last sync are read,
+     * with an overlap for transactions that committed late; tasks already tracked are skipped.
+     */
+    @Scheduled(initialDelayString = "${app.workflow.deadlines.sync-interval-ms:60000}",
+               fixedDelayString = "${app.workflow.deadlines.sync-interval-ms:60000}")
+    void syncOpenedElsewhere() {
+        LocalDateTime since = syncedUpTo;
+        if (since == null) {
+            return;
+        }
+        LocalDateTime started = LocalDateTime.now();
+        int loaded = load(since.minusMinutes(syncOverlapMinutes));
+        syncedUpTo = started;
+        if (loaded > 0) {
+            log.debug("Scheduled deadlines for {} review task(s) opened elsewhere", loaded);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    void onTasksOpened(ReviewTasksOpenedEvent event) {
+        for (Long taskId : event.taskIds()) {
+            track(taskId, event.openedAt(), null, null);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    void onTasksClosed(ReviewTasksClosedEvent event) {
+        for (Long taskId : event.taskIds()) {
+            TaskTimers removed = timers.remove(taskId);
+            if (removed != null) {
+                removed.cancel(wheel);
+            }
+        }
+    }
+
+    private int load(LocalDateTime since) {
+        int tracked = 0;
+        for (Object[] row : taskRepository.findOpenDeadlinesSince(since)) {
+            if (track(((Number) row[0]).longValue(), (LocalDateTime) row[1], (LocalDateTime) row[2],
+                    (LocalDateTime) row[3])) {
+                tracked++;
+            }
+        }
+        return tracked;
+    }
+
+    private boolean track(long taskId, LocalDateTime openedAt, LocalDateTime remindedAt, LocalDateTime escalatedAt) {
+        if (openedAt == null || escalatedAt != null) {
+            return false;
+        }
+        TaskTimers taskTimers = new TaskTimers();
+        if (timers.putIfAbsent(taskId, taskTimers) != null) {
+            return false;
+        }
+        synchronized (taskTimers) {
+            if (remindedAt == null) {
+                taskTimers.reminder = wheel.schedule(new Deadline(taskId, false),
+                        toMillis(openedAt.plusHours(reminderAfterHours)));
+            }
+            taskTimers.escalation = wheel.schedule(new Deadline(taskId, true),
+                    toMillis(openedAt.plusHours(escalateAfterHours)));
+        }
+        return true;
+    }
+
+    private void tick() {
+        try {
+            for (Deadline deadline : wheel.advance(System.currentTimeMillis())) {
+                actions.execute(() -> fire(deadline));
+            }
+        } catch (RuntimeException ex) {
+            // an exception would cancel the fixed-rate schedule
+            log.error("Review deadline tick failed", ex);
+        }
+    }
+
+    private void fire(Deadline deadline) {
+        try {
+            if (deadline.escalation()) {
+                timers.remove(deadline.taskId());
+                transactionTemplate.executeWithoutResult(status -> escalate(deadline.taskId()));
+            } else {
+                transactionTemplate.executeWithoutResult(status -> remind(deadline.taskId()));
+            }
+        } catch (RuntimeException ex) {
+            log.warn("Review {} for task {} failed, retrying in {} min: {}",
+                    deadline.escalation() ? "escalation" : "reminder", deadline.taskId(),
+                    TimeUnit.MILLISECONDS.toMinutes(RETRY_DELAY_MS), ex.getMessage());
+            TaskTimers taskTimers = timers.computeIfAbsent(deadline.taskId(), id -> new TaskTimers());
+            synchronized (taskTimers) {
+                TimingWheel.Timeout<Deadline> retry = wheel.schedule(deadline, System.currentTimeMillis() + RETRY_DELAY_MS);
+                if (deadline.escalation()) {
+                    taskTimers.escalation = retry;
+                } else {
+                    taskTimers.reminder = retry;
+                }
+            }
+        }
+    }
+
+    private void remind(long taskId) {
+        if (taskRepository.markReminded(taskId, LocalDateTime.now()) == 0) {
+            return;
+        }
+        taskRepository.findById(taskId).ifPresent(task -> {
+            eventPublisher.publishEvent(new ReviewReminderEvent(taskId, task.getInstanceId(), task.getAssigneeId()));
+            log.info("Reminded reviewer {} of review task {} open since {}", task.getAssigneeId(), taskId,
+                    task.getOpenedAt());
+        });
+    }
+
+    private void escalate(long taskId) {
+        WorkflowTask task = taskRepository.findById(taskId).orElse(null);
+        if (task == null || task.getStatus() != WorkflowTaskStatusEnum.OPEN || task.getEscalatedAt() != null) {
+            return;
+        }
+        WorkflowInstance instance = instanceRepository.findById(task.getInstanceId()).orElse(null);
+        Long target = escalationTarget(instance, task);
+        if (target == null) {
+            log.warn("Review task {} is overdue but no escalation reviewer is configured for step {}", taskId,
+                    task.getStepName());
+            target = task.getAssigneeId();
+        }
+        if (taskRepository.escalate(taskId, target, LocalDateTime.now()) == 1 && !target.equals(task.getAssigneeId())) {
+            if (instance != null) {
+                documentRepository.reassignReviewer(instance.getDocumentId(), task.getAssigneeId(), target);
+            }
+            eventPublisher.publishEvent(new ReviewEscalatedEvent(taskId, task.getInstanceId(), task.getAssigneeId(),
+                    target));
+            log.info("Escalated overdue review task {} from reviewer {} to {}", taskId, task.getAssigneeId(), target);
+        }
+    }
+
+    private Long escalationTarget(WorkflowInstance instance, WorkflowTask task) {
+        if (instance != null && definitions.getDefinitions().containsKey(instance.getDefinitionKey())) {
+            List<WorkflowDefinitions.Step> steps = definitions.get(instance.getDefinitionKey()).getSteps();
+            if (task.getStepIndex() < steps.size() && steps.get(task.getStepIndex()).getEscalateTo() != null) {
+                return steps.get(task.getStepIndex()).getEscalateTo();
+            }
+        }
+        return escalateTo;
+    }
+
+    private long toMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private record Deadline(long taskId, boolean escalation) {
+    }
+
+    private static final class TaskTimers {
+        private TimingWheel.Timeout<Deadline> reminder;
+        private TimingWheel.Timeout<Deadline> escalation;
+
+        synchronized void cancel(TimingWheel<Deadline> wheel) {
+            if (reminder != null) {
+                wheel.cancel(reminder);
+            }
+            if (escalation != null) {
+                wheel.cancel(escalation);
+            }
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.windchill.service.workflow;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Outcome of a batched task completion. Skipped tasks were not open, not assigned to the
+ * caller, or already decided.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskCompletionResult {
+    private List<Long> completed;
+    private List<Long> skipped;
+}
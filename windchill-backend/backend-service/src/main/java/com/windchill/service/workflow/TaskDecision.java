@@ -0,0 +1,7 @@
+package com.windchill.service.workflow;
+
+/**
+ * A reviewer's verdict on one open task.
+ */
+public record TaskDecision(Long taskId, boolean approved, String comment) {
+}
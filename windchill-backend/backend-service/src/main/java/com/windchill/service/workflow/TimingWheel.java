@@ -0,0 +1,155 @@
+package com.windchill.service.workflow;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hierarchical timing wheel. Time advances in ticks of {@code tickMillis}; level {@code L}
+ * has {@value #WHEEL_SIZE} buckets of {@code 64^L} ticks each, so four levels of one-second
+ * ticks cover about 194 days. A timeout sits in the lowest level whose span covers its
+ * remaining delay and is moved down (cascaded) a level each time the wheel above comes round
+ * to its bucket, ending in level 0 where it expires on its exact tick. Deadlines beyond the
+ * top level park in its farthest bucket and are re-placed when that bucket cascades.
+ *
+ * <p>Scheduling and cancelling are O(1) list operations; a tick costs O(1) plus the entries
+ * it cascades or expires. All methods are thread-safe; expired payloads are returned to the
+ * caller of {@link #advance} rather than run under the wheel's lock.
+ */
+final class TimingWheel<T> {
+    private static final int WHEEL_BITS = 6;
+    private static final int WHEEL_SIZE = 1 << WHEEL_BITS;
+    private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+    private static final int LEVELS = 4;
+    private static final long MAX_SPAN = 1L << (WHEEL_BITS * LEVELS);
+
+    private final long tickMillis;
+    private final long originMillis;
+    private final Timeout<T>[][] wheels;
+    private long currentTick;
+    private int size;
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    TimingWheel(long tickMillis, long nowMillis) {
+        this.tickMillis = tickMillis;
+        this.originMillis = nowMillis;
+        this.wheels = new Timeout[LEVELS][WHEEL_SIZE];
+        for (Timeout<T>[] wheel : wheels) {
+            for (int i = 0; i < WHEEL_SIZE; i++) {
+                wheel[i] = Timeout.sentinel();
+            }
+        }
+    }
+
+    /**
+     * Schedules {@code payload} to expire at {@code deadlineMillis}, rounded up to the next
+     * tick. A deadline already in the past expires on the next tick.
+     */
+    synchronized Timeout<T> schedule(T payload, long deadlineMillis) {
+        long tick = Math.floorDiv(deadlineMillis - originMillis + tickMillis - 1, tickMillis);
+        Timeout<T> timeout = new Timeout<>(payload, Math.max(tick, currentTick + 1));
+        place(timeout);
+        size++;
+        return timeout;
+    }
+
+    /**
+     * Returns false if the timeout already expired or was cancelled.
+     */
+    synchronized boolean cancel(Timeout<T> timeout) {
+        if (timeout.prev == null) {
+            return false;
+        }
+        unlink(timeout);
+        size--;
+        return true;
+    }
+
+    /**
+     * Processes every tick up to {@code nowMillis} and returns the payloads that expired, in
+     * deadline order.
+     */
+    synchronized List<T> advance(long nowMillis) {
+        long target = Math.floorDiv(nowMillis - originMillis, tickMillis);
+        List<T> expired = new ArrayList<>();
+        while (currentTick < target) {
+            currentTick++;
+            for (int level = LEVELS - 1; level > 0; level--) {
+                if ((currentTick & ((1L << (WHEEL_BITS * level)) - 1)) == 0) {
+                    cascade(wheels[level][(int) ((currentTick >>> (WHEEL_BITS * level)) & WHEEL_MASK)]);
+                }
+            }
+            Timeout<T> head = wheels[0][(int) (currentTick & WHEEL_MASK)];
+            while (head.next != head) {
+                Timeout<T> timeout = head.next;
+                unlink(timeout);
+                size--;
+                expired.add(timeout.payload);
+            }
+        }
+        return expired;
+    }
+
+    synchronized int size() {
+        return size;
+    }
+
+    private void cascade(Timeout<T> head) {
+        while (head.next != head) {
+            Timeout<T> timeout = head.next;
+            unlink(timeout);
+            place(timeout);
+        }
+    }
+
+    /**
+     * Puts a timeout into the bucket for its deadline relative to the current tick. A timeout
+     * due on the current tick goes into the level-0 bucket about to be drained.
+     */
+    private void place(Timeout<T> timeout) {
+        long tick = Math.min(timeout.tick, currentTick + MAX_SPAN - 1);
+        long delay = tick - currentTick;
+        int level = 0;
+        while (delay >= 1L << (WHEEL_BITS * (level + 1))) {
+            level++;
+        }
+        Timeout<T> head = wheels[level][(int) ((tick >>> (WHEEL_BITS * level)) & WHEEL_MASK)];
+        timeout.prev = head.prev;
+        timeout.next = head;
+        head.prev.next = timeout;
+        head.prev = timeout;
+    }
+
+    private void unlink(Timeout<T> timeout) {
+        timeout.prev.next = timeout.next;
+        timeout.next.prev = timeout.prev;
+        timeout.prev = null;
+        timeout.next = null;
+    }
+
+    /**
+     * Handle for cancelling a scheduled payload. Also the list node of its bucket, which is
+     * why cancelling needs no search.
+     */
+    static final class Timeout<T> {
+        private final T payload;
+        private final long tick;
+        private Timeout<T> prev;
+        private Timeout<T> next;
+
+        private Timeout(T payload, long tick) {
+            this.payload = payload;
+            this.tick = tick;
+        }
+
+        private static <T> Timeout<T> sentinel() {
+            Timeout<T> head = new Timeout<>(null, 0);
+            head.prev = head;
+            head.next = head;
+            return head;
+        }
+
+        T payload() {
+            return payload;
+        }
+    }
+}
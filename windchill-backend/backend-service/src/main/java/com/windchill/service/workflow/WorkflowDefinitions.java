@@ -0,0 +1,85 @@
+package com.windchill.service.workflow;
+
+import com.windchill.common.enums.ReviewModeEnum;
+import com.windchill.common.exceptions.BusinessException;
+import jakarta.annotation.PostConstruct;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Approval workflows per document type, bound from {@code app.workflow.definitions}. A
+ * workflow is an ordered list of steps; each step is reviewed by its reviewers either all at
+ * once (PARALLEL) or one after another (SERIAL), and the next step opens once every review
+ * of the current one is approved. Document types without their own entry use
+ * {@value #DEFAULT_KEY}.
+ */
+@Component
+@ConfigurationProperties(prefix = "app.workflow")
+@Data
+public class WorkflowDefinitions {
+    public static final String DEFAULT_KEY = "DEFAULT";
+
+    private Map<String, Definition> definitions = new LinkedHashMap<>();
+
+    @PostConstruct
+    void validate() {
+        Map<String, Definition> normalized = new LinkedHashMap<>();
+        definitions.forEach((key, definition) -> {
+            if (definition.getSteps().isEmpty()) {
+                throw new IllegalStateException("Workflow definition " + key + " has no steps");
+            }
+            Set<String> names = new HashSet<>();
+            for (Step step : definition.getSteps()) {
+                if (step.getName() == null || !names.add(step.getName())) {
+                    throw new IllegalStateException("Workflow definition " + key + " has a missing or duplicate step name");
+                }
+            }
+            normalized.put(key.toUpperCase(Locale.ROOT), definition);
+        });
+        definitions = normalized;
+    }
+
+    /**
+     * Returns the key of the definition that applies to {@code documentType}.
+     */
+    public String keyFor(String documentType) {
+        String key = documentType != null ? documentType.toUpperCase(Locale.ROOT) : DEFAULT_KEY;
+        if (definitions.containsKey(key)) {
+            return key;
+        }
+        if (definitions.containsKey(DEFAULT_KEY)) {
+            return DEFAULT_KEY;
+        }
+        throw new BusinessException("No approval workflow is defined for document type: " + documentType);
+    }
+
+    public Definition get(String key) {
+        Definition definition = definitions.get(key);
+        if (definition == null) {
+            throw new BusinessException("Unknown workflow definition: " + key);
+        }
+        return definition;
+    }
+
+    @Data
+    public static class Definition {
+        private List<Step> steps = new ArrayList<>();
+    }
+
+    @Data
+    public static class Step {
+        private String name;
+        private ReviewModeEnum mode = ReviewModeEnum.PARALLEL;
+        private List<Long> reviewers = new ArrayList<>();  // used when the start request names none
+        private Long escalateTo;  // receives this step's overdue reviews; app.workflow.deadlines.escalate-to if unset
+    }
+}
@@ -0,0 +1,456 @@
+package com.windchill.service.workflow;
+
+import com.windchill.common.enums.ReviewModeEnum;
+import com.windchill.common.enums.RoleEnum;
+import com.windchill.common.enums.StatusEnum;
+import com.windchill.common.enums.WorkflowJobStatusEnum;
+import com.windchill.common.enums.WorkflowStatusEnum;
+import com.windchill.common.enums.WorkflowTaskStatusEnum;
+import com.windchill.common.exceptions.BusinessException;
+import com.windchill.common.exceptions.ResourceNotFoundException;
+import com.windchill.common.exceptions.UnauthorizedException;
+import com.windchill.domain.entity.Document;
+import com.windchill.domain.entity.WorkflowInstance;
+import com.windchill.domain.entity.WorkflowJob;
+import com.windchill.domain.entity.WorkflowTask;
+import com.windchill.repository.DocumentRepository;
+import com.windchill.repository.WorkflowInstanceRepository;
+import com.windchill.repository.WorkflowJobRepository;
+import com.windchill.repository.WorkflowTaskRepository;
+import com.windchill.service.access.AuthenticatedUser;
+import com.windchill.service.access.IProjectAccessService;
+import com.windchill.service.event.ReviewTasksClosedEvent;
+import com.windchill.service.event.ReviewTasksOpenedEvent;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Durable approval workflows for documents. Request threads only record facts: a started
+ * instance with all of its review tasks, or reviewers' decisions. Each such change queues a
+ * job asking the engine to re-evaluate the instance, and a worker pool on every node claims
+ * those jobs with {@code FOR UPDATE SKIP LOCKED}. Evaluation runs under the instance's row
+ * lock and derives the next state purely from the stored tasks, so it is idempotent: a job
+ * that is retried, requeued after a crash, or duplicated by concurrent decisions cannot move
+ * an instance twice.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class WorkflowServiceImpl implements IWorkflowService {
+    private static final int MAX_ERROR_LENGTH = 1000;
+    private static final int PURGE_BATCH_SIZE = 1000;
+
+    private final WorkflowInstanceRepository instanceRepository;
+    private final WorkflowTaskRepository taskRepository;
+    private final WorkflowJobRepository jobRepository;
+    private final DocumentRepository documentRepository;
+    private final WorkflowDefinitions definitions;
+    private final IProjectAccessService projectAccessService;
+    private final PlatformTransactionManager transactionManager;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${app.workflow.workers:4}")
+    private int workers;
+
+    @Value("${app.workflow.claim-batch:100}")
+    private int claimBatch;
+
+    @Value("${app.workflow.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${app.workflow.retry-delay-seconds:30}")
+    private long retryDelaySeconds;
+
+    @Value("${app.workflow.stale-after-minutes:10}")
+    private long staleAfterMinutes;
+
+    @Value("${app.workflow.job-retention-days:7}")
+    private long jobRetentionDays;
+
+    private final String nodeId = ManagementFactory.getRuntimeMXBean().getName() + "-"
+            + UUID.randomUUID().toString().substring(0, 8);
+    private ExecutorService workerPool;
+    private Semaphore inFlight;
+    private TransactionTemplate transactionTemplate;
+
+    @PostConstruct
+    void init() {
+        AtomicInteger counter = new AtomicInteger();
+        workerPool = Executors.newFixedThreadPool(workers, runnable -> {
+            Thread thread = new Thread(runnable, "workflow-worker-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        inFlight = new Semaphore(claimBatch);
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        workerPool.shutdownNow();
+    }
+
+    @Override
+    public WorkflowInstance startWorkflow(Long documentId, Map<String, List<Long>> reviewers, Long startedBy) {
+        log.info("Starting approval workflow for document: {}", documentId);
+        // locked so that two concurrent starts cannot both see no running workflow
+        Document document = documentRepository.findByIdForUpdate(documentId)
+                .filter(found -> !found.getIsDeleted())
+                .filter(found -> projectAccessService.current().canSee(found.getProjectId()))
+                .orElseThrow(() -> new ResourceNotFoundException("Document", "id", documentId));
+        if (instanceRepository.existsByDocumentIdAndStatus(documentId, WorkflowStatusEnum.RUNNING)) {
+            throw new BusinessException("Document already has a running approval workflow: " + documentId);
+        }
+        String key = definitions.keyFor(document.getDocumentType());
+        List<WorkflowDefinitions.Step> steps = definitions.get(key).getSteps();
+
+        WorkflowInstance instance = new WorkflowInstance();
+        instance.setDocumentId(documentId);
+        instance.setDefinitionKey(key);
+        instance.setStepCount(steps.size());
+        instance.setStartedBy(startedBy);
+        instance.setIsDeleted(false);
+        WorkflowInstance savedInstance = instanceRepository.save(instance);
+
+        LocalDateTime now = LocalDateTime.now();
+        List<WorkflowTask> tasks = new ArrayList<>();
+        for (int stepIndex = 0; stepIndex < steps.size(); stepIndex++) {
+            WorkflowDefinitions.Step step = steps.get(stepIndex);
+            List<Long> assignees = reviewers != null && reviewers.get(step.getName()) != null
+                    ? reviewers.get(step.getName()) : step.getReviewers();
+            Set<Long> distinct = new LinkedHashSet<>(assignees);
+            if (distinct.isEmpty()) {
+                throw new BusinessException("No reviewers given for workflow step: " + step.getName());
+            }
+            int sequence = 0;
+            for (Long assigneeId : distinct) {
+                WorkflowTask task = new WorkflowTask();
+                task.setInstanceId(savedInstance.getId());
+                task.setStepIndex(stepIndex);
+                task.setStepName(step.getName());
+                task.setReviewMode(step.getMode());
+                task.setSequence(sequence++);
+                task.setAssigneeId(assigneeId);
+                task.setCreatedAt(now);
+                tasks.add(task);
+            }
+        }
+        taskRepository.saveAll(tasks);
+        documentRepository.updateApproval(documentId, "IN_REVIEW", StatusEnum.PENDING_APPROVAL, null);
+        enqueue(List.of(savedInstance.getId()), now);
+        log.info("Started workflow {} ({}) for document {} with {} review task(s)", savedInstance.getId(), key,
+                documentId, tasks.size());
+        return savedInstance;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public WorkflowInstance getInstance(Long instanceId) {
+        return instanceRepository.findById(instanceId)
+                .filter(instance -> canSeeDocument(instance.getDocumentId()))
+                .orElseThrow(() -> new ResourceNotFoundException("WorkflowInstance", "id", instanceId));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<WorkflowInstance> getInstancesForDocument(Long documentId) {
+        if (!canSeeDocument(documentId)) {
+            throw new ResourceNotFoundException("Document", "id", documentId);
+        }
+        return instanceRepository.findByDocumentIdOrderByIdDesc(documentId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<WorkflowTask> getTasks(Long instanceId) {
+        getInstance(instanceId);
+        return taskRepository.findByInstanceIdOrderByStepIndexAscSequenceAsc(instanceId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<WorkflowTask> getOpenTasks(Long assigneeId, int page, int size) {
+        return taskRepository.findByAssigneeIdAndStatusOrderById(assigneeId, WorkflowTaskStatusEnum.OPEN,
+                PageRequest.of(page, size));
+    }
+
+    /**
+     * Records a batch of decisions in one transaction. Each task is closed with a conditional
+     * update, so a decision on a task that is no longer open, or belongs to someone else, is
+     * skipped rather than failing the batch. One evaluation job is queued per affected instance.
+     */
+    @Override
+    public TaskCompletionResult completeTasks(Long assigneeId, List<TaskDecision> decisions) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> completed = new ArrayList<>();
+        List<Long> skipped = new ArrayList<>();
+        for (TaskDecision decision : decisions) {
+            WorkflowTaskStatusEnum outcome = decision.approved()
+                    ? WorkflowTaskStatusEnum.APPROVED : WorkflowTaskStatusEnum.REJECTED;
+            if (taskRepository.complete(decision.taskId(), assigneeId, outcome, decision.comment(), now) == 1) {
+                completed.add(decision.taskId());
+            } else {
+                skipped.add(decision.taskId());
+            }
+        }
+        if (!completed.isEmpty()) {
+            Set<Long> instanceIds = new LinkedHashSet<>();
+            for (Object[] row : taskRepository.findInstanceIdsByIdIn(completed)) {
+                instanceIds.add(((Number) row[1]).longValue());
+            }
+            enqueue(instanceIds, now);
+            eventPublisher.publishEvent(new ReviewTasksClosedEvent(completed));
+        }
+        log.info("Reviewer {} completed {} task(s), skipped {}", assigneeId, completed.size(), skipped.size());
+        return new TaskCompletionResult(completed, skipped);
+    }
+
+    /**
+     * Only the user who started the workflow or an administrator may cancel it. A workflow
+     * on a document the user cannot see is reported as not found.
+     */
+    @Override
+    public WorkflowInstance cancelWorkflow(Long instanceId, AuthenticatedUser user) {
+        log.info("Cancelling workflow: {}", instanceId);
+        WorkflowInstance instance = instanceRepository.findByIdForUpdate(instanceId)
+                .filter(candidate -> canSeeDocument(candidate.getDocumentId()))
+                .orElseThrow(() -> new ResourceNotFoundException("WorkflowInstance", "id", instanceId));
+        if (user.role() != RoleEnum.ADMIN && !user.userId().equals(instance.getStartedBy())) {
+            throw new UnauthorizedException("Only the initiator of workflow " + instanceId
+                    + " or an administrator can cancel it");
+        }
+        if (instance.getStatus() != WorkflowStatusEnum.RUNNING) {
+            throw new BusinessException("Workflow is already " + instance.getStatus() + ": " + instanceId);
+        }
+        close(instance, WorkflowStatusEnum.CANCELLED, null);
+        return instance;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<String, WorkflowDefinitions.Definition> getDefinitions() {
+        return definitions.getDefinitions();
+    }
+
+    /**
+     * Claims due jobs up to the free in-flight capacity and hands them to the worker pool,
+     * repeating while full batches keep coming back.
+     */
+    @Override
+    @Scheduled(fixedDelayString = "${app.workflow.poll-interval-ms:1000}")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public int dispatchJobs() {
+        int dispatched = 0;
+        while (true) {
+            int capacity = inFlight.availablePermits();
+            if (capacity == 0) {
+                return dispatched;
+            }
+            LocalDateTime now = LocalDateTime.now();
+            List<Long> jobIds = transactionTemplate.execute(status -> {
+                List<Long> due = jobRepository.lockDueIds(now, capacity);
+                if (!due.isEmpty()) {
+                    jobRepository.markRunning(due, nodeId, now);
+                }
+                return due;
+            });
+            for (Long jobId : jobIds) {
+                inFlight.acquireUninterruptibly();
+                workerPool.execute(() -> {
+                    try {
+                        process(jobId);
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            }
+            dispatched += jobIds.size();
+            if (jobIds.size() < capacity) {
+                return dispatched;
+            }
+        }
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${app.workflow.stale-check-interval-ms:300000}")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public int requeueStaleJobs() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime cutoff = now.minusMinutes(staleAfterMinutes);
+        // a job that keeps killing its node would otherwise be requeued forever
+        int failed = jobRepository.failStale(cutoff, maxAttempts, now,
+                "Abandoned by its node after " + maxAttempts + " attempt(s)");
+        if (failed > 0) {
+            log.error("Failed {} stale workflow job(s) that used up their attempts", failed);
+        }
+        int requeued = jobRepository.requeueStale(cutoff, maxAttempts);
+        if (requeued > 0) {
+            log.warn("Requeued {} stale workflow job(s)", requeued);
+        }
+        return requeued;
+    }
+
+    /**
+     * Deletes DONE jobs older than {@code job-retention-days} in small batches, so the queue
+     * table only holds recent history. FAILED jobs are kept for inspection.
+     */
+    @Override
+    @Scheduled(fixedDelayString = "${app.workflow.purge-interval-ms:3600000}")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public int purgeFinishedJobs() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(jobRetentionDays);
+        int purged = 0;
+        int deleted;
+        do {
+            deleted = jobRepository.deleteDoneBefore(cutoff, PURGE_BATCH_SIZE);
+            purged += deleted;
+        } while (deleted == PURGE_BATCH_SIZE);
+        if (purged > 0) {
+            log.info("Purged {} finished workflow job(s)", purged);
+        }
+        return purged;
+    }
+
+    private void process(Long jobId) {
+        WorkflowJob job = jobRepository.findById(jobId).orElse(null);
+        if (job == null) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                instanceRepository.findByIdForUpdate(job.getInstanceId()).ifPresent(this::evaluate);
+                jobRepository.finish(jobId, nodeId, WorkflowJobStatusEnum.DONE, LocalDateTime.now(), null,
+                        job.getAvailableAt());
+            });
+        } catch (Exception ex) {
+            boolean retry = job.getAttempts() < maxAttempts;
+            log.warn("Workflow job {} for instance {} failed (attempt {}{}): {}", jobId, job.getInstanceId(),
+                    job.getAttempts(), retry ? ", will retry" : ", giving up", ex.getMessage());
+            String error = ex.getClass().getSimpleName() + ": " + ex.getMessage();
+            LocalDateTime now = LocalDateTime.now();
+            transactionTemplate.executeWithoutResult(status -> jobRepository.finish(jobId, nodeId,
+                    retry ? WorkflowJobStatusEnum.PENDING : WorkflowJobStatusEnum.FAILED,
+                    retry ? null : now,
+                    error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error,
+                    retry ? now.plusSeconds(retryDelaySeconds) : job.getAvailableAt()));
+        }
+    }
+
+    /**
+     * Moves a locked instance as far as its tasks allow: a rejection ends it, a fully
+     * approved step hands over to the next one (or approves the document after the last),
+     * and otherwise the reviews that are due in the current step are opened.
+     */
+    private void evaluate(WorkflowInstance instance) {
+        while (instance.getStatus() == WorkflowStatusEnum.RUNNING) {
+            List<WorkflowTask> tasks = taskRepository.findByInstanceIdAndStepIndexOrderBySequence(instance.getId(),
+                    instance.getCurrentStep());
+            WorkflowTask rejected = tasks.stream()
+                    .filter(task -> task.getStatus() == WorkflowTaskStatusEnum.REJECTED)
+                    .findFirst()
+                    .orElse(null);
+            if (rejected != null) {
+                close(instance, WorkflowStatusEnum.REJECTED, rejected.getAssigneeId());
+                return;
+            }
+            if (tasks.stream().allMatch(task -> task.getStatus() == WorkflowTaskStatusEnum.APPROVED)) {
+                if (instance.getCurrentStep() + 1 >= instance.getStepCount()) {
+                    WorkflowTask last = tasks.stream()
+                            .max(Comparator.comparing(WorkflowTask::getCompletedAt))
+                            .orElse(null);
+                    close(instance, WorkflowStatusEnum.APPROVED, last != null ? last.getAssigneeId() : null);
+                    return;
+                }
+                instance.setCurrentStep(instance.getCurrentStep() + 1);
+                continue;
+            }
+
+            List<Long> due = new ArrayList<>();
+            boolean anyOpen = tasks.stream().anyMatch(task -> task.getStatus() == WorkflowTaskStatusEnum.OPEN);
+            for (WorkflowTask task : tasks) {
+                if (task.getStatus() != WorkflowTaskStatusEnum.WAITING) {
+                    continue;
+                }
+                if (task.getReviewMode() == ReviewModeEnum.PARALLEL) {
+                    due.add(task.getId());
+                } else if (!anyOpen) {
+                    due.add(task.getId());
+                    break;
+                }
+            }
+            if (!due.isEmpty()) {
+                LocalDateTime now = LocalDateTime.now();
+                taskRepository.open(due, now);
+                eventPublisher.publishEvent(new ReviewTasksOpenedEvent(due, now));
+                log.debug("Opened {} review task(s) in step {} of workflow {}", due.size(),
+                        instance.getCurrentStep(), instance.getId());
+            }
+            return;
+        }
+    }
+
+    /**
+     * Workflows, their tasks and reviewers are as confidential as the document they review.
+     */
+    private boolean canSeeDocument(Long documentId) {
+        return documentRepository.findById(documentId)
+                .map(document -> projectAccessService.current().canSee(document.getProjectId()))
+                .orElse(false);
+    }
+
+    private void close(WorkflowInstance instance, WorkflowStatusEnum outcome, Long reviewerId) {
+        LocalDateTime now = LocalDateTime.now();
+        instance.setStatus(outcome);
+        instance.setCompletedAt(now);
+        List<Long> openTaskIds = taskRepository.findOpenIdsByInstanceId(instance.getId());
+        taskRepository.cancelUndecided(instance.getId(), now);
+        if (!openTaskIds.isEmpty()) {
+            eventPublisher.publishEvent(new ReviewTasksClosedEvent(openTaskIds));
+        }
+        StatusEnum documentStatus = switch (outcome) {
+            case APPROVED -> StatusEnum.APPROVED;
+            case REJECTED -> StatusEnum.REJECTED;
+            default -> StatusEnum.DRAFT;
+        };
+        documentRepository.updateApproval(instance.getDocumentId(), outcome.name(), documentStatus, reviewerId);
+        log.info("Workflow {} for document {} finished: {}", instance.getId(), instance.getDocumentId(), outcome);
+    }
+
+    private void enqueue(Iterable<Long> instanceIds, LocalDateTime now) {
+        List<WorkflowJob> jobs = new ArrayList<>();
+        for (Long instanceId : instanceIds) {
+            WorkflowJob job = new WorkflowJob();
+            job.setInstanceId(instanceId);
+            job.setAvailableAt(now);
+            jobs.add(job);
+        }
+        jobRepository.saveAll(jobs);
+    }
+}
@@ -0,0 +1,156 @@
+package com.windchill.service.access;
+
+import com.windchill.common.enums.RoleEnum;
+import com.windchill.repository.ProjectMemberRepository;
+import com.windchill.repository.ProjectRepository;
+import com.windchill.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.when;
+
+/**
+ * Access checks at {@value #PROJECTS} projects, a fifth of them confidential, and
+ * {@value #USERS} users who each belong to {@value #MEMBERSHIPS_PER_USER} of the confidential
+ * ones. Measures loading every user's access once, then the warm per-request cost of a check
+ * on every project, of filtering a list of {@value #PROJECTS} items and of building the
+ * hidden-project list that the SQL paths put into their {@code NOT IN} predicate. Visibility
+ * is asserted for every user and project; times are printed.
+ */
+@ExtendWith(MockitoExtension.class)
+class ProjectAccessBenchmarkTest {
+    private static final int PROJECTS = 10_000;
+    private static final int USERS = 5_000;
+    private static final int MEMBERSHIPS_PER_USER = 40;
+
+    @Mock
+    private ProjectRepository projectRepository;
+    @Mock
+    private ProjectMemberRepository memberRepository;
+    @Mock
+    private UserRepository userRepository;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private ProjectAccessServiceImpl service;
+    private final Set<Long> confidential = new HashSet<>();
+    private final List<Set<Long>> memberships = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        Random random = new Random(41);
+        List<Long> confidentialIds = new ArrayList<>();
+        for (long projectId = 1; projectId <= PROJECTS; projectId++) {
+            if (random.nextInt(5) == 0) {
+                confidential.add(projectId);
+                confidentialIds.add(projectId);
+            }
+        }
+        for (int user = 0; user < USERS; user++) {
+            Set<Long> projects = new HashSet<>();
+            while (projects.size() < MEMBERSHIPS_PER_USER) {
+                projects.add(confidentialIds.get(random.nextInt(confidentialIds.size())));
+            }
+            memberships.add(projects);
+        }
+        when(projectRepository.findConfidentialIds()).thenReturn(confidentialIds);
+        when(memberRepository.findProjectIdsByUserId(anyLong()))
+                .thenAnswer(invocation -> List.copyOf(memberships.get(((Long) invocation.getArgument(0)).intValue())));
+        when(projectRepository.findIdsByManagerId(anyLong())).thenReturn(List.of());
+        service = new ProjectAccessServiceImpl(projectRepository, memberRepository, userRepository, eventPublisher);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void accessChecksAtTenThousandProjectsAndFiveThousandUsers() {
+        long started = System.nanoTime();
+        for (int user = 0; user < USERS; user++) {
+            as(user);
+            service.current();
+        }
+        long loadNanos = System.nanoTime() - started;
+
+        List<Long> items = new ArrayList<>(PROJECTS);
+        for (long projectId = 1; projectId <= PROJECTS; projectId++) {
+            items.add(projectId);
+        }
+        long checkNanos = 0;
+        long filterNanos = 0;
+        long hiddenNanos = 0;
+        for (int user = 0; user < USERS; user++) {
+            as(user);
+            Set<Long> member = memberships.get(user);
+
+            long checkStarted = System.nanoTime();
+            ProjectAccess access = service.current();
+            int visible = 0;
+            for (long projectId = 1; projectId <= PROJECTS; projectId++) {
+                if (access.canSee(projectId)) {
+                    visible++;
+                }
+            }
+            checkNanos += System.nanoTime() - checkStarted;
+
+            long filterStarted = System.nanoTime();
+            List<Long> filtered = access.filter(items, projectId -> projectId);
+            filterNanos += System.nanoTime() - filterStarted;
+
+            long hiddenStarted = System.nanoTime();
+            List<Long> hidden = access.hiddenProjectIds();
+            hiddenNanos += System.nanoTime() - hiddenStarted;
+
+            assertThat(visible).isEqualTo(PROJECTS - confidential.size() + member.size());
+            assertThat(filtered).hasSize(visible);
+            assertThat(hidden).hasSize(confidential.size() - member.size()).doesNotContainAnyElementsOf(member);
+        }
+
+        System.out.printf("Project access, %,d projects (%,d confidential), %,d users:%n", PROJECTS,
+                confidential.size(), USERS);
+        System.out.printf("  cold load of every user: %d ms (%.1f us/user)%n", loadNanos / 1_000_000,
+                loadNanos / 1e3 / USERS);
+        System.out.printf("  current() + %,d canSee checks: %.1f us/request%n", PROJECTS, checkNanos / 1e3 / USERS);
+        System.out.printf("  filter of %,d items: %.1f us/request%n", PROJECTS, filterNanos / 1e3 / USERS);
+        System.out.printf("  hidden project list: %.1f us/request%n", hiddenNanos / 1e3 / USERS);
+        // a cached check must stay far below the cost of the query it saves
+        assertThat(checkNanos / USERS).isLessThan(5_000_000L);
+    }
+
+    @Test
+    void idsBeyondTheBitsetRangeAreCheckedExactly() {
+        long beyond = Integer.MAX_VALUE + 10L;
+        when(projectRepository.findConfidentialIds()).thenReturn(List.of(7L, beyond));
+        as(0);
+        memberships.set(0, Set.of());
+
+        ProjectAccess access = service.current();
+
+        assertThat(access.canSee(beyond)).isFalse();
+        assertThat(access.canSee(beyond + 1)).isTrue();
+        assertThat(access.hiddenProjectIds()).containsExactly(7L, beyond);
+    }
+
+    private void as(int user) {
+        AuthenticatedUser principal = new AuthenticatedUser((long) user, "user" + user, RoleEnum.ENGINEER);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, List.of()));
+    }
+}
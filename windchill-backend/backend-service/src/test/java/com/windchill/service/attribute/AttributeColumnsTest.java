@@ -0,0 +1,106 @@
+package com.windchill.service.attribute;
+
+import com.windchill.common.enums.AttributeTypeEnum;
+import com.windchill.common.exceptions.BusinessException;
+import com.windchill.domain.entity.AttributeDefinition;
+import com.windchill.repository.AttributeDefinitionRepository;
+import com.windchill.service.event.AttributeDefinitionsChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Attribute "colour" is searchable and has no column yet, "weight" is searchable and has
+ * one, and the column of the former attribute "finish" is still on the table.
+ */
+@ExtendWith(MockitoExtension.class)
+class AttributeColumnsTest {
+    @Mock
+    private AttributeDefinitionRepository definitionRepository;
+    @Mock
+    private AttributeRegistry registry;
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private AttributeColumns columns;
+    private final Set<String> existing = new HashSet<>(Set.of("attr_weight", "attr_finish"));
+
+    @BeforeEach
+    void setUp() {
+        when(definitionRepository.findByIsDeletedFalseOrderByName()).thenReturn(List.of(
+                definition("colour", AttributeTypeEnum.STRING), definition("weight", AttributeTypeEnum.NUMBER)));
+        when(registry.searchColumns()).thenAnswer(invocation -> new HashSet<>(existing));
+        columns = new AttributeColumns(definitionRepository, registry, jdbcTemplate);
+    }
+
+    @Test
+    void definitionChangesAndStartupNeverChangeTheSchema() {
+        columns.onDefinitionsChanged(new AttributeDefinitionsChangedEvent("colour"));
+        columns.onStartup();
+
+        verify(registry).reload();
+        verify(jdbcTemplate, never()).execute(anyString());
+    }
+
+    @Test
+    void applyAddsMissingColumnsAndKeepsUnusedOnes() {
+        AttributeColumnReport report = columns.apply();
+
+        verify(jdbcTemplate).execute(startsWith("ALTER TABLE products ADD COLUMN attr_colour VARCHAR"));
+        verify(jdbcTemplate, never()).execute(startsWith("ALTER TABLE products DROP"));
+        assertThat(report.missing()).containsExactly("attr_colour");
+        assertThat(report.present()).containsExactly("attr_weight");
+        assertThat(report.unused()).containsExactly("attr_finish");
+        verify(registry).reload();
+    }
+
+    @Test
+    void failedColumnIsReportedToTheCaller() {
+        doThrow(new DataAccessResourceFailureException("ALTER command denied"))
+                .when(jdbcTemplate).execute(anyString());
+
+        assertThatThrownBy(() -> columns.apply())
+                .isInstanceOf(BusinessException.class)
+                .hasMessageContaining("colour")
+                .hasMessageContaining("ALTER command denied");
+        verify(registry).reload();
+    }
+
+    @Test
+    void columnAddedByAnotherNodeMeanwhileIsNotAnError() {
+        doAnswer(invocation -> {
+            existing.add("attr_colour");
+            throw new DataAccessResourceFailureException("Duplicate column name 'attr_colour'");
+        }).when(jdbcTemplate).execute(anyString());
+
+        AttributeColumnReport report = columns.apply();
+
+        assertThat(report.missing()).isEmpty();
+    }
+
+    private AttributeDefinition definition(String name, AttributeTypeEnum type) {
+        AttributeDefinition definition = new AttributeDefinition();
+        definition.setName(name);
+        definition.setDataType(type);
+        definition.setSearchable(true);
+        return definition;
+    }
+}
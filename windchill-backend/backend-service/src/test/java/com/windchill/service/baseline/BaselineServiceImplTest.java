@@ -0,0 +1,119 @@
+package com.windchill.service.baseline;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.windchill.common.exceptions.BusinessException;
+import com.windchill.domain.entity.Project;
+import com.windchill.domain.entity.ProjectBaseline;
+import com.windchill.repository.BaselineItemRepository;
+import com.windchill.repository.DocumentRepository;
+import com.windchill.repository.ProductRepository;
+import com.windchill.repository.ProjectBaselineRepository;
+import com.windchill.repository.ProjectRepository;
+import com.windchill.service.access.IProjectAccessService;
+import com.windchill.service.access.ProjectAccess;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BaselineServiceImplTest {
+    private static final Long PROJECT_ID = 3L;
+
+    @Mock
+    private ProjectBaselineRepository baselineRepository;
+    @Mock
+    private BaselineItemRepository itemRepository;
+    @Mock
+    private ProjectRepository projectRepository;
+    @Mock
+    private ProductRepository productRepository;
+    @Mock
+    private DocumentRepository documentRepository;
+    @Mock
+    private IProjectAccessService projectAccessService;
+
+    private BaselineServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        ProjectAccess access = mock(ProjectAccess.class);
+        lenient().when(access.canSee(any())).thenReturn(true);
+        lenient().when(projectAccessService.current()).thenReturn(access);
+        service = new BaselineServiceImpl(baselineRepository, itemRepository, projectRepository, productRepository,
+                documentRepository, projectAccessService, new ObjectMapper());
+        ReflectionTestUtils.setField(service, "diffPageSize", 100);
+    }
+
+    @Test
+    void concurrentCaptureUnderTheSameNameIsABusinessError() {
+        Project project = new Project();
+        project.setId(PROJECT_ID);
+        project.setProjectCode("P-3");
+        when(projectRepository.findById(PROJECT_ID)).thenReturn(Optional.of(project));
+        when(baselineRepository.existsByProjectIdAndName(PROJECT_ID, "Release 1")).thenReturn(false);
+        when(baselineRepository.saveAndFlush(any())).thenThrow(new DataIntegrityViolationException("uk_baseline_name"));
+
+        assertThatThrownBy(() -> service.createBaseline(PROJECT_ID, "Release 1", null))
+                .isInstanceOf(BusinessException.class)
+                .hasMessageContaining("Release 1");
+    }
+
+    @Test
+    void changeWithoutVersionBumpIsReportedAsModified() throws IOException {
+        ProjectBaseline from = new ProjectBaseline();
+        from.setId(10L);
+        from.setProjectId(PROJECT_ID);
+        from.setName("Release 1");
+        // the lifecycle transition left the entity version at 4
+        when(itemRepository.findRowsAfter(eq(10L), eq("PRODUCT"), anyLong(), any())).thenReturn(List.<Object[]>of(
+                row(1L, "RELEASED", "IN_WORK", new byte[] {1}),
+                row(2L, "RELEASED", "IN_WORK", new byte[] {2})));
+        when(productRepository.findBaselineRowsAfter(eq(PROJECT_ID), anyLong(), any())).thenReturn(List.<Object[]>of(
+                row(1L, "RELEASED", "RELEASED", new byte[] {9}),
+                row(2L, "RELEASED", "IN_WORK", new byte[] {2})));
+        when(itemRepository.findRowsAfter(eq(10L), eq("DOCUMENT"), anyLong(), any())).thenReturn(List.of());
+        when(documentRepository.findBaselineRowsAfter(eq(PROJECT_ID), anyLong(), any())).thenReturn(List.of());
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        service.writeDiff(new BaselineComparison(PROJECT_ID, from, null), output);
+
+        JsonNode data = new ObjectMapper().readTree(output.toByteArray()).get("data");
+        assertThat(data.get("summary").get("modified").asInt()).isEqualTo(1);
+        assertThat(data.get("summary").get("unchanged").asInt()).isEqualTo(1);
+        JsonNode change = data.get("changes").get(0);
+        assertThat(change.get("itemId").asLong()).isEqualTo(1L);
+        assertThat(change.get("to").get("lifecycleState").asText()).isEqualTo("RELEASED");
+    }
+
+    @Test
+    void itemsWithoutDigestFallBackToTheVersion() {
+        assertThat(BaselineServiceImpl.sameAttributes(row(1L, "RELEASED", null, null),
+                row(1L, "RELEASED", "RELEASED", new byte[] {9}))).isTrue();
+        Object[] bumped = row(1L, "RELEASED", null, null);
+        bumped[3] = 5L;
+        assertThat(BaselineServiceImpl.sameAttributes(row(1L, "RELEASED", null, null), bumped)).isFalse();
+    }
+
+    private Object[] row(Long id, String status, String lifecycleState, byte[] hash) {
+        return new Object[] {id, "PRD-" + id, "Product " + id, 4L, "1.0", status, lifecycleState, hash};
+    }
+}
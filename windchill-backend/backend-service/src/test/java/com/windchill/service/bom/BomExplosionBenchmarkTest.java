@@ -0,0 +1,170 @@
+package com.windchill.service.bom;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Multi-level explosion through the in-memory {@link BomGraph} against an equivalent
+ * recursive CTE, on a generated tree of {@value #LEVELS} levels with {@value #FAN_OUT} children
+ * per assembly. The CTE side needs a MySQL 8 schema to write a scratch table into and only
+ * runs when one is given:
+ * <pre>
+ * mvn test -Dtest=BomExplosionBenchmarkTest -Dbom.benchmark.url=jdbc:mysql://localhost/windchill_bench \
+ *     -Dbom.benchmark.user=... -Dbom.benchmark.password=...
+ * </pre>
+ * Line counts and extended quantities are asserted; times are printed.
+ */
+class BomExplosionBenchmarkTest {
+    private static final int LEVELS = 10;
+    private static final int FAN_OUT = 3;
+    private static final long ROOT_ID = 1L;
+    private static final BigDecimal LINK_QUANTITY = new BigDecimal("2");
+    private static final int WARMUP_RUNS = 20;
+    private static final int MEASURED_RUNS = 15;
+    private static final String TABLE = "bom_benchmark_links";
+
+    private static List<BomGraph.LinkRow> rows;
+    private static int expectedLines;
+
+    @BeforeAll
+    static void generateTree() {
+        rows = new ArrayList<>();
+        List<Long> level = List.of(ROOT_ID);
+        long nextId = ROOT_ID + 1;
+        long unscaled = LINK_QUANTITY.movePointRight(BomGraph.QUANTITY_SCALE).longValueExact();
+        for (int depth = 0; depth < LEVELS; depth++) {
+            List<Long> next = new ArrayList<>(level.size() * FAN_OUT);
+            for (Long parent : level) {
+                for (int i = 0; i < FAN_OUT; i++) {
+                    long child = nextId++;
+                    rows.add(new BomGraph.LinkRow(rows.size() + 1L, parent, child, unscaled, String.valueOf(i + 1)));
+                    next.add(child);
+                }
+            }
+            level = next;
+        }
+        expectedLines = rows.size();
+    }
+
+    @Test
+    void inMemoryExplosion() {
+        BomGraph graph = BomGraph.build(rows);
+        int root = graph.ordinalOf(ROOT_ID);
+
+        long[] nanos = measure(() -> graph.explode(root, LEVELS).size());
+
+        List<BomLine> lines = graph.explode(root, LEVELS);
+        assertThat(lines).hasSize(expectedLines);
+        BomLine deepest = lines.stream().filter(line -> line.getLevel() == LEVELS).findFirst().orElseThrow();
+        assertThat(deepest.getExtendedQuantity()).isEqualByComparingTo(LINK_QUANTITY.pow(LEVELS));
+        System.out.printf("In-memory explosion of %,d lines: median %d us, p90 %d us%n",
+                expectedLines, nanos[nanos.length / 2] / 1000, nanos[nanos.length * 9 / 10] / 1000);
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "bom.benchmark.url", matches = ".+")
+    void recursiveCteAgainstInMemory() throws SQLException {
+        BomGraph graph = BomGraph.build(rows);
+        int root = graph.ordinalOf(ROOT_ID);
+        try (Connection connection = DriverManager.getConnection(System.getProperty("bom.benchmark.url"),
+                System.getProperty("bom.benchmark.user"), System.getProperty("bom.benchmark.password"))) {
+            loadTable(connection);
+            try {
+                String sql = "WITH RECURSIVE bom (lvl, child_id, parent_id, link_id, ext_qty) AS ("
+                        + " SELECT 1, child_product_id, parent_product_id, id, CAST(quantity AS DECIMAL(38, 4))"
+                        + " FROM " + TABLE + " WHERE parent_product_id = ?"
+                        + " UNION ALL"
+                        + " SELECT b.lvl + 1, l.child_product_id, l.parent_product_id, l.id,"
+                        + " CAST(b.ext_qty * l.quantity AS DECIMAL(38, 4))"
+                        + " FROM bom b JOIN " + TABLE + " l ON l.parent_product_id = b.child_id WHERE b.lvl < ?)"
+                        + " SELECT lvl, child_id, parent_id, link_id, ext_qty FROM bom";
+                try (PreparedStatement query = connection.prepareStatement(sql)) {
+                    query.setLong(1, ROOT_ID);
+                    query.setInt(2, LEVELS);
+                    long[] cteNanos = measure(() -> readAll(query));
+                    long[] memoryNanos = measure(() -> graph.explode(root, LEVELS).size());
+
+                    assertThat(readAll(query)).isEqualTo(expectedLines);
+                    long cteMedian = cteNanos[cteNanos.length / 2];
+                    long memoryMedian = memoryNanos[memoryNanos.length / 2];
+                    System.out.printf("Explosion of %,d lines: recursive CTE median %d us, in-memory median %d us (%.1fx)%n",
+                            expectedLines, cteMedian / 1000, memoryMedian / 1000, (double) cteMedian / memoryMedian);
+                }
+            } finally {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("DROP TABLE IF EXISTS " + TABLE);
+                }
+            }
+        }
+    }
+
+    /**
+     * A plain table rather than a TEMPORARY one, since MySQL cannot open a temporary table
+     * twice in the same query and the CTE reads it in both of its parts.
+     */
+    private static void loadTable(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS " + TABLE);
+            statement.execute("CREATE TABLE " + TABLE + " (id BIGINT PRIMARY KEY, parent_product_id BIGINT NOT NULL, "
+                    + "child_product_id BIGINT NOT NULL, quantity DECIMAL(12, 4) NOT NULL, find_number VARCHAR(20), "
+                    + "INDEX idx_usage_parent (parent_product_id))");
+        }
+        try (PreparedStatement insert = connection.prepareStatement("INSERT INTO " + TABLE
+                + " (id, parent_product_id, child_product_id, quantity, find_number) VALUES (?, ?, ?, ?, ?)")) {
+            for (BomGraph.LinkRow row : rows) {
+                insert.setLong(1, row.linkId());
+                insert.setLong(2, row.parentId());
+                insert.setLong(3, row.childId());
+                insert.setBigDecimal(4, BigDecimal.valueOf(row.quantity(), BomGraph.QUANTITY_SCALE));
+                insert.setString(5, row.findNumber());
+                insert.addBatch();
+            }
+            insert.executeBatch();
+        }
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("ANALYZE TABLE " + TABLE);
+        }
+    }
+
+    private static int readAll(PreparedStatement query) {
+        int count = 0;
+        try (ResultSet result = query.executeQuery()) {
+            while (result.next()) {
+                result.getBigDecimal(5);
+                count++;
+            }
+        } catch (SQLException ex) {
+            throw new IllegalStateException(ex);
+        }
+        return count;
+    }
+
+    private static long[] measure(IntSupplier run) {
+        for (int i = 0; i < WARMUP_RUNS; i++) {
+            run.getAsInt();
+        }
+        long[] nanos = new long[MEASURED_RUNS];
+        for (int i = 0; i < MEASURED_RUNS; i++) {
+            long started = System.nanoTime();
+            run.getAsInt();
+            nanos[i] = System.nanoTime() - started;
+        }
+        Arrays.sort(nanos);
+        return nanos;
+    }
+}
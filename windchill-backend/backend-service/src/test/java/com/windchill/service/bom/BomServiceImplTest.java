@@ -0,0 +1,123 @@
+package com.windchill.service.bom;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.windchill.common.exceptions.ResourceNotFoundException;
+import com.windchill.domain.entity.Product;
+import com.windchill.repository.ProductRepository;
+import com.windchill.repository.ProductUsageLinkRepository;
+import com.windchill.service.access.IProjectAccessService;
+import com.windchill.service.access.ProjectAccess;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Assembly 1 uses component 2, which uses component 3. Component 2 belongs to project 20,
+ * which is hidden from the caller; the others belong to the visible project 10.
+ */
+@ExtendWith(MockitoExtension.class)
+class BomServiceImplTest {
+    private static final long UNIT = 10_000L;
+
+    @Mock
+    private ProductUsageLinkRepository productUsageLinkRepository;
+    @Mock
+    private ProductRepository productRepository;
+    @Mock
+    private BomGraphCache bomGraphCache;
+    @Mock
+    private IProjectAccessService projectAccessService;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private BomServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        ProjectAccess access = mock(ProjectAccess.class);
+        lenient().when(access.canSee(any())).thenAnswer(invocation -> !Long.valueOf(20L).equals(invocation.getArgument(0)));
+        lenient().when(access.hidesAny()).thenReturn(true);
+        when(projectAccessService.current()).thenReturn(access);
+        lenient().when(bomGraphCache.current()).thenReturn(BomGraph.build(List.of(
+                new BomGraph.LinkRow(100L, 1L, 2L, 2 * UNIT, "10"),
+                new BomGraph.LinkRow(101L, 2L, 3L, 3 * UNIT, "20"))));
+        lenient().when(productRepository.findById(any()))
+                .thenAnswer(invocation -> Optional.of(product(invocation.getArgument(0))));
+        lenient().when(productRepository.findLabelsByIdIn(anyCollection())).thenAnswer(invocation -> {
+            List<Object[]> labels = new ArrayList<>();
+            for (Long id : invocation.<Collection<Long>>getArgument(0)) {
+                labels.add(new Object[] {id, "PRD-" + id, "Product " + id, projectOf(id)});
+            }
+            return labels;
+        });
+        service = new BomServiceImpl(productUsageLinkRepository, productRepository, bomGraphCache,
+                projectAccessService, eventPublisher, new ObjectMapper());
+        ReflectionTestUtils.setField(service, "maxExplosionDepth", 10);
+        ReflectionTestUtils.setField(service, "maxWhereUsedPaths", 10);
+    }
+
+    @Test
+    void explosionMasksComponentsOfHiddenProjects() {
+        List<BomLine> lines = service.explode(1L, null);
+
+        assertThat(lines).hasSize(2);
+        BomLine hidden = lines.get(0);
+        assertThat(hidden.isRestricted()).isTrue();
+        assertThat(hidden.getProductId()).isNull();
+        assertThat(hidden.getProductCode()).isNull();
+        BomLine below = lines.get(1);
+        assertThat(below.getProductId()).isEqualTo(3L);
+        assertThat(below.getParentProductId()).isNull();
+        assertThat(below.getExtendedQuantity()).isEqualByComparingTo("6");
+    }
+
+    @Test
+    void whereUsedMasksAssembliesOfHiddenProjects() throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        service.writeWhereUsed(service.whereUsed(3L, null), output);
+
+        JsonNode top = new ObjectMapper().readTree(output.toByteArray()).get("data").get("topLevelProducts").get(0);
+        assertThat(top.get("productId").asLong()).isEqualTo(1L);
+        assertThat(top.get("effectiveQuantity").decimalValue()).isEqualByComparingTo("6");
+        JsonNode steps = top.get("paths").get(0).get("steps");
+        assertThat(steps.get(0).get("restricted").asBoolean()).isTrue();
+        assertThat(steps.get(0).has("productId")).isFalse();
+        assertThat(steps.get(1).get("productId").asLong()).isEqualTo(3L);
+    }
+
+    @Test
+    void productsOfHiddenProjectsAreNotFound() {
+        assertThatThrownBy(() -> service.explode(2L, null)).isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    private static Long projectOf(Long productId) {
+        return productId == 2L ? 20L : 10L;
+    }
+
+    private static Product product(Long id) {
+        Product product = new Product();
+        product.setId(id);
+        product.setProjectId(projectOf(id));
+        return product;
+    }
+}
@@ -0,0 +1,84 @@
+package com.windchill.service.document;
+
+import com.windchill.domain.entity.Document;
+import com.windchill.service.storage.IStorageTieringService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class DocumentBundleServiceImplTest {
+    @Mock
+    private IStorageTieringService tieringService;
+    @InjectMocks
+    private DocumentBundleServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(service, "readerThreads", 1);
+        ReflectionTestUtils.setField(service, "queueSegments", 4);
+        service.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    void readsEachDocumentOnceAndRoundTrips() throws IOException {
+        byte[] photo = new byte[300 * 1024];
+        new Random(29).nextBytes(photo);
+        byte[] text = "line of text\n".repeat(20_000).getBytes();
+        Document compressed = document(1L, "DOC-1", "photo.jpg");
+        Document plain = document(2L, "DOC-2", "notes.txt");
+        when(tieringService.readContent(compressed)).thenAnswer(invocation -> new ByteArrayInputStream(photo));
+        when(tieringService.readContent(plain)).thenAnswer(invocation -> new ByteArrayInputStream(text));
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        service.writeBundle(List.of(compressed, plain), output);
+
+        verify(tieringService, times(1)).readContent(compressed);
+        verify(tieringService, times(1)).readContent(plain);
+        Map<String, byte[]> entries = new LinkedHashMap<>();
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(output.toByteArray()))) {
+            for (ZipEntry entry = zip.getNextEntry(); entry != null; entry = zip.getNextEntry()) {
+                entries.put(entry.getName(), zip.readAllBytes());
+            }
+        }
+        assertThat(entries).containsOnlyKeys("DOC-1/photo.jpg", "DOC-2/notes.txt");
+        assertThat(entries.get("DOC-1/photo.jpg")).isEqualTo(photo);
+        assertThat(entries.get("DOC-2/notes.txt")).isEqualTo(text);
+        // the incompressible entry costs only the stored-block headers, the text still deflates
+        assertThat(output.size()).isLessThan(photo.length + 8 * 1024);
+    }
+
+    private Document document(Long id, String number, String fileName) {
+        Document document = new Document();
+        document.setId(id);
+        document.setDocumentNumber(number);
+        document.setFileName(fileName);
+        document.setFilePath("documents/" + id + "/content");
+        return document;
+    }
+}
@@ -0,0 +1,122 @@
+package com.windchill.service.expand;
+
+import com.windchill.common.enums.StatusEnum;
+import com.windchill.domain.entity.Document;
+import com.windchill.repository.ProductRepository;
+import com.windchill.repository.ProjectRepository;
+import com.windchill.repository.UserRepository;
+import com.windchill.service.access.IProjectAccessService;
+import com.windchill.service.access.ProjectAccess;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+
+/**
+ * Counts the repository queries behind {@code ?expand=}: one per target type and batch of
+ * ids, however many rows are expanded and however many relations point at the same type.
+ * Documents are owned and reviewed by {@value #USERS} users, belong to {@value #PROJECTS}
+ * projects of which project 1 is hidden from the caller, and each relates to a product of its
+ * own; products with an odd id belong to project 1.
+ */
+@ExtendWith(MockitoExtension.class)
+class RelationExpansionServiceImplTest {
+    private static final int USERS = 30;
+    private static final int PROJECTS = 5;
+    private static final Long HIDDEN_PROJECT = 1L;
+
+    @Mock
+    private UserRepository userRepository;
+    @Mock
+    private ProjectRepository projectRepository;
+    @Mock
+    private ProductRepository productRepository;
+    @Mock
+    private IProjectAccessService projectAccessService;
+
+    private RelationExpansionServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        ProjectAccess access = mock(ProjectAccess.class);
+        lenient().when(access.canSee(any())).thenAnswer(invocation -> !HIDDEN_PROJECT.equals(invocation.getArgument(0)));
+        lenient().when(projectAccessService.current()).thenReturn(access);
+        lenient().when(userRepository.findLabelsByIdIn(anyCollection())).thenAnswer(invocation -> labels(
+                invocation.getArgument(0), id -> new Object[] {id, "user" + id, "First", "Last"}));
+        lenient().when(projectRepository.findLabelsByIdIn(anyCollection())).thenAnswer(invocation -> labels(
+                invocation.getArgument(0), id -> new Object[] {id, "P-" + id, "Project " + id, StatusEnum.ACTIVE}));
+        lenient().when(productRepository.findLabelsByIdIn(anyCollection())).thenAnswer(invocation -> labels(
+                invocation.getArgument(0), id -> new Object[] {id, "PRD-" + id, "Product " + id, id % 2 == 1 ? 1L : 2L}));
+        service = new RelationExpansionServiceImpl(userRepository, projectRepository, productRepository,
+                projectAccessService);
+    }
+
+    @Test
+    void queriesDoNotGrowWithTheNumberOfRows() {
+        for (int rows : new int[] {1, 10, 900}) {
+            service.expand(Document.class, documents(rows), List.of("owner", "reviewer", "project"));
+        }
+
+        // one user and one project query per call, owner and reviewer sharing the user query
+        verify(userRepository, times(3)).findLabelsByIdIn(anyCollection());
+        verify(projectRepository, times(3)).findLabelsByIdIn(anyCollection());
+        verifyNoMoreInteractions(userRepository, projectRepository, productRepository);
+    }
+
+    @Test
+    void idsAreBatchedAndHiddenTargetsLeftOut() {
+        Map<String, Map<Long, Object>> included = service.expand(Document.class, documents(2_500),
+                List.of("owner", "reviewer", "project", "relatedProduct"));
+
+        verify(userRepository, times(1)).findLabelsByIdIn(anyCollection());
+        verify(projectRepository, times(1)).findLabelsByIdIn(anyCollection());
+        // 2,500 distinct products in batches of 1,000
+        verify(productRepository, times(3)).findLabelsByIdIn(anyCollection());
+        verifyNoMoreInteractions(userRepository, projectRepository, productRepository);
+        assertThat(included.get(RelationExpansionServiceImpl.USERS)).hasSize(USERS);
+        assertThat(included.get(RelationExpansionServiceImpl.PROJECTS)).hasSize(PROJECTS - 1)
+                .doesNotContainKey(HIDDEN_PROJECT);
+        assertThat(included.get(RelationExpansionServiceImpl.PRODUCTS)).hasSize(1_250).doesNotContainKey(1L);
+    }
+
+    @Test
+    void noRelationsMeansNoQueries() {
+        assertThat(service.expand(Document.class, documents(10), List.of())).isNull();
+
+        verifyNoMoreInteractions(userRepository, projectRepository, productRepository, projectAccessService);
+    }
+
+    private static List<Document> documents(int count) {
+        List<Document> documents = new ArrayList<>();
+        for (long id = 1; id <= count; id++) {
+            Document document = new Document();
+            document.setId(id);
+            document.setOwnerId(id % USERS + 1);
+            document.setReviewerId((id + 7) % USERS + 1);
+            document.setProjectId(id % PROJECTS + 1);
+            document.setRelatedProductId(id);
+            documents.add(document);
+        }
+        return documents;
+    }
+
+    private static List<Object[]> labels(Collection<Long> ids, Function<Long, Object[]> row) {
+        return ids.stream().map(row).toList();
+    }
+}
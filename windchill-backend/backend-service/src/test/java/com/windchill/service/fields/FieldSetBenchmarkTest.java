@@ -0,0 +1,147 @@
+package com.windchill.service.fields;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.windchill.common.dto.ApiResponse;
+import com.windchill.common.enums.LifecycleStateEnum;
+import com.windchill.common.enums.StatusEnum;
+import com.windchill.domain.entity.Product;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.metamodel.EntityType;
+import jakarta.persistence.metamodel.Metamodel;
+import jakarta.persistence.metamodel.SingularAttribute;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Bytes and serialization CPU of a page of {@value #ROWS} products written in full and with
+ * {@code fields=productCode,productName,status}, through a mapper configured like the
+ * application's. Only the JSON side is measured: the query endpoints also read fewer columns,
+ * the other endpoints load whole entities either way. The sparse output is asserted to hold
+ * exactly the chosen attributes; sizes and times are printed.
+ */
+class FieldSetBenchmarkTest {
+    private static final int ROWS = 1_000;
+    private static final int WARM_UP = 300;
+    private static final int ITERATIONS = 500;
+    private static final List<String> FIELDS = List.of("productCode,productName,status");
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules()
+            .setSerializationInclusion(JsonInclude.Include.NON_NULL)
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    private FieldSets fieldSets;
+    private List<Product> products;
+
+    @BeforeEach
+    void setUp() {
+        fieldSets = new FieldSets();
+        ReflectionTestUtils.setField(fieldSets, "entityManager", entityManager());
+        ReflectionTestUtils.setField(fieldSets, "maxCachedSets", 16);
+        products = new ArrayList<>();
+        for (long id = 1; id <= ROWS; id++) {
+            products.add(product(id));
+        }
+    }
+
+    @Test
+    void sparsePageIsSmallerAndCheaperToWrite() throws IOException {
+        FieldSet<Product> fieldSet = fieldSets.get(Product.class, FIELDS);
+        assertThat(fieldSets.get(Product.class, List.of("status", "productName", "productCode"))).isSameAs(fieldSet);
+
+        byte[] full = objectMapper.writeValueAsBytes(ApiResponse.success(products));
+        byte[] sparse = objectMapper.writeValueAsBytes(ApiResponse.success(fieldSet.view(products)));
+        for (JsonNode row : objectMapper.readTree(sparse).get("data")) {
+            assertThat(row.fieldNames()).toIterable().containsExactly("id", "productCode", "productName", "status");
+        }
+
+        for (int i = 0; i < WARM_UP; i++) {
+            objectMapper.writeValueAsBytes(ApiResponse.success(products));
+            objectMapper.writeValueAsBytes(ApiResponse.success(fieldSets.get(Product.class, FIELDS).view(products)));
+        }
+        long fullNanos = 0;
+        long sparseNanos = 0;
+        for (int i = 0; i < ITERATIONS; i++) {
+            long started = System.nanoTime();
+            objectMapper.writeValueAsBytes(ApiResponse.success(products));
+            fullNanos += System.nanoTime() - started;
+            started = System.nanoTime();
+            objectMapper.writeValueAsBytes(ApiResponse.success(fieldSets.get(Product.class, FIELDS).view(products)));
+            sparseNanos += System.nanoTime() - started;
+        }
+
+        System.out.printf("Page of %,d products, fields=%s:%n", ROWS, FIELDS.get(0));
+        System.out.printf("  bytes: %,d full, %,d sparse (%.0f%%)%n", full.length, sparse.length,
+                100.0 * sparse.length / full.length);
+        System.out.printf("  serialization: %.0f us full, %.0f us sparse per page%n", fullNanos / 1e3 / ITERATIONS,
+                sparseNanos / 1e3 / ITERATIONS);
+        assertThat(sparse.length).isLessThan(full.length / 3);
+        assertThat(sparseNanos).isLessThan(fullNanos);
+    }
+
+    private static Product product(long id) {
+        Product product = new Product();
+        product.setId(id);
+        product.setCreatedAt(LocalDateTime.of(2026, 1, 1, 8, 0).plusMinutes(id));
+        product.setUpdatedAt(product.getCreatedAt().plusDays(3));
+        product.setCreatedBy("alice");
+        product.setUpdatedBy("bob");
+        product.setProductCode("PRD-" + id);
+        product.setProductName("Bracket assembly " + id);
+        product.setDescription("Machined aluminium bracket, anodised, for the rear frame of model " + id % 40);
+        product.setStatus(StatusEnum.ACTIVE);
+        product.setCategory("Mechanical");
+        product.setManufacturer("Acme Components");
+        product.setCost(BigDecimal.valueOf(1234 + id, 2));
+        product.setSellingPrice(BigDecimal.valueOf(2345 + id, 2));
+        product.setQuantityOnHand((int) (id % 500));
+        product.setNeedsReorder(false);
+        product.setOwnerId(id % 30 + 1);
+        product.setProjectId(id % 5 + 1);
+        product.setLifecycleState(LifecycleStateEnum.DRAFT);
+        product.setAttributes(Map.of("colour", "black", "weight", 1.25));
+        return product;
+    }
+
+    /**
+     * A metamodel mapping every instance field of the product hierarchy.
+     */
+    @SuppressWarnings("unchecked")
+    private static EntityManager entityManager() {
+        Set<SingularAttribute<? super Product, ?>> attributes = new HashSet<>();
+        for (Class<?> type = Product.class; type != Object.class; type = type.getSuperclass()) {
+            for (Field field : type.getDeclaredFields()) {
+                if (!Modifier.isStatic(field.getModifiers())) {
+                    SingularAttribute<? super Product, ?> attribute = mock(SingularAttribute.class);
+                    when(attribute.getName()).thenReturn(field.getName());
+                    attributes.add(attribute);
+                }
+            }
+        }
+        EntityType<Product> entityType = mock(EntityType.class);
+        doReturn(attributes).when(entityType).getSingularAttributes();
+        Metamodel metamodel = mock(Metamodel.class);
+        when(metamodel.entity(Product.class)).thenReturn(entityType);
+        EntityManager entityManager = mock(EntityManager.class);
+        when(entityManager.getMetamodel()).thenReturn(metamodel);
+        return entityManager;
+    }
+}
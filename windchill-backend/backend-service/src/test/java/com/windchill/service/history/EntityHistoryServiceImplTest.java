@@ -0,0 +1,104 @@
+package com.windchill.service.history;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.windchill.common.enums.HistoryEntityTypeEnum;
+import com.windchill.common.enums.RevisionStorageEnum;
+import com.windchill.domain.entity.EntityHistory;
+import com.windchill.domain.entity.EntityHistoryHead;
+import com.windchill.domain.entity.Project;
+import com.windchill.repository.EntityHistoryHeadRepository;
+import com.windchill.repository.EntityHistoryRepository;
+import com.windchill.repository.ProductRepository;
+import com.windchill.service.access.IProjectAccessService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class EntityHistoryServiceImplTest {
+    private static final HistoryEntityTypeEnum TYPE = HistoryEntityTypeEnum.PROJECT;
+
+    @Mock
+    private EntityHistoryRepository historyRepository;
+    @Mock
+    private EntityHistoryHeadRepository headRepository;
+    @Mock
+    private ProductRepository productRepository;
+    @Mock
+    private IProjectAccessService projectAccessService;
+
+    private EntityHistoryServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        service = new EntityHistoryServiceImpl(historyRepository, headRepository, productRepository,
+                projectAccessService, new ObjectMapper().findAndRegisterModules());
+        ReflectionTestUtils.setField(service, "fullSnapshotInterval", 20);
+    }
+
+    @Test
+    void chainBehindItsHeadIsReadAgainBeforeNumbering() {
+        EntityHistory first = row(1, RevisionStorageEnum.FULL, "{\"projectName\":\"A\"}");
+        EntityHistory second = row(2, RevisionStorageEnum.DELTA, "{\"projectName\":\"B\"}");
+        EntityHistoryHead head = new EntityHistoryHead(TYPE, 5L, 2);
+        // the snapshot predates iteration 2, committed by a lifecycle bulk update meanwhile
+        when(historyRepository.findCurrentChains(TYPE, List.of(5L))).thenReturn(List.of(first));
+        when(headRepository.findForUpdate(TYPE, Set.of(5L))).thenReturn(List.of(head));
+        when(historyRepository.findCurrentChainsForShare(TYPE, List.of(5L))).thenReturn(List.of(first, second));
+
+        service.record(TYPE, project(5L, "C"));
+
+        assertThat(savedIterations()).singleElement().satisfies(iteration -> {
+            assertThat(iteration.getIteration()).isEqualTo(3);
+            assertThat(iteration.getStorageKind()).isEqualTo(RevisionStorageEnum.DELTA);
+            assertThat(iteration.getFields()).contains("\"projectName\":\"C\"");
+        });
+        assertThat(head.getIteration()).isEqualTo(3);
+    }
+
+    @Test
+    void firstIterationInsertsHeadWithoutLockingRead() {
+        when(historyRepository.findCurrentChains(TYPE, List.of(9L))).thenReturn(List.of());
+
+        service.record(TYPE, project(9L, "New"));
+
+        assertThat(savedIterations()).singleElement()
+                .satisfies(iteration -> assertThat(iteration.getIteration()).isEqualTo(1));
+        verify(headRepository, never()).findForUpdate(any(), anyCollection());
+        verify(headRepository).saveAll(List.of(new EntityHistoryHead(TYPE, 9L, 1)));
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<EntityHistory> savedIterations() {
+        ArgumentCaptor<List<EntityHistory>> captor = ArgumentCaptor.forClass(List.class);
+        verify(historyRepository).saveAll(captor.capture());
+        return captor.getValue();
+    }
+
+    private EntityHistory row(int iteration, RevisionStorageEnum kind, String fields) {
+        return new EntityHistory(null, TYPE, 5L, iteration, kind, fields, LocalDateTime.now().minusHours(1), "alice");
+    }
+
+    private Project project(Long id, String name) {
+        Project project = new Project();
+        project.setId(id);
+        project.setProjectCode("P-" + id);
+        project.setProjectName(name);
+        return project;
+    }
+}
@@ -0,0 +1,23 @@
+package com.windchill.service.indexing;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DocumentIndexingServiceImplTest {
+    @Test
+    void retryDelayDoublesUpToTheCap() {
+        DocumentIndexingServiceImpl service = new DocumentIndexingServiceImpl(null, null, null, null, null, null, null);
+        ReflectionTestUtils.setField(service, "retryBackoffMs", 30_000L);
+        ReflectionTestUtils.setField(service, "maxRetryBackoffMs", 3_600_000L);
+
+        assertThat(service.retryDelay(1)).isEqualTo(Duration.ofSeconds(30));
+        assertThat(service.retryDelay(2)).isEqualTo(Duration.ofSeconds(60));
+        assertThat(service.retryDelay(3)).isEqualTo(Duration.ofSeconds(120));
+        assertThat(service.retryDelay(10)).isEqualTo(Duration.ofHours(1));
+        assertThat(service.retryDelay(500)).isEqualTo(Duration.ofHours(1));
+    }
+}
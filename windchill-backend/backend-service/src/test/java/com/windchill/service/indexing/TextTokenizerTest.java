@@ -0,0 +1,15 @@
+package com.windchill.service.indexing;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TextTokenizerTest {
+    @Test
+    void dropsWordsBelowTheFulltextMinimum() {
+        TextTokenizer.Tokens tokens = TextTokenizer.tokenize("An O-ring, 12 mm: fits PCB rev B3 and up.");
+
+        assertThat(tokens.text()).isEqualTo("ring fits pcb rev and");
+        assertThat(tokens.count()).isEqualTo(5);
+    }
+}
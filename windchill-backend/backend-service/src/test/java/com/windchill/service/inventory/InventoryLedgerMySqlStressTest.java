@@ -0,0 +1,183 @@
+package com.windchill.service.inventory;
+
+import com.windchill.common.enums.LifecycleStateEnum;
+import com.windchill.common.enums.MovementTypeEnum;
+import com.windchill.common.exceptions.BusinessException;
+import com.windchill.domain.entity.Product;
+import com.windchill.repository.ProductRepository;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.EnableTransactionManagement;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * {@link InventoryServiceImplStressTest} against the real repositories and InnoDB row locks
+ * instead of an in-memory stand-in: many threads moving stock of one product, product edits
+ * setting absolute counts mixed in. Needs a MySQL 8 schema migrated to the current version,
+ * in which it creates and afterwards deletes one product:
+ * <pre>
+ * mvn test -Dtest=InventoryLedgerMySqlStressTest -Dinventory.stress.url=jdbc:mysql://localhost/windchill_bench \
+ *     -Dinventory.stress.user=... -Dinventory.stress.password=...
+ * </pre>
+ * The ledger must sum to the counters on the row, opening balance included. Throughput is
+ * printed.
+ */
+@SpringJUnitConfig(InventoryLedgerMySqlStressTest.Config.class)
+@EnabledIfSystemProperty(named = "inventory.stress.url", matches = ".+")
+class InventoryLedgerMySqlStressTest {
+    private static final int THREADS = 16;
+    private static final int MOVEMENTS_PER_THREAD = 500;
+    private static final int OPENING_STOCK = 100_000;
+
+    @Autowired
+    private IInventoryService inventoryService;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long productId;
+
+    @AfterEach
+    void deleteProduct() {
+        if (productId != null) {
+            jdbcTemplate.update("DELETE FROM inventory_movements WHERE product_id = ?", productId);
+            jdbcTemplate.update("DELETE FROM products WHERE id = ?", productId);
+        }
+    }
+
+    @Test
+    void concurrentMovementsOnOneProductLoseNoUpdates() throws Exception {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        productId = transaction.execute(status -> {
+            // as ProductServiceImpl.createProduct does it: empty row, then the opening balance
+            Product product = new Product();
+            product.setProductCode("STRESS-" + System.nanoTime());
+            product.setProductName("Inventory stress test");
+            product.setLifecycleState(LifecycleStateEnum.DRAFT);
+            Long id = productRepository.save(product).getId();
+            inventoryService.setOnHand(id, OPENING_STOCK, "Opening balance");
+            return id;
+        });
+
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> workers = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            boolean editor = t == 0;
+            workers.add(pool.submit(() -> {
+                start.await();
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                int rejected = 0;
+                for (int i = 0; i < MOVEMENTS_PER_THREAD; i++) {
+                    if (editor && i % 50 == 0) {
+                        int count = OPENING_STOCK + random.nextInt(-1000, 1000);
+                        transaction.executeWithoutResult(status ->
+                                inventoryService.setOnHand(productId, count, "Product update"));
+                        continue;
+                    }
+                    try {
+                        switch (random.nextInt(4)) {
+                            case 0 -> inventoryService.recordMovement(productId, MovementTypeEnum.RECEIVE,
+                                    random.nextInt(1, 5), "scan");
+                            case 1 -> inventoryService.recordMovement(productId, MovementTypeEnum.ISSUE,
+                                    random.nextInt(1, 5), "scan");
+                            case 2 -> inventoryService.recordMovement(productId, MovementTypeEnum.RESERVE, 1, "order");
+                            default -> inventoryService.recordMovement(productId, MovementTypeEnum.ADJUST,
+                                    random.nextBoolean() ? 1 : -1, "count");
+                        }
+                    } catch (BusinessException ex) {
+                        // a setOnHand below the reservations; rejected movements leave no ledger entry
+                        rejected++;
+                    }
+                }
+                return rejected;
+            }));
+        }
+
+        long started = System.nanoTime();
+        start.countDown();
+        int rejected = 0;
+        for (Future<Integer> worker : workers) {
+            rejected += worker.get(5, TimeUnit.MINUTES);
+        }
+        long elapsedNanos = System.nanoTime() - started;
+        pool.shutdown();
+
+        Map<String, Object> ledger = jdbcTemplate.queryForMap("SELECT COUNT(*) AS movements, "
+                + "SUM(on_hand_delta) AS on_hand, SUM(reserved_delta) AS reserved "
+                + "FROM inventory_movements WHERE product_id = ?", productId);
+        StockLevel level = inventoryService.getStockLevel(productId);
+        long movements = ((Number) ledger.get("movements")).longValue();
+        System.out.printf("%,d movements on one product in %d ms (%,.0f/s), %d rejected%n", movements,
+                elapsedNanos / 1_000_000, movements * 1e9 / elapsedNanos, rejected);
+        assertThat(((Number) ledger.get("on_hand")).intValue()).isEqualTo(level.getQuantityOnHand());
+        assertThat(((Number) ledger.get("reserved")).intValue()).isEqualTo(level.getQuantityReserved());
+        assertThat(movements).isGreaterThan(THREADS * MOVEMENTS_PER_THREAD * 9L / 10);
+    }
+
+    @Configuration
+    @EnableTransactionManagement
+    @EnableJpaRepositories(basePackageClasses = ProductRepository.class)
+    @Import(InventoryServiceImpl.class)
+    static class Config {
+        @Bean(destroyMethod = "close")
+        DataSource dataSource() {
+            HikariDataSource dataSource = new HikariDataSource();
+            dataSource.setJdbcUrl(System.getProperty("inventory.stress.url"));
+            dataSource.setUsername(System.getProperty("inventory.stress.user"));
+            dataSource.setPassword(System.getProperty("inventory.stress.password"));
+            dataSource.setMaximumPoolSize(THREADS + 4);
+            return dataSource;
+        }
+
+        @Bean
+        LocalContainerEntityManagerFactoryBean entityManagerFactory(DataSource dataSource) {
+            LocalContainerEntityManagerFactoryBean factory = new LocalContainerEntityManagerFactoryBean();
+            factory.setDataSource(dataSource);
+            factory.setPackagesToScan("com.windchill.domain.entity");
+            factory.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+            factory.setJpaPropertyMap(Map.of("hibernate.hbm2ddl.auto", "none"));
+            return factory;
+        }
+
+        @Bean
+        PlatformTransactionManager transactionManager(EntityManagerFactory entityManagerFactory) {
+            return new JpaTransactionManager(entityManagerFactory);
+        }
+
+        @Bean
+        JdbcTemplate jdbcTemplate(DataSource dataSource) {
+            return new JdbcTemplate(dataSource);
+        }
+    }
+}
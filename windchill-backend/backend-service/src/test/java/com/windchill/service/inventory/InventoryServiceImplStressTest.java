@@ -0,0 +1,160 @@
+package com.windchill.service.inventory;
+
+import com.windchill.common.enums.MovementTypeEnum;
+import com.windchill.domain.entity.InventoryMovement;
+import com.windchill.repository.InventoryMovementRepository;
+import com.windchill.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.when;
+
+/**
+ * Many threads moving stock of one product at once, with absolute counts from product edits
+ * mixed in. The product row is an in-memory stand-in whose lock is held from the start of a
+ * transaction to its end, as InnoDB's row lock is once a transaction has written the row.
+ * No update may be lost: the opening count plus every delta in the ledger must equal the
+ * final count. Throughput is printed.
+ */
+@ExtendWith(MockitoExtension.class)
+class InventoryServiceImplStressTest {
+    private static final long PRODUCT_ID = 42L;
+    private static final int THREADS = 32;
+    private static final int MOVEMENTS_PER_THREAD = 2_000;
+    private static final int OPENING_STOCK = 1_000_000;
+
+    @Mock
+    private ProductRepository productRepository;
+    @Mock
+    private InventoryMovementRepository movementRepository;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private InventoryServiceImpl service;
+    private final ReentrantLock rowLock = new ReentrantLock();
+    private final List<InventoryMovement> ledger = Collections.synchronizedList(new ArrayList<>());
+    private int onHand = OPENING_STOCK;
+    private int reserved;
+
+    @BeforeEach
+    void setUp() {
+        when(transactionManager.getTransaction(any())).thenAnswer(invocation -> {
+            rowLock.lock();
+            return new SimpleTransactionStatus();
+        });
+        doAnswer(invocation -> {
+            rowLock.unlock();
+            return null;
+        }).when(transactionManager).commit(any());
+        lenient().doAnswer(invocation -> {
+            rowLock.unlock();
+            return null;
+        }).when(transactionManager).rollback(any());
+        when(productRepository.applyStockDelta(eq(PRODUCT_ID), anyInt(), anyInt())).thenAnswer(invocation -> {
+            assertThat(rowLock.isHeldByCurrentThread()).isTrue();
+            int newOnHand = onHand + (int) invocation.getArgument(1);
+            int newReserved = reserved + (int) invocation.getArgument(2);
+            if (newOnHand < 0 || newReserved < 0 || newReserved > newOnHand) {
+                return 0;
+            }
+            onHand = newOnHand;
+            reserved = newReserved;
+            return 1;
+        });
+        when(productRepository.lockStockLevel(PRODUCT_ID)).thenAnswer(invocation -> {
+            assertThat(rowLock.isHeldByCurrentThread()).isTrue();
+            return List.<Object[]>of(new Object[] {onHand, reserved});
+        });
+        when(productRepository.findReorderStatesByIdIn(anyCollection()))
+                .thenAnswer(invocation -> List.<Object[]>of(new Object[] {PRODUCT_ID, onHand, null, false}));
+        when(movementRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<InventoryMovement> entries = invocation.getArgument(0);
+            ledger.addAll(entries);
+            return entries;
+        });
+        when(movementRepository.save(any(InventoryMovement.class))).thenAnswer(invocation -> {
+            ledger.add(invocation.getArgument(0));
+            return invocation.getArgument(0);
+        });
+
+        service = new InventoryServiceImpl(productRepository, movementRepository, transactionManager, eventPublisher);
+        ReflectionTestUtils.setField(service, "stripes", 64);
+        ReflectionTestUtils.setField(service, "maxBatch", 256);
+        service.init();
+    }
+
+    @Test
+    void concurrentMovementsOnOneProductLoseNoUpdates() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> workers = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            boolean editor = t == 0;
+            workers.add(pool.submit(() -> {
+                start.await();
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < MOVEMENTS_PER_THREAD; i++) {
+                    if (editor && i % 100 == 0) {
+                        // a product edit setting an absolute count inside its own transaction
+                        int count = OPENING_STOCK + random.nextInt(-1000, 1000);
+                        new TransactionTemplate(transactionManager)
+                                .executeWithoutResult(status -> service.setOnHand(PRODUCT_ID, count, "Product update"));
+                        continue;
+                    }
+                    switch (random.nextInt(3)) {
+                        case 0 -> service.recordMovement(PRODUCT_ID, MovementTypeEnum.RECEIVE, random.nextInt(1, 5), "scan");
+                        case 1 -> service.recordMovement(PRODUCT_ID, MovementTypeEnum.ISSUE, random.nextInt(1, 5), "scan");
+                        default -> service.recordMovement(PRODUCT_ID, MovementTypeEnum.ADJUST,
+                                random.nextBoolean() ? 1 : -1, "count");
+                    }
+                }
+                return null;
+            }));
+        }
+
+        long started = System.nanoTime();
+        start.countDown();
+        for (Future<?> worker : workers) {
+            worker.get(2, TimeUnit.MINUTES);
+        }
+        long elapsedNanos = System.nanoTime() - started;
+        pool.shutdown();
+
+        long ledgerTotal = ledger.stream().mapToLong(InventoryMovement::getOnHandDelta).sum();
+        double perSecond = ledger.size() * 1e9 / elapsedNanos;
+        System.out.printf("%,d movements on one product in %d ms (%,.0f/s)%n",
+                ledger.size(), elapsedNanos / 1_000_000, perSecond);
+        assertThat(ledger).hasSizeGreaterThan(THREADS * MOVEMENTS_PER_THREAD * 9 / 10);
+        assertThat(OPENING_STOCK + ledgerTotal).isEqualTo(onHand);
+        assertThat(perSecond).isGreaterThan(1_000);
+    }
+}
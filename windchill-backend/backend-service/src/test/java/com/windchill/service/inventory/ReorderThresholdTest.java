@@ -0,0 +1,19 @@
+package com.windchill.service.inventory;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Cases of the generated {@code products.needs_reorder} column from V9.
+ */
+class ReorderThresholdTest {
+    @Test
+    void matchesTheGeneratedColumn() {
+        assertThat(ReorderThreshold.isBelow(false, 5, 5)).isTrue();
+        assertThat(ReorderThreshold.isBelow(null, 4, 5)).isTrue();
+        assertThat(ReorderThreshold.isBelow(false, 6, 5)).isFalse();
+        assertThat(ReorderThreshold.isBelow(false, 0, null)).isFalse();
+        assertThat(ReorderThreshold.isBelow(true, 0, 5)).isFalse();
+    }
+}
@@ -0,0 +1,64 @@
+package com.windchill.service.numbering;
+
+import com.windchill.common.exceptions.BusinessException;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class NumberPatternTest {
+    private static final LocalDate DATE = LocalDate.of(2026, 3, 9);
+
+    @Test
+    void resolvesEverythingButTheSequence() {
+        NumberPattern pattern = NumberPattern.compile("DOC-{type}-{yyyy}-{seq:6}");
+
+        String resolved = pattern.resolve(Map.of("type", "drawing"), DATE);
+
+        assertThat(resolved).isEqualTo("DOC-DRAWING-2026-#");
+        assertThat(pattern.format(resolved, 42)).isEqualTo("DOC-DRAWING-2026-000042");
+        assertThat(pattern.format(resolved, 1234567)).isEqualTo("DOC-DRAWING-2026-1234567");
+    }
+
+    @Test
+    void datePartsAndUnpaddedSequence() {
+        NumberPattern pattern = NumberPattern.compile("{yy}{MM}/{seq}");
+
+        String resolved = pattern.resolve(Map.of(), DATE);
+
+        assertThat(resolved).isEqualTo("2603/#");
+        assertThat(pattern.format(resolved, 7)).isEqualTo("2603/7");
+    }
+
+    @Test
+    void sequenceMayLeadAndVariablesAreCleaned() {
+        NumberPattern pattern = NumberPattern.compile("{seq:3}-{site}");
+
+        String resolved = pattern.resolve(Map.of("site", " plant_b 2/north-wing and more "), DATE);
+
+        assertThat(resolved).isEqualTo("#-PLANT-B-2NORTH-WING-");
+        assertThat(pattern.format(resolved, 5)).isEqualTo("005-PLANT-B-2NORTH-WING-");
+    }
+
+    @Test
+    void missingOrBlankVariableIsABusinessError() {
+        NumberPattern pattern = NumberPattern.compile("DOC-{type}-{seq}");
+
+        assertThatThrownBy(() -> pattern.resolve(Map.of(), DATE)).isInstanceOf(BusinessException.class)
+                .hasMessageContaining("type");
+        assertThatThrownBy(() -> pattern.resolve(Map.of("type", " /! "), DATE))
+                .isInstanceOf(BusinessException.class);
+    }
+
+    @Test
+    void invalidPatternsAreRejected() {
+        for (String invalid : new String[]{null, " ", "PRD-", "PRD-{seq}-{seq:2}", "PRD-{seq:0}", "PRD-{seq:19}",
+                "PRD-{seq", "PRD-{}-{seq}", "PRD#{seq}"}) {
+            assertThatThrownBy(() -> NumberPattern.compile(invalid)).as(invalid)
+                    .isInstanceOf(IllegalStateException.class);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.windchill.service.numbering;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The block source stands in for the counter table: one counter per key, each reservation
+ * moving it on by the reserved size.
+ */
+class SequenceBlocksTest {
+    private final Map<String, AtomicLong> table = new ConcurrentHashMap<>();
+    private final AtomicInteger reservations = new AtomicInteger();
+
+    @Test
+    void valuesComeFromOneBlockUntilItIsUsedUp() {
+        SequenceBlocks blocks = new SequenceBlocks(this::reserve, 100);
+
+        List<Long> values = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            values.add(blocks.next("PRD-#", 10));
+        }
+
+        assertThat(values).containsExactlyElementsOf(LongStream.rangeClosed(1, 25).boxed().toList());
+        assertThat(reservations).hasValue(3);
+    }
+
+    @Test
+    void sequencesCountIndependently() {
+        SequenceBlocks blocks = new SequenceBlocks(this::reserve, 100);
+
+        assertThat(blocks.next("DOC-DRAWING-2026-#", 10)).isEqualTo(1);
+        assertThat(blocks.next("DOC-SPEC-2026-#", 10)).isEqualTo(1);
+        assertThat(blocks.next("DOC-DRAWING-2026-#", 10)).isEqualTo(2);
+    }
+
+    @Test
+    void aBulkRequestOfAWholeBlockGetsItsOwnBlock() {
+        SequenceBlocks blocks = new SequenceBlocks(this::reserve, 100);
+        assertThat(blocks.next("PRD-#", 10)).isEqualTo(1);
+
+        assertThat(blocks.next("PRD-#", 25, 10)).containsExactly(LongStream.rangeClosed(11, 35).toArray());
+        // the shared block is untouched
+        assertThat(blocks.next("PRD-#", 10)).isEqualTo(2);
+        assertThat(blocks.next("PRD-#", 3, 10)).containsExactly(3, 4, 5);
+    }
+
+    @Test
+    void concurrentCallersNeverGetTheSameValue() throws Exception {
+        SequenceBlocks blocks = new SequenceBlocks(this::reserve, 100);
+        int threads = 16;
+        int perThread = 5_000;
+        Set<Long> seen = ConcurrentHashMap.newKeySet();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < perThread; i++) {
+                        String key = i % 3 == 0 ? "A-#" : "B-#";
+                        assertThat(seen.add(key.charAt(0) * 1_000_000_000L + blocks.next(key, 7))).isTrue();
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(seen).hasSize(threads * perThread);
+    }
+
+    @Test
+    void sequencesBeyondTheLimitAreDroppedWithoutReusingValues() {
+        SequenceBlocks blocks = new SequenceBlocks(this::reserve, 8);
+        Set<Long> keep = ConcurrentHashMap.newKeySet();
+        for (int year = 0; year < 100; year++) {
+            blocks.next("DOC-" + year + "-#", 10);
+            // one busy sequence, used between every new one
+            assertThat(keep.add(blocks.next("PRD-#", 10))).isTrue();
+            assertThat(blocks.size()).isLessThanOrEqualTo(8);
+        }
+
+        assertThat(keep).hasSize(100);
+        assertThat(blocks.next("DOC-0-#", 10)).as("dropped with its block, continues after it").isEqualTo(11);
+    }
+
+    private long reserve(String key, int size) {
+        reservations.incrementAndGet();
+        return table.computeIfAbsent(key, ignored -> new AtomicLong(1)).getAndAdd(size);
+    }
+}
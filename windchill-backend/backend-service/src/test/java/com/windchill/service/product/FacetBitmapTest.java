@@ -0,0 +1,148 @@
+package com.windchill.service.product;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.BitSet;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Every operation is checked against a {@link BitSet} holding the same members. Ordinals are
+ * drawn from three chunks, the last one cut off by the end of the target arrays.
+ */
+class FacetBitmapTest {
+    private static final int ORDINALS = 3 * 65536;
+    private static final int TARGET_BITS = 2 * 65536 + 1000;
+
+    private final Random random = new Random(7);
+    private final FacetBitmap bitmap = new FacetBitmap();
+    private final BitSet reference = new BitSet();
+
+    @Test
+    void sparseChunksMatchTheReference() {
+        for (int i = 0; i < 3000; i++) {
+            int ordinal = random.nextInt(ORDINALS);
+            assertThat(bitmap.add(ordinal)).isEqualTo(!reference.get(ordinal));
+            reference.set(ordinal);
+        }
+        for (int i = 0; i < 1000; i++) {
+            int ordinal = random.nextInt(ORDINALS);
+            assertThat(bitmap.remove(ordinal)).isEqualTo(reference.get(ordinal));
+            reference.clear(ordinal);
+        }
+
+        assertThat(containerOf(0)).isInstanceOf(char[].class);
+        assertMatchesReference();
+    }
+
+    @Test
+    void chunkTurnsIntoABitmapAboveTheArrayLimitAndBackWellBelowIt() {
+        // chunk 1 only, so the chunk's size is the bitmap's cardinality
+        while (reference.cardinality() < 4096) {
+            addToChunkOne();
+        }
+        assertThat(containerOf(65536)).isInstanceOf(char[].class);
+        assertMatchesReference();
+
+        addToChunkOne();
+        assertThat(containerOf(65536)).isInstanceOf(long[].class);
+        assertMatchesReference();
+
+        // stays a bitmap between the two limits
+        while (reference.cardinality() > 2048) {
+            removeFromChunkOne();
+        }
+        assertThat(containerOf(65536)).isInstanceOf(long[].class);
+        assertMatchesReference();
+
+        removeFromChunkOne();
+        assertThat(containerOf(65536)).isInstanceOf(char[].class);
+        assertMatchesReference();
+
+        // the converted array keeps working, down to an empty chunk
+        while (reference.cardinality() > 0) {
+            removeFromChunkOne();
+        }
+        assertThat(bitmap.cardinality()).isZero();
+        assertMatchesReference();
+    }
+
+    @Test
+    void mixedContainersMatchTheReference() {
+        for (int i = 0; i < 60_000; i++) {
+            int ordinal = random.nextInt(10) < 8 ? 65536 + random.nextInt(65536) : random.nextInt(ORDINALS);
+            if (random.nextInt(4) == 0) {
+                assertThat(bitmap.remove(ordinal)).isEqualTo(reference.get(ordinal));
+                reference.clear(ordinal);
+            } else {
+                assertThat(bitmap.add(ordinal)).isEqualTo(!reference.get(ordinal));
+                reference.set(ordinal);
+            }
+        }
+
+        assertThat(containerOf(65536)).isInstanceOf(long[].class);
+        assertMatchesReference();
+    }
+
+    private void addToChunkOne() {
+        int ordinal;
+        do {
+            ordinal = 65536 + random.nextInt(65536);
+        } while (reference.get(ordinal));
+        assertThat(bitmap.add(ordinal)).isTrue();
+        assertThat(bitmap.add(ordinal)).isFalse();
+        reference.set(ordinal);
+    }
+
+    private void removeFromChunkOne() {
+        int ordinal = reference.nextSetBit(65536 + random.nextInt(65536));
+        if (ordinal < 0) {
+            ordinal = reference.nextSetBit(65536);
+        }
+        assertThat(bitmap.remove(ordinal)).isTrue();
+        assertThat(bitmap.remove(ordinal)).isFalse();
+        reference.clear(ordinal);
+    }
+
+    private void assertMatchesReference() {
+        assertThat(bitmap.cardinality()).isEqualTo(reference.cardinality());
+
+        long[] union = randomTarget();
+        BitSet expectedUnion = BitSet.valueOf(union);
+        bitmap.orInto(union);
+        expectedUnion.or(reference.get(0, union.length * 64));
+        assertThat(BitSet.valueOf(union)).isEqualTo(expectedUnion);
+
+        long[] difference = randomTarget();
+        BitSet expectedDifference = BitSet.valueOf(difference);
+        bitmap.andNotFrom(difference);
+        expectedDifference.andNot(reference);
+        assertThat(BitSet.valueOf(difference)).isEqualTo(expectedDifference);
+
+        long[] filter = randomTarget();
+        BitSet expectedIntersection = BitSet.valueOf(filter);
+        expectedIntersection.and(reference);
+        assertThat(bitmap.andCardinality(filter)).isEqualTo(expectedIntersection.cardinality());
+    }
+
+    private long[] randomTarget() {
+        long[] target = new long[(TARGET_BITS + 63) / 64];
+        for (int i = 0; i < target.length; i++) {
+            target[i] = random.nextLong() & random.nextLong();
+        }
+        return target;
+    }
+
+    private Object containerOf(int ordinal) {
+        char[] keys = (char[]) ReflectionTestUtils.getField(bitmap, "keys");
+        int chunks = (int) ReflectionTestUtils.getField(bitmap, "chunks");
+        for (int chunk = 0; chunk < chunks; chunk++) {
+            if (keys[chunk] == ordinal >>> 16) {
+                return ((Object[]) ReflectionTestUtils.getField(bitmap, "containers"))[chunk];
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,122 @@
+package com.windchill.service.product;
+
+import com.windchill.common.exceptions.BusinessException;
+import com.windchill.domain.entity.Product;
+import com.windchill.repository.ProductRepository;
+import com.windchill.service.access.IProjectAccessService;
+import com.windchill.service.attribute.AttributeRegistry;
+import com.windchill.service.history.IEntityHistoryService;
+import com.windchill.service.inventory.IInventoryService;
+import com.windchill.service.numbering.INumberingService;
+import com.windchill.service.query.FilterQueryExecutor;
+import com.windchill.service.similarity.IProductSimilarityService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Stock given with a new product: the row is inserted with empty counters and the count is
+ * written as the product's first ledger movement.
+ */
+@ExtendWith(MockitoExtension.class)
+class ProductServiceImplTest {
+    private static final Long PRODUCT_ID = 5L;
+
+    @Mock
+    private ProductRepository productRepository;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    @Mock
+    private IInventoryService inventoryService;
+    @Mock
+    private IEntityHistoryService historyService;
+    @Mock
+    private IProjectAccessService projectAccessService;
+    @Mock
+    private FilterQueryExecutor filterQueryExecutor;
+    @Mock
+    private ProductFacetIndex facetIndex;
+    @Mock
+    private IProductSimilarityService similarityService;
+    @Mock
+    private AttributeRegistry attributeRegistry;
+    @Mock
+    private INumberingService numberingService;
+
+    private final List<Integer> insertedOnHand = new ArrayList<>();
+    private final List<Integer> insertedReserved = new ArrayList<>();
+    private ProductServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(productRepository.save(any(Product.class))).thenAnswer(invocation -> {
+            Product product = invocation.getArgument(0);
+            insertedOnHand.add(product.getQuantityOnHand());
+            insertedReserved.add(product.getQuantityReserved());
+            product.setId(PRODUCT_ID);
+            return product;
+        });
+        service = new ProductServiceImpl(productRepository, eventPublisher, inventoryService, historyService,
+                projectAccessService, filterQueryExecutor, facetIndex, similarityService, attributeRegistry,
+                numberingService);
+    }
+
+    @Test
+    void openingStockBecomesTheFirstLedgerMovement() {
+        Product saved = service.createProduct(product(250, 40));
+
+        assertThat(insertedOnHand).containsExactly(0);
+        assertThat(insertedReserved).containsExactly(0);
+        InOrder order = inOrder(productRepository, inventoryService, historyService);
+        order.verify(productRepository).save(any(Product.class));
+        order.verify(inventoryService).setOnHand(PRODUCT_ID, 250, "Opening balance");
+        order.verify(historyService).record(any(), any());
+        assertThat(saved.getQuantityOnHand()).isEqualTo(250);
+        assertThat(saved.getQuantityReserved()).isZero();
+    }
+
+    @Test
+    void noStockMeansNoMovement() {
+        service.createProduct(product(0, 0));
+        service.createProduct(product(null, null));
+
+        assertThat(insertedOnHand).containsExactly(0, 0);
+        verify(inventoryService, never()).setOnHand(anyLong(), anyInt(), any());
+    }
+
+    @Test
+    void invalidOpeningStockFailsTheCreate() {
+        when(inventoryService.setOnHand(PRODUCT_ID, -3, "Opening balance"))
+                .thenThrow(new BusinessException("Quantity on hand must not be negative"));
+
+        assertThatThrownBy(() -> service.createProduct(product(-3, 0))).isInstanceOf(BusinessException.class);
+        verify(historyService, never()).record(any(), any());
+    }
+
+    private static Product product(Integer onHand, Integer reserved) {
+        Product product = new Product();
+        product.setProductCode("PRD-000001");
+        product.setProductName("Hex bolt M6x20");
+        product.setQuantityOnHand(onHand);
+        product.setQuantityReserved(reserved);
+        return product;
+    }
+}
@@ -0,0 +1,211 @@
+package com.windchill.service.project;
+
+import com.windchill.common.enums.StatusEnum;
+import com.windchill.common.exceptions.ResourceNotFoundException;
+import com.windchill.domain.entity.Project;
+import com.windchill.repository.DocumentRepository;
+import com.windchill.repository.ProductRepository;
+import com.windchill.repository.ProjectRepository;
+import com.windchill.service.access.IProjectAccessService;
+import com.windchill.service.access.ProjectAccess;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.stubbing.Answer;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+/**
+ * Checks the promise of the class comment: the three reads run at the same time, each
+ * section's histogram and items are read in one read-only REPEATABLE READ transaction, and
+ * no transaction spans two sections. The transaction manager hands out numbered transactions
+ * bound to the reading thread, and every repository call records the one it ran in.
+ */
+@ExtendWith(MockitoExtension.class)
+class ProjectOverviewServiceImplTest {
+    private static final Long PROJECT = 10L;
+    private static final Long HIDDEN_PROJECT = 20L;
+
+    @Mock
+    private ProjectRepository projectRepository;
+    @Mock
+    private ProductRepository productRepository;
+    @Mock
+    private DocumentRepository documentRepository;
+    @Mock
+    private IProjectAccessService projectAccessService;
+
+    private final RecordingTransactionManager transactionManager = new RecordingTransactionManager();
+    private final Map<String, Integer> readIn = new ConcurrentHashMap<>();
+    private CountDownLatch allReadsStarted = new CountDownLatch(0);
+    private ProjectOverviewServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        ProjectAccess access = mock(ProjectAccess.class);
+        lenient().when(access.canSee(any())).thenAnswer(invocation -> !HIDDEN_PROJECT.equals(invocation.getArgument(0)));
+        lenient().when(projectAccessService.current()).thenReturn(access);
+        Project project = new Project();
+        project.setId(PROJECT);
+        lenient().when(projectRepository.findWithManager(PROJECT)).thenAnswer(read("project", true, List.<Object[]>of(
+                new Object[] {project, 3L, "jdoe", "Jane", "Doe", "jdoe@example.com"})));
+        lenient().when(productRepository.countByStatusForProject(PROJECT)).thenAnswer(read("products.count", true,
+                List.<Object[]>of(new Object[] {StatusEnum.ACTIVE, 2L}, new Object[] {StatusEnum.DRAFT, 1L})));
+        lenient().when(productRepository.findSummaryRowsByProjectId(eq(PROJECT), any()))
+                .thenAnswer(read("products.items", false, summaries(2)));
+        lenient().when(documentRepository.countByStatusForProject(PROJECT)).thenAnswer(read("documents.count", true,
+                List.of()));
+        service = new ProjectOverviewServiceImpl(projectRepository, productRepository, documentRepository,
+                projectAccessService, transactionManager);
+        ReflectionTestUtils.setField(service, "threads", 4);
+        ReflectionTestUtils.setField(service, "queueCapacity", 4);
+        ReflectionTestUtils.setField(service, "maxProducts", 2);
+        ReflectionTestUtils.setField(service, "maxDocuments", 2);
+        service.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    void sectionsAreReadConcurrentlyEachInOneReadOnlySnapshot() {
+        allReadsStarted = new CountDownLatch(3);
+
+        ProjectOverview overview = service.getProjectOverview(PROJECT);
+
+        assertThat(readIn.get("products.items")).isEqualTo(readIn.get("products.count"));
+        assertThat(List.of(readIn.get("project"), readIn.get("products.count"), readIn.get("documents.count")))
+                .doesNotHaveDuplicates();
+        assertThat(transactionManager.definitions).hasSize(3).allSatisfy(definition -> {
+            assertThat(definition.isReadOnly()).isTrue();
+            assertThat(definition.getIsolationLevel()).isEqualTo(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        });
+        assertThat(transactionManager.committed).hasValue(3);
+        assertThat(transactionManager.open).isEmpty();
+
+        assertThat(overview.getManager().getFullName()).isEqualTo("Jane Doe");
+        assertThat(overview.getProducts().getCount()).isEqualTo(3);
+        assertThat(overview.getProducts().getByStatus()).containsEntry(StatusEnum.ACTIVE, 2L);
+        assertThat(overview.getProducts().getItems()).hasSize(2);
+        assertThat(overview.getProducts().isTruncated()).isTrue();
+    }
+
+    @Test
+    void emptySectionSkipsItsItemQuery() {
+        ProjectOverview overview = service.getProjectOverview(PROJECT);
+
+        assertThat(overview.getDocuments().getCount()).isZero();
+        assertThat(overview.getDocuments().getItems()).isEmpty();
+        assertThat(overview.getDocuments().isTruncated()).isFalse();
+        verify(documentRepository, never()).findSummaryRowsByProjectId(any(), any());
+    }
+
+    @Test
+    void hiddenProjectIsNotFoundWithoutReadingAnything() {
+        assertThatThrownBy(() -> service.getProjectOverview(HIDDEN_PROJECT))
+                .isInstanceOf(ResourceNotFoundException.class);
+        verifyNoInteractions(projectRepository, productRepository, documentRepository);
+        assertThat(transactionManager.definitions).isEmpty();
+    }
+
+    @Test
+    void failedSectionRollsBackAndFailsTheOverview() {
+        doThrow(new IllegalStateException("connection lost")).when(documentRepository).countByStatusForProject(PROJECT);
+
+        assertThatThrownBy(() -> service.getProjectOverview(PROJECT)).isInstanceOf(IllegalStateException.class)
+                .hasMessage("connection lost");
+        assertThat(transactionManager.rolledBack).hasValue(1);
+    }
+
+    /**
+     * Answers with {@code rows} after recording the transaction the call ran in; a read that
+     * starts a section first waits for the other sections to start, which only happens when
+     * they run concurrently.
+     */
+    private Answer<List<Object[]>> read(String name, boolean first, List<Object[]> rows) {
+        return invocation -> {
+            readIn.put(name, transactionManager.current());
+            if (first) {
+                allReadsStarted.countDown();
+                assertThat(allReadsStarted.await(5, TimeUnit.SECONDS)).as("sections read concurrently").isTrue();
+            }
+            return rows;
+        };
+    }
+
+    private static List<Object[]> summaries(int count) {
+        List<Object[]> rows = new ArrayList<>();
+        for (long id = 1; id <= count; id++) {
+            rows.add(new Object[] {id, "PRD-" + id, "Product " + id, StatusEnum.ACTIVE, LocalDateTime.now()});
+        }
+        return rows;
+    }
+
+    private static final class RecordingTransactionManager implements PlatformTransactionManager {
+        private final AtomicInteger ids = new AtomicInteger();
+        private final ThreadLocal<Integer> bound = new ThreadLocal<>();
+        private final List<TransactionDefinition> definitions = new CopyOnWriteArrayList<>();
+        private final Map<Integer, Thread> open = new ConcurrentHashMap<>();
+        private final AtomicInteger committed = new AtomicInteger();
+        private final AtomicInteger rolledBack = new AtomicInteger();
+
+        @Override
+        public TransactionStatus getTransaction(TransactionDefinition definition) {
+            assertThat(bound.get()).as("nested transaction").isNull();
+            definitions.add(definition);
+            int id = ids.incrementAndGet();
+            bound.set(id);
+            open.put(id, Thread.currentThread());
+            return new SimpleTransactionStatus();
+        }
+
+        @Override
+        public void commit(TransactionStatus status) {
+            open.remove(bound.get());
+            bound.remove();
+            committed.incrementAndGet();
+        }
+
+        @Override
+        public void rollback(TransactionStatus status) {
+            open.remove(bound.get());
+            bound.remove();
+            rolledBack.incrementAndGet();
+        }
+
+        int current() {
+            Integer id = bound.get();
+            assertThat(id).as("read outside a transaction").isNotNull();
+            return id;
+        }
+    }
+}
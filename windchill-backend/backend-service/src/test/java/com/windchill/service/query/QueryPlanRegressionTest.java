@@ -0,0 +1,189 @@
+package com.windchill.service.query;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.windchill.domain.entity.BaseEntity;
+import jakarta.persistence.Column;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.lang.reflect.Field;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Guards the promise of {@link QuerySchemas} that every sort key is served by an index, so
+ * a keyset page never sorts the whole table. The first test checks the declarations and
+ * always runs. The second runs {@code EXPLAIN} for every sort key, direction and allowed
+ * filter, with and without the hidden-project predicate, in the shape
+ * {@link FilterQueryExecutor} generates, and needs a MySQL 8 schema migrated to the current
+ * version, ideally with production-like statistics:
+ * <pre>
+ * mvn test -Dtest=QueryPlanRegressionTest -Dquery.plan.url=jdbc:mysql://localhost/windchill \
+ *     -Dquery.plan.user=... -Dquery.plan.password=...
+ * </pre>
+ * Without filters a page must be a scan of the sort key's own index with no filesort. With a
+ * filter the optimizer may start from the filter's index and sort the few matches instead;
+ * what must never happen is a full table scan followed by a filesort. Searchable custom
+ * attributes are added at runtime and are not covered.
+ */
+class QueryPlanRegressionTest {
+    private static final List<QuerySchema<? extends BaseEntity>> SCHEMAS = List.of(QuerySchemas.PRODUCTS,
+            QuerySchemas.DOCUMENTS, QuerySchemas.PROJECTS);
+    private static final int PAGE_ROWS = 51;
+    private static final String HIDDEN_PROJECTS = "(1, 2, 3)";
+
+    @Test
+    void everySortKeyLeadsItsDeclaredIndex() {
+        for (QuerySchema<? extends BaseEntity> schema : SCHEMAS) {
+            Table table = schema.getEntityType().getAnnotation(Table.class);
+            for (QuerySchema.SortKey sortKey : schema.getSortKeys().values()) {
+                if (sortKey.index().equals("PRIMARY")) {
+                    continue;
+                }
+                Index index = Arrays.stream(table.indexes())
+                        .filter(candidate -> candidate.name().equals(sortKey.index()))
+                        .findFirst()
+                        .orElseThrow(() -> new AssertionError(table.name() + " declares no index " + sortKey.index()));
+                assertThat(index.columnList().split(",")[0].trim())
+                        .as("leading column of %s", sortKey.index())
+                        .isEqualTo(column(schema.getEntityType(), sortKey.attribute()));
+            }
+        }
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "query.plan.url", matches = ".+")
+    void noFilterAndSortCombinationSortsTheWholeTable() throws SQLException {
+        ObjectMapper objectMapper = new ObjectMapper();
+        List<String> failures = new ArrayList<>();
+        int plans = 0;
+        try (Connection connection = DriverManager.getConnection(System.getProperty("query.plan.url"),
+                System.getProperty("query.plan.user"), System.getProperty("query.plan.password"))) {
+            for (QuerySchema<? extends BaseEntity> schema : SCHEMAS) {
+                List<QuerySchema.Field> filters = new ArrayList<>();
+                filters.add(null);
+                filters.addAll(schema.getFilters().values());
+                for (QuerySchema.SortKey sortKey : schema.getSortKeys().values()) {
+                    for (String direction : List.of("ASC", "DESC")) {
+                        for (QuerySchema.Field filter : filters) {
+                            for (boolean restricted : List.of(false, true)) {
+                                String sql = pageQuery(schema, sortKey, direction, filter, restricted);
+                                JsonNode plan = explain(connection, objectMapper, sql, filter);
+                                plans++;
+                                String problem = check(plan, sortKey, filter);
+                                if (problem != null) {
+                                    failures.add(problem + ": " + sql);
+                                }
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        System.out.printf("Explained %d filter query plans, %d regression(s)%n", plans, failures.size());
+        failures.forEach(System.out::println);
+        assertThat(failures).isEmpty();
+    }
+
+    private static String check(JsonNode plan, QuerySchema.SortKey sortKey, QuerySchema.Field filter) {
+        boolean filesort = plan.findValues("using_filesort").stream().anyMatch(JsonNode::asBoolean);
+        JsonNode table = plan.findValue("table");
+        String accessType = table != null ? table.path("access_type").asText() : "";
+        String key = table != null ? table.path("key").asText() : "";
+        if (filter == null && (filesort || !key.equals(sortKey.index()))) {
+            return "expected a scan of " + sortKey.index() + ", got key " + key + (filesort ? " with filesort" : "");
+        }
+        if (accessType.equals("ALL") && filesort) {
+            return "full table scan with filesort";
+        }
+        return null;
+    }
+
+    private static JsonNode explain(Connection connection, ObjectMapper objectMapper, String sql,
+                                     QuerySchema.Field filter) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("EXPLAIN FORMAT=JSON " + sql)) {
+            if (filter != null) {
+                statement.setString(1, sampleValue(filter.type()));
+            }
+            try (ResultSet result = statement.executeQuery()) {
+                result.next();
+                return objectMapper.readTree(result.getString(1));
+            } catch (java.io.IOException ex) {
+                throw new IllegalStateException(ex);
+            }
+        }
+    }
+
+    /**
+     * The first page of a query as {@link FilterQueryExecutor} builds it: soft-delete check,
+     * the filter, the hidden-project predicate, the nullable-key check, then the sort key and
+     * id as tie-breaker.
+     */
+    private static String pageQuery(QuerySchema<? extends BaseEntity> schema, QuerySchema.SortKey sortKey,
+                                    String direction, QuerySchema.Field filter, boolean restricted) {
+        Class<? extends BaseEntity> entity = schema.getEntityType();
+        String sortColumn = column(entity, sortKey.attribute());
+        StringBuilder sql = new StringBuilder("SELECT id FROM ")
+                .append(entity.getAnnotation(Table.class).name())
+                .append(" WHERE is_deleted = FALSE");
+        if (filter != null) {
+            String operator = filter.operators().equals(QuerySchema.RANGE) ? " >= ?" : " = ?";
+            sql.append(" AND ").append(filter.column() != null ? filter.column() : column(entity, filter.attribute()))
+                    .append(operator);
+        }
+        if (restricted) {
+            String projectColumn = column(entity, schema.getProjectAttribute());
+            sql.append(" AND (").append(projectColumn).append(" IS NULL OR ").append(projectColumn)
+                    .append(" NOT IN ").append(HIDDEN_PROJECTS).append(')');
+        }
+        if (sortKey.nullable()) {
+            sql.append(" AND ").append(sortColumn).append(" IS NOT NULL");
+        }
+        return sql.append(" ORDER BY ").append(sortColumn).append(' ').append(direction)
+                .append(", id ").append(direction).append(" LIMIT ").append(PAGE_ROWS).toString();
+    }
+
+    private static String sampleValue(Class<?> type) {
+        if (type.isEnum()) {
+            return type.getEnumConstants()[0].toString();
+        }
+        if (type == BigDecimal.class) {
+            return "100";
+        }
+        if (type == Long.class) {
+            return "1";
+        }
+        if (type.getSimpleName().equals("LocalDate")) {
+            return "2026-01-01";
+        }
+        if (type.getSimpleName().equals("LocalDateTime")) {
+            return "2026-01-01 00:00:00";
+        }
+        return "x";
+    }
+
+    private static String column(Class<?> entity, String attribute) {
+        for (Class<?> type = entity; type != null; type = type.getSuperclass()) {
+            try {
+                Field field = type.getDeclaredField(attribute);
+                Column column = field.getAnnotation(Column.class);
+                return column != null && !column.name().isEmpty() ? column.name() : attribute;
+            } catch (NoSuchFieldException ex) {
+                // declared further up
+            }
+        }
+        throw new IllegalArgumentException(entity.getSimpleName() + " has no attribute " + attribute);
+    }
+}
@@ -0,0 +1,110 @@
+package com.windchill.service.revision;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Round trips and storage cost of revision deltas against full copies, on 8 MB of random
+ * bytes so nothing is gained from compressibility. Sizes are asserted; times are printed.
+ */
+class BinaryDeltaTest {
+    private static final int SIZE = 8 * 1024 * 1024;
+    private static final int BLOCK_SIZE = 4096;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void scatteredEditsCostAFractionOfAFullCopy() throws IOException {
+        byte[] base = random(SIZE, 1);
+        byte[] target = base.clone();
+        Random random = new Random(2);
+        for (int edit = 0; edit < 20; edit++) {
+            int at = random.nextInt(SIZE - 1000);
+            for (int i = 0; i < 100; i++) {
+                target[at + i] ^= (byte) 0x5A;
+            }
+        }
+        assertDeltaBelow("20 scattered 100-byte edits", base, target, 0.02);
+    }
+
+    @Test
+    void insertionShiftingTheRestIsStillMatched() throws IOException {
+        byte[] base = random(SIZE, 3);
+        byte[] inserted = random(10_000, 4);
+        byte[] target = new byte[SIZE + inserted.length];
+        System.arraycopy(base, 0, target, 0, SIZE / 2);
+        System.arraycopy(inserted, 0, target, SIZE / 2, inserted.length);
+        System.arraycopy(base, SIZE / 2, target, SIZE / 2 + inserted.length, SIZE / 2);
+        assertDeltaBelow("10 KB inserted mid-file", base, target, 0.01);
+    }
+
+    @Test
+    void appendCostsOnlyTheAppendedBytes() throws IOException {
+        byte[] base = random(SIZE, 5);
+        byte[] target = Arrays.copyOf(base, SIZE + 64 * 1024);
+        System.arraycopy(random(64 * 1024, 6), 0, target, SIZE, 64 * 1024);
+        assertDeltaBelow("64 KB appended", base, target, 0.01);
+    }
+
+    @Test
+    void unrelatedContentGivesUpAtTheLimit() throws IOException {
+        Path base = write("base", random(SIZE, 7));
+        Path target = write("target", random(SIZE, 8));
+        ByteArrayOutputStream delta = new ByteArrayOutputStream();
+
+        boolean encoded = BinaryDelta.encode(base, target, delta, BLOCK_SIZE, (long) (SIZE * 0.75));
+
+        assertThat(encoded).isFalse();
+        assertThat(delta.size()).isLessThanOrEqualTo((int) (SIZE * 0.75) + 2 * 1024 * 1024);
+    }
+
+    private void assertDeltaBelow(String scenario, byte[] baseBytes, byte[] targetBytes, double maxRatio)
+            throws IOException {
+        Path base = write("base", baseBytes);
+        Path target = write("target", targetBytes);
+
+        long started = System.nanoTime();
+        ByteArrayOutputStream delta = new ByteArrayOutputStream();
+        boolean encoded = BinaryDelta.encode(base, target, delta, BLOCK_SIZE, targetBytes.length);
+        long encodeNanos = System.nanoTime() - started;
+
+        started = System.nanoTime();
+        Files.copy(target, directory.resolve("full"), StandardCopyOption.REPLACE_EXISTING);
+        long copyNanos = System.nanoTime() - started;
+
+        started = System.nanoTime();
+        ByteArrayOutputStream rebuilt = new ByteArrayOutputStream(targetBytes.length);
+        BinaryDelta.apply(base, new ByteArrayInputStream(delta.toByteArray()), rebuilt);
+        long applyNanos = System.nanoTime() - started;
+
+        double ratio = (double) delta.size() / targetBytes.length;
+        System.out.printf("%-28s delta %,9d of %,d bytes (%.3f%%), encode %d ms, apply %d ms, full copy %d ms%n",
+                scenario, delta.size(), targetBytes.length, ratio * 100, encodeNanos / 1_000_000,
+                applyNanos / 1_000_000, copyNanos / 1_000_000);
+        assertThat(encoded).isTrue();
+        assertThat(rebuilt.toByteArray()).isEqualTo(targetBytes);
+        assertThat(ratio).isLessThan(maxRatio);
+    }
+
+    private Path write(String name, byte[] bytes) throws IOException {
+        return Files.write(directory.resolve(name), bytes);
+    }
+
+    private static byte[] random(int size, long seed) {
+        byte[] bytes = new byte[size];
+        new Random(seed).nextBytes(bytes);
+        return bytes;
+    }
+}
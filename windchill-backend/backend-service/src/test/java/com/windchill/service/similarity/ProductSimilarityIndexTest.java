@@ -0,0 +1,127 @@
+package com.windchill.service.similarity;
+
+import com.windchill.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.lenient;
+
+/**
+ * The hash seeds are fixed, so signatures and bucket collisions are the same on every run.
+ * Products 1 to 6 are three near-duplicate pairs, 7 and 8 differ from 1 only in a size, and
+ * the rest of the catalog is random text that resembles nothing.
+ */
+@ExtendWith(MockitoExtension.class)
+class ProductSimilarityIndexTest {
+    private static final double THRESHOLD = new DuplicateCheckSettings().getThreshold();
+
+    @Mock
+    private ProductRepository productRepository;
+
+    private final Map<Long, Object[]> catalog = new HashMap<>();
+    private ProductSimilarityIndex index;
+    private MinHasher hasher;
+
+    @BeforeEach
+    void setUp() {
+        List<Object[]> rows = new ArrayList<>(List.of(
+                new Object[]{1L, "Hex bolt M6x20 zinc plated", "DIN 933 full thread", "Wuerth"},
+                new Object[]{2L, "Hex Bolt M6 x 20 zinc-plated", "DIN 933, full thread", "Wuerth"},
+                new Object[]{3L, "Stainless steel ball bearing 6204 2RS", "Deep groove, sealed", "SKF"},
+                new Object[]{4L, "SS ball bearing 6204-2RS", "Deep groove sealed", "SKF"},
+                new Object[]{5L, "Pressure transmitter 0-10 bar 4-20mA", "G1/4 process connection", "Endress+Hauser"},
+                new Object[]{6L, "Pressure transmiter 0-10bar 4-20 mA", "G 1/4 process connection", "Endress+Hauser"},
+                new Object[]{7L, "Hex bolt M8x20 zinc plated", "DIN 933 full thread", "Wuerth"},
+                new Object[]{8L, "Hex bolt M8x20 zinc plated", "DIN 933 full thread", "Wuerth"}));
+        Random random = new Random(11);
+        for (long id = 100; id < 2100; id++) {
+            rows.add(new Object[]{id, word(random) + " " + word(random) + " " + word(random), word(random),
+                    word(random)});
+        }
+        rows.forEach(row -> catalog.put((Long) row[0], row));
+        lenient().when(productRepository.findSimilarityRows()).thenReturn(rows);
+        DuplicateCheckSettings settings = new DuplicateCheckSettings();
+        settings.setSynonyms(Map.of("ss", "stainless", "transmiter", "transmitter"));
+        index = new ProductSimilarityIndex(productRepository, settings);
+        hasher = index.hasher();
+    }
+
+    @Test
+    void nearDuplicatesFindEachOther() {
+        assertThat(matches(1)).containsExactlyInAnyOrder(1L, 2L);
+        assertThat(matches(2)).containsExactlyInAnyOrder(1L, 2L);
+        assertThat(matches(3)).containsExactlyInAnyOrder(3L, 4L);
+        assertThat(matches(4)).containsExactlyInAnyOrder(3L, 4L);
+        assertThat(matches(5)).containsExactlyInAnyOrder(5L, 6L);
+        assertThat(matches(6)).containsExactlyInAnyOrder(5L, 6L);
+    }
+
+    @Test
+    void aDifferentSizeIsNotADuplicate() {
+        assertThat(matches(7)).containsExactlyInAnyOrder(7L, 8L);
+        assertThat(matches(1)).doesNotContain(7L, 8L);
+    }
+
+    @Test
+    void unrelatedProductsOnlyFindThemselves() {
+        for (long id = 100; id < 2100; id += 97) {
+            assertThat(matches(id)).containsExactly(id);
+        }
+    }
+
+    @Test
+    void nearDuplicatesShareABandAndUnrelatedProductsDoNot() {
+        char[] first = signature(1);
+        char[] twin = signature(2);
+        char[] unrelated = signature(3);
+
+        assertThat(MinHasher.similarity(first, 0, first, 0)).isEqualTo(1.0);
+        assertThat(MinHasher.similarity(first, 0, twin, 0)).isGreaterThanOrEqualTo(THRESHOLD);
+        assertThat(MinHasher.similarity(first, 0, unrelated, 0)).isLessThan(0.2);
+        assertThat(sharedBands(first, twin)).isPositive();
+        assertThat(sharedBands(first, unrelated)).isZero();
+    }
+
+    private List<Long> matches(long id) {
+        Object[] row = catalog.get(id);
+        return index.candidates(signature(id), hasher.numbers((String) row[1]), THRESHOLD).stream()
+                .map(ProductSimilarityIndex.Match::productId)
+                .toList();
+    }
+
+    private char[] signature(long id) {
+        Object[] row = catalog.get(id);
+        char[] signature = new char[MinHasher.HASHES];
+        assertThat(hasher.sign((String) row[1], (String) row[2], (String) row[3], signature, 0)).isTrue();
+        return signature;
+    }
+
+    private static int sharedBands(char[] first, char[] second) {
+        int shared = 0;
+        for (int band = 0; band < MinHasher.BANDS; band++) {
+            if (MinHasher.bandHash(first, 0, band) == MinHasher.bandHash(second, 0, band)) {
+                shared++;
+            }
+        }
+        return shared;
+    }
+
+    private static String word(Random random) {
+        StringBuilder word = new StringBuilder();
+        int length = 5 + random.nextInt(5);
+        while (word.length() < length) {
+            word.append((char) ('a' + random.nextInt(26)));
+        }
+        return word.toString();
+    }
+}
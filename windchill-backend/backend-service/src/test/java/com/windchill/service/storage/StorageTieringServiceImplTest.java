@@ -0,0 +1,128 @@
+package com.windchill.service.storage;
+
+import com.windchill.common.enums.StatusEnum;
+import com.windchill.common.enums.StorageTierEnum;
+import com.windchill.domain.entity.Document;
+import com.windchill.repository.DocumentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class StorageTieringServiceImplTest {
+    private static final byte[] CONTENT = "original content ".repeat(1000).getBytes(StandardCharsets.UTF_8);
+
+    @Mock
+    private DocumentRepository documentRepository;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @TempDir
+    Path directory;
+
+    private DocumentStorageServiceImpl storage;
+    private StorageTieringServiceImpl service;
+    private Document document;
+    private Path hot;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        storage = new DocumentStorageServiceImpl();
+        ReflectionTestUtils.setField(storage, "storageRoot", directory.toString());
+        ReflectionTestUtils.invokeMethod(storage, "init");
+        service = new StorageTieringServiceImpl(documentRepository, storage, transactionManager);
+        ReflectionTestUtils.setField(service, "enabled", true);
+        ReflectionTestUtils.setField(service, "idleDays", 30L);
+        ReflectionTestUtils.setField(service, "batchSize", 10);
+        ReflectionTestUtils.setField(service, "maxBytesPerSecond", 0L);
+        ReflectionTestUtils.setField(service, "promoteAfterAccesses", 3);
+        ReflectionTestUtils.setField(service, "promoteWindowMinutes", 60L);
+
+        document = new Document();
+        document.setId(7L);
+        document.setStatus(StatusEnum.ARCHIVED);
+        document.setStorageTier(StorageTierEnum.HOT);
+        document.setFilePath(storage.contentPath(7L));
+        hot = storage.resolve(document.getFilePath());
+        Files.createDirectories(hot.getParent());
+        Files.write(hot, CONTENT);
+    }
+
+    @Test
+    void demoteMovesContentToColdTier() throws IOException {
+        when(documentRepository.findTieringCandidates(eq(StorageTierEnum.HOT), any(), any(), any()))
+                .thenReturn(List.of(document));
+        when(documentRepository.findByIdForUpdate(7L)).thenReturn(Optional.of(document));
+
+        assertThat(service.demoteEligibleDocuments()).isEqualTo(1);
+
+        assertThat(hot).doesNotExist();
+        verify(documentRepository).updateStorageTier(7L, StorageTierEnum.COLD);
+        document.setStorageTier(StorageTierEnum.COLD);
+        try (InputStream in = service.readContent(document)) {
+            assertThat(in.readAllBytes()).isEqualTo(CONTENT);
+        }
+    }
+
+    @Test
+    void demoteKeepsContentReplacedBeforeTheLockWasTaken() throws IOException {
+        byte[] uploaded = "new upload".getBytes(StandardCharsets.UTF_8);
+        when(documentRepository.findTieringCandidates(eq(StorageTierEnum.HOT), any(), any(), any()))
+                .thenReturn(List.of(document));
+        // an upload commits while the old content is being compressed
+        when(documentRepository.findByIdForUpdate(7L)).thenAnswer(invocation -> {
+            Path staged = storage.createStagingFile("upload-");
+            Files.write(staged, uploaded);
+            storage.install(staged, document.getFilePath());
+            return Optional.of(document);
+        });
+
+        assertThat(service.demoteEligibleDocuments()).isZero();
+
+        assertThat(Files.readAllBytes(hot)).isEqualTo(uploaded);
+        assertThat(storage.resolve(storage.coldPath(document.getFilePath()))).doesNotExist();
+        verify(documentRepository, never()).updateStorageTier(7L, StorageTierEnum.COLD);
+        try (var staging = Files.list(directory.resolve("staging"))) {
+            assertThat(staging).isEmpty();
+        }
+    }
+
+    @Test
+    void backgroundReadsAreNotCountedAsAccesses() throws IOException {
+        for (int i = 0; i < 5; i++) {
+            try (InputStream in = service.readContent(document)) {
+                in.transferTo(OutputStream.nullOutputStream());
+            }
+        }
+        service.flushAccessTimes();
+        verify(documentRepository, never()).updateLastAccessedAt(anyList(), any());
+
+        try (InputStream in = service.openContent(document)) {
+            in.transferTo(OutputStream.nullOutputStream());
+        }
+        service.flushAccessTimes();
+        verify(documentRepository).updateLastAccessedAt(eq(List.of(7L)), any());
+    }
+}
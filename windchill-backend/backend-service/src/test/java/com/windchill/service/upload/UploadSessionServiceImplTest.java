@@ -0,0 +1,236 @@
+package com.windchill.service.upload;
+
+import com.windchill.common.enums.RoleEnum;
+import com.windchill.common.enums.UploadStatusEnum;
+import com.windchill.common.exceptions.BusinessException;
+import com.windchill.common.exceptions.ResourceNotFoundException;
+import com.windchill.domain.entity.Document;
+import com.windchill.domain.entity.UploadChunk;
+import com.windchill.domain.entity.UploadSession;
+import com.windchill.repository.DocumentRepository;
+import com.windchill.repository.UploadChunkRepository;
+import com.windchill.repository.UploadSessionRepository;
+import com.windchill.service.access.AuthenticatedUser;
+import com.windchill.service.access.IProjectAccessService;
+import com.windchill.service.access.ProjectAccess;
+import com.windchill.service.storage.IDocumentStorageService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.zip.CRC32C;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class UploadSessionServiceImplTest {
+    private static final int CHUNK_SIZE = 256 * 1024;
+    private static final Long OWNER = 11L;
+
+    @Mock
+    private UploadSessionRepository uploadSessionRepository;
+    @Mock
+    private UploadChunkRepository uploadChunkRepository;
+    @Mock
+    private DocumentRepository documentRepository;
+    @Mock
+    private IProjectAccessService projectAccessService;
+    @Mock
+    private IDocumentStorageService storageService;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    @InjectMocks
+    private UploadSessionServiceImpl service;
+
+    @TempDir
+    Path directory;
+
+    private UploadSession session;
+    private Path stagingFile;
+    private ProjectAccess access;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        ReflectionTestUtils.setField(service, "sessionTtlMinutes", 60L);
+        stagingFile = directory.resolve("staging");
+        try (RandomAccessFile file = new RandomAccessFile(stagingFile.toFile(), "rw")) {
+            file.setLength(2L * CHUNK_SIZE);
+        }
+        session = new UploadSession();
+        session.setId(5L);
+        session.setDocumentId(1L);
+        session.setTotalSize(2L * CHUNK_SIZE);
+        session.setChunkSize(CHUNK_SIZE);
+        session.setChunkCount(2);
+        session.setStatus(UploadStatusEnum.OPEN);
+        session.setStagingPath(stagingFile.toString());
+        session.setExpiresAt(LocalDateTime.now().plusHours(1));
+        session.setOwnerId(OWNER);
+        Document document = new Document();
+        document.setId(1L);
+        document.setProjectId(3L);
+        document.setIsDeleted(false);
+        access = mock(ProjectAccess.class);
+        lenient().when(access.canSee(3L)).thenReturn(true);
+        lenient().when(projectAccessService.current()).thenReturn(access);
+        lenient().when(projectAccessService.currentUser()).thenReturn(user(OWNER));
+        lenient().when(documentRepository.findById(1L)).thenReturn(Optional.of(document));
+        lenient().when(uploadSessionRepository.findById(5L)).thenReturn(Optional.of(session));
+        lenient().when(uploadSessionRepository.findByIdForShare(5L)).thenReturn(Optional.of(session));
+        lenient().when(storageService.createStagingFile(anyString()))
+                .thenAnswer(invocation -> Files.createTempFile(directory, "chunk-", ".part"));
+        lenient().doAnswer(invocation -> Files.deleteIfExists(invocation.getArgument(0))).when(storageService)
+                .deleteQuietly(any());
+        lenient().when(uploadChunkRepository.saveAndFlush(any())).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @Test
+    void writesVerifiedChunkAtItsOffset() throws IOException {
+        byte[] data = filled((byte) 7);
+
+        service.writeChunk(1L, 5L, 1, crc(data), new ByteArrayInputStream(data));
+
+        byte[] staged = Files.readAllBytes(stagingFile);
+        assertThat(Arrays.copyOfRange(staged, CHUNK_SIZE, 2 * CHUNK_SIZE)).isEqualTo(data);
+        assertThat(staged[0]).isZero();
+    }
+
+    @Test
+    void corruptRetryOfReceivedChunkLeavesStagedBytesAlone() throws IOException {
+        byte[] good = filled((byte) 7);
+        service.writeChunk(1L, 5L, 0, crc(good), new ByteArrayInputStream(good));
+
+        byte[] corrupt = filled((byte) 9);
+        assertThatThrownBy(() -> service.writeChunk(1L, 5L, 0, crc(good), new ByteArrayInputStream(corrupt)))
+                .isInstanceOf(BusinessException.class)
+                .hasMessageContaining("Checksum mismatch");
+
+        assertThat(Arrays.copyOf(Files.readAllBytes(stagingFile), CHUNK_SIZE)).isEqualTo(good);
+        assertThat(directory).isDirectoryNotContaining("glob:**/chunk-*");
+    }
+
+    @Test
+    void repeatOfRecordedChunkIsNotRewritten() throws IOException {
+        byte[] data = filled((byte) 7);
+        UploadChunk existing = chunk(0, crc(data));
+        when(uploadChunkRepository.findBySessionIdAndChunkIndex(5L, 0)).thenReturn(Optional.of(existing));
+
+        assertThat(service.writeChunk(1L, 5L, 0, crc(data), new ByteArrayInputStream(data))).isSameAs(existing);
+
+        verify(uploadChunkRepository, never()).saveAndFlush(any());
+        assertThat(Files.readAllBytes(stagingFile)[0]).isZero();
+    }
+
+    @Test
+    void repeatWithDifferentChecksumIsRejected() {
+        byte[] data = filled((byte) 7);
+        when(uploadChunkRepository.findBySessionIdAndChunkIndex(5L, 0))
+                .thenReturn(Optional.of(chunk(0, "00000001")));
+
+        assertThatThrownBy(() -> service.writeChunk(1L, 5L, 0, crc(data), new ByteArrayInputStream(data)))
+                .isInstanceOf(BusinessException.class)
+                .hasMessageContaining("already received");
+    }
+
+    @Test
+    void losingConcurrentUploadOfSameIndexGetsExistingRecord() {
+        byte[] data = filled((byte) 7);
+        UploadChunk winner = chunk(0, crc(data));
+        when(uploadChunkRepository.findBySessionIdAndChunkIndex(5L, 0))
+                .thenReturn(Optional.empty(), Optional.of(winner));
+        when(uploadChunkRepository.saveAndFlush(any())).thenThrow(new DataIntegrityViolationException("uk_upload_chunk"));
+
+        assertThat(service.writeChunk(1L, 5L, 0, crc(data), new ByteArrayInputStream(data))).isSameAs(winner);
+    }
+
+    @Test
+    void chunkForSessionClosedMeanwhileIsRejected() {
+        byte[] data = filled((byte) 7);
+        UploadSession committed = new UploadSession();
+        committed.setId(5L);
+        committed.setStatus(UploadStatusEnum.COMMITTED);
+        when(uploadSessionRepository.findByIdForShare(5L)).thenReturn(Optional.of(committed));
+
+        assertThatThrownBy(() -> service.writeChunk(1L, 5L, 0, crc(data), new ByteArrayInputStream(data)))
+                .isInstanceOf(BusinessException.class)
+                .hasMessageContaining("COMMITTED");
+        verify(uploadChunkRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    void chunkFromAnotherUserIsRejected() {
+        byte[] data = filled((byte) 7);
+        when(projectAccessService.currentUser()).thenReturn(user(12L));
+
+        assertThatThrownBy(() -> service.writeChunk(1L, 5L, 0, crc(data), new ByteArrayInputStream(data)))
+                .isInstanceOf(ResourceNotFoundException.class);
+        verify(uploadChunkRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    void commitIsRejectedOnceTheDocumentIsHidden() {
+        when(uploadSessionRepository.findByIdForUpdate(5L)).thenReturn(Optional.of(session));
+        when(access.canSee(3L)).thenReturn(false);
+
+        assertThatThrownBy(() -> service.commitSession(1L, 5L)).isInstanceOf(ResourceNotFoundException.class);
+        verify(documentRepository, never()).findByIdForUpdate(any());
+    }
+
+    @Test
+    void sessionCannotBeOpenedOnAHiddenDocument() {
+        when(access.canSee(3L)).thenReturn(false);
+
+        assertThatThrownBy(() -> service.createSession(1L, "a.bin", null, 10L, null))
+                .isInstanceOf(ResourceNotFoundException.class);
+        verify(uploadSessionRepository, never()).save(any());
+    }
+
+    private static AuthenticatedUser user(Long id) {
+        return new AuthenticatedUser(id, "user" + id, RoleEnum.ENGINEER);
+    }
+
+    private static byte[] filled(byte value) {
+        byte[] data = new byte[CHUNK_SIZE];
+        Arrays.fill(data, value);
+        return data;
+    }
+
+    private static String crc(byte[] data) {
+        CRC32C crc = new CRC32C();
+        crc.update(data);
+        return String.format("%08x", crc.getValue());
+    }
+
+    private static UploadChunk chunk(int index, String checksum) {
+        UploadChunk chunk = new UploadChunk();
+        chunk.setSessionId(5L);
+        chunk.setChunkIndex(index);
+        chunk.setChunkSize(CHUNK_SIZE);
+        chunk.setChecksum(checksum);
+        return chunk;
+    }
+}
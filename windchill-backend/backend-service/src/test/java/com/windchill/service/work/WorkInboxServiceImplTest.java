@@ -0,0 +1,164 @@
+package com.windchill.service.work;
+
+import com.windchill.common.enums.WorkItemKindEnum;
+import com.windchill.common.exceptions.BusinessException;
+import com.windchill.repository.DocumentRepository;
+import com.windchill.repository.ProductRepository;
+import com.windchill.repository.ProjectRepository;
+import com.windchill.service.access.IProjectAccessService;
+import com.windchill.service.access.ProjectAccess;
+import com.windchill.service.query.KeysetPage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.stubbing.Answer;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+
+/**
+ * The repositories answer from in-memory rows with the keyset predicate and order of their
+ * queries. Every kind has rows at the same few update times, so ties across kinds and within
+ * a kind are on every page boundary. Project 3 is hidden from the caller.
+ */
+@ExtendWith(MockitoExtension.class)
+class WorkInboxServiceImplTest {
+    private static final Long USER = 7L;
+    private static final Long HIDDEN_PROJECT = 3L;
+    private static final LocalDateTime NOON = LocalDateTime.of(2026, 5, 4, 12, 0);
+
+    @Mock
+    private ProductRepository productRepository;
+    @Mock
+    private DocumentRepository documentRepository;
+    @Mock
+    private ProjectRepository projectRepository;
+    @Mock
+    private IProjectAccessService projectAccessService;
+
+    private final List<WorkItem> all = new ArrayList<>();
+    private WorkInboxServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        ProjectAccess access = mock(ProjectAccess.class);
+        lenient().when(access.canSee(any())).thenAnswer(invocation -> !HIDDEN_PROJECT.equals(invocation.getArgument(0)));
+        lenient().when(projectAccessService.current()).thenReturn(access);
+        lenient().when(productRepository.findOwnedWorkRows(eq(USER), any(), anyLong(), any()))
+                .thenAnswer(rows(WorkItemKindEnum.OWNED_PRODUCT, true));
+        lenient().when(documentRepository.findOwnedWorkRows(eq(USER), any(), anyLong(), any()))
+                .thenAnswer(rows(WorkItemKindEnum.OWNED_DOCUMENT, true));
+        lenient().when(documentRepository.findReviewWorkRows(eq(USER), eq("PENDING"), any(), anyLong(), any()))
+                .thenAnswer(rows(WorkItemKindEnum.DOCUMENT_REVIEW, false));
+        lenient().when(projectRepository.findManagedWorkRows(eq(USER), any(), anyLong(), any()))
+                .thenAnswer(rows(WorkItemKindEnum.MANAGED_PROJECT, false));
+        service = new WorkInboxServiceImpl(productRepository, documentRepository, projectRepository,
+                projectAccessService);
+        ReflectionTestUtils.setField(service, "threads", 4);
+        ReflectionTestUtils.setField(service, "maxPageSize", 100);
+        service.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    void firstPageMergesAllKindsNewestFirst() {
+        KeysetPage<WorkItem> page = service.getWork(USER, null, 100);
+
+        assertThat(page.getContent()).containsExactlyElementsOf(visible(all));
+        assertThat(page.getContent()).extracting(WorkItem::getKind).contains(WorkItemKindEnum.values());
+        assertThat(page.getNextCursor()).isNull();
+    }
+
+    @Test
+    void pagingThroughTiesReturnsEveryItemOnceInFeedOrder() {
+        for (int size : new int[] {1, 3, 7}) {
+            List<WorkItem> paged = new ArrayList<>();
+            String cursor = null;
+            int pages = 0;
+            do {
+                KeysetPage<WorkItem> page = service.getWork(USER, cursor, size);
+                assertThat(page.getContent()).hasSizeLessThanOrEqualTo(size);
+                paged.addAll(page.getContent());
+                cursor = page.getNextCursor();
+                pages++;
+            } while (cursor != null);
+
+            assertThat(paged).as("page size %d", size).containsExactlyElementsOf(visible(all));
+            assertThat(pages).isEqualTo((all.size() + size - 1) / size);
+        }
+    }
+
+    @Test
+    void itemsInHiddenProjectsAreLeftOutButPagingGoesOn() {
+        KeysetPage<WorkItem> page = service.getWork(USER, null, 4);
+
+        assertThat(page.getContent()).extracting(WorkItem::getProjectId).doesNotContain(HIDDEN_PROJECT);
+        assertThat(page.getContent()).hasSizeLessThan(4);
+        assertThat(page.getNextCursor()).isNotNull();
+    }
+
+    @Test
+    void invalidPageSizeOrCursorIsRejected() {
+        assertThatThrownBy(() -> service.getWork(USER, null, 0)).isInstanceOf(BusinessException.class);
+        assertThatThrownBy(() -> service.getWork(USER, null, 101)).isInstanceOf(BusinessException.class);
+        assertThatThrownBy(() -> service.getWork(USER, "not-a-cursor", 10)).isInstanceOf(BusinessException.class);
+    }
+
+    /**
+     * Four rows of {@code kind} at each of three update times, ids interleaving with the other
+     * kinds; the first row of each time is in the hidden project when {@code hidden}.
+     */
+    private Answer<List<Object[]>> rows(WorkItemKindEnum kind, boolean hidden) {
+        List<WorkItem> items = new ArrayList<>();
+        long id = kind.ordinal() + 1;
+        for (int hour = 0; hour < 3; hour++) {
+            for (int i = 0; i < 4; i++, id += 4) {
+                long projectId = hidden && i == 0 ? HIDDEN_PROJECT : 1 + i % 2;
+                items.add(new WorkItem(kind, id, kind + "-" + id, "Item " + id, "ACTIVE", NOON.minusHours(hour),
+                        projectId));
+            }
+        }
+        items.sort(Comparator.comparing(WorkItem::getUpdatedAt).reversed()
+                .thenComparing(WorkItem::getId, Comparator.reverseOrder()));
+        all.addAll(items);
+        all.sort(Comparator.comparing(WorkItem::getUpdatedAt).reversed()
+                .thenComparing(WorkItem::getKind)
+                .thenComparing(WorkItem::getId, Comparator.reverseOrder()));
+        return invocation -> {
+            int last = invocation.getArguments().length - 1;
+            LocalDateTime before = invocation.getArgument(last - 2);
+            long beforeId = invocation.getArgument(last - 1);
+            Pageable limit = invocation.getArgument(last);
+            return items.stream()
+                    .filter(item -> !item.getUpdatedAt().isAfter(before)
+                            && (item.getUpdatedAt().isBefore(before) || item.getId() < beforeId))
+                    .limit(limit.getPageSize())
+                    .map(item -> new Object[] {item.getId(), item.getNumber(), item.getName(), item.getStatus(),
+                            item.getUpdatedAt(), item.getProjectId()})
+                    .toList();
+        };
+    }
+
+    private static List<WorkItem> visible(List<WorkItem> items) {
+        return items.stream().filter(item -> !HIDDEN_PROJECT.equals(item.getProjectId())).toList();
+    }
+}
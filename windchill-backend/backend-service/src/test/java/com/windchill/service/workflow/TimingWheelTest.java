@@ -0,0 +1,94 @@
+package com.windchill.service.workflow;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * One-millisecond ticks from origin 0, so a deadline in milliseconds is also its tick. Level
+ * boundaries are at 64, 4096 and 262144 ticks; the top level ends at 16777216.
+ */
+class TimingWheelTest {
+    private static final long[] DEADLINES = {1, 2, 63, 64, 65, 127, 128, 4095, 4096, 4097, 5000, 262143, 262144,
+            262145, 1_000_000, 16_777_215, 16_777_216, 20_000_000};
+
+    @Test
+    void everyDeadlineExpiresOnItsOwnTickWhateverItsLevel() {
+        TimingWheel<Long> wheel = new TimingWheel<>(1, 0);
+        for (long deadline : DEADLINES) {
+            wheel.schedule(deadline, deadline);
+        }
+
+        for (long deadline : DEADLINES) {
+            assertThat(wheel.advance(deadline - 1)).as("before %d", deadline).isEmpty();
+            assertThat(wheel.advance(deadline)).as("at %d", deadline).containsExactly(deadline);
+        }
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void expiredPayloadsComeInDeadlineOrder() {
+        TimingWheel<Long> wheel = new TimingWheel<>(1, 0);
+        Random random = new Random(42);
+        List<Long> deadlines = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            long deadline = 1 + random.nextInt(300_000);
+            deadlines.add(deadline);
+            wheel.schedule(deadline, deadline);
+        }
+
+        List<Long> expired = new ArrayList<>();
+        for (long now = 0; now <= 300_000; now += 997) {
+            expired.addAll(wheel.advance(now));
+        }
+        expired.addAll(wheel.advance(300_000));
+
+        assertThat(expired).isSortedAccordingTo(Comparator.naturalOrder())
+                .containsExactlyInAnyOrderElementsOf(deadlines);
+    }
+
+    @Test
+    void cancelledTimeoutsNeverExpireWhereverTheyWereCascaded() {
+        TimingWheel<Long> wheel = new TimingWheel<>(1, 0);
+        List<TimingWheel.Timeout<Long>> timeouts = new ArrayList<>();
+        for (long deadline : DEADLINES) {
+            timeouts.add(wheel.schedule(deadline, deadline));
+        }
+        // by now the far deadlines have cascaded into lower levels
+        wheel.advance(4_000);
+        List<Long> kept = new ArrayList<>();
+        for (int i = 0; i < timeouts.size(); i++) {
+            TimingWheel.Timeout<Long> timeout = timeouts.get(i);
+            if (timeout.payload() <= 4_000) {
+                assertThat(wheel.cancel(timeout)).as("already expired").isFalse();
+            } else if (i % 2 == 0) {
+                assertThat(wheel.cancel(timeout)).isTrue();
+                assertThat(wheel.cancel(timeout)).as("cancelled twice").isFalse();
+            } else {
+                kept.add(timeout.payload());
+            }
+        }
+
+        assertThat(wheel.size()).isEqualTo(kept.size());
+        assertThat(wheel.advance(30_000_000)).containsExactlyElementsOf(kept);
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void pastDeadlinesExpireOnTheNextTick() {
+        TimingWheel<String> wheel = new TimingWheel<>(1_000, 10_000);
+        wheel.advance(15_000);
+        wheel.schedule("late", 2_000);
+        wheel.schedule("rounded up", 16_001);
+
+        assertThat(wheel.advance(15_999)).isEmpty();
+        assertThat(wheel.advance(16_000)).containsExactly("late");
+        assertThat(wheel.advance(16_999)).isEmpty();
+        assertThat(wheel.advance(17_000)).containsExactly("rounded up");
+    }
+}
@@ -0,0 +1,140 @@
+package com.windchill.service.workflow;
+
+import com.windchill.common.enums.RoleEnum;
+import com.windchill.common.enums.StatusEnum;
+import com.windchill.common.enums.WorkflowStatusEnum;
+import com.windchill.common.exceptions.ResourceNotFoundException;
+import com.windchill.common.exceptions.UnauthorizedException;
+import com.windchill.domain.entity.Document;
+import com.windchill.domain.entity.WorkflowInstance;
+import com.windchill.repository.DocumentRepository;
+import com.windchill.repository.WorkflowInstanceRepository;
+import com.windchill.repository.WorkflowJobRepository;
+import com.windchill.repository.WorkflowTaskRepository;
+import com.windchill.service.access.AuthenticatedUser;
+import com.windchill.service.access.IProjectAccessService;
+import com.windchill.service.access.ProjectAccess;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Document 1 belongs to the visible project 10, document 2 to the confidential project 20.
+ */
+@ExtendWith(MockitoExtension.class)
+class WorkflowServiceImplTest {
+    @Mock
+    private WorkflowInstanceRepository instanceRepository;
+    @Mock
+    private WorkflowTaskRepository taskRepository;
+    @Mock
+    private WorkflowJobRepository jobRepository;
+    @Mock
+    private DocumentRepository documentRepository;
+    @Mock
+    private WorkflowDefinitions definitions;
+    @Mock
+    private IProjectAccessService projectAccessService;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private WorkflowServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        ProjectAccess access = mock(ProjectAccess.class);
+        lenient().when(access.canSee(10L)).thenReturn(true);
+        lenient().when(projectAccessService.current()).thenReturn(access);
+        lenient().when(documentRepository.findById(anyLong()))
+                .thenAnswer(invocation -> Optional.of(document(invocation.getArgument(0))));
+        service = new WorkflowServiceImpl(instanceRepository, taskRepository, jobRepository, documentRepository,
+                definitions, projectAccessService, transactionManager, eventPublisher);
+    }
+
+    @Test
+    void workflowsOfConfidentialDocumentsAreNotFound() {
+        when(instanceRepository.findById(7L)).thenReturn(Optional.of(instance(7L, 2L, 5L)));
+
+        assertThatThrownBy(() -> service.getInstance(7L)).isInstanceOf(ResourceNotFoundException.class);
+        assertThatThrownBy(() -> service.getTasks(7L)).isInstanceOf(ResourceNotFoundException.class);
+        assertThatThrownBy(() -> service.getInstancesForDocument(2L)).isInstanceOf(ResourceNotFoundException.class);
+        verify(taskRepository, never()).findByInstanceIdOrderByStepIndexAscSequenceAsc(anyLong());
+        verify(instanceRepository, never()).findByDocumentIdOrderByIdDesc(anyLong());
+    }
+
+    @Test
+    void workflowsOfVisibleDocumentsAreReturned() {
+        WorkflowInstance instance = instance(8L, 1L, 5L);
+        when(instanceRepository.findById(8L)).thenReturn(Optional.of(instance));
+
+        assertThat(service.getInstance(8L)).isSameAs(instance);
+    }
+
+    @Test
+    void onlyTheInitiatorOrAnAdminCanCancel() {
+        when(instanceRepository.findByIdForUpdate(8L)).thenReturn(Optional.of(instance(8L, 1L, 5L)));
+
+        assertThatThrownBy(() -> service.cancelWorkflow(8L, new AuthenticatedUser(6L, "other", RoleEnum.ENGINEER)))
+                .isInstanceOf(UnauthorizedException.class);
+        verify(documentRepository, never()).updateApproval(anyLong(), any(), any(), any());
+
+        assertThat(service.cancelWorkflow(8L, new AuthenticatedUser(5L, "initiator", RoleEnum.ENGINEER)).getStatus())
+                .isEqualTo(WorkflowStatusEnum.CANCELLED);
+    }
+
+    @Test
+    void adminsCanCancelAnyWorkflow() {
+        when(instanceRepository.findByIdForUpdate(8L)).thenReturn(Optional.of(instance(8L, 1L, 5L)));
+
+        assertThat(service.cancelWorkflow(8L, new AuthenticatedUser(1L, "admin", RoleEnum.ADMIN)).getStatus())
+                .isEqualTo(WorkflowStatusEnum.CANCELLED);
+        verify(documentRepository).updateApproval(1L, "CANCELLED", StatusEnum.DRAFT, null);
+    }
+
+    @Test
+    void staleJobsWithoutAttemptsLeftFailInsteadOfRequeueing() {
+        ReflectionTestUtils.setField(service, "maxAttempts", 5);
+        ReflectionTestUtils.setField(service, "staleAfterMinutes", 10L);
+        when(jobRepository.requeueStale(any(), eq(5))).thenReturn(3);
+
+        assertThat(service.requeueStaleJobs()).isEqualTo(3);
+        verify(jobRepository).failStale(any(), eq(5), any(), any());
+    }
+
+    static WorkflowInstance instance(Long id, Long documentId, Long startedBy) {
+        WorkflowInstance instance = new WorkflowInstance();
+        instance.setId(id);
+        instance.setDocumentId(documentId);
+        instance.setStartedBy(startedBy);
+        instance.setStatus(WorkflowStatusEnum.RUNNING);
+        return instance;
+    }
+
+    private static Document document(Long id) {
+        Document document = new Document();
+        document.setId(id);
+        document.setProjectId(id == 2L ? 20L : 10L);
+        document.setIsDeleted(false);
+        return document;
+    }
+}